@@ -0,0 +1,34 @@
+package actors;
+
+import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.actor.Props;
+
+/**
+ * The dispatchers that keep CPU-bound analytics and YouTube API completions off the default
+ * dispatcher, which is left to the WebSocket and session actors. Both are configured in {@code
+ * application.conf}; an actor system without them, such as one created by a test, runs every
+ * actor on its default dispatcher instead.
+ */
+public final class ActorDispatchers {
+  /** Fixed pool, one thread per core, for readability, sentiment and word-stats computation. */
+  public static final String CPU = "analytics.cpu-dispatcher";
+
+  /** Pool that handles the completion of YouTube API calls and the pollers making them. */
+  public static final String HTTP = "youtube.http-dispatcher";
+
+  private ActorDispatchers() {}
+
+  /**
+   * Runs the actors created from some props on a dispatcher, if that dispatcher is configured.
+   *
+   * @param system the actor system the actors are created in
+   * @param props the props of the actors
+   * @param dispatcherId the configuration path of the dispatcher
+   * @return props using the dispatcher, or the given props when it is not configured
+   */
+  public static Props on(ActorSystem system, Props props, String dispatcherId) {
+    return system.dispatchers().hasDispatcher(dispatcherId)
+        ? props.withDispatcher(dispatcherId)
+        : props;
+  }
+}
@@ -0,0 +1,97 @@
+package actors;
+
+import com.typesafe.config.Config;
+import org.apache.pekko.actor.AbstractExtensionId;
+import org.apache.pekko.actor.ActorRef;
+import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.actor.ExtendedActorSystem;
+import org.apache.pekko.actor.Extension;
+import org.apache.pekko.actor.ExtensionId;
+import org.apache.pekko.routing.RoundRobinPool;
+
+/**
+ * The analytics actors shared by every WebSocket connection and controller of an actor system.
+ *
+ * <p>Readability and sentiment scoring keep no state between messages, so each is a router over a
+ * pool of workers ({@code analytics.pool-size}, one per core by default). Word statistics are
+ * cumulative and TagsActor answers every tag lookup the same way, so each of them is a single
+ * actor. Readability, sentiment and word statistics run on the {@link ActorDispatchers#CPU}
+ * dispatcher. The actors are created once, the first time an actor system asks for them, which
+ * leaves every connection with only its own UserActor to create.
+ */
+public class AnalyticsActors implements Extension {
+
+  private static final ExtensionId<AnalyticsActors> ID =
+      new AbstractExtensionId<AnalyticsActors>() {
+        @Override
+        public AnalyticsActors createExtension(ExtendedActorSystem system) {
+          return new AnalyticsActors(system);
+        }
+      };
+
+  private final int poolSize;
+  private final ActorRef readabilityActor;
+  private final ActorRef sentimentActor;
+  private final ActorRef wordStatsActor;
+  private final ActorRef tagsActor;
+
+  private AnalyticsActors(ActorSystem system) {
+    Config config = system.settings().config();
+    int configuredSize =
+        config.hasPath("analytics.pool-size") ? config.getInt("analytics.pool-size") : 0;
+    this.poolSize =
+        configuredSize > 0 ? configuredSize : Runtime.getRuntime().availableProcessors();
+
+    // The CPU-bound actors run on their own dispatcher, away from the WebSocket actors
+    this.readabilityActor =
+        system.actorOf(
+            new RoundRobinPool(poolSize)
+                .props(ActorDispatchers.on(system, ReadabilityActor.props(), ActorDispatchers.CPU)),
+            "readabilityActors");
+    this.sentimentActor =
+        system.actorOf(
+            new RoundRobinPool(poolSize)
+                .props(ActorDispatchers.on(system, SentimentActor.props(), ActorDispatchers.CPU)),
+            "sentimentActors");
+    this.wordStatsActor =
+        system.actorOf(
+            ActorDispatchers.on(system, WordStatsActor.props(), ActorDispatchers.CPU),
+            "wordStatsActor");
+    this.tagsActor = system.actorOf(TagsActor.props(), "tagsActor");
+  }
+
+  /**
+   * Returns the shared analytics actors of an actor system, creating them on first use.
+   *
+   * @param system the actor system
+   * @return the analytics actors of that system
+   */
+  public static AnalyticsActors get(ActorSystem system) {
+    return ID.get(system);
+  }
+
+  /** Number of workers behind each of the readability and sentiment routers. */
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  /** Router over the readability workers. */
+  public ActorRef getReadabilityActor() {
+    return readabilityActor;
+  }
+
+  /** Router over the sentiment workers. */
+  public ActorRef getSentimentActor() {
+    return sentimentActor;
+  }
+
+  /** The single actor keeping the cumulative word statistics. */
+  public ActorRef getWordStatsActor() {
+    return wordStatsActor;
+  }
+
+  /** The single actor answering tag lookups. */
+  public ActorRef getTagsActor() {
+    return tagsActor;
+  }
+}
@@ -1,11 +1,14 @@
 package actors;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.SortedMap;
 
 import models.Video;
+import utils.Deadline;
 
 /** Class used to better pass responses through actors */
 public final class Messages {
@@ -211,20 +214,45 @@ public final class Messages {
   }
 
   /**
-   * WordStatsRequest encapsulates a list of video texts for processing word statistics.
+   * WordStatsRequest encapsulates a list of video texts for processing word statistics, how many
+   * of the most frequent words to send back, and when the sender stops waiting for them.
    *
    * @author Aynaz Javanivayeghan
    */
   public static class WordStatsRequest implements Serializable {
+    /** Number of words returned when the request does not ask for a specific number. */
+    public static final int DEFAULT_LIMIT = 50;
+
     private final List<String> videoTexts;
+    private final int limit;
+    private final Deadline deadline;
 
     public WordStatsRequest(List<String> videoTexts) {
+      this(videoTexts, DEFAULT_LIMIT);
+    }
+
+    public WordStatsRequest(List<String> videoTexts, int limit) {
+      this(videoTexts, limit, Deadline.none());
+    }
+
+    public WordStatsRequest(List<String> videoTexts, int limit, Deadline deadline) {
       this.videoTexts = videoTexts;
+      this.limit = limit;
+      this.deadline = deadline;
     }
 
     public List<String> getVideoTexts() {
       return videoTexts;
     }
+
+    public int getLimit() {
+      return limit;
+    }
+
+    /** When the sender stops waiting; a request received after it is not counted. */
+    public Deadline getDeadline() {
+      return deadline;
+    }
   }
 
   /**
@@ -245,16 +273,27 @@ public final class Messages {
   }
 
   /**
-   * GetCumulativeStats is a message to request cumulative word statistics from WordStatsActor. This
-   * message contains no additional fields and serves as a trigger for fetching stats.
+   * GetCumulativeStats is a message to request cumulative word statistics from WordStatsActor. It
+   * carries the number of most frequent words to send back.
    *
    * @author Aynaz Javanivayeghan
    */
   public static final class GetCumulativeStats implements Serializable {
     private static final long serialVersionUID = 1L;
 
-    // Empty message to request cumulative stats
-    public GetCumulativeStats() {}
+    private final int limit;
+
+    public GetCumulativeStats() {
+      this(WordStatsRequest.DEFAULT_LIMIT);
+    }
+
+    public GetCumulativeStats(int limit) {
+      this.limit = limit;
+    }
+
+    public int getLimit() {
+      return limit;
+    }
   }
 
   /**
@@ -331,4 +370,43 @@ public final class Messages {
       return averageReadingEase;
     }
   }
+
+  /**
+   * UnsubscribeQuery tells the YouTubeServiceActor that the sender no longer wants updates for a
+   * query. Once a query has no subscribers left its poller is stopped.
+   *
+   * @see YouTubeServiceActor
+   */
+  public static final class UnsubscribeQuery implements Serializable {
+    private final String query;
+
+    public UnsubscribeQuery(String query) {
+      this.query = query;
+    }
+
+    public String getQuery() {
+      return query;
+    }
+  }
+
+  /**
+   * GetPollingIntervals asks the YouTubeServiceActor for the current polling interval of every
+   * query it is polling. It is answered with a PollingIntervals message.
+   */
+  public static final class GetPollingIntervals implements Serializable {
+    private static final long serialVersionUID = 1L;
+  }
+
+  /** Current polling interval per normalized query, as reported by the YouTubeServiceActor. */
+  public static final class PollingIntervals implements Serializable {
+    private final Map<String, Duration> intervals;
+
+    public PollingIntervals(Map<String, Duration> intervals) {
+      this.intervals = intervals;
+    }
+
+    public Map<String, Duration> getIntervals() {
+      return intervals;
+    }
+  }
 }
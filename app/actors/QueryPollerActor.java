@@ -0,0 +1,230 @@
+package actors;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import models.Video;
+import org.apache.pekko.actor.AbstractActorWithTimers;
+import org.apache.pekko.actor.ActorRef;
+import org.apache.pekko.actor.Props;
+import services.QuotaLimiter;
+import services.YouTubeService;
+import utils.Deadline;
+import utils.SeenIdSet;
+
+/**
+ * QueryPollerActor polls the YouTube API for a single normalized query and reports the videos it
+ * has not seen before to its parent YouTubeServiceActor, which fans them out to every subscriber
+ * of the query. The poll timer belongs to the actor, so stopping the actor cancels the polling.
+ *
+ * <p>The delay between polls adapts to the query: it doubles after every poll that brings no new
+ * videos, up to the maximum interval, and halves after a poll that does, down to the minimum.
+ */
+public class QueryPollerActor extends AbstractActorWithTimers {
+  private static final Object POLL_TIMER_KEY = "poll";
+
+  private final String query;
+  private final YouTubeService youTubeService;
+  private final Duration minInterval;
+  private final Duration maxInterval;
+  private Duration currentInterval;
+  private final SeenIdSet processedVideoIds;
+  private List<Video> latestVideos = Collections.emptyList();
+  private boolean pollInFlight;
+
+  public static Props props(
+      String query,
+      YouTubeService youTubeService,
+      Duration minInterval,
+      Duration maxInterval,
+      int seenIdsCapacity) {
+    return Props.create(
+        QueryPollerActor.class,
+        () ->
+            new QueryPollerActor(query, youTubeService, minInterval, maxInterval, seenIdsCapacity));
+  }
+
+  public QueryPollerActor(
+      String query,
+      YouTubeService youTubeService,
+      Duration minInterval,
+      Duration maxInterval,
+      int seenIdsCapacity) {
+    this.query = query;
+    this.processedVideoIds = new SeenIdSet(seenIdsCapacity);
+    this.youTubeService = youTubeService;
+    this.minInterval = minInterval;
+    this.maxInterval = maxInterval.compareTo(minInterval) < 0 ? minInterval : maxInterval;
+    this.currentInterval = minInterval;
+  }
+
+  @Override
+  public void preStart() {
+    getSelf().tell(Poll.INSTANCE, getSelf());
+  }
+
+  @Override
+  public Receive createReceive() {
+    return receiveBuilder()
+        .match(Poll.class, poll -> poll())
+        .match(PollCompleted.class, this::handlePollCompleted)
+        .match(SendLatest.class, this::sendLatest)
+        .build();
+  }
+
+  /**
+   * Starts a poll unless the previous one is still running, so a slow API never leads to
+   * overlapping requests for the same query. The next poll is only scheduled once this one has
+   * completed. Polls are background calls, which the quota limiter sheds before page loads; a shed
+   * poll finds nothing new, so the interval grows while the quota is low. Polls skip the response
+   * cache, so the interval follows the rate of new videos rather than the cache's expiry. A poll
+   * is given up on once the current interval is over, so a slow API never holds up the next one
+   * for longer.
+   */
+  private void poll() {
+    if (pollInFlight) {
+      return;
+    }
+    pollInFlight = true;
+    ActorRef self = getSelf();
+    try {
+      youTubeService
+          .searchVideos(query, QuotaLimiter.Priority.BACKGROUND, Deadline.in(currentInterval))
+          .whenComplete((results, error) -> self.tell(new PollCompleted(results, error), self));
+    } catch (RuntimeException e) {
+      self.tell(new PollCompleted(null, e), self);
+    }
+  }
+
+  /**
+   * Filters out videos that were already reported for this query and sends the remaining ones to
+   * the parent. Runs inside the actor, so the seen-video set is never touched concurrently. The
+   * set only remembers a bounded number of recent ids, so memory per poller stays constant.
+   *
+   * @param completed the outcome of the poll
+   */
+  private void handlePollCompleted(PollCompleted completed) {
+    pollInFlight = false;
+    if (completed.error != null) {
+      System.err.println(
+          "Error fetching videos for query '" + query + "': " + completed.error.getMessage());
+      getContext().getParent().tell(new QueryResults(query, new ArrayList<>()), getSelf());
+      scheduleNextPoll(false);
+      return;
+    }
+
+    List<Video> results = completed.results == null ? List.of() : completed.results;
+    List<Video> newResults =
+        results.stream()
+            .filter(video -> processedVideoIds.add(video.getVideoId()))
+            .collect(Collectors.toList());
+
+    if (!newResults.isEmpty()) {
+      latestVideos = results;
+      System.out.println(
+          "QueryPollerActor found " + newResults.size() + " new results for query: " + query);
+      getContext().getParent().tell(new QueryResults(query, newResults), getSelf());
+    } else {
+      System.out.println("No new results for query: " + query);
+    }
+    scheduleNextPoll(!newResults.isEmpty());
+  }
+
+  /**
+   * Adapts the polling interval to the outcome of the last poll and schedules the next one. The
+   * parent is told whenever the interval changes so it can report it.
+   *
+   * @param foundNewVideos whether the last poll brought any new videos
+   */
+  private void scheduleNextPoll(boolean foundNewVideos) {
+    Duration nextInterval = nextInterval(currentInterval, foundNewVideos, minInterval, maxInterval);
+    if (!nextInterval.equals(currentInterval)) {
+      currentInterval = nextInterval;
+      getContext().getParent().tell(new IntervalChanged(query, currentInterval), getSelf());
+    }
+    getTimers().startSingleTimer(POLL_TIMER_KEY, Poll.INSTANCE, currentInterval);
+  }
+
+  /**
+   * Computes the next polling interval: halved after new videos, doubled otherwise, and always
+   * kept within the configured bounds.
+   *
+   * @param current the current interval
+   * @param foundNewVideos whether the last poll brought any new videos
+   * @param min the shortest allowed interval
+   * @param max the longest allowed interval
+   * @return the interval to wait before the next poll
+   */
+  static Duration nextInterval(
+      Duration current, boolean foundNewVideos, Duration min, Duration max) {
+    Duration next = foundNewVideos ? current.dividedBy(2) : current.multipliedBy(2);
+    if (next.compareTo(min) < 0) {
+      return min;
+    }
+    return next.compareTo(max) > 0 ? max : next;
+  }
+
+  /**
+   * Sends the most recent results to a subscriber that joined after the first poll, so it does not
+   * have to wait for a new video before seeing anything.
+   *
+   * @param message the subscriber to catch up
+   */
+  private void sendLatest(SendLatest message) {
+    if (!latestVideos.isEmpty()) {
+      message.subscriber.tell(
+          new Messages.SearchResultsMessage(query, latestVideos), getContext().getParent());
+    }
+  }
+
+  /** Timer tick that triggers a poll. */
+  static final class Poll {
+    static final Poll INSTANCE = new Poll();
+
+    private Poll() {}
+  }
+
+  /** Outcome of a search call, piped back into the actor. */
+  static final class PollCompleted {
+    final List<Video> results;
+    final Throwable error;
+
+    PollCompleted(List<Video> results, Throwable error) {
+      this.results = results;
+      this.error = error;
+    }
+  }
+
+  /** Asks the poller to send its most recent results to a newly subscribed actor. */
+  public static final class SendLatest {
+    public final ActorRef subscriber;
+
+    public SendLatest(ActorRef subscriber) {
+      this.subscriber = subscriber;
+    }
+  }
+
+  /** Reports the new polling interval of a query to the parent. */
+  public static final class IntervalChanged {
+    public final String query;
+    public final Duration interval;
+
+    public IntervalChanged(String query, Duration interval) {
+      this.query = query;
+      this.interval = interval;
+    }
+  }
+
+  /** New videos found for a query, sent from the poller to its parent. */
+  public static final class QueryResults {
+    public final String query;
+    public final List<Video> videos;
+
+    public QueryResults(String query, List<Video> videos) {
+      this.query = query;
+      this.videos = videos;
+    }
+  }
+}
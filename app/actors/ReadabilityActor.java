@@ -1,11 +1,9 @@
 package actors;
 
 import java.util.List;
-import java.util.stream.Collectors;
 import models.Video;
 import org.apache.pekko.actor.AbstractActor;
 import org.apache.pekko.actor.Props;
-import utils.Helpers;
 
 /**
  * Actor that calculates readability metrics for a list of videos
@@ -31,21 +29,15 @@ public class ReadabilityActor extends AbstractActor {
     /**
      * Calculates readability metrics for a list of videos
      *
-     * <p>Calculates the Flesch-Kincaid Grade Level and Flesch Reading Ease Score for each video in a
+     * <p>Reads the Flesch-Kincaid Grade Level and Flesch Reading Ease Score of each video in a
      * list of videos, then calculates the average grade level and reading ease score for the list.
+     * The per-video scores are memoized in the Video itself, so they are computed at most once.
      *
      * @param message the message containing the list of videos to process
      * @author Deniz Dinchdonmez
      */
     private void handleReadabilityCalculation(Messages.CalculateReadabilityMessage message) {
-        List<Video> processedVideos = message.getVideos().stream()
-                .peek(video -> {
-                    video.setFleschKincaidGradeLevel(
-                            Helpers.calculateFleschKincaidGradeLevel(video.getDescription()));
-                    video.setFleschReadingEaseScore(
-                            Helpers.calculateFleschReadingEaseScore(video.getDescription()));
-                })
-                .collect(Collectors.toList());
+        List<Video> processedVideos = message.getVideos();
 
         // Calculate averages
         double averageGradeLevel = processedVideos.stream()
@@ -51,16 +51,16 @@ public class SentimentActor extends AbstractActor {
             sender.tell(sentimentResultEmptyVid, getSelf());
             return;
         }
-        // Calls calculateHappyWordCount from Helpers class for each video in stream
+        // Sums the memoized happy word count of each video in stream
         double totalHappyWordCount = videos.stream()
                 .limit(50)
-                .mapToDouble(video -> Helpers.calculateHappyWordCount(video.getDescription()))
+                .mapToDouble(Video::getHappyWordCount)
                 .sum();
 
-        // Calls calculateSadWordCount from Helpers class for each video in stream
+        // Sums the memoized sad word count of each video in stream
         double totalSadWordCount = videos.stream()
                 .limit(50)
-                .mapToDouble(video -> Helpers.calculateSadWordCount(video.getDescription()))
+                .mapToDouble(Video::getSadWordCount)
                 .sum();
 
         // Calls calculateSentiment for overall sentiment calculations and setting it to searchResults
@@ -13,13 +13,12 @@ import org.apache.pekko.actor.OneForOneStrategy;
 import org.apache.pekko.actor.Props;
 import org.apache.pekko.actor.SupervisorStrategy;
 import org.apache.pekko.actor.SupervisorStrategy.Directive;
-import play.libs.ws.WSClient;
 import scala.runtime.AbstractPartialFunction;
-import services.YouTubeService;
 import actors.TagsActor.GetVideosByTag;
 
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -33,37 +32,65 @@ public class SupervisorActor extends AbstractActor {
     private final ActorRef wordStatsActor;
     private final ActorRef tagsActor;
 
-    public static Props props(ActorRef wsOut, WSClient wsClient) {
-        return Props.create(SupervisorActor.class, wsOut, wsClient);
+    /**
+     * Props for a SupervisorActor whose UserActor subscribes to queries through a shared
+     * YouTubeServiceActor, so that every connection watching the same query shares one poller.
+     *
+     * @param wsOut the WebSocket output actor
+     * @param youtubeServiceActor the shared query-subscription hub
+     * @return Props for creating a SupervisorActor
+     */
+    public static Props props(ActorRef wsOut, ActorRef youtubeServiceActor) {
+        return props(wsOut, youtubeServiceActor, 0);
     }
 
-    public SupervisorActor(ActorRef wsOut, WSClient wsClient) {
-        // Create YouTubeService instance
-        YouTubeService youTubeService = new YouTubeService(wsClient, null);
-        this.wordStatsActor = getContext().actorOf(WordStatsActor.props(), "wordStatsActor");
+    /**
+     * Props for a SupervisorActor whose session keeps its own number of latest videos.
+     *
+     * @param wsOut the WebSocket output actor
+     * @param youtubeServiceActor the shared query-subscription hub
+     * @param windowSize the number of latest videos the session keeps, or 0 for the configured default
+     * @return Props for creating a SupervisorActor
+     */
+    public static Props props(ActorRef wsOut, ActorRef youtubeServiceActor, int windowSize) {
+        return Props.create(SupervisorActor.class, wsOut, youtubeServiceActor, windowSize);
+    }
 
-        // Instantiate YouTubeServiceActor with both WSClient and YouTubeService
+    /**
+     * Creates the session of one connection. The analytics actors are shared by the whole actor
+     * system (see {@link AnalyticsActors}) and the YouTubeServiceActor by every connection, so only
+     * the UserActor is created here. Without a WebSocket output there is no session, and the
+     * supervisor only forwards the word-stats and tag requests of the controller.
+     *
+     * @param wsOut the WebSocket output actor, or null for no session
+     * @param youtubeServiceActor the shared query-subscription hub
+     * @param windowSize the number of latest videos the session keeps, or 0 for the configured default
+     */
+    public SupervisorActor(ActorRef wsOut, ActorRef youtubeServiceActor, int windowSize) {
+        AnalyticsActors analyticsActors = AnalyticsActors.get(getContext().getSystem());
+        this.wordStatsActor = analyticsActors.getWordStatsActor();
+        this.tagsActor = analyticsActors.getTagsActor();
         this.youtubeServiceActor =
-                getContext()
-                        .actorOf(YouTubeServiceActor.props(wsClient, youTubeService), "youTubeServiceActor");
-
-        ActorRef readabilityActor = getContext().actorOf(ReadabilityActor.props(), "readabilityActor");
+                Objects.requireNonNull(youtubeServiceActor, "YouTubeServiceActor cannot be null");
 
-        ActorRef sentimentActor = getContext().actorOf(SentimentActor.props(), "sentimentActor");
-
-        // Create UserActor and pass the YouTubeServiceActor
-        this.userActor =
+        // Create UserActor, the only per-connection actor, over the shared analytics actors
+        this.userActor = wsOut == null ? null :
                 getContext()
-                        .actorOf(UserActor.props(wsOut, youtubeServiceActor, readabilityActor, sentimentActor), "userActor");
-
-        // Create TagsActor
-        this.tagsActor = getContext().actorOf(TagsActor.props(), "tagsActor");
+                        .actorOf(UserActor.props(wsOut, youtubeServiceActor,
+                                analyticsActors.getReadabilityActor(), analyticsActors.getSentimentActor(), windowSize),
+                                "userActor");
     }
 
     @Override
     public Receive createReceive() {
         return receiveBuilder()
-                .match(String.class, message -> userActor.tell(message, getSelf()))
+                .match(String.class, message -> {
+                    if (userActor == null) {
+                        System.err.println("SupervisorActor: No session to search for: " + message);
+                        return;
+                    }
+                    userActor.tell(message, getSelf());
+                })
                 .match(Messages.SearchResultsMessage.class, message -> {
                     // Extract video texts (title + description) from the search results
                     List<String> videoTexts = message.getVideos().stream()
@@ -3,6 +3,7 @@ package actors;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typesafe.config.Config;
 import java.util.*;
 import models.Video;
 import org.apache.pekko.actor.AbstractActor;
@@ -10,7 +11,7 @@ import org.apache.pekko.actor.ActorRef;
 import org.apache.pekko.actor.Props;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import utils.Helpers;
+import utils.RecentVideoBuffer;
 
 /**
  * User actor who talks to the client and gets the information needed from others
@@ -24,23 +25,62 @@ public class UserActor extends AbstractActor {
   private final ActorRef readabilityActor;
   private final ActorRef sentimentActor;
   private final Set<String> processedQueries = new HashSet<>();
-  private final LinkedList<Video> cumulativeResults =
-      new LinkedList<>(); // Stores the latest 10 results
+  // Latest videos of the session, newest first; 10 unless configured otherwise
+  private RecentVideoBuffer cumulativeResults;
+  private final int windowSize;
   ObjectMapper objectMapper = new ObjectMapper();
+  private VideoFrameEncoder frameEncoder = new VideoFrameEncoder(DEFAULT_SNAPSHOT_INTERVAL);
+
+  // Number of frames between two full snapshots of the latest videos
+  private static final int DEFAULT_SNAPSHOT_INTERVAL = 20;
+
+  private static final int DEFAULT_WINDOW_SIZE = 10;
 
   public static Props props(
       final ActorRef wsOut, final ActorRef youTubeServiceActor, final ActorRef readabilityActor, final ActorRef sentimentActor) {
-    return Props.create(UserActor.class, wsOut, youTubeServiceActor, readabilityActor, sentimentActor);
+    return props(wsOut, youTubeServiceActor, readabilityActor, sentimentActor, 0);
+  }
+
+  /**
+   * Props for a UserActor that keeps its own number of latest videos.
+   *
+   * @param windowSize the number of latest videos to keep, or 0 for {@code websocket.window-size}
+   * @return Props for creating a UserActor
+   */
+  public static Props props(
+      final ActorRef wsOut, final ActorRef youTubeServiceActor, final ActorRef readabilityActor, final ActorRef sentimentActor,
+      final int windowSize) {
+    return Props.create(UserActor.class, wsOut, youTubeServiceActor, readabilityActor, sentimentActor, windowSize);
   }
 
   public UserActor(
       final ActorRef wsOut, final ActorRef youTubeServiceActor, ActorRef readabilityActor, ActorRef sentimentActor) {
+    this(wsOut, youTubeServiceActor, readabilityActor, sentimentActor, 0);
+  }
+
+  public UserActor(
+      final ActorRef wsOut, final ActorRef youTubeServiceActor, ActorRef readabilityActor, ActorRef sentimentActor,
+      int windowSize) {
+    this.windowSize = windowSize;
     this.ws = wsOut;
     this.youTubeServiceActor = youTubeServiceActor;
     this.readabilityActor = readabilityActor;
     this.sentimentActor = sentimentActor;
   }
 
+  @Override
+  public void preStart() {
+    Config config = getContext().getSystem().settings().config();
+    if (config.hasPath("websocket.snapshot-interval")) {
+      frameEncoder = new VideoFrameEncoder(config.getInt("websocket.snapshot-interval"));
+    }
+    int size = windowSize;
+    if (size < 1) {
+      size = config.hasPath("websocket.window-size") ? config.getInt("websocket.window-size") : DEFAULT_WINDOW_SIZE;
+    }
+    cumulativeResults = new RecentVideoBuffer(Math.max(1, size));
+  }
+
   @Override
   public Receive createReceive() {
     return receiveBuilder()
@@ -111,30 +151,21 @@ public class UserActor extends AbstractActor {
 
     log.info("UserActor received readability results. Number of videos: {}", videos.size());
 
-    // Add processed videos to the cumulative list
-    videos.forEach(video -> {
-      if (!cumulativeResults.contains(video)) {
-        cumulativeResults.addFirst(video);
-      }
-    });
-
-    // Ensure we only keep the latest 10 results
-    while (cumulativeResults.size() > 10) {
-      cumulativeResults.removeLast();
-    }
+    // Add processed videos to the latest ones, skipping videos already there and dropping the oldest
+    videos.forEach(cumulativeResults::addFirst);
 
+    // Send only the videos that changed since the previous frame, with a full snapshot now and then
     try {
       JsonNode json =
-              objectMapper
-                      .createObjectNode()
-                      .put("searchTerm", Optional.ofNullable(sentimentAndReadabilityResult.getSearchTerm()).orElse("Unknown"))
-                      .put("averageGradeLevel", Helpers.formatDouble(averageGradeLevel))
-                      .put("averageReadingEase", Helpers.formatDouble(averageReadingEase))
-                      .put("sentiment", sentiment)
-                      .set("videos", objectMapper.valueToTree(cumulativeResults));
-      ws.tell(objectMapper.writeValueAsString(json), getSelf());
+              frameEncoder.encode(objectMapper, cumulativeResults.toList(), sentimentAndReadabilityResult.getSearchTerm(),
+                      averageGradeLevel, averageReadingEase, sentiment);
+      String frame = objectMapper.writeValueAsString(json);
+      log.debug("UserActor sending {} frame of {} bytes", json.get("type").asText(), frame.length());
+      ws.tell(frame, getSelf());
     } catch (JsonProcessingException e) {
       log.error("Failed to serialize videos to JSON", e);
+      // The client never got this frame, so the next one must not build on it
+      frameEncoder.resync();
     }
   }
 
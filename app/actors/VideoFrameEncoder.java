@@ -0,0 +1,119 @@
+package actors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import models.Video;
+import utils.Helpers;
+
+/**
+ * Encodes the WebSocket frames a UserActor sends for its latest videos. A full snapshot lists every
+ * video; a delta only carries the videos added since the previous frame and the ids of the videos
+ * removed, so an update that brings one new video costs one video instead of ten. Both carry the
+ * aggregate scores and a sequence number.
+ *
+ * <p>The first frame, every {@code snapshotInterval}-th frame after it, and any update that a delta
+ * cannot describe (videos reordered, or two videos sharing an id) or would not make smaller (none of
+ * the previous videos kept) are sent as snapshots. The periodic snapshots also let a client that
+ * missed a frame resynchronize.
+ *
+ * <p>Snapshot: {@code {"type":"snapshot","seq":0,"searchTerm":..,"averageGradeLevel":..,
+ * "averageReadingEase":..,"sentiment":..,"videos":[..]}}. Delta: the same fields, with {@code
+ * "type":"delta"} and, instead of {@code videos}, {@code "added":[..]} (in display order, to be put
+ * in front of the current videos) and {@code "removed":[videoId, ..]}.
+ *
+ * <p>This class is not thread-safe; it is meant to be owned by a single actor.
+ */
+public class VideoFrameEncoder {
+  private final int snapshotInterval;
+  private List<String> sentVideoIds = List.of();
+  private long seq;
+  private boolean resync = true;
+
+  /**
+   * @param snapshotInterval number of frames between two full snapshots, 1 for snapshots only
+   */
+  public VideoFrameEncoder(int snapshotInterval) {
+    this.snapshotInterval = Math.max(1, snapshotInterval);
+  }
+
+  /**
+   * Encodes the next frame for the current videos.
+   *
+   * @param objectMapper the mapper used to build the JSON
+   * @param videos the current videos, in display order
+   * @param searchTerm the search term the frame is for, or null
+   * @param averageGradeLevel the average grade level of the last batch
+   * @param averageReadingEase the average reading ease of the last batch
+   * @param sentiment the sentiment of the last batch
+   * @return the frame, a snapshot or a delta
+   */
+  public ObjectNode encode(
+      ObjectMapper objectMapper,
+      List<Video> videos,
+      String searchTerm,
+      double averageGradeLevel,
+      double averageReadingEase,
+      String sentiment) {
+    List<String> videoIds = new ArrayList<>(videos.size());
+    for (Video video : videos) {
+      videoIds.add(video.getVideoId());
+    }
+
+    boolean snapshot = resync || seq % snapshotInterval == 0;
+    int addedCount = 0;
+    List<String> removed = new ArrayList<>();
+    if (!snapshot) {
+      Set<String> previous = new HashSet<>(sentVideoIds);
+      while (addedCount < videoIds.size() && !previous.contains(videoIds.get(addedCount))) {
+        addedCount++;
+      }
+      Set<String> current = new HashSet<>(videoIds);
+      List<String> kept = new ArrayList<>(sentVideoIds.size());
+      for (String id : sentVideoIds) {
+        if (current.contains(id)) {
+          kept.add(id);
+        } else {
+          removed.add(id);
+        }
+      }
+      // A delta can only put new videos in front of the kept ones, and saves nothing if none is kept
+      snapshot =
+          kept.isEmpty()
+              || current.size() != videoIds.size()
+              || !kept.equals(videoIds.subList(addedCount, videoIds.size()));
+    }
+
+    ObjectNode frame =
+        objectMapper
+            .createObjectNode()
+            .put("type", snapshot ? "snapshot" : "delta")
+            .put("seq", seq)
+            .put("searchTerm", Optional.ofNullable(searchTerm).orElse("Unknown"))
+            .put("averageGradeLevel", Helpers.formatDouble(averageGradeLevel))
+            .put("averageReadingEase", Helpers.formatDouble(averageReadingEase))
+            .put("sentiment", sentiment);
+    if (snapshot) {
+      frame.set("videos", objectMapper.valueToTree(videos));
+    } else {
+      frame.set("added", objectMapper.valueToTree(videos.subList(0, addedCount)));
+      ArrayNode removedIds = frame.putArray("removed");
+      removed.forEach(removedIds::add);
+    }
+
+    sentVideoIds = videoIds;
+    seq++;
+    resync = false;
+    return frame;
+  }
+
+  /** Makes the next frame a snapshot, for when the previous frame never reached the client. */
+  public void resync() {
+    resync = true;
+  }
+}
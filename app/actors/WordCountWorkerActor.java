@@ -0,0 +1,49 @@
+package actors;
+
+import java.util.List;
+import org.apache.pekko.actor.AbstractActor;
+import org.apache.pekko.actor.Props;
+import utils.WordCountTable;
+
+/**
+ * WordCountWorkerActor counts the words of one slice of a word-stats batch. WordStatsActor keeps a
+ * pool of these workers behind a router, so the slices of a batch are tokenized in parallel and
+ * only their partial counts have to be merged.
+ */
+public class WordCountWorkerActor extends AbstractActor {
+
+  public static Props props() {
+    return Props.create(WordCountWorkerActor.class);
+  }
+
+  @Override
+  public Receive createReceive() {
+    return receiveBuilder()
+        .match(
+            CountWords.class,
+            request ->
+                getSender()
+                    .tell(
+                        new WordsCounted(WordStatsActor.countWordFrequencies(request.videoTexts)),
+                        getSelf()))
+        .build();
+  }
+
+  /** Asks a worker to count the words of a slice of video texts. */
+  public static final class CountWords {
+    public final List<String> videoTexts;
+
+    public CountWords(List<String> videoTexts) {
+      this.videoTexts = videoTexts;
+    }
+  }
+
+  /** The word counts of one slice, owned by the receiver from then on. */
+  public static final class WordsCounted {
+    public final WordCountTable counts;
+
+    public WordsCounted(WordCountTable counts) {
+      this.counts = counts;
+    }
+  }
+}
@@ -1,25 +1,69 @@
 package actors;
 
+import com.typesafe.config.Config;
 import org.apache.pekko.actor.AbstractActor;
+import org.apache.pekko.actor.ActorRef;
 import org.apache.pekko.actor.Props;
+import org.apache.pekko.actor.Status;
+import org.apache.pekko.pattern.Patterns;
+import org.apache.pekko.routing.RoundRobinPool;
+import utils.TopKHeap;
+import utils.WordCountTable;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
 
 /**
  * WordStatsActor processes and maintains cumulative word statistics from video texts.
- * It filters stopwords, calculates word frequencies, and provides the top 50 words by frequency.
+ * It filters stopwords, calculates word frequencies, and provides the top words by frequency,
+ * 50 unless the request asks for another number.
+ * The top words are kept up to date in a heap as batches are merged, so answering a request does
+ * not sort the whole vocabulary.
+ * A batch is split into slices that a pool of WordCountWorkerActors count in parallel
+ * ({@code word-stats.workers}, one per core by default). The partial counts are merged pairwise,
+ * in a tree, off the actor, and only the merged batch is added to the cumulative stats. Counting
+ * is additive, so the result is the same as counting the batch serially.
  * @author Aynaz Javanivayeghan
  */
 public class WordStatsActor extends AbstractActor {
 
     // Persistent cumulative word stats
-    private final SortedMap<String, Long> cumulativeWordFrequencies = new TreeMap<>();
+    private final WordCountTable cumulativeWordFrequencies = new WordCountTable();
+
+    // Largest number of top words a request can ask for
+    private static final int MAX_TOP_WORDS = 1000;
+
+    // Most frequent words of the cumulative stats, updated on every merge
+    private final TopKHeap topWords = new TopKHeap(Messages.WordStatsRequest.DEFAULT_LIMIT);
+
+    // Smallest slice worth sending to a worker; smaller batches use fewer slices
+    private static final int MIN_TEXTS_PER_SLICE = 8;
+
+    private static final Duration WORKER_TIMEOUT = Duration.ofSeconds(10);
+
+    private ActorRef workers;
+    private int workerCount;
 
     public static Props props() {
         return Props.create(WordStatsActor.class);
     }
 
+    @Override
+    public void preStart() {
+        Config config = getContext().getSystem().settings().config();
+        workerCount = config.hasPath("word-stats.workers") ? config.getInt("word-stats.workers") : 0;
+        if (workerCount < 1) {
+            workerCount = Runtime.getRuntime().availableProcessors();
+        }
+        workers = getContext().actorOf(
+                new RoundRobinPool(workerCount).props(ActorDispatchers.on(
+                        getContext().getSystem(), WordCountWorkerActor.props(), ActorDispatchers.CPU)),
+                "wordCountWorkers");
+    }
+
     @Override
     public Receive createReceive() {
         return receiveBuilder()
@@ -27,6 +71,15 @@ public class WordStatsActor extends AbstractActor {
                     // Extract video texts
                     List<String> videoTexts = request.getVideoTexts();
 
+                    // Too late for the answer to be used, so leave the batch uncounted and fail the
+                    // request at once rather than leave its sender waiting for nothing
+                    if (request.getDeadline().isOverdue()) {
+                        System.err.println("WordStatsActor: Skipping a request whose deadline passed.");
+                        getSender().tell(new Status.Failure(
+                                new TimeoutException("Deadline passed before the words were counted")), getSelf());
+                        return;
+                    }
+
                     // Check for null or empty input
                     if (videoTexts == null || videoTexts.isEmpty()) {
                         System.err.println("WordStatsActor: Received empty or null video texts.");
@@ -38,48 +91,20 @@ public class WordStatsActor extends AbstractActor {
                     System.out.println("WordStatsActor: Processing " + videoTexts.size() + " video texts.");
                     long startTime = System.currentTimeMillis();
 
-                    // Calculate word frequencies for this batch
-                    SortedMap<String, Long> newWordFrequencies = videoTexts.stream()
-                            .flatMap(text -> Arrays.stream(text.split("\\W+"))) // Split on non-word characters
-                            .map(String::toLowerCase) // Convert to lowercase
-                            .filter(word -> word.length() > 2)
-                            .filter(word -> word.matches("[a-z]+")) // Filter out non-alphabetic words
-                            .filter(word -> !isStopWord(word))
-                            .collect(Collectors.toMap(
-                                    word -> word,
-                                    word -> 1L,
-                                    Long::sum, // Merge counts by summing them
-                                    TreeMap::new)); // Use TreeMap to keep it sorted
-
-                    // Merge new frequencies with cumulative stats
-                    newWordFrequencies.forEach((word, count) ->
-                            cumulativeWordFrequencies.merge(word, count, Long::sum)
-                    );
-
-                    long endTime = System.currentTimeMillis();
-                    System.out.println("WordStatsActor: Processing completed in " + (endTime - startTime) + " ms.");
-                    System.out.println("WordStatsActor: Updated cumulative stats with " + newWordFrequencies.size() + " new words.");
-
-                    // Sort cumulative stats by frequency and limit to top 50
-                    List<Map.Entry<String, Long>> sortedWordStats = cumulativeWordFrequencies.entrySet().stream()
-                            .sorted(Map.Entry.<String, Long>comparingByValue().reversed() // Sort by frequency descending
-                                    .thenComparing(Map.Entry::getKey)) // Break ties alphabetically
-                            .limit(50) // Limit to top 50 words
-                            .collect(Collectors.toList());
-
-                    // Send updated stats
-                    getSender().tell(new Messages.WordStatsResponse(sortedWordStats), getSelf());
+                    // Count the slices of the batch in parallel and merge them off the actor
+                    ActorRef self = getSelf();
+                    ActorRef replyTo = getSender();
+                    countInParallel(videoTexts).whenComplete((newWordFrequencies, error) ->
+                            self.tell(new BatchCounted(newWordFrequencies, error, replyTo,
+                                    request.getLimit(), startTime), self));
                 })
+                .match(BatchCounted.class, this::mergeBatch)
                 .match(Messages.GetCumulativeStats.class, request -> {
                     // Log request for cumulative stats
                     System.out.println("WordStatsActor: Received request for cumulative stats.");
 
-                    // Sort cumulative stats by frequency and limit to top 50
-                    List<Map.Entry<String, Long>> sortedWordStats = cumulativeWordFrequencies.entrySet().stream()
-                            .sorted(Map.Entry.<String, Long>comparingByValue().reversed() // Sort by frequency descending
-                                    .thenComparing(Map.Entry::getKey)) // Break ties alphabetically
-                            .limit(50) // Limit to top 50 words
-                            .collect(Collectors.toList());
+                    // Read the most frequent words from the heap
+                    List<Map.Entry<String, Long>> sortedWordStats = currentTopWords(request.getLimit());
 
                     // Send cumulative stats
                     getSender().tell(new Messages.WordStatsResponse(sortedWordStats), getSelf());
@@ -92,13 +117,161 @@ public class WordStatsActor extends AbstractActor {
                 .build();
     }
 
+    /**
+     * Splits a batch into slices, has the workers count them, and merges the partial counts
+     * pairwise until one table is left. Merges run on this actor's dispatcher, never on the actor
+     * itself.
+     *
+     * @param videoTexts the texts of the batch
+     * @return the word counts of the whole batch
+     */
+    private CompletableFuture<WordCountTable> countInParallel(List<String> videoTexts) {
+        Executor executor = getContext().getDispatcher();
+        int slices = Math.max(1, Math.min(workerCount, videoTexts.size() / MIN_TEXTS_PER_SLICE));
+        List<CompletableFuture<WordCountTable>> level = new ArrayList<>(slices);
+        for (int i = 0; i < slices; i++) {
+            List<String> slice = videoTexts.subList(
+                    i * videoTexts.size() / slices, (i + 1) * videoTexts.size() / slices);
+            level.add(Patterns.ask(workers, new WordCountWorkerActor.CountWords(slice),
+                            WORKER_TIMEOUT)
+                    .thenApply(counted -> ((WordCountWorkerActor.WordsCounted) counted).counts)
+                    .toCompletableFuture());
+        }
+        while (level.size() > 1) {
+            List<CompletableFuture<WordCountTable>> next = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i + 1 < level.size(); i += 2) {
+                next.add(level.get(i).thenCombineAsync(level.get(i + 1), WordStatsActor::merge, executor));
+            }
+            if (level.size() % 2 == 1) {
+                next.add(level.get(level.size() - 1));
+            }
+            level = next;
+        }
+        return level.get(0);
+    }
+
+    /** Merges the smaller of two partial tables into the larger one. */
+    private static WordCountTable merge(WordCountTable left, WordCountTable right) {
+        WordCountTable into = left.size() >= right.size() ? left : right;
+        into.addAll(into == left ? right : left);
+        return into;
+    }
+
+    /**
+     * Adds the counts of a batch to the cumulative stats and answers the request that sent it.
+     *
+     * @param batch the counted batch, or the error that stopped its counting
+     */
+    private void mergeBatch(BatchCounted batch) {
+        if (batch.error != null) {
+            System.err.println("WordStatsActor: Counting words failed: " + batch.error.getMessage());
+            batch.replyTo.tell(new Messages.ErrorMessage("Failed to count words"), getSelf());
+            return;
+        }
+
+        // Merge new frequencies with cumulative stats, updating the counts in place
+        batch.counts.forEach((word, count) ->
+                topWords.update(word, cumulativeWordFrequencies.add(word, count))
+        );
+
+        long endTime = System.currentTimeMillis();
+        System.out.println("WordStatsActor: Processing completed in " + (endTime - batch.startTime) + " ms.");
+        System.out.println("WordStatsActor: Updated cumulative stats with " + batch.counts.size() + " new words.");
+
+        // Read the most frequent words from the heap
+        List<Map.Entry<String, Long>> sortedWordStats = currentTopWords(batch.limit);
+
+        // Send updated stats
+        batch.replyTo.tell(new Messages.WordStatsResponse(sortedWordStats), getSelf());
+    }
+
+    /**
+     * Returns the most frequent words of the cumulative stats. The heap only grows, from the full
+     * stats, the first time a request asks for more words than it keeps.
+     *
+     * @param limit the number of words to return, capped at 1000
+     * @return the top words with their frequencies, most frequent first
+     */
+    private List<Map.Entry<String, Long>> currentTopWords(int limit) {
+        if (limit < 1) {
+            return Collections.emptyList();
+        }
+        int cappedLimit = Math.min(limit, MAX_TOP_WORDS);
+        topWords.grow(cappedLimit, cumulativeWordFrequencies);
+        return topWords.top(cappedLimit);
+    }
+
+    /**
+     * Counts the words of a batch of video texts. Texts are split on non-word characters and
+     * lower-cased; words of two letters or less, non-alphabetic words and stopwords are skipped.
+     * Words are lower-cased into a reusable buffer and counted straight from it, so a String is only
+     * created for the first occurrence of each word.
+     *
+     * @param videoTexts the texts to count words in
+     * @return the frequency of every counted word
+     */
+    public static WordCountTable countWordFrequencies(List<String> videoTexts) {
+        WordCountTable wordFrequencies = new WordCountTable();
+        char[] word = new char[32];
+        for (String text : videoTexts) {
+            int length = 0;
+            boolean alphabetic = true;
+            // One extra iteration past the end flushes the last word
+            for (int i = 0; i <= text.length(); i++) {
+                char c = i < text.length() ? text.charAt(i) : ' ';
+                if (isWordChar(c)) {
+                    if (length == word.length) {
+                        word = Arrays.copyOf(word, length * 2);
+                    }
+                    boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+                    word[length++] = letter ? (char) (c | 0x20) : c; // Convert to lowercase
+                    alphabetic &= letter; // Filter out non-alphabetic words
+                } else {
+                    if (length > 2 && alphabetic && !STOP_WORDS.contains(word, 0, length)) {
+                        wordFrequencies.add(word, 0, length, 1);
+                    }
+                    length = 0;
+                    alphabetic = true;
+                }
+            }
+        }
+        return wordFrequencies;
+    }
+
+    /**
+     * Word characters are those of the regex class \w: ASCII letters, digits and underscore.
+     */
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
     /**
      * A basic list of stopwords to exclude from word statistics.
      */
-    private static boolean isStopWord(String word) {
-        Set<String> stopWords = Set.of(
+    private static final WordCountTable STOP_WORDS = new WordCountTable();
+
+    static {
+        for (String stopWord : List.of(
                 "a", "an", "http","https","are", "www", "the", "and", "or", "but", "on", "in", "with", "is", "to", "of", "for", "at", "by", "from", "as", "it", "this", "that", "been"
-        );
-        return stopWords.contains(word);
+        )) {
+            STOP_WORDS.add(stopWord, 1);
+        }
+    }
+
+    /** Word counts of a whole batch, piped back into the actor together with the request. */
+    private static final class BatchCounted {
+        final WordCountTable counts;
+        final Throwable error;
+        final ActorRef replyTo;
+        final int limit;
+        final long startTime;
+
+        BatchCounted(WordCountTable counts, Throwable error, ActorRef replyTo, int limit, long startTime) {
+            this.counts = counts;
+            this.error = error;
+            this.replyTo = replyTo;
+            this.limit = limit;
+            this.startTime = startTime;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,30 +1,46 @@
 package actors;
 
-import java.util.ArrayList;
+import com.typesafe.config.Config;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CompletionStage;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import models.Video;
 import org.apache.pekko.actor.AbstractActor;
 import org.apache.pekko.actor.ActorRef;
 import org.apache.pekko.actor.Props;
+import org.apache.pekko.actor.Terminated;
 import play.libs.ws.WSClient;
-import scala.concurrent.duration.Duration;
 import services.YouTubeService;
 
 /**
- * YouTubeServiceActor handles calls to the YoutubeApi based on given query and returns results to
- * sender
+ * YouTubeServiceActor is the query-subscription hub between the UserActors and the YouTube API.
+ * It keeps one QueryPollerActor per normalized query, no matter how many sessions are watching
+ * it, and fans the new videos of every poll out to the subscribed actors. The poller is stopped,
+ * and its timer cancelled, as soon as the last subscriber leaves.
+ *
+ * <p>Each poller adapts its own interval between {@code youtube.polling.min-interval} and {@code
+ * youtube.polling.max-interval}; the current interval of every query can be requested with
+ * {@link Messages.GetPollingIntervals}.
+ *
+ * <p>The pollers run on the {@link ActorDispatchers#HTTP} dispatcher, so handling API responses
+ * never competes with the WebSocket actors for threads.
  *
  * @author Aidassj, Jessica Chen
  */
 public class YouTubeServiceActor extends AbstractActor {
+  private static final Duration DEFAULT_MIN_INTERVAL = Duration.ofSeconds(10);
+  private static final Duration DEFAULT_MAX_INTERVAL = Duration.ofMinutes(5);
+  private static final int DEFAULT_SEEN_IDS_CAPACITY = 500;
+
   private final YouTubeService youTubeService;
-  private final Set<String> processedVideoIds = new HashSet<>();
-  private static final int UPDATE_INTERVAL_SECONDS = 10;
+  private final Map<String, ActorRef> pollers = new HashMap<>();
+  private final Map<String, Set<ActorRef>> subscribers = new HashMap<>();
+  private final Map<String, Duration> pollingIntervals = new HashMap<>();
+  private Duration minInterval = DEFAULT_MIN_INTERVAL;
+  private Duration maxInterval = DEFAULT_MAX_INTERVAL;
+  private int seenIdsCapacity = DEFAULT_SEEN_IDS_CAPACITY;
 
   public static Props props(WSClient wsClient, YouTubeService youTubeService) {
     return Props.create(YouTubeServiceActor.class, () -> new YouTubeServiceActor(youTubeService));
@@ -34,67 +50,164 @@ public class YouTubeServiceActor extends AbstractActor {
     this.youTubeService = youTubeService;
   }
 
+  @Override
+  public void preStart() {
+    Config config = getContext().getSystem().settings().config();
+    if (config.hasPath("youtube.polling.min-interval")) {
+      minInterval = config.getDuration("youtube.polling.min-interval");
+    }
+    if (config.hasPath("youtube.polling.max-interval")) {
+      maxInterval = config.getDuration("youtube.polling.max-interval");
+    }
+    if (config.hasPath("youtube.polling.seen-ids-capacity")) {
+      seenIdsCapacity = config.getInt("youtube.polling.seen-ids-capacity");
+    }
+  }
+
   @Override
   public Receive createReceive() {
-    return receiveBuilder().match(String.class, this::handleSearchQuery).build();
+    return receiveBuilder()
+        .match(String.class, this::handleSearchQuery)
+        .match(Messages.UnsubscribeQuery.class, this::handleUnsubscribe)
+        .match(QueryPollerActor.QueryResults.class, this::fanOutResults)
+        .match(
+            QueryPollerActor.IntervalChanged.class,
+            changed -> {
+              if (pollers.containsKey(changed.query)) {
+                pollingIntervals.put(changed.query, changed.interval);
+              }
+            })
+        .match(
+            Messages.GetPollingIntervals.class,
+            request ->
+                getSender()
+                    .tell(new Messages.PollingIntervals(Map.copyOf(pollingIntervals)), getSelf()))
+        .match(Terminated.class, terminated -> handleTerminated(terminated.getActor()))
+        .build();
   }
 
   /**
-   * Method to call searchVideosRequest method to get video results and then send it back to the
-   * actor that requested it
+   * Subscribes the sender to a query, starting a poller for it if this is the first subscriber.
+   * A sender joining an existing poller is sent that poller's latest results straight away.
+   *
+   * @param query the search query
    * @author Aidassj
    */
   private void handleSearchQuery(String query) {
-    ActorRef sender = getSender();
-
-    // Schedule periodic updates for the search query
-    getContext()
-        .getSystem()
-        .scheduler()
-        .scheduleWithFixedDelay(
-            Duration.Zero(),
-            Duration.create(UPDATE_INTERVAL_SECONDS, TimeUnit.SECONDS), // Poll every 10 seconds
-            () -> fetchAndStreamResults(query, sender),
-            getContext().dispatcher());
+    ActorRef subscriber = getSender();
+    String key = normalizeQuery(query);
+
+    Set<ActorRef> querySubscribers = subscribers.computeIfAbsent(key, k -> new HashSet<>());
+    if (!querySubscribers.add(subscriber)) {
+      return;
+    }
+    getContext().watch(subscriber);
+
+    ActorRef poller = pollers.get(key);
+    if (poller == null) {
+      startPoller(key);
+    } else {
+      poller.tell(new QueryPollerActor.SendLatest(subscriber), getSelf());
+    }
   }
 
   /**
-   * Fetches video results for a query and sends unique results to the sender.
-   * Filters duplicates and handles errors by sending an empty result set.
-   * @param query the search query
-   * @param sender the actor to send results to
-   * @author Aidassj
+   * Starts and watches a poller for a query.
+   *
+   * @param key the normalized query
+   */
+  private void startPoller(String key) {
+    ActorRef poller =
+        getContext()
+            .actorOf(
+                ActorDispatchers.on(
+                    getContext().getSystem(),
+                    QueryPollerActor.props(
+                        key, youTubeService, minInterval, maxInterval, seenIdsCapacity),
+                    ActorDispatchers.HTTP));
+    getContext().watch(poller);
+    pollers.put(key, poller);
+    pollingIntervals.put(key, minInterval);
+    System.out.println("YouTubeServiceActor started poller for query: " + key);
+  }
+
+  /**
+   * Removes the sender from a query's subscribers.
+   *
+   * @param message the query to unsubscribe from
+   */
+  private void handleUnsubscribe(Messages.UnsubscribeQuery message) {
+    removeSubscriber(normalizeQuery(message.getQuery()), getSender());
+  }
+
+  /**
+   * Sends the new videos found by a poller to every actor subscribed to its query.
+   *
+   * @param results the new videos for a query
+   */
+  private void fanOutResults(QueryPollerActor.QueryResults results) {
+    Set<ActorRef> querySubscribers = subscribers.getOrDefault(results.query, Set.of());
+    System.out.println(
+        "YouTubeServiceActor sending "
+            + results.videos.size()
+            + " results for query: "
+            + results.query
+            + " to "
+            + querySubscribers.size()
+            + " subscribers");
+    Messages.SearchResultsMessage message =
+        new Messages.SearchResultsMessage(results.query, results.videos);
+    querySubscribers.forEach(subscriber -> subscriber.tell(message, getSelf()));
+  }
+
+  /**
+   * Drops a stopped subscriber from every query it watched, or replaces a poller that stopped
+   * while its query still has subscribers, so that they are not left without updates.
+   *
+   * @param actor the actor that terminated
    */
+  private void handleTerminated(ActorRef actor) {
+    for (Map.Entry<String, ActorRef> entry : Map.copyOf(pollers).entrySet()) {
+      if (entry.getValue().equals(actor)) {
+        String key = entry.getKey();
+        pollers.remove(key);
+        pollingIntervals.remove(key);
+        System.out.println("YouTubeServiceActor poller stopped for query: " + key);
+        if (subscribers.containsKey(key)) {
+          startPoller(key);
+        }
+        return;
+      }
+    }
+    for (String key : Set.copyOf(subscribers.keySet())) {
+      removeSubscriber(key, actor);
+    }
+  }
 
-  private void fetchAndStreamResults(String query, ActorRef sender) {
-    CompletionStage<List<Video>> videos = youTubeService.searchVideos(query);
-
-    videos.whenComplete(
-        (results, error) -> {
-          if (error != null) {
-            System.err.println(
-                "Error fetching videos for query '" + query + "': " + error.getMessage());
-            sender.tell(new Messages.SearchResultsMessage(query, new ArrayList<>()), getSelf());
-          } else {
-            // Filter out already processed videos
-            List<Video> newResults =
-                results.stream()
-                    .filter(video -> !processedVideoIds.contains(video.getVideoId()))
-                    .collect(Collectors.toList());
-
-            newResults.forEach(video -> processedVideoIds.add(video.getVideoId()));
-
-            if (!newResults.isEmpty()) {
-              System.out.println(
-                  "YouTubeServiceActor sending "
-                      + newResults.size()
-                      + " results for query: "
-                      + query);
-              sender.tell(new Messages.SearchResultsMessage(query, newResults), getSelf());
-            } else {
-              System.out.println("No new results for query: " + query);
-            }
-          }
-        });
+  private void removeSubscriber(String key, ActorRef subscriber) {
+    Set<ActorRef> querySubscribers = subscribers.get(key);
+    if (querySubscribers == null || !querySubscribers.remove(subscriber)) {
+      return;
+    }
+    if (querySubscribers.isEmpty()) {
+      subscribers.remove(key);
+      ActorRef poller = pollers.remove(key);
+      pollingIntervals.remove(key);
+      if (poller != null) {
+        getContext().unwatch(poller);
+        getContext().stop(poller);
+        System.out.println("YouTubeServiceActor stopped poller for query: " + key);
+      }
+    }
+  }
+
+  /**
+   * Normalizes a query so that differently cased or spaced versions share one poller.
+   *
+   * @param query the raw query
+   * @return the trimmed, lower-cased query with single spaces
+   */
+  static String normalizeQuery(String query) {
+    return query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
   }
 }
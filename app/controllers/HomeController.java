@@ -1,14 +1,18 @@
 package controllers;
 
+import actors.ActorDispatchers;
 import actors.Messages;
 import actors.SupervisorActor;
 import actors.TagsActor;
+import actors.YouTubeServiceActor;
 
 
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import models.SearchResult;
@@ -22,7 +26,11 @@ import play.mvc.Controller;
 import play.mvc.Http;
 import play.mvc.Result;
 import play.mvc.WebSocket;
+import services.QuotaLimiter;
+import services.RenderedPageCache;
+import services.SessionStore;
 import services.YouTubeService;
+import utils.Deadline;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -63,38 +71,55 @@ public class HomeController extends Controller {
     private final YouTubeService youTubeService;
     private ActorRef supervisorActor;
     //private final ActorRef supervisorActor;
+    private final ActorRef youTubeServiceActor;
 
     private final LinkedHashMap<String, List<Video>> multipleQueryResult;
-    private static HashMap<String, LinkedHashMap<String, List<Video>>> multipleQueryResults =
-            new HashMap<>();
+    private final SessionStore sessionStore;
+    private final RenderedPageCache pageCache;
     private final WSClient wsClient;
 
-    @Inject
+    private static final String HTML_UTF8 = "text/html; charset=utf-8";
+
+    // Largest number of latest videos a WebSocket connection can ask for
+    private static final int MAX_WINDOW_SIZE = 50;
+
+    // Cache key of the home page, which renders nothing that depends on the session
+    private static final String INDEX_PAGE_KEY = "index";
+
+    // How long the word statistics page waits for the search and the counting together
+    private static final Duration WORD_STATS_TIMEOUT = Duration.ofSeconds(15);
+
+    // How long the channel profile and tag pages wait for their lookups
+    private static final Duration LOOKUP_TIMEOUT = Duration.ofSeconds(10);
+
     public HomeController(
             ActorSystem actorSystem,
             Materializer materializer,
             WSClient wsClient,
             YouTubeService youTubeService,
             LinkedHashMap<String, List<Video>> multipleQueryResult) {
-        this.actorSystem = Objects.requireNonNull(actorSystem, "ActorSystem cannot be null");
-        this.materializer = Objects.requireNonNull(materializer, "Materializer cannot be null");
-        this.wsClient = Objects.requireNonNull(wsClient, "WSClient cannot be null");
-        this.youTubeService = Objects.requireNonNull(youTubeService, "YouTubeService cannot be null");
-        this.multipleQueryResult =
-                Objects.requireNonNull(multipleQueryResult, "Query result map cannot be null");
+        this(actorSystem, materializer, wsClient, youTubeService, multipleQueryResult, null);
+    }
 
-        // Create a unique name for the supervisor actor instance
-        String uniqueActorName = "supervisorActor-" + UUID.randomUUID().toString();
-        this.supervisorActor = actorSystem.actorOf(SupervisorActor.props(null, wsClient), uniqueActorName);
+    public HomeController(
+            ActorSystem actorSystem,
+            Materializer materializer,
+            WSClient wsClient,
+            YouTubeService youTubeService,
+            LinkedHashMap<String, List<Video>> multipleQueryResult,
+            SessionStore sessionStore) {
+        this(actorSystem, materializer, wsClient, youTubeService, multipleQueryResult, sessionStore, null);
     }
 
+    @Inject
     public HomeController(
             ActorSystem actorSystem,
             Materializer materializer,
             WSClient wsClient,
             YouTubeService youTubeService,
             LinkedHashMap<String, List<Video>> multipleQueryResult,
-            HashMap<String, LinkedHashMap<String, List<Video>>> sessionQueryMap) {
+            SessionStore sessionStore,
+            RenderedPageCache pageCache) {
         this.actorSystem = Objects.requireNonNull(actorSystem, "ActorSystem cannot be null");
         this.materializer = Objects.requireNonNull(materializer, "Materializer cannot be null");
         this.wsClient = Objects.requireNonNull(wsClient, "WSClient cannot be null");
@@ -102,12 +127,33 @@ public class HomeController extends Controller {
         this.multipleQueryResult =
                 Objects.requireNonNull(multipleQueryResult, "Query result map cannot be null");
 
-        // Initialize session-specific query map or default to a new map
-        this.multipleQueryResults = sessionQueryMap != null ? sessionQueryMap : new HashMap<>();
+        // Search history of every browser session, or a private store with the default limits
+        this.sessionStore = sessionStore != null ? sessionStore : new SessionStore();
+
+        // Rendered pages, served again as long as the results they show are unchanged
+        this.pageCache = pageCache != null ? pageCache : new RenderedPageCache();
+
+        // One query-subscription hub shared by every WebSocket connection
+        this.youTubeServiceActor = createYouTubeServiceActor();
 
-        // Create a unique name for the supervisor actor instance
+        // Without a WebSocket output the supervisor creates no session actors; it only forwards
+        // word-stats and tag requests to the analytics actors shared by the whole actor system
         String uniqueActorName = "supervisorActor-" + UUID.randomUUID().toString();
-        this.supervisorActor = this.actorSystem.actorOf(SupervisorActor.props(null, wsClient), uniqueActorName);
+        this.supervisorActor =
+                this.actorSystem.actorOf(SupervisorActor.props(null, youTubeServiceActor), uniqueActorName);
+    }
+
+    /**
+     * Creates the YouTubeServiceActor that keeps a single poller per distinct query for all
+     * connections handled by this controller.
+     *
+     * @return the shared query-subscription hub
+     */
+    private ActorRef createYouTubeServiceActor() {
+        return actorSystem.actorOf(
+                ActorDispatchers.on(actorSystem,
+                        YouTubeServiceActor.props(wsClient, youTubeService), ActorDispatchers.HTTP),
+                "youTubeServiceActor-" + UUID.randomUUID());
     }
     /**
      * Setter for supervisorActor, used for injecting mock in tests.
@@ -121,18 +167,44 @@ public class HomeController extends Controller {
 
     /**
      * Start of webSocket connection, which will create a supervisor actor who is in charge of looking
-     * after all children actors.
+     * after the session actor of the connection. The analytics actors are shared by all connections.
+     * A connection may ask for its own number of latest videos with {@code ?window=n}.
      *
      * @author Jessica Chen
      */
     public WebSocket ws() {
         return WebSocket.Text.accept(
                 request -> {
+                    int windowSize = windowSize(request);
                     return ActorFlow.actorRef(
-                            out -> SupervisorActor.props(out, wsClient), actorSystem, materializer);
+                            out -> SupervisorActor.props(out, youTubeServiceActor, windowSize),
+                            actorSystem,
+                            materializer);
                 });
     }
 
+    /**
+     * Reads the number of latest videos a WebSocket connection asked for, capped at {@code
+     * websocket.max-window-size}.
+     *
+     * @param request the WebSocket request
+     * @return the requested window size, or 0 for the configured default
+     */
+    int windowSize(Http.RequestHeader request) {
+        Optional<String> requested = request.queryString("window");
+        if (requested.isEmpty()) {
+            return 0;
+        }
+        int maxWindowSize = actorSystem.settings().config().hasPath("websocket.max-window-size")
+                ? actorSystem.settings().config().getInt("websocket.max-window-size")
+                : MAX_WINDOW_SIZE;
+        try {
+            return Math.max(0, Math.min(Integer.parseInt(requested.get().trim()), maxWindowSize));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     public CompletionStage<Result> index(String query) {
         return index(query, null);
     }
@@ -154,63 +226,27 @@ public class HomeController extends Controller {
                     request.cookie("sessionId").map(Http.Cookie::value).orElse(UUID.randomUUID().toString());
         }
 
-        // Ensure a session-specific map exists
-        multipleQueryResults.computeIfAbsent(sessionId, k -> new LinkedHashMap<>());
-
-        // Get the session-specific query results map
-        LinkedHashMap<String, List<Video>> multipleQueryResultFromHashMap =
-                multipleQueryResults.get(sessionId);
-
-        return CompletableFuture.supplyAsync(
-                        () -> {
-                            // Handle new or existing queries
-                            if (!multipleQueryResultFromHashMap.containsKey(query)) {
-                                // If the size exceeds the limit, remove the oldest entry
-                                if (multipleQueryResultFromHashMap.size() == 10) {
-                                    String eldestKey = multipleQueryResultFromHashMap.keySet().iterator().next();
-                                    multipleQueryResultFromHashMap.remove(eldestKey);
-                                }
-                                // Add the query with an empty list
-                                multipleQueryResultFromHashMap.put(query, new ArrayList<>());
-                            }
-                            return query;
-                        })
-                .thenCompose(
-                        queryToFetch -> {
-                            // Handle null or empty queries
-                            if (queryToFetch == null || queryToFetch.isEmpty()) {
-                                return CompletableFuture.completedFuture(List.of());
-                            }
-                            // Fetch videos from the YouTube service
-                            return youTubeService.searchVideos(queryToFetch, 10);
-                        })
-                .thenApply(
-                        newVideos -> {
-                            if (query != null && !query.isEmpty()) {
-                                // Retrieve existing videos or initialize a new list
-                                List<Video> existingVideos =
-                                        multipleQueryResultFromHashMap.getOrDefault(query, new ArrayList<>());
-
-                                // Append new videos to the existing list
-                                existingVideos.addAll(newVideos);
-
-                                // Update the query results map
-                                multipleQueryResultFromHashMap.put(query, existingVideos);
-                            }
-
-                            // Combine results from all queries in the order they were added
-                            List<SearchResult> searchResults =
-                                    multipleQueryResultFromHashMap.entrySet().stream()
-                                            .map(entry -> new SearchResult(entry.getKey(), entry.getValue()))
-                                            .collect(Collectors.toList());
-
-                            // Reverse the order to show the most recent searches at the top
-                            Collections.reverse(searchResults);
-
-                            // Render the page with the combined results and set session ID in cookies
-                            return ok(views.html.reactiveIndex.render(searchResults))
-                                    .withCookies(Http.Cookie.builder("sessionId", sessionId).build());
-                        });
+        // Remember the query in the session, replacing its oldest query once it is full
+        sessionStore.addQuery(sessionId, query);
+
+        CompletionStage<List<Video>> newVideos =
+                query == null || query.isEmpty()
+                        ? CompletableFuture.completedFuture(List.of())
+                        // Fetch videos from the YouTube service
+                        : youTubeService.searchVideos(query, 10);
+
+        return newVideos.thenApply(
+                videos -> {
+                    // Append the new videos to the search history of the session
+                    sessionStore.appendVideos(sessionId, query, videos);
+
+                    // The page receives its results over the WebSocket, so every session is served
+                    // the same rendered page; set session ID in cookies
+                    byte[] page = pageCache.render(INDEX_PAGE_KEY, INDEX_PAGE_KEY,
+                            () -> views.html.reactiveIndex.render(List.of()));
+                    return ok(page).as(HTML_UTF8)
+                            .withCookies(Http.Cookie.builder("sessionId", sessionId).build());
+                });
     }
 
     /**
@@ -236,8 +272,11 @@ public class HomeController extends Controller {
                             if (videos.isEmpty()) {
                                 return ok("No results found");
                             }
-                            // Render the results page with the videos and query
-                            return ok(views.html.results.render(videos, query));
+                            // Render the results page with the videos and query, unless the same
+                            // videos were already rendered for it
+                            byte[] page = pageCache.render("results:" + query, videos,
+                                    () -> views.html.results.render(videos, query));
+                            return ok(page).as(HTML_UTF8);
                         })
                 .exceptionally(
                         e -> {
@@ -266,9 +305,18 @@ public class HomeController extends Controller {
 
         System.out.println("HomeController: Received query for word stats: " + query);
 
+        // One deadline covers the search and the counting, and is passed down to both
+        Deadline deadline = Deadline.in(WORD_STATS_TIMEOUT);
+
         // Fetch the latest 50 videos for the query
-        return youTubeService.searchVideos(query, 50)
+        return youTubeService.searchVideos(query, 50, QuotaLimiter.Priority.INTERACTIVE, deadline)
                 .thenCompose(videos -> {
+                    if (deadline.isOverdue()) {
+                        // Too late to count the words, so the analytics are skipped
+                        System.err.println("HomeController: Word stats for query timed out: " + query);
+                        return CompletableFuture.completedFuture(
+                                status(GATEWAY_TIMEOUT, "Fetching the videos took too long."));
+                    }
                     if (videos.isEmpty()) {
                         System.out.println("HomeController: No videos found for query: " + query);
                         return CompletableFuture.completedFuture(ok("No videos found for the given query."));
@@ -282,7 +330,9 @@ public class HomeController extends Controller {
                     System.out.println("HomeController: Processing " + videoTexts.size() + " video texts for word stats.");
 
                     // Send the request to SupervisorActor for processing
-                    return Patterns.ask(supervisorActor, new Messages.WordStatsRequest(videoTexts), Duration.ofSeconds(15))
+                    return Patterns.ask(supervisorActor,
+                                    new Messages.WordStatsRequest(videoTexts, Messages.WordStatsRequest.DEFAULT_LIMIT, deadline),
+                                    deadline.timeLeft())
                             .thenApply(response -> {
                                 if (response instanceof Messages.WordStatsResponse) {
                                     Messages.WordStatsResponse wordStatsResponse = (Messages.WordStatsResponse) response;
@@ -305,6 +355,12 @@ public class HomeController extends Controller {
                                 }
                             })
                             .exceptionally(e -> {
+                                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                                if (cause instanceof TimeoutException) {
+                                    // The deadline passed before the words were counted, or the ask gave up on them
+                                    System.err.println("HomeController: Word stats for query timed out: " + query);
+                                    return status(GATEWAY_TIMEOUT, "Counting the words took too long.");
+                                }
                                 System.err.println("HomeController: Error occurred while processing word stats: " + e.getMessage());
                                 e.printStackTrace();
                                 return internalServerError("An error occurred while processing word statistics.");
@@ -350,10 +406,11 @@ public class HomeController extends Controller {
      * @author Aidassj
      */
     public CompletionStage<Result> channelProfile(String channelId) {
+        Deadline deadline = Deadline.in(LOOKUP_TIMEOUT);
         return youTubeService
-                .getChannelInfoAsync(channelId)
+                .getChannelInfoAsync(channelId, deadline)
                 .thenCombine(
-                        youTubeService.getLast10VideosAsync(channelId),
+                        youTubeService.getLast10VideosAsync(channelId, deadline),
                         (channelInfo, videos) -> {
                             if (channelInfo == null) {
                                 return internalServerError("An error occurred while fetching channel data.");
@@ -375,7 +432,7 @@ public class HomeController extends Controller {
      */
     public CompletionStage<Result> fetchLatestVideos(String channelId) {
         return youTubeService
-                .getLast10VideosAsync(channelId)
+                .getLast10VideosAsync(channelId, Deadline.in(LOOKUP_TIMEOUT))
                 .thenApply(
                         videos -> {
                             if (videos.isEmpty()) {
@@ -392,7 +449,7 @@ public class HomeController extends Controller {
 
     public CompletionStage<Result> showTags(String videoId) {
         return youTubeService
-                .getVideoDetails(videoId)
+                .getVideoDetails(videoId, Deadline.in(LOOKUP_TIMEOUT))
                 .thenApply(
                         video -> {
                             if (video == null) {
@@ -404,7 +461,7 @@ public class HomeController extends Controller {
 
     public CompletionStage<Result> searchByTag(String tag) {
         return youTubeService
-                .searchVideosByTag(tag)
+                .searchVideosByTag(tag, Deadline.in(LOOKUP_TIMEOUT))
                 .thenApply(
                         videos -> {
                             if (videos.isEmpty()) {
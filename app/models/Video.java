@@ -4,7 +4,16 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import utils.Helpers;
+import utils.TextAnalyzer;
 
+/**
+ * A YouTube video as returned by the search API, with the text analytics of its description.
+ *
+ * <p>Two videos are equal when they have the same video id, so de-duplicating them or looking them
+ * up in a hash set costs one hash and one id comparison, not a pass over their descriptions and
+ * tags. Videos without an id fall back to comparing their content. Use {@link
+ * #contentEquals(Video)} to compare every field explicitly.
+ */
 public class Video {
   private final String title;
   private final String description;
@@ -12,14 +21,14 @@ public class Video {
   private final String videoId;
   private final String thumbnailUrl;
   private final String channelTitle;
-  private double fleschKincaidGradeLevel;
-  private double fleschReadingEaseScore;
-  private final String submissionSentiment;
-  private final double happyWordCount;
-  private final double sadWordCount;
   private final String publishedDate;
+  private final VideoKey key;
   private List<String> tags;
 
+  // Text analytics of the description, computed on first access and then reused
+  private volatile TextScores textScores;
+  private volatile String submissionSentiment;
+
   public Video(
           String title,
           String description,
@@ -34,12 +43,8 @@ public class Video {
     this.videoId = videoId;
     this.thumbnailUrl = thumbnailUrl;
     this.channelTitle = channelTitle;
-    this.fleschKincaidGradeLevel = Helpers.calculateFleschKincaidGradeLevel(description);
-    this.fleschReadingEaseScore = Helpers.calculateFleschReadingEaseScore(description);
-    this.happyWordCount = Helpers.calculateHappyWordCount(description);
-    this.sadWordCount = Helpers.calculateSadWordCount(description);
-    this.submissionSentiment = Helpers.calculateSentiment(happyWordCount, sadWordCount);
     this.publishedDate = publishedDate;
+    this.key = VideoKey.of(videoId);
     this.tags = Collections.emptyList();
   }
 
@@ -59,6 +64,16 @@ public class Video {
     return videoId;
   }
 
+  /**
+   * Returns the identity of this video, for de-duplication and cache keys. Deliberately not a bean
+   * getter, so it is left out of the JSON sent to the browser.
+   *
+   * @return the key of the video id
+   */
+  public VideoKey key() {
+    return key;
+  }
+
   public String getThumbnailUrl() {
     return thumbnailUrl;
   }
@@ -68,31 +83,75 @@ public class Video {
   }
 
   public double getFleschKincaidGradeLevel() {
-    return fleschKincaidGradeLevel;
+    return textScores().fleschKincaidGradeLevel;
   }
 
-  public void setFleschKincaidGradeLevel(double fleschKincaidGradeLevel) {
-    this.fleschKincaidGradeLevel = fleschKincaidGradeLevel;
+  public synchronized void setFleschKincaidGradeLevel(double fleschKincaidGradeLevel) {
+    TextScores scores = textScores();
+    this.textScores =
+        new TextScores(
+            fleschKincaidGradeLevel,
+            scores.fleschReadingEaseScore,
+            scores.happyWordCount,
+            scores.sadWordCount);
   }
 
   public double getFleschReadingEaseScore() {
-    return fleschReadingEaseScore;
+    return textScores().fleschReadingEaseScore;
   }
 
-  public void setFleschReadingEaseScore(double fleschReadingEaseScore) {
-    this.fleschReadingEaseScore = fleschReadingEaseScore;
+  public synchronized void setFleschReadingEaseScore(double fleschReadingEaseScore) {
+    TextScores scores = textScores();
+    this.textScores =
+        new TextScores(
+            scores.fleschKincaidGradeLevel,
+            fleschReadingEaseScore,
+            scores.happyWordCount,
+            scores.sadWordCount);
   }
 
   public double getHappyWordCount() {
-    return happyWordCount;
+    return textScores().happyWordCount;
   }
 
   public double getSadWordCount() {
-    return sadWordCount;
+    return textScores().sadWordCount;
   }
 
   public String getSubmissionSentiment() {
-    return submissionSentiment;
+    String sentiment = submissionSentiment;
+    if (sentiment == null) {
+      TextScores scores = textScores();
+      sentiment = Helpers.calculateSentiment(scores.happyWordCount, scores.sadWordCount);
+      submissionSentiment = sentiment;
+    }
+    return sentiment;
+  }
+
+  /**
+   * Returns the readability and sentiment scores of the description, computing them on first use.
+   * Videos that are only listed (channel pages, tag searches) never pay for the text analysis.
+   *
+   * @return the memoized text scores
+   */
+  private TextScores textScores() {
+    TextScores scores = textScores;
+    if (scores == null) {
+      synchronized (this) {
+        scores = textScores;
+        if (scores == null) {
+          TextAnalyzer.TextStats stats = TextAnalyzer.analyze(description);
+          scores =
+              new TextScores(
+                  stats.getFleschKincaidGradeLevel(),
+                  stats.getFleschReadingEaseScore(),
+                  stats.getHappyWordCount(),
+                  stats.getSadWordCount());
+          textScores = scores;
+        }
+      }
+    }
+    return scores;
   }
 
   public String getPublishedDate() {
@@ -111,11 +170,39 @@ public class Video {
     this.tags = tags == null ? Collections.emptyList() : tags;
   }
 
+  /**
+   * Compares the video ids, or the content of two videos that have no id.
+   *
+   * @param o the object to compare with
+   * @return true if o is a video with the same id
+   */
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     Video video = (Video) o;
+    if (videoId == null && video.videoId == null) {
+      return contentEquals(video);
+    }
+    return key.equals(video.key);
+  }
+
+  @Override
+  public int hashCode() {
+    return key.hashCode();
+  }
+
+  /**
+   * Compares every field of two videos, including their descriptions and tags. This is the deep
+   * comparison that equals used to make; it is only needed where a changed title or description of
+   * the same video matters.
+   *
+   * @param video the video to compare with
+   * @return true if both videos have the same content
+   */
+  public boolean contentEquals(Video video) {
+    if (this == video) return true;
+    if (video == null) return false;
     return Objects.equals(title, video.title)
             && Objects.equals(description, video.description)
             && Objects.equals(channelId, video.channelId)
@@ -123,13 +210,24 @@ public class Video {
             && Objects.equals(thumbnailUrl, video.thumbnailUrl)
             && Objects.equals(channelTitle, video.channelTitle)
             && Objects.equals(publishedDate, video.publishedDate)
-            && Objects.equals(tags, video.tags);
+            && Objects.equals(getTags(), video.getTags());
   }
 
-  @Override
-  public int hashCode() {
+  /**
+   * Hash of every field of the video, consistent with {@link #contentEquals(Video)}.
+   *
+   * @return the content hash
+   */
+  public int contentHashCode() {
     return Objects.hash(
-            title, description, channelId, videoId, thumbnailUrl, channelTitle, publishedDate, tags);
+            title,
+            description,
+            channelId,
+            videoId,
+            thumbnailUrl,
+            channelTitle,
+            publishedDate,
+            getTags());
   }
 
   @Override
@@ -160,4 +258,23 @@ public class Video {
             + tags
             + '}';
   }
+
+  /** Immutable snapshot of the text analytics of a video description. */
+  private static final class TextScores {
+    private final double fleschKincaidGradeLevel;
+    private final double fleschReadingEaseScore;
+    private final double happyWordCount;
+    private final double sadWordCount;
+
+    private TextScores(
+        double fleschKincaidGradeLevel,
+        double fleschReadingEaseScore,
+        double happyWordCount,
+        double sadWordCount) {
+      this.fleschKincaidGradeLevel = fleschKincaidGradeLevel;
+      this.fleschReadingEaseScore = fleschReadingEaseScore;
+      this.happyWordCount = happyWordCount;
+      this.sadWordCount = sadWordCount;
+    }
+  }
 }
@@ -0,0 +1,48 @@
+package models;
+
+/**
+ * Identity of a YouTube video: its video id, with the hash computed once. This is what
+ * de-duplication and caches compare, so telling two videos apart costs one hash and, on a match,
+ * one id comparison, however long their descriptions and tag lists are.
+ */
+public final class VideoKey {
+  private final String videoId;
+  private final int hash;
+
+  private VideoKey(String videoId) {
+    this.videoId = videoId;
+    this.hash = videoId == null ? 0 : videoId.hashCode();
+  }
+
+  /**
+   * Returns the key of a video id.
+   *
+   * @param videoId the id of the video, may be null
+   * @return the key
+   */
+  public static VideoKey of(String videoId) {
+    return new VideoKey(videoId);
+  }
+
+  public String getVideoId() {
+    return videoId;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof VideoKey)) return false;
+    VideoKey that = (VideoKey) o;
+    return hash == that.hash && videoId != null && videoId.equals(that.videoId);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return "VideoKey{" + videoId + '}';
+  }
+}
@@ -0,0 +1,82 @@
+package services;
+
+import java.util.concurrent.atomic.AtomicLong;
+import play.libs.ws.WSResponse;
+
+/**
+ * Traffic counters of one YouTube Data API endpoint: how many responses were read, how many body
+ * bytes they carried and how long parsing them took. Comparing the average bytes and parse time
+ * per response before and after a change of field projection shows what it saved.
+ *
+ * <p>The bytes are those of the body handed to the application. The WS client inflates gzip
+ * responses before that, so the compressed size is only visible on the wire itself.
+ */
+public class EndpointMetrics {
+
+    private final String endpoint;
+    private final AtomicLong responses = new AtomicLong();
+    private final AtomicLong bodyBytes = new AtomicLong();
+    private final AtomicLong parseNanos = new AtomicLong();
+
+    public EndpointMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Records a response of the endpoint once it has been parsed.
+     *
+     * @param response the response, whose body size is counted
+     * @param nanos the time spent parsing it
+     */
+    public void record(WSResponse response, long nanos) {
+        responses.incrementAndGet();
+        if (response.getBodyAsBytes() != null) {
+            bodyBytes.addAndGet(response.getBodyAsBytes().size());
+        }
+        parseNanos.addAndGet(nanos);
+    }
+
+    /** Name of the endpoint, such as "search". */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /** Number of responses read. */
+    public long getResponseCount() {
+        return responses.get();
+    }
+
+    /** Total size of the response bodies. */
+    public long getBodyBytes() {
+        return bodyBytes.get();
+    }
+
+    /** Total time spent parsing the responses, in nanoseconds. */
+    public long getParseNanos() {
+        return parseNanos.get();
+    }
+
+    /** Average size of a response body, 0 before the first response. */
+    public double getAverageBodyBytes() {
+        long count = responses.get();
+        return count == 0 ? 0 : (double) bodyBytes.get() / count;
+    }
+
+    /** Average time spent parsing a response, in nanoseconds, 0 before the first response. */
+    public double getAverageParseNanos() {
+        long count = responses.get();
+        return count == 0 ? 0 : (double) parseNanos.get() / count;
+    }
+
+    @Override
+    public String toString() {
+        return endpoint
+                + ": "
+                + responses.get()
+                + " responses, "
+                + bodyBytes.get()
+                + " body bytes, "
+                + parseNanos.get() / 1000
+                + " us parsing";
+    }
+}
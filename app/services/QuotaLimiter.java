@@ -0,0 +1,154 @@
+package services;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Budget of the daily unit quota of the YouTube Data API. Every call spends the unit cost of its
+ * endpoint, and the units spent are counted per quota day, which like the API's own count starts
+ * at midnight Pacific time. The whole quota only comes back when the API resets it, so the calls
+ * let through never add up to more than the API grants for a day.
+ *
+ * <p>The count is kept in memory: a restart forgets the units spent earlier that day, which the
+ * API then still refuses beyond its quota.
+ *
+ * <p>Calls have a priority. Interactive calls may spend the quota down to zero, while background
+ * calls are shed as soon as they would dig into the reserve kept for interactive ones, so once the
+ * budget runs low a page load never finds it used up by polling.
+ */
+public class QuotaLimiter {
+
+    /** Whether a call serves a user waiting for a page or runs in the background. */
+    public enum Priority {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    /** Failure of a call that the limiter refused, so that it was never sent. */
+    public static class QuotaExceededException extends IllegalStateException {
+        public QuotaExceededException(String message) {
+            super(message);
+        }
+    }
+
+    // The time zone in which the API resets the quota of a project at midnight
+    static final ZoneId QUOTA_ZONE = ZoneId.of("America/Los_Angeles");
+
+    private final long dailyUnits;
+    private final long backgroundReserve;
+    private final LongSupplier clock;
+
+    private long spentToday;
+    private long quotaDayEnd;
+
+    private final AtomicLong unitsSpent = new AtomicLong();
+    private final AtomicLong interactiveRejected = new AtomicLong();
+    private final AtomicLong backgroundShed = new AtomicLong();
+
+    /**
+     * @param dailyUnits the units the API grants per day
+     * @param backgroundReserve the units background calls must leave for interactive ones
+     */
+    public QuotaLimiter(long dailyUnits, long backgroundReserve) {
+        this(dailyUnits, backgroundReserve, System::currentTimeMillis);
+    }
+
+    QuotaLimiter(long dailyUnits, long backgroundReserve, LongSupplier clock) {
+        this.dailyUnits = Math.max(0, dailyUnits);
+        this.backgroundReserve = Math.max(0, Math.min(backgroundReserve, this.dailyUnits));
+        this.clock = clock;
+        this.quotaDayEnd = nextQuotaDay(clock.getAsLong());
+    }
+
+    /**
+     * Spends the units of a call if the budget allows it at the given priority.
+     *
+     * @param units the cost of the call
+     * @param priority the priority of the call
+     * @return true if the units were spent and the call may go ahead, false if it must not be sent
+     */
+    public boolean tryAcquire(int units, Priority priority) {
+        synchronized (this) {
+            rollOver();
+            long floor = priority == Priority.BACKGROUND ? backgroundReserve : 0;
+            if (dailyUnits - spentToday - units >= floor) {
+                spentToday += units;
+                unitsSpent.addAndGet(units);
+                return true;
+            }
+        }
+        if (priority == Priority.BACKGROUND) {
+            backgroundShed.incrementAndGet();
+        } else {
+            interactiveRejected.incrementAndGet();
+        }
+        return false;
+    }
+
+    /** Starts a new quota day once the API has reset the quota. */
+    private void rollOver() {
+        long now = clock.getAsLong();
+        if (now >= quotaDayEnd) {
+            spentToday = 0;
+            quotaDayEnd = nextQuotaDay(now);
+        }
+    }
+
+    /** The next midnight Pacific time after a point in time, in epoch milliseconds. */
+    static long nextQuotaDay(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis)
+                .atZone(QUOTA_ZONE)
+                .toLocalDate()
+                .plusDays(1)
+                .atStartOfDay(QUOTA_ZONE)
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    /** Units left for the rest of the quota day. */
+    public synchronized long getRemainingUnits() {
+        rollOver();
+        return dailyUnits - spentToday;
+    }
+
+    /** Units the API grants per day. */
+    public long getDailyUnits() {
+        return dailyUnits;
+    }
+
+    /** Units that only interactive calls may spend. */
+    public long getBackgroundReserve() {
+        return backgroundReserve;
+    }
+
+    /** Total units spent by the calls let through, over every quota day. */
+    public long getUnitsSpent() {
+        return unitsSpent.get();
+    }
+
+    /** Number of interactive calls refused because the quota was used up. */
+    public long getInteractiveRejectedCount() {
+        return interactiveRejected.get();
+    }
+
+    /** Number of background calls shed to keep the reserve for interactive ones. */
+    public long getBackgroundShedCount() {
+        return backgroundShed.get();
+    }
+
+    @Override
+    public String toString() {
+        return getRemainingUnits()
+                + " of "
+                + dailyUnits
+                + " units left, "
+                + unitsSpent.get()
+                + " spent, "
+                + backgroundShed.get()
+                + " background calls shed, "
+                + interactiveRejected.get()
+                + " interactive calls rejected";
+    }
+}
@@ -0,0 +1,116 @@
+package services;
+
+import com.typesafe.config.Config;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import play.twirl.api.Html;
+
+/**
+ * Cache of rendered HTML pages, kept as the UTF-8 bytes that are sent to the browser.
+ *
+ * <p>Every page is stored under a key together with the version of the data it was rendered from,
+ * such as the videos of a search, or under a constant when nothing on it depends on the request,
+ * like the home page whose results arrive over the WebSocket. A page is only
+ * rendered again once that data is no longer equal to the version it was rendered from; until then
+ * repeat loads are served the precomputed bytes. The rendering time of every page is remembered, so
+ * the cache reports how much rendering time its hits saved. Pages expire, and the least recently
+ * used ones are evicted, like the entries of a {@link ResponseCache}.
+ */
+@Singleton
+public class RenderedPageCache {
+
+    private static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    private final ResponseCache<RenderedPage> pages;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong renders = new AtomicLong();
+    private final AtomicLong renderNanosSaved = new AtomicLong();
+
+    @Inject
+    public RenderedPageCache(Config config) {
+        this(
+                config != null && config.hasPath("render-cache.ttl")
+                        ? config.getDuration("render-cache.ttl", TimeUnit.MILLISECONDS)
+                        : DEFAULT_TTL_MILLIS,
+                config != null && config.hasPath("render-cache.max-entries")
+                        ? config.getInt("render-cache.max-entries")
+                        : DEFAULT_MAX_ENTRIES,
+                config != null && config.hasPath("render-cache.max-bytes")
+                        ? config.getBytes("render-cache.max-bytes")
+                        : DEFAULT_MAX_BYTES);
+    }
+
+    /** Creates a cache with the default limits. */
+    public RenderedPageCache() {
+        this(DEFAULT_TTL_MILLIS, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    public RenderedPageCache(long ttlMillis, int maxEntries, long maxBytes) {
+        this.pages = new ResponseCache<>(ttlMillis, maxEntries, maxBytes, page -> page.body.length);
+    }
+
+    /**
+     * Returns the page rendered from a version of its data, rendering and caching it unless the
+     * cached page was rendered from an equal version.
+     *
+     * @param key identifies the page
+     * @param version the data the page is rendered from; compared with equals, so it must not be
+     *     modified afterwards. Videos compare by id, so a page is re-rendered when videos are added
+     *     or removed, not when an already listed video is re-fetched.
+     * @param renderer renders the page
+     * @return the UTF-8 bytes of the page
+     */
+    public byte[] render(String key, Object version, Supplier<Html> renderer) {
+        Optional<RenderedPage> cached = pages.get(key);
+        if (cached.isPresent() && Objects.equals(cached.get().version, version)) {
+            hits.incrementAndGet();
+            renderNanosSaved.addAndGet(cached.get().renderNanos);
+            return cached.get().body;
+        }
+        renders.incrementAndGet();
+        long start = System.nanoTime();
+        byte[] body = renderer.get().body().getBytes(StandardCharsets.UTF_8);
+        pages.put(key, new RenderedPage(version, body, System.nanoTime() - start));
+        return body;
+    }
+
+    /** Number of page loads served from the cache. */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /** Number of page loads that had to render the page. */
+    public long getRenderCount() {
+        return renders.get();
+    }
+
+    /** Total rendering time, in nanoseconds, that the pages served from the cache would have taken. */
+    public long getRenderNanosSaved() {
+        return renderNanosSaved.get();
+    }
+
+    /** Number of pages currently cached. */
+    public int size() {
+        return pages.size();
+    }
+
+    private static final class RenderedPage {
+        private final Object version;
+        private final byte[] body;
+        private final long renderNanos;
+
+        private RenderedPage(Object version, byte[] body, long renderNanos) {
+            this.version = version;
+            this.body = body;
+            this.renderNanos = renderNanos;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import utils.Deadline;
+
+/**
+ * Batches single-key lookups into multi-key calls. Keys requested within a short window after the
+ * first one, or until the batch holds the maximum number of keys, are loaded with one call, and
+ * every caller is completed from its result. A key requested twice within a window is loaded once.
+ *
+ * <p>A key missing from the result completes its callers with null; a failed call fails all of
+ * them. Each call is made with the latest deadline of the callers in its batch, so that it is not
+ * given up on while any of them still waits.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the loaded values
+ */
+public class RequestBatcher<K, V> {
+
+    private final int maxBatchSize;
+    private final BiFunction<List<K>, Deadline, CompletionStage<Map<K, V>>> loader;
+    private final Executor delayedExecutor;
+
+    // Keys waiting for the next call
+    private Batch<K, V> pending = new Batch<>();
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedKeys = new AtomicLong();
+    private final AtomicLong batchedRequests = new AtomicLong();
+
+    /**
+     * @param windowMillis how long a batch waits for more keys after its first one
+     * @param maxBatchSize number of keys that sends a batch right away
+     * @param loader loads the values of a batch of distinct keys with a single call
+     */
+    public RequestBatcher(
+            long windowMillis, int maxBatchSize, Function<List<K>, CompletionStage<Map<K, V>>> loader) {
+        this(windowMillis, maxBatchSize, (keys, deadline) -> loader.apply(keys));
+    }
+
+    /**
+     * @param windowMillis how long a batch waits for more keys after its first one
+     * @param maxBatchSize number of keys that sends a batch right away
+     * @param loader loads the values of a batch of distinct keys with a single call, made for
+     *     callers that wait until the given deadline
+     */
+    public RequestBatcher(
+            long windowMillis,
+            int maxBatchSize,
+            BiFunction<List<K>, Deadline, CompletionStage<Map<K, V>>> loader) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.loader = loader;
+        this.delayedExecutor =
+                CompletableFuture.delayedExecutor(Math.max(0, windowMillis), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Requests the value of a key, to be loaded with the next batch.
+     *
+     * @param key the key
+     * @return a CompletionStage completed with the value, or null if the batch did not return one
+     */
+    public CompletionStage<V> load(K key) {
+        return load(key, Deadline.none());
+    }
+
+    /**
+     * Requests the value of a key for a caller that stops waiting at a deadline, to be loaded with
+     * the next batch.
+     *
+     * @param key the key
+     * @param deadline when the caller stops waiting
+     * @return a CompletionStage completed with the value, or null if the batch did not return one
+     */
+    public CompletionStage<V> load(K key, Deadline deadline) {
+        CompletableFuture<V> future;
+        Batch<K, V> full = null;
+        synchronized (this) {
+            Batch<K, V> batch = pending;
+            batch.requests++;
+            batch.deadline = batch.requests == 1 ? deadline : batch.deadline.orLater(deadline);
+            future = batch.futures.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                batch.futures.put(key, future);
+                if (batch.futures.size() == 1) {
+                    delayedExecutor.execute(() -> flush(batch));
+                }
+                if (batch.futures.size() >= maxBatchSize) {
+                    full = batch;
+                    pending = new Batch<>();
+                }
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return future.copy();
+    }
+
+    /** Sends a batch once its window is over, unless it was already sent because it filled up. */
+    private void flush(Batch<K, V> batch) {
+        synchronized (this) {
+            if (batch != pending) {
+                return;
+            }
+            pending = new Batch<>();
+        }
+        send(batch);
+    }
+
+    private void send(Batch<K, V> batch) {
+        batches.incrementAndGet();
+        batchedKeys.addAndGet(batch.futures.size());
+        batchedRequests.addAndGet(batch.requests);
+        try {
+            loader.apply(new ArrayList<>(batch.futures.keySet()), batch.deadline)
+                    .whenComplete((values, error) -> complete(batch, values, error));
+        } catch (RuntimeException e) {
+            complete(batch, null, e);
+        }
+    }
+
+    private static <K, V> void complete(Batch<K, V> batch, Map<K, V> values, Throwable error) {
+        batch.futures.forEach(
+                (key, future) -> {
+                    if (error != null) {
+                        future.completeExceptionally(error);
+                    } else {
+                        future.complete(values == null ? null : values.get(key));
+                    }
+                });
+    }
+
+    /** Number of batched calls sent. */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /** Number of requests served by the batched calls sent, repeats of a key included. */
+    public long getBatchedRequestCount() {
+        return batchedRequests.get();
+    }
+
+    /** Average number of distinct keys per batched call, 0 before the first one. */
+    public double getAverageBatchSize() {
+        long count = batches.get();
+        return count == 0 ? 0 : (double) batchedKeys.get() / count;
+    }
+
+    /**
+     * Number of calls saved by batching: the calls that one lookup per request would have made,
+     * minus the batched calls actually sent.
+     */
+    public long getRequestsSaved() {
+        return batchedRequests.get() - batches.get();
+    }
+
+    /** Keys of one batch, with the future their callers get a copy of. */
+    private static final class Batch<K, V> {
+        private final Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        private int requests;
+        // Latest deadline of the callers
+        private Deadline deadline = Deadline.none();
+    }
+}
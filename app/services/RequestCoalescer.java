@@ -0,0 +1,113 @@
+package services;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight wrapper for outbound calls. While a call for a key is in flight, every other
+ * caller asking for the same key joins it instead of starting a duplicate request. The key is
+ * released as soon as the call completes, so results are never reused after that point.
+ *
+ * @param <T> the type produced by the coalesced calls
+ */
+public class RequestCoalescer<T> {
+
+    /** Upper bound on the number of distinct keys whose join counts are reported. */
+    private static final int MAX_TRACKED_KEYS = 1024;
+
+    private final Map<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> joinCounts = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong joins = new AtomicLong();
+
+    /**
+     * Runs the call for the given key, or joins the call already in flight for it.
+     *
+     * @param key the normalized request key
+     * @param call starts the underlying request when no call for the key is in flight
+     * @return a CompletionStage completed with the shared result
+     */
+    public CompletionStage<T> execute(String key, Supplier<CompletionStage<T>> call) {
+        CompletableFuture<T> created = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            joins.incrementAndGet();
+            AtomicLong keyJoins = joinCounts.get(key);
+            if (keyJoins == null && joinCounts.size() < MAX_TRACKED_KEYS) {
+                keyJoins = joinCounts.computeIfAbsent(key, k -> new AtomicLong());
+            }
+            if (keyJoins != null) {
+                keyJoins.incrementAndGet();
+            }
+            return existing.copy();
+        }
+
+        calls.incrementAndGet();
+        try {
+            call.get()
+                    .whenComplete(
+                            (result, error) -> {
+                                // Release the key first so later callers start a fresh request
+                                inFlight.remove(key, created);
+                                if (error != null) {
+                                    created.completeExceptionally(error);
+                                } else {
+                                    created.complete(result);
+                                }
+                            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created.copy();
+    }
+
+    /**
+     * Normalizes a request URL so that requests differing only in the order of their query
+     * parameters share the same key.
+     *
+     * @param url the request URL
+     * @return the URL with its query parameters sorted
+     */
+    public static String normalizeUrl(String url) {
+        int queryStart = url.indexOf('?');
+        if (queryStart < 0) {
+            return url.trim();
+        }
+        String[] params = url.substring(queryStart + 1).split("&");
+        Arrays.sort(params);
+        return url.substring(0, queryStart).trim() + '?' + String.join("&", params);
+    }
+
+    /** Number of keys with a call currently in flight. */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /** Number of underlying calls actually started. */
+    public long getCallCount() {
+        return calls.get();
+    }
+
+    /** Number of callers that joined a call already in flight instead of starting their own. */
+    public long getJoinCount() {
+        return joins.get();
+    }
+
+    /**
+     * Returns a snapshot of how many callers joined an in-flight call, per key.
+     *
+     * @return a copy of the per-key join counts
+     */
+    public Map<String, Long> getJoinCountsByKey() {
+        Map<String, Long> snapshot = new HashMap<>();
+        joinCounts.forEach((key, count) -> snapshot.put(key, count.get()));
+        return snapshot;
+    }
+}
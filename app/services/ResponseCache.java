@@ -0,0 +1,167 @@
+package services;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-process cache for parsed YouTube API responses, shared by every caller of the owning
+ * YouTubeService. Entries expire after a fixed time-to-live and the least recently used entries
+ * are evicted once either the entry limit or the approximate byte budget is exceeded.
+ *
+ * @param <V> the type of the cached value
+ */
+public class ResponseCache<V> {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final ToLongFunction<V> weigher;
+    private final LongSupplier clock;
+
+    // Access-ordered so that iteration starts at the least recently used entry
+    private final LinkedHashMap<String, CacheEntry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ResponseCache(long ttlMillis, int maxEntries, long maxBytes, ToLongFunction<V> weigher) {
+        this(ttlMillis, maxEntries, maxBytes, weigher, System::currentTimeMillis);
+    }
+
+    ResponseCache(
+            long ttlMillis, int maxEntries, long maxBytes, ToLongFunction<V> weigher, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.weigher = weigher;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached value for a key if it is present and has not expired.
+     *
+     * @param key the cache key
+     * @return the cached value, or empty on a miss
+     */
+    public synchronized Optional<V> get(String key) {
+        CacheEntry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        if (clock.getAsLong() - entry.createdAt >= ttlMillis) {
+            removeEntry(key, entry);
+            evictions.incrementAndGet();
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(entry.value);
+    }
+
+    /**
+     * Stores a value, evicting the least recently used entries until the cache fits its limits
+     * again. Null values and values larger than the whole byte budget are not cached.
+     *
+     * @param key the cache key
+     * @param value the value to store
+     */
+    public synchronized void put(String key, V value) {
+        if (value == null || ttlMillis <= 0 || maxEntries <= 0) {
+            return;
+        }
+        long weight = weigher.applyAsLong(value);
+        if (weight > maxBytes) {
+            return;
+        }
+        CacheEntry<V> previous = entries.remove(key);
+        if (previous != null) {
+            currentBytes -= previous.weight;
+        }
+        entries.put(key, new CacheEntry<>(value, weight, clock.getAsLong()));
+        currentBytes += weight;
+
+        Iterator<Map.Entry<String, CacheEntry<V>>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || currentBytes > maxBytes) && eldest.hasNext()) {
+            CacheEntry<V> evicted = eldest.next().getValue();
+            eldest.remove();
+            currentBytes -= evicted.weight;
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the cached value for a key, or runs the loader and caches its result once it
+     * completes successfully. Failed loads are not cached.
+     *
+     * @param key the cache key
+     * @param loader supplies the asynchronous call to make on a miss
+     * @return a CompletionStage holding the cached or freshly loaded value
+     */
+    public CompletionStage<V> getOrLoad(String key, Supplier<CompletionStage<V>> loader) {
+        Optional<V> cached = get(key);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        return loader
+                .get()
+                .thenApply(
+                        value -> {
+                            put(key, value);
+                            return value;
+                        });
+    }
+
+    /** Removes every entry from the cache without touching the counters. */
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getEstimatedBytes() {
+        return currentBytes;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    private void removeEntry(String key, CacheEntry<V> entry) {
+        entries.remove(key);
+        currentBytes -= entry.weight;
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long weight;
+        private final long createdAt;
+
+        private CacheEntry(V value, long weight, long createdAt) {
+            this.value = value;
+            this.weight = weight;
+            this.createdAt = createdAt;
+        }
+    }
+}
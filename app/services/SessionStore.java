@@ -0,0 +1,256 @@
+package services;
+
+import com.typesafe.config.Config;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import models.SearchResult;
+import models.Video;
+
+/**
+ * Thread-safe store of the search history of every browser session of the home page. Each session
+ * keeps its most recent queries, in the order they were first searched, with the videos found for
+ * each of them.
+ *
+ * <p>The store is bounded three ways: a session that has not been used for the idle timeout is
+ * dropped, the least recently used session is dropped once there are more than the maximum number
+ * of sessions, and each session keeps at most a fixed number of queries and of videos per query.
+ * Expired sessions are purged whenever the store is used, starting from the least recently used
+ * one, so a purge never looks at a live session.
+ *
+ * <p>The SearchResult of a query, with its readability and sentiment averages, is only rebuilt
+ * after the videos of that query changed. Until then every snapshot of the session returns the
+ * same SearchResult instance, so callers can tell unchanged results apart by identity.
+ */
+@Singleton
+public class SessionStore {
+
+    private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    private static final int DEFAULT_MAX_SESSIONS = 10_000;
+    private static final int DEFAULT_MAX_QUERIES = 10;
+    private static final int DEFAULT_MAX_VIDEOS_PER_QUERY = 100;
+
+    private final long idleTimeoutMillis;
+    private final int maxSessions;
+    private final int maxQueries;
+    private final int maxVideosPerQuery;
+    private final LongSupplier clock;
+
+    // Access-ordered so that iteration starts at the least recently used session
+    private final LinkedHashMap<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong idleEvictions = new AtomicLong();
+    private final AtomicLong capacityEvictions = new AtomicLong();
+
+    @Inject
+    public SessionStore(Config config) {
+        this(
+                config != null && config.hasPath("sessions.idle-timeout")
+                        ? config.getDuration("sessions.idle-timeout", TimeUnit.MILLISECONDS)
+                        : DEFAULT_IDLE_TIMEOUT_MILLIS,
+                config != null && config.hasPath("sessions.max-sessions")
+                        ? config.getInt("sessions.max-sessions")
+                        : DEFAULT_MAX_SESSIONS,
+                config != null && config.hasPath("sessions.max-queries")
+                        ? config.getInt("sessions.max-queries")
+                        : DEFAULT_MAX_QUERIES,
+                config != null && config.hasPath("sessions.max-videos-per-query")
+                        ? config.getInt("sessions.max-videos-per-query")
+                        : DEFAULT_MAX_VIDEOS_PER_QUERY);
+    }
+
+    /** Creates a store with the default limits. */
+    public SessionStore() {
+        this(
+                DEFAULT_IDLE_TIMEOUT_MILLIS,
+                DEFAULT_MAX_SESSIONS,
+                DEFAULT_MAX_QUERIES,
+                DEFAULT_MAX_VIDEOS_PER_QUERY);
+    }
+
+    public SessionStore(long idleTimeoutMillis, int maxSessions, int maxQueries, int maxVideosPerQuery) {
+        this(idleTimeoutMillis, maxSessions, maxQueries, maxVideosPerQuery, System::currentTimeMillis);
+    }
+
+    SessionStore(
+            long idleTimeoutMillis,
+            int maxSessions,
+            int maxQueries,
+            int maxVideosPerQuery,
+            LongSupplier clock) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxSessions = Math.max(1, maxSessions);
+        this.maxQueries = Math.max(1, maxQueries);
+        this.maxVideosPerQuery = Math.max(1, maxVideosPerQuery);
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a query to a session, with no videos yet. A query the session already has keeps its
+     * place and its videos; a new one replaces the oldest query once the session is full.
+     *
+     * @param sessionId the session
+     * @param query the query searched for
+     */
+    public void addQuery(String sessionId, String query) {
+        if (query == null || query.isEmpty()) {
+            return;
+        }
+        Session session = session(sessionId);
+        synchronized (session) {
+            if (!session.queries.containsKey(query)) {
+                if (session.queries.size() >= maxQueries) {
+                    Iterator<String> eldest = session.queries.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+                session.queries.put(query, new QueryResults());
+            }
+        }
+    }
+
+    /**
+     * Appends the videos found for a query to a session and returns the whole search history of
+     * the session. Only the most recent videos of each query are kept, and videos of a query the
+     * session no longer holds are dropped.
+     *
+     * @param sessionId the session
+     * @param query the query the videos were found for
+     * @param videos the videos found
+     * @return snapshot of the results of every query of the session, most recent query first
+     */
+    public List<SearchResult> addVideos(String sessionId, String query, List<Video> videos) {
+        Session session = session(sessionId);
+        synchronized (session) {
+            appendVideos(session, query, videos);
+            return snapshot(session);
+        }
+    }
+
+    /**
+     * Appends the videos found for a query to a session, without building the SearchResults of
+     * the session for a caller that does not show them.
+     *
+     * @param sessionId the session
+     * @param query the query the videos were found for
+     * @param videos the videos found
+     */
+    public void appendVideos(String sessionId, String query, List<Video> videos) {
+        Session session = session(sessionId);
+        synchronized (session) {
+            appendVideos(session, query, videos);
+        }
+    }
+
+    private void appendVideos(Session session, String query, List<Video> videos) {
+        // A query replaced by newer ones while its search was running is not brought back, so the
+        // session never holds more than the maximum number of queries
+        QueryResults queryResults = query == null ? null : session.queries.get(query);
+        if (queryResults != null && !videos.isEmpty()) {
+            queryResults.videos.addAll(videos);
+            if (queryResults.videos.size() > maxVideosPerQuery) {
+                queryResults.videos.subList(0, queryResults.videos.size() - maxVideosPerQuery).clear();
+            }
+            queryResults.searchResult = null;
+        }
+    }
+
+    /**
+     * Returns the search history of a session.
+     *
+     * @param sessionId the session
+     * @return snapshot of the results of every query of the session, most recent query first
+     */
+    public List<SearchResult> getResults(String sessionId) {
+        Session session = session(sessionId);
+        synchronized (session) {
+            return snapshot(session);
+        }
+    }
+
+    /** Number of sessions that have not expired. */
+    public synchronized int getLiveSessions() {
+        purgeIdleSessions(clock.getAsLong());
+        return sessions.size();
+    }
+
+    /** Number of sessions dropped because they were idle for longer than the timeout. */
+    public long getIdleEvictionCount() {
+        return idleEvictions.get();
+    }
+
+    /** Number of sessions dropped to stay within the maximum number of sessions. */
+    public long getCapacityEvictionCount() {
+        return capacityEvictions.get();
+    }
+
+    /** Number of sessions dropped for any reason. */
+    public long getEvictionCount() {
+        return idleEvictions.get() + capacityEvictions.get();
+    }
+
+    /**
+     * Returns a session, creating it if it does not exist or has expired, and marks it as used.
+     */
+    private synchronized Session session(String sessionId) {
+        long now = clock.getAsLong();
+        purgeIdleSessions(now);
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            session = new Session();
+            sessions.put(sessionId, session);
+            Iterator<Session> eldest = sessions.values().iterator();
+            while (sessions.size() > maxSessions && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                capacityEvictions.incrementAndGet();
+            }
+        }
+        session.lastAccess = now;
+        return session;
+    }
+
+    private void purgeIdleSessions(long now) {
+        Iterator<Session> eldest = sessions.values().iterator();
+        while (eldest.hasNext()) {
+            if (now - eldest.next().lastAccess < idleTimeoutMillis) {
+                return;
+            }
+            eldest.remove();
+            idleEvictions.incrementAndGet();
+        }
+    }
+
+    private static List<SearchResult> snapshot(Session session) {
+        List<SearchResult> searchResults = new ArrayList<>(session.queries.size());
+        for (Map.Entry<String, QueryResults> entry : session.queries.entrySet()) {
+            QueryResults queryResults = entry.getValue();
+            if (queryResults.searchResult == null) {
+                queryResults.searchResult = new SearchResult(entry.getKey(), List.copyOf(queryResults.videos));
+            }
+            searchResults.add(queryResults.searchResult);
+        }
+        Collections.reverse(searchResults);
+        return searchResults;
+    }
+
+    private static final class Session {
+        // Insertion-ordered, so the first query is the oldest one
+        private final LinkedHashMap<String, QueryResults> queries = new LinkedHashMap<>();
+        private long lastAccess;
+    }
+
+    private static final class QueryResults {
+        private final List<Video> videos = new ArrayList<>();
+        // Built from the current videos on the next snapshot, then reused until they change
+        private SearchResult searchResult;
+    }
+}
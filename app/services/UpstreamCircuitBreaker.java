@@ -0,0 +1,212 @@
+package services;
+
+import com.typesafe.config.Config;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.pattern.CircuitBreaker;
+import org.apache.pekko.pattern.CircuitBreakerOpenException;
+import org.apache.pekko.pattern.Patterns;
+import play.libs.ws.WSResponse;
+
+/**
+ * Pekko {@link CircuitBreaker} with retries around the GET requests sent to the YouTube API.
+ *
+ * <p>A request that fails, times out or gets a 5xx or 429 status counts as a failure of the
+ * upstream; one that was never sent, because its caller stopped waiting or the quota limiter
+ * refused it, does not, and is not retried either. Since every request is an idempotent GET, a
+ * failure is retried a few times, with exponential backoff and random jitter so that retries from
+ * many callers do not line up. Each attempt is a request of its own, charged to the quota. After
+ * enough consecutive failures the breaker opens: requests then fail at once, without being sent
+ * or retried, until the reset timeout lets one trial request through. This keeps a brownout of
+ * the API from tying up connections and threads, and the pollers from hammering it.
+ */
+public class UpstreamCircuitBreaker {
+
+    private static final int DEFAULT_MAX_FAILURES = 5;
+    private static final long DEFAULT_CALL_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final long DEFAULT_RESET_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final long DEFAULT_MAX_RESET_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final int DEFAULT_MAX_RETRIES = 2;
+    private static final long DEFAULT_MIN_BACKOFF_MILLIS = 200;
+    private static final long DEFAULT_MAX_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(2);
+    private static final double DEFAULT_RANDOM_FACTOR = 0.2;
+
+    private final ActorSystem system;
+    private final CircuitBreaker breaker;
+    private final int maxRetries;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final double randomFactor;
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong halfOpened = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    /**
+     * Creates a breaker configured by the {@code youtube.circuit-breaker} and {@code youtube.retry}
+     * settings, or their defaults.
+     *
+     * @param system the actor system whose scheduler times calls, resets and backoffs
+     * @param config the application configuration, may be null
+     */
+    public UpstreamCircuitBreaker(ActorSystem system, Config config) {
+        this.system = system;
+        this.maxRetries = configInt(config, "youtube.retry.max-retries", DEFAULT_MAX_RETRIES);
+        this.minBackoff =
+                configDuration(config, "youtube.retry.min-backoff", DEFAULT_MIN_BACKOFF_MILLIS);
+        this.maxBackoff =
+                configDuration(config, "youtube.retry.max-backoff", DEFAULT_MAX_BACKOFF_MILLIS);
+        this.randomFactor =
+                config != null && config.hasPath("youtube.retry.random-factor")
+                        ? config.getDouble("youtube.retry.random-factor")
+                        : DEFAULT_RANDOM_FACTOR;
+        this.breaker =
+                CircuitBreaker.create(
+                                system.scheduler(),
+                                configInt(config, "youtube.circuit-breaker.max-failures", DEFAULT_MAX_FAILURES),
+                                configDuration(
+                                        config,
+                                        "youtube.circuit-breaker.call-timeout",
+                                        DEFAULT_CALL_TIMEOUT_MILLIS),
+                                configDuration(
+                                        config,
+                                        "youtube.circuit-breaker.reset-timeout",
+                                        DEFAULT_RESET_TIMEOUT_MILLIS))
+                        // A breaker that keeps failing its trial request stays open longer each time
+                        .withExponentialBackoff(
+                                configDuration(
+                                        config,
+                                        "youtube.circuit-breaker.max-reset-timeout",
+                                        DEFAULT_MAX_RESET_TIMEOUT_MILLIS))
+                        .addOnOpenListener(opened::incrementAndGet)
+                        .addOnHalfOpenListener(halfOpened::incrementAndGet)
+                        .addOnCloseListener(closed::incrementAndGet)
+                        .addOnCallBreakerOpenListener(rejected::incrementAndGet);
+    }
+
+    /**
+     * Sends a request through the breaker, retrying it while it fails and the breaker is closed.
+     *
+     * @param request sends the request
+     * @return the response, which may still have an error status once the retries are used up, or a
+     *     failed stage when the breaker is open or the last attempt failed
+     */
+    public CompletionStage<WSResponse> call(Callable<CompletionStage<WSResponse>> request) {
+        return Patterns.retry(
+                () -> breaker.callWithCircuitBreakerCS(request, UpstreamCircuitBreaker::isFailure),
+                (response, error) -> {
+                    boolean retry =
+                            error != null
+                                    ? !(unwrap(error) instanceof CircuitBreakerOpenException)
+                                            && !isNotSent(error)
+                                    : isFailure(response);
+                    if (retry) {
+                        retries.incrementAndGet();
+                    }
+                    return retry;
+                },
+                maxRetries,
+                minBackoff,
+                maxBackoff,
+                randomFactor,
+                system);
+    }
+
+    private static boolean isFailure(Optional<WSResponse> response, Optional<Throwable> error) {
+        if (error.isPresent()) {
+            return !isNotSent(error.get());
+        }
+        return response.map(UpstreamCircuitBreaker::isFailure).orElse(true);
+    }
+
+    /**
+     * A request its caller gave up on, or one the quota did not allow to be sent, says nothing
+     * about the API, and retrying it at once would not help either.
+     */
+    private static boolean isNotSent(Throwable error) {
+        Throwable cause = unwrap(error);
+        return cause instanceof CancellationException
+                || cause instanceof QuotaLimiter.QuotaExceededException;
+    }
+
+    /** Whether a response shows the API failing or throttling, rather than refusing the request. */
+    static boolean isFailure(WSResponse response) {
+        return response == null || response.getStatus() >= 500 || response.getStatus() == 429;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+    }
+
+    /** Whether requests are currently failed without being sent. */
+    public boolean isOpen() {
+        return breaker.isOpen();
+    }
+
+    /** "closed", "open" or "half-open". */
+    public String getState() {
+        if (breaker.isOpen()) {
+            return "open";
+        }
+        return breaker.isHalfOpen() ? "half-open" : "closed";
+    }
+
+    /** Number of times the breaker opened. */
+    public long getOpenedCount() {
+        return opened.get();
+    }
+
+    /** Number of times the breaker let a trial request through after being open. */
+    public long getHalfOpenedCount() {
+        return halfOpened.get();
+    }
+
+    /** Number of times the breaker closed again after a successful trial request. */
+    public long getClosedCount() {
+        return closed.get();
+    }
+
+    /** Number of requests failed at once because the breaker was open. */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /** Number of retries sent after a failed attempt. */
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    private static Duration configDuration(Config config, String path, long defaultMillis) {
+        return Duration.ofMillis(
+                config != null && config.hasPath(path)
+                        ? config.getDuration(path, TimeUnit.MILLISECONDS)
+                        : defaultMillis);
+    }
+
+    private static int configInt(Config config, String path, int defaultValue) {
+        return config != null && config.hasPath(path) ? config.getInt(path) : defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return getState()
+                + ", opened "
+                + opened.get()
+                + " times, "
+                + rejected.get()
+                + " requests rejected, "
+                + retries.get()
+                + " retries";
+    }
+}
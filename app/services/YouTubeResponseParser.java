@@ -0,0 +1,356 @@
+package services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import models.ChannelInfo;
+import models.Video;
+import org.apache.pekko.util.ByteString;
+import play.libs.ws.WSResponse;
+
+/**
+ * Extracts videos and channel profiles from YouTube Data API responses with a streaming Jackson
+ * parser, instead of building a JsonNode tree of the whole response first.
+ *
+ * <p>The body bytes are read once, front to back. Only the fields the application uses become
+ * Strings; every other subtree (the other thumbnail sizes, localized titles, live broadcast
+ * details, page info) is skipped token by token without being materialized. A response whose body
+ * bytes are not available, such as a mocked one, is read from {@link WSResponse#asJson()} through
+ * the same parser, so there is a single extraction path. The WS client normally inflates gzip
+ * responses itself; a body that still arrives gzip-compressed is inflated while it is parsed.
+ *
+ * <p>The {@code fields} projections below ask the API for exactly the fields this class reads, so
+ * the two must be changed together.
+ */
+public final class YouTubeResponseParser {
+
+    /** Fields of search.list items read by {@link #parseVideos}. */
+    public static final String SEARCH_FIELDS =
+            "items(id/videoId,snippet(publishedAt,channelId,title,description,thumbnails/default/url,"
+                    + "channelTitle))";
+
+    /** Fields of videos.list items read by {@link #parseVideos}, tags included. */
+    public static final String VIDEOS_FIELDS =
+            "items(id,snippet(publishedAt,channelId,title,description,thumbnails/default/url,"
+                    + "channelTitle,tags))";
+
+    /** Fields of channels.list items read by {@link #parseChannels}. */
+    public static final String CHANNELS_FIELDS =
+            "items(id,snippet(title,description),statistics(viewCount,subscriberCount,videoCount))";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private YouTubeResponseParser() {}
+
+    /**
+     * Reads the videos of a search or videos.list response.
+     *
+     * @param response the API response
+     * @param channelId the channel every video is known to belong to, or null to take it from each
+     *     item
+     * @return the videos, in response order, or null if the response has no "items" array (for
+     *     instance a quota or key error)
+     */
+    public static List<Video> parseVideos(WSResponse response, String channelId) {
+        try (JsonParser parser = open(response)) {
+            return parser == null ? null : readVideos(parser, channelId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the videos of a search or videos.list response body.
+     *
+     * @param body the UTF-8 JSON body
+     * @return the videos, in response order, or null if the response has no "items" array
+     */
+    public static List<Video> parseVideos(byte[] body) {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return readVideos(parser, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the channels of a channels.list response.
+     *
+     * @param response the API response
+     * @param channelId the id of the channel requested, used for items without an id, or null when
+     *     several were requested
+     * @return the channel profiles, in response order, or null if the response has no "items" array
+     */
+    public static List<ChannelInfo> parseChannels(WSResponse response, String channelId) {
+        try (JsonParser parser = open(response)) {
+            return parser == null ? null : readChannels(parser, channelId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the first channel of a channels.list response body.
+     *
+     * @param body the UTF-8 JSON body
+     * @param channelId the id of the channel that was requested
+     * @return the channel profile, or null if the response has no items
+     */
+    public static ChannelInfo parseChannel(byte[] body, String channelId) {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            List<ChannelInfo> channels = readChannels(parser, channelId);
+            return channels == null || channels.isEmpty() ? null : channels.get(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Opens a parser over the body bytes, or over the JSON tree when there are no bytes. */
+    private static JsonParser open(WSResponse response) throws IOException {
+        ByteString body = response.getBodyAsBytes();
+        if (isGzip(body)) {
+            return JSON_FACTORY.createParser(new GZIPInputStream(body.asInputStream()));
+        }
+        if (body != null && !body.isEmpty()) {
+            // The array is only read, so the possibly shared backing array can be used as is
+            return JSON_FACTORY.createParser(body.toArrayUnsafe());
+        }
+        JsonNode json = response.asJson();
+        return json == null ? null : json.traverse();
+    }
+
+    /**
+     * Checks the gzip magic number rather than Content-Encoding, which a client may keep after
+     * having inflated the body.
+     */
+    private static boolean isGzip(ByteString body) {
+        return body != null
+                && body.size() > 1
+                && body.apply(0) == (byte) 0x1f
+                && body.apply(1) == (byte) 0x8b;
+    }
+
+    private static List<Video> readVideos(JsonParser parser, String channelId) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("items".equals(field) && value == JsonToken.START_ARRAY) {
+                List<Video> videos = new ArrayList<>();
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                    if (token == JsonToken.START_OBJECT) {
+                        videos.add(readVideo(parser, channelId));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                // Nothing after the items is used
+                return videos;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    /** Reads one item, the parser being on its START_OBJECT. */
+    private static Video readVideo(JsonParser parser, String channelId) throws IOException {
+        VideoFields fields = new VideoFields();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("id".equals(field)) {
+                // Search results nest the id in {"kind":..,"videoId":..}, videos.list has a string
+                fields.videoId =
+                        value == JsonToken.START_OBJECT ? readString(parser, "videoId") : text(parser);
+            } else if ("snippet".equals(field) && value == JsonToken.START_OBJECT) {
+                readSnippet(parser, fields);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        Video video =
+                new Video(
+                        fields.title,
+                        fields.description,
+                        channelId != null ? channelId : fields.channelId,
+                        fields.videoId,
+                        fields.thumbnailUrl,
+                        fields.channelTitle,
+                        fields.publishedAt);
+        if (fields.tags != null) {
+            video.setTags(fields.tags);
+        }
+        return video;
+    }
+
+    private static void readSnippet(JsonParser parser, VideoFields fields) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "title":
+                    fields.title = text(parser);
+                    break;
+                case "description":
+                    fields.description = text(parser);
+                    break;
+                case "channelId":
+                    fields.channelId = text(parser);
+                    break;
+                case "channelTitle":
+                    fields.channelTitle = text(parser);
+                    break;
+                case "publishedAt":
+                    fields.publishedAt = text(parser);
+                    break;
+                case "thumbnails":
+                    fields.thumbnailUrl =
+                            value == JsonToken.START_OBJECT ? readThumbnail(parser) : text(parser);
+                    break;
+                case "tags":
+                    if (value == JsonToken.START_ARRAY) {
+                        fields.tags = new ArrayList<>();
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            fields.tags.add(text(parser));
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    /** Reads the URL of the default thumbnail, skipping the other sizes. */
+    private static String readThumbnail(JsonParser parser) throws IOException {
+        String url = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String size = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("default".equals(size) && value == JsonToken.START_OBJECT) {
+                url = readString(parser, "url");
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return url;
+    }
+
+    private static List<ChannelInfo> readChannels(JsonParser parser, String channelId)
+            throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("items".equals(field) && value == JsonToken.START_ARRAY) {
+                List<ChannelInfo> channels = new ArrayList<>();
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                    if (token == JsonToken.START_OBJECT) {
+                        channels.add(readChannel(parser, channelId));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                return channels;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    /** Reads one channel item, the parser being on its START_OBJECT. */
+    private static ChannelInfo readChannel(JsonParser parser, String channelId) throws IOException {
+        String id = channelId;
+        String name = null;
+        String description = null;
+        int subscriberCount = 0;
+        int viewCount = 0;
+        int videoCount = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String itemField = parser.currentName();
+            JsonToken itemValue = parser.nextToken();
+            if ("id".equals(itemField)) {
+                String itemId = text(parser);
+                id = itemId != null ? itemId : channelId;
+            } else if ("snippet".equals(itemField) && itemValue == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String snippetField = parser.currentName();
+                    parser.nextToken();
+                    if ("title".equals(snippetField)) {
+                        name = text(parser);
+                    } else if ("description".equals(snippetField)) {
+                        description = text(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if ("statistics".equals(itemField) && itemValue == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String statistic = parser.currentName();
+                    parser.nextToken();
+                    // The API sends the counts as strings, parsed like asInt did
+                    if ("subscriberCount".equals(statistic)) {
+                        subscriberCount = parser.getValueAsInt();
+                    } else if ("viewCount".equals(statistic)) {
+                        viewCount = parser.getValueAsInt();
+                    } else if ("videoCount".equals(statistic)) {
+                        videoCount = parser.getValueAsInt();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new ChannelInfo(name, description, subscriberCount, viewCount, videoCount, id);
+    }
+
+    /** Reads one string field of an object, the parser being on its START_OBJECT. */
+    private static String readString(JsonParser parser, String name) throws IOException {
+        String result = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (name.equals(field)) {
+                result = text(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    /** Text of the current scalar, skipping the value if it is an object or array. */
+    private static String text(JsonParser parser) throws IOException {
+        String text = parser.getValueAsString();
+        parser.skipChildren();
+        return text;
+    }
+
+    /** Fields of a video, gathered in whatever order the response lists them. */
+    private static final class VideoFields {
+        private String videoId;
+        private String title;
+        private String description;
+        private String channelId;
+        private String thumbnailUrl;
+        private String channelTitle;
+        private String publishedAt;
+        private List<String> tags;
+    }
+}
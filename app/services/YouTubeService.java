@@ -1,59 +1,298 @@
 package services;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.typesafe.config.Config;
 import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import models.ChannelInfo;
 import models.Video;
+import org.apache.pekko.actor.ActorSystem;
 import play.libs.ws.WSClient;
+import play.libs.ws.WSRequest;
+import play.libs.ws.WSResponse;
+import utils.Deadline;
 
+@Singleton
 public class YouTubeService {
 
+    private static final long DEFAULT_CACHE_TTL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final int DEFAULT_CACHE_MAX_ENTRIES = 500;
+    private static final long DEFAULT_CACHE_MAX_BYTES = 32L * 1024 * 1024;
+    private static final long DEFAULT_CACHE_STALE_TTL_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long DEFAULT_REQUEST_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static final String DEFAULT_BASE_URL = "https://www.googleapis.com/youtube/v3";
+    private static final long DEFAULT_BATCH_WINDOW_MILLIS = 20;
+    // videos.list accepts at most 50 ids per request
+    private static final int MAX_BATCH_SIZE = 50;
+    // Default daily quota of a YouTube Data API project
+    private static final int DEFAULT_QUOTA_DAILY_UNITS = 10_000;
+    // Units background polling leaves for page loads, enough for 20 searches
+    private static final int DEFAULT_QUOTA_BACKGROUND_RESERVE = 2_000;
+    // The dispatcher of the pollers, see actors.ActorDispatchers.HTTP
+    private static final String HTTP_DISPATCHER = "youtube.http-dispatcher";
+
     private final String apiKey;
+    private final String baseUrl;
     private final WSClient ws;
+    private final ResponseCache<List<Video>> videoListCache;
+    private final ResponseCache<ChannelInfo> channelInfoCache;
+    private final RequestCoalescer<WSResponse> requestCoalescer = new RequestCoalescer<>();
+    private final Map<String, EndpointMetrics> endpointMetrics = new LinkedHashMap<>();
+    private final RequestBatcher<String, Video> videoDetailsBatcher;
+    private final RequestBatcher<String, ChannelInfo> channelInfoBatcher;
+    private final QuotaLimiter quotaLimiter;
+    // Last good responses, served when the API fails after the fresh entries expired
+    private final ResponseCache<List<Video>> staleVideoListCache;
+    private final ResponseCache<ChannelInfo> staleChannelInfoCache;
+    private final AtomicLong staleFallbacks = new AtomicLong();
+    private final UpstreamCircuitBreaker circuitBreaker;
+    private final Map<Endpoint, Duration> requestTimeouts = new EnumMap<>(Endpoint.class);
+    private final AtomicLong completedRequests = new AtomicLong();
+    private final AtomicLong cancelledRequests = new AtomicLong();
+    // Parses responses off the WS client's I/O threads
+    private final Executor httpExecutor;
 
-    @Inject
+    /**
+     * Creates a service that sends its requests without a circuit breaker or retries, for callers
+     * without an actor system to schedule them.
+     */
     public YouTubeService(WSClient ws, Config config) {
+        this(ws, config, null);
+    }
+
+    /**
+     * Creates a service whose requests go through an {@link UpstreamCircuitBreaker}, and whose
+     * responses are parsed on the {@code youtube.http-dispatcher} of the actor system when it is
+     * configured.
+     *
+     * @param ws the WS client
+     * @param config the application configuration, may be null for the defaults
+     * @param actorSystem the actor system scheduling the breaker and the retries, or null for none
+     */
+    @Inject
+    public YouTubeService(WSClient ws, Config config, ActorSystem actorSystem) {
         this.ws = ws;
         this.apiKey = "";
+        this.baseUrl =
+                config != null && config.hasPath("youtube.base-url")
+                        ? config.getString("youtube.base-url")
+                        : DEFAULT_BASE_URL;
+        for (Endpoint endpoint : Endpoint.values()) {
+            endpointMetrics.put(endpoint.path, new EndpointMetrics(endpoint.path));
+            requestTimeouts.put(
+                    endpoint,
+                    Duration.ofMillis(
+                            configDuration(
+                                    config,
+                                    "youtube.request-timeout." + endpoint.path,
+                                    DEFAULT_REQUEST_TIMEOUT_MILLIS)));
+        }
+
+        long ttlMillis = configDuration(config, "youtube.cache.ttl", DEFAULT_CACHE_TTL_MILLIS);
+        int maxEntries = configInt(config, "youtube.cache.max-entries", DEFAULT_CACHE_MAX_ENTRIES);
+        long maxBytes = configBytes(config, "youtube.cache.max-bytes", DEFAULT_CACHE_MAX_BYTES);
+        this.videoListCache =
+                new ResponseCache<>(ttlMillis, maxEntries, maxBytes, YouTubeService::estimateSize);
+        this.channelInfoCache =
+                new ResponseCache<>(ttlMillis, maxEntries, maxBytes, YouTubeService::estimateSize);
+        long staleTtlMillis =
+                configDuration(config, "youtube.cache.stale-ttl", DEFAULT_CACHE_STALE_TTL_MILLIS);
+        // The stale entries share their parsed objects with the fresh ones while both hold them
+        this.staleVideoListCache =
+                new ResponseCache<>(staleTtlMillis, maxEntries, maxBytes, YouTubeService::estimateSize);
+        this.staleChannelInfoCache =
+                new ResponseCache<>(staleTtlMillis, maxEntries, maxBytes, YouTubeService::estimateSize);
+        this.circuitBreaker =
+                actorSystem == null ? null : new UpstreamCircuitBreaker(actorSystem, config);
+        // Without the dispatcher, responses are handled on the thread that completes them
+        this.httpExecutor =
+                actorSystem != null && actorSystem.dispatchers().hasDispatcher(HTTP_DISPATCHER)
+                        ? actorSystem.dispatchers().lookup(HTTP_DISPATCHER)
+                        : Runnable::run;
+        long batchWindowMillis =
+                configDuration(config, "youtube.batch.window", DEFAULT_BATCH_WINDOW_MILLIS);
+        int batchSize =
+                Math.min(MAX_BATCH_SIZE, configInt(config, "youtube.batch.max-size", MAX_BATCH_SIZE));
+        this.videoDetailsBatcher =
+                new RequestBatcher<>(batchWindowMillis, batchSize, this::fetchVideoDetails);
+        this.channelInfoBatcher =
+                new RequestBatcher<>(batchWindowMillis, batchSize, this::fetchChannelInfo);
+        this.quotaLimiter =
+                new QuotaLimiter(
+                        configInt(config, "youtube.quota.daily-units", DEFAULT_QUOTA_DAILY_UNITS),
+                        configInt(
+                                config,
+                                "youtube.quota.background-reserve",
+                                DEFAULT_QUOTA_BACKGROUND_RESERVE));
+    }
+
+    /**
+     * Returns the cache shared by every video-list lookup (searches, tag searches and the latest
+     * videos of a channel), exposing its hit, miss and eviction counters.
+     *
+     * @return the video-list response cache
+     */
+    public ResponseCache<List<Video>> getVideoListCache() {
+        return videoListCache;
+    }
+
+    /**
+     * Returns the cache used for channel profile lookups.
+     *
+     * @return the channel information response cache
+     */
+    public ResponseCache<ChannelInfo> getChannelInfoCache() {
+        return channelInfoCache;
+    }
+
+    /**
+     * Returns the single-flight layer shared by all outbound requests, exposing how many callers
+     * joined an identical request that was already in flight.
+     *
+     * @return the request coalescer
+     */
+    public RequestCoalescer<WSResponse> getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * Returns the batcher that groups video detail lookups into videos.list calls, exposing its
+     * batch-size and requests-saved counters.
+     *
+     * @return the video details batcher
+     */
+    public RequestBatcher<String, Video> getVideoDetailsBatcher() {
+        return videoDetailsBatcher;
+    }
+
+    /**
+     * Returns the batcher that groups channel lookups missing from the channel cache into
+     * channels.list calls, exposing its batch-size and requests-saved counters.
+     *
+     * @return the channel information batcher
+     */
+    public RequestBatcher<String, ChannelInfo> getChannelInfoBatcher() {
+        return channelInfoBatcher;
+    }
+
+    /**
+     * Returns the limiter that spends the daily API unit quota, exposing the remaining units and
+     * how many calls it shed or rejected.
+     *
+     * @return the quota limiter
+     */
+    public QuotaLimiter getQuotaLimiter() {
+        return quotaLimiter;
+    }
+
+    /**
+     * Returns the circuit breaker in front of the API, exposing its state transitions, rejected
+     * requests and retries.
+     *
+     * @return the circuit breaker, or null when the service was created without an actor system
+     */
+    public UpstreamCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Returns how many failed lookups were answered with a stale response instead.
+     *
+     * @return the number of stale fallbacks
+     */
+    public long getStaleFallbackCount() {
+        return staleFallbacks.get();
+    }
+
+    /**
+     * Returns how many requests got a response from the API.
+     *
+     * @return the number of completed requests
+     */
+    public long getCompletedRequestCount() {
+        return completedRequests.get();
+    }
+
+    /**
+     * Returns how many requests were given up on: not sent because their caller's deadline had
+     * passed, or timed out, which releases their connection.
+     *
+     * @return the number of cancelled requests
+     */
+    public long getCancelledRequestCount() {
+        return cancelledRequests.get();
+    }
+
+    /**
+     * Returns the response-size and parse-time counters of an API endpoint.
+     *
+     * @param endpoint "search", "videos" or "channels"
+     * @return the metrics of the endpoint, or null for an unknown one
+     */
+    public EndpointMetrics getEndpointMetrics(String endpoint) {
+        return endpointMetrics.get(endpoint);
     }
 
     public CompletionStage<List<Video>> searchVideos(String query, int limit) {
-        // Construct the YouTube API request URL
-        String youtubeUrl = "https://www.googleapis.com/youtube/v3/search";
-        String url =
-                String.format(
-                        "%s?part=snippet&q=%s&type=video&maxResults=%d&key=%s",
-                        youtubeUrl, query, limit, apiKey);
-
-        // Make the asynchronous HTTP GET request
-        return ws.url(url)
-                .get() // Non-blocking call to initiate the request
-                .thenApply(
-                        response -> {
-                            // Parse the JSON response and return a list of videos
-                            JsonNode items = response.asJson().get("items");
-                            List<Video> videos = new ArrayList<>();
-                            if (items != null) {
-                                items.forEach(
-                                        item -> {
-                                            JsonNode snippet = item.get("snippet");
-                                            videos.add(
-                                                    new Video(
-                                                            snippet.get("title").asText(),
-                                                            snippet.get("description").asText(),
-                                                            snippet.get("channelId").asText(),
-                                                            item.get("id").get("videoId").asText(),
-                                                            snippet.get("thumbnails").get("default").get("url").asText(),
-                                                            snippet.get("channelTitle").asText(),
-                                                            snippet.get("publishedAt").asText()));
-                                        });
-                            }
-                            return videos;
-                        })
+        return searchVideos(query, limit, QuotaLimiter.Priority.INTERACTIVE);
+    }
+
+    /**
+     * Searches videos at the given priority. A background search that the quota limiter sheds, like
+     * any failed search, completes with an empty list. Background searches poll for new videos, so
+     * they always ask the API rather than the cache, which they refresh for interactive ones.
+     *
+     * @param query the search terms
+     * @param limit the number of results
+     * @param priority whether a user is waiting for the results or they are polled in the background
+     * @return a CompletionStage containing the videos, the last ones found if the search failed, or
+     *     an empty list if there are none
+     */
+    public CompletionStage<List<Video>> searchVideos(
+            String query, int limit, QuotaLimiter.Priority priority) {
+        return searchVideos(query, limit, priority, Deadline.none());
+    }
+
+    /**
+     * Searches videos for a caller that stops waiting at a deadline. The request is not sent once
+     * the deadline has passed, and times out no later than it; either way the search completes
+     * like a failed one. A request shared with other callers keeps the deadline of the caller that
+     * sent it, so a caller without a deadline only shares a request sent without one.
+     *
+     * @param query the search terms
+     * @param limit the number of results
+     * @param priority whether a user is waiting for the results or they are polled in the background
+     * @param deadline when the caller stops waiting
+     * @return a CompletionStage containing the videos, the last ones found if the search failed, or
+     *     an empty list if there are none
+     */
+    public CompletionStage<List<Video>> searchVideos(
+            String query, int limit, QuotaLimiter.Priority priority, Deadline deadline) {
+        String cacheKey = cacheKey("search", query, limit, "relevance");
+        return getOrLoad(
+                        videoListCache,
+                        staleVideoListCache,
+                        cacheKey,
+                        priority != QuotaLimiter.Priority.BACKGROUND,
+                        () -> fetchSearchVideos(query, limit, priority, deadline))
                 .exceptionally(
                         e -> {
                             // Log any errors and return an empty list
@@ -62,46 +301,86 @@ public class YouTubeService {
                         });
     }
 
+    private CompletionStage<List<Video>> fetchSearchVideos(
+            String query, int limit, QuotaLimiter.Priority priority, Deadline deadline) {
+        String params = String.format("part=snippet&q=%s&type=video&maxResults=%d", query, limit);
+
+        // Make the asynchronous HTTP GET request and stream the fields of each video out of the body
+        return get(
+                Endpoint.SEARCH,
+                params,
+                priority,
+                deadline,
+                response ->
+                        Collections.unmodifiableList(
+                                requireItems(YouTubeResponseParser.parseVideos(response, null))));
+    }
+
     public CompletionStage<List<Video>> searchVideos(String query) {
         return searchVideos(query, 10); // Default to 10 results
     }
+
+    public CompletionStage<List<Video>> searchVideos(String query, QuotaLimiter.Priority priority) {
+        return searchVideos(query, 10, priority);
+    }
+
+    public CompletionStage<List<Video>> searchVideos(
+            String query, QuotaLimiter.Priority priority, Deadline deadline) {
+        return searchVideos(query, 10, priority, deadline);
+    }
+
     /**
-     * Asynchronously fetches information about a YouTube channel.
+     * Asynchronously fetches information about a YouTube channel. Profiles are cached for a short
+     * while; channels missing from the cache that are looked up within a short window of each
+     * other are resolved with one channels.list request for up to 50 ids.
      * @param channelId The unique ID of the YouTube channel.
      * @return A CompletionStage containing the ChannelInfo object, or null if an error occurs.
      * @author Aidassj
      */
     public CompletionStage<ChannelInfo> getChannelInfoAsync(String channelId) {
-        String url = String.format(
-                "https://www.googleapis.com/youtube/v3/channels?part=snippet,statistics&id=%s&key=%s",
-                channelId, apiKey);
-
-        return ws.url(url)
-                .get()
-                .thenApply(response -> {
-                    try {
-                        JsonNode item = response.asJson().get("items").get(0);
-                        JsonNode snippet = item.get("snippet");
-                        JsonNode statistics = item.get("statistics");
-                        String name = snippet.get("title").asText();
-                        String description = snippet.get("description").asText();
-                        int subscriberCount = statistics.get("subscriberCount").asInt();
-                        int viewCount = statistics.get("viewCount").asInt();
-                        int videoCount = statistics.get("videoCount").asInt();
-
-                        return new ChannelInfo(name, description, subscriberCount, viewCount, videoCount,channelId);
-                    } catch (Exception e) {
-                        System.err.println("Error in getChannelInfoAsync: " + e.getMessage());
-                        return null;
-                    }
+        return getChannelInfoAsync(channelId, Deadline.none());
+    }
 
-    })
-            .exceptionally(e -> {
-        System.err.println("Exception in getChannelInfoAsync: " + e.getMessage());
-        return null;
+    /**
+     * Fetches information about a YouTube channel for a caller that stops waiting at a deadline.
+     * A batch of channel lookups is sent with the latest deadline of its callers.
+     *
+     * @param channelId the unique ID of the YouTube channel
+     * @param deadline when the caller stops waiting
+     * @return a CompletionStage containing the ChannelInfo object, or null if an error occurs
+     */
+    public CompletionStage<ChannelInfo> getChannelInfoAsync(String channelId, Deadline deadline) {
+        return getOrLoad(
+                        channelInfoCache,
+                        staleChannelInfoCache,
+                        cacheKey("channel", channelId, 1, "none"),
+                        () -> channelInfoBatcher.load(channelId, deadline))
+                .exceptionally(e -> {
+                    System.err.println("Exception in getChannelInfoAsync: " + e.getMessage());
+                    return null;
                 });
     }
 
+    private CompletionStage<Map<String, ChannelInfo>> fetchChannelInfo(
+            List<String> channelIds, Deadline deadline) {
+        String params = String.format("part=snippet,statistics&id=%s", String.join(",", channelIds));
+        // An item without an id can only be attributed when a single channel was requested
+        String onlyChannelId = channelIds.size() == 1 ? channelIds.get(0) : null;
+
+        return get(Endpoint.CHANNELS, params, QuotaLimiter.Priority.INTERACTIVE, deadline, response -> {
+            Map<String, ChannelInfo> channels = new LinkedHashMap<>();
+            try {
+                List<ChannelInfo> items = YouTubeResponseParser.parseChannels(response, onlyChannelId);
+                if (items != null) {
+                    items.forEach(channel -> channels.putIfAbsent(channel.getChannelId(), channel));
+                }
+            } catch (Exception e) {
+                System.err.println("Error in getChannelInfoAsync: " + e.getMessage());
+            }
+            return channels;
+        });
+    }
+
     /**
      * Asynchronously fetches the latest 10 videos from a specified YouTube channel.
      * @param channelId The unique ID of the YouTube channel.
@@ -110,149 +389,434 @@ public class YouTubeService {
      * @author Aidassj
      */
     public CompletionStage<List<Video>> getLast10VideosAsync(String channelId) {
-        String url = String.format(
-                "https://www.googleapis.com/youtube/v3/search?part=snippet&channelId=%s&maxResults=10&order=date&type=video&key=%s",
-                channelId, apiKey);
-
-        return ws.url(url)
-                .get()
-                .thenApply(response -> {
-                    List<Video> videos = new ArrayList<>();
-                    try {
-                        JsonNode items = response.asJson().get("items");
-                        items.forEach(item -> {
-                            JsonNode snippet = item.get("snippet");
-                            try {
-                                String title = snippet.get("title").asText();
-                                String description = snippet.get("description").asText();
-                                String videoId = item.get("id").get("videoId").asText();
-                                String thumbnail = snippet.get("thumbnails").get("default").get("url").asText();
-                                String channelTitle = snippet.get("channelTitle").asText();
-                                String publishedDate = snippet.get("publishedAt").asText();
-
-                                videos.add(new Video(
-                                        title,
-                                        description,
-                                        channelId,
-                                        videoId,
-                                        thumbnail,
-                                        channelTitle,
-                                        publishedDate));
-                            } catch (Exception e) {
-                                System.err.println("Error processing video: " + e.getMessage());
-                            }
-                        });
-                    } catch (Exception e) {
-                        System.err.println("Error in getLast10VideosAsync: " + e.getMessage());
-                    }
-                    return videos;
-                })
+        return getLast10VideosAsync(channelId, Deadline.none());
+    }
+
+    /**
+     * Fetches the latest 10 videos of a channel for a caller that stops waiting at a deadline.
+     *
+     * @param channelId the unique ID of the YouTube channel
+     * @param deadline when the caller stops waiting
+     * @return a CompletionStage containing the videos, or an empty list if an error occurs
+     */
+    public CompletionStage<List<Video>> getLast10VideosAsync(String channelId, Deadline deadline) {
+        return getOrLoad(
+                        videoListCache,
+                        staleVideoListCache,
+                        cacheKey("channelVideos", channelId, 10, "date"),
+                        () -> fetchLast10Videos(channelId, deadline))
                 .exceptionally(e -> {
                     System.err.println("Exception in getLast10VideosAsync: " + e.getMessage());
                     return new ArrayList<>();
                 });
     }
 
+    private CompletionStage<List<Video>> fetchLast10Videos(String channelId, Deadline deadline) {
+        String params = String.format(
+                "part=snippet&channelId=%s&maxResults=10&order=date&type=video", channelId);
+
+        return get(
+                Endpoint.SEARCH,
+                params,
+                QuotaLimiter.Priority.INTERACTIVE,
+                deadline,
+                response -> Collections.unmodifiableList(
+                        requireItems(YouTubeResponseParser.parseVideos(response, channelId))));
+    }
+
+    /**
+     * Fetches the details of a video, tags included. Lookups made within a short window of each
+     * other are sent as one videos.list request for up to 50 ids.
+     *
+     * @param videoId the id of the video
+     * @return a CompletionStage containing the video, or null if the API does not return it or the
+     *     request failed
+     */
     public CompletionStage<Video> getVideoDetails(String videoId) {
-        String url =
-                "https://www.googleapis.com/youtube/v3/videos"
-                        + "?part=snippet"
-                        + "&id="
-                        + videoId
-                        + "&key="
-                        + apiKey;
-
-        return ws.url(url)
-                .get()
-                .thenApply(
-                        response -> {
-                            JsonNode json = response.asJson();
-                            JsonNode items = json.get("items");
-
-                            if (items != null && items.size() > 0) {
-                                JsonNode snippet = items.get(0).get("snippet");
-
-                                String title = snippet.get("title").asText();
-                                String description = snippet.get("description").asText();
-                                JsonNode tagsNode = snippet.get("tags");
-                                List<String> tags = new ArrayList<>();
-
-                                if (tagsNode != null) {
-                                    tagsNode.forEach(tag -> tags.add(tag.asText()));
-                                }
-
-                                String channelId = snippet.get("channelId").asText();
-                                String channelTitle = snippet.get("channelTitle").asText();
-                                String thumbnailUrl = snippet.get("thumbnails").get("default").get("url").asText();
-
-                                String publishedDate =
-                                        snippet.has("publishedAt") ? snippet.get("publishedAt").asText() : null;
-
-                                Video video =
-                                        new Video(
-                                                title,
-                                                description,
-                                                channelId,
-                                                videoId,
-                                                thumbnailUrl,
-                                                channelTitle,
-                                                publishedDate);
-                                video.setTags(tags);
-                                return video;
-                            }
+        return getVideoDetails(videoId, Deadline.none());
+    }
+
+    /**
+     * Fetches the details of a video for a caller that stops waiting at a deadline. A batch of
+     * lookups is sent with the latest deadline of its callers.
+     *
+     * @param videoId the id of the video
+     * @param deadline when the caller stops waiting
+     * @return a CompletionStage containing the video, or null if the API does not return it or the
+     *     request failed
+     */
+    public CompletionStage<Video> getVideoDetails(String videoId, Deadline deadline) {
+        return videoDetailsBatcher
+                .load(videoId, deadline)
+                .exceptionally(
+                        e -> {
+                            System.err.println("Exception in getVideoDetails: " + e.getMessage());
                             return null;
                         });
     }
 
+    private CompletionStage<Map<String, Video>> fetchVideoDetails(
+            List<String> videoIds, Deadline deadline) {
+        String params = "part=snippet" + "&id=" + String.join(",", videoIds);
+
+        return get(
+                Endpoint.VIDEOS,
+                params,
+                QuotaLimiter.Priority.INTERACTIVE,
+                deadline,
+                response -> {
+                    Map<String, Video> videos = new LinkedHashMap<>();
+                    List<Video> items = YouTubeResponseParser.parseVideos(response, null);
+                    if (items != null) {
+                        items.forEach(video -> videos.putIfAbsent(video.getVideoId(), video));
+                    }
+                    return videos;
+                });
+    }
+
     public CompletionStage<List<Video>> searchVideosByTag(String tag) {
-        String url =
-                "https://www.googleapis.com/youtube/v3/search"
-                        + "?part=snippet"
-                        + "&maxResults=10"
-                        + "&q="
-                        + tag
-                        + "&type=video"
-                        + "&key="
-                        + apiKey;
-
-        return ws.url(url)
-                .get()
-                .thenApply(
-                        response -> {
-                            JsonNode json = response.asJson();
-                            List<Video> videos = new ArrayList<>();
-                            JsonNode items = json.get("items");
-
-                            if (items != null) {
-                                items.forEach(
-                                        item -> {
-                                            JsonNode snippet = item.get("snippet");
-                                            String videoId = item.get("id").get("videoId").asText();
-                                            String title = snippet.get("title").asText();
-                                            String description = snippet.get("description").asText();
-                                            String channelId = snippet.get("channelId").asText();
-                                            String channelTitle = snippet.get("channelTitle").asText();
-                                            String thumbnailUrl =
-                                                    snippet.get("thumbnails").get("default").get("url").asText();
-
-                                            String publishedDate =
-                                                    snippet.has("publishedAt") ? snippet.get("publishedAt").asText() : null;
-
-                                            Video video =
-                                                    new Video(
-                                                            title,
-                                                            description,
-                                                            channelId,
-                                                            videoId,
-                                                            thumbnailUrl,
-                                                            channelTitle,
-                                                            publishedDate);
-                                            // video.setTags(Collections.emptyList());
-                                            videos.add(video); // adding video to list
+        return searchVideosByTag(tag, Deadline.none());
+    }
+
+    /**
+     * Searches videos by tag for a caller that stops waiting at a deadline.
+     *
+     * @param tag the tag
+     * @param deadline when the caller stops waiting
+     * @return a CompletionStage containing the videos, or an empty list if an error occurs
+     */
+    public CompletionStage<List<Video>> searchVideosByTag(String tag, Deadline deadline) {
+        return getOrLoad(
+                        videoListCache,
+                        staleVideoListCache,
+                        cacheKey("tag", tag, 10, "relevance"),
+                        () -> fetchVideosByTag(tag, deadline))
+                .exceptionally(
+                        e -> {
+                            System.err.println("Exception in searchVideosByTag: " + e.getMessage());
+                            return new ArrayList<>();
+                        });
+    }
+
+    private CompletionStage<List<Video>> fetchVideosByTag(String tag, Deadline deadline) {
+        String params = "part=snippet" + "&maxResults=10" + "&q=" + tag + "&type=video";
+
+        return get(
+                Endpoint.SEARCH,
+                params,
+                QuotaLimiter.Priority.INTERACTIVE,
+                deadline,
+                response -> Collections.unmodifiableList(
+                        requireItems(YouTubeResponseParser.parseVideos(response, null))));
+    }
+
+    /**
+     * Returns a cached value or loads it. Every loaded value is also kept in the stale cache, so
+     * that when a later load fails, the last good value answers instead for a while longer.
+     */
+    private <V> CompletionStage<V> getOrLoad(
+            ResponseCache<V> cache,
+            ResponseCache<V> staleCache,
+            String key,
+            Supplier<CompletionStage<V>> loader) {
+        return getOrLoad(cache, staleCache, key, true, loader);
+    }
+
+    /**
+     * Returns a cached value or loads it, or always loads it when the cached value must not be
+     * used, in which case the loaded value still replaces it.
+     */
+    private <V> CompletionStage<V> getOrLoad(
+            ResponseCache<V> cache,
+            ResponseCache<V> staleCache,
+            String key,
+            boolean useCached,
+            Supplier<CompletionStage<V>> loader) {
+        Supplier<CompletionStage<V>> loadAndKeep =
+                () ->
+                        loader.get()
+                                .thenApply(
+                                        value -> {
+                                            staleCache.put(key, value);
+                                            return value;
                                         });
+        CompletionStage<V> result =
+                useCached
+                        ? cache.getOrLoad(key, loadAndKeep)
+                        : loadAndKeep
+                                .get()
+                                .thenApply(
+                                        value -> {
+                                            cache.put(key, value);
+                                            return value;
+                                        });
+        return result
+                .exceptionallyCompose(
+                        error -> {
+                            Optional<V> stale = staleCache.get(key);
+                            if (stale.isEmpty()) {
+                                return CompletableFuture.failedFuture(error);
                             }
-
-                            return videos;
+                            staleFallbacks.incrementAndGet();
+                            return CompletableFuture.completedFuture(stale.get());
                         });
     }
+
+    /**
+     * Issues a GET request to an API endpoint and parses the response, joining an identical request
+     * that is already in flight instead of sending a duplicate one to the YouTube API. The request
+     * asks for a gzip-compressed body, which the WS client inflates, and every parsed response is
+     * recorded in the metrics of the endpoint. Responses are parsed on the HTTP dispatcher rather
+     * than on the I/O thread of the WS client that received them.
+     *
+     * <p>Only a request that is actually sent spends the unit cost of its endpoint from the quota;
+     * cache hits and joined requests are free, while every retry is charged again. A request the
+     * quota limiter refuses fails without reaching the API. Requests go through the circuit
+     * breaker, which retries them while the API fails and fails them at once while it is open or
+     * the quota refuses a retry. A response that does not have a 2xx status fails the request
+     * instead of being parsed, so that the last good value can answer it.
+     *
+     * <p>A request whose caller's deadline has passed is neither sent nor charged to the quota, and
+     * every attempt times out at the timeout of its endpoint or the deadline, whichever comes first.
+     * A caller joining a request in flight gets the outcome of the priority it was sent with, so
+     * interactive callers never join a background request the quota may refuse. When the deadline
+     * of the caller that sent it passes first, a joiner with time left sends the request again under
+     * its own deadline; callers without a deadline only join requests sent without one.
+     */
+    private <T> CompletionStage<T> get(
+            Endpoint endpoint,
+            String params,
+            QuotaLimiter.Priority priority,
+            Deadline deadline,
+            Function<WSResponse, T> parser) {
+        String url = requestUrl(baseUrl, endpoint, params, apiKey);
+        EndpointMetrics metrics = endpointMetrics.get(endpoint.path);
+        AtomicBoolean sender = new AtomicBoolean();
+        CompletionStage<T> result = requestCoalescer
+                .execute(
+                        coalescingKey(url, priority, deadline),
+                        () -> {
+                            sender.set(true);
+                            if (deadline.isOverdue()) {
+                                return cancelled(endpoint);
+                            }
+                            return sendWithRetries(endpoint, url, priority, deadline);
+                        })
+                .thenApplyAsync(
+                        response -> {
+                            // Still failing once the retries are used up, or refused by the API
+                            if (response.getStatus() < 200 || response.getStatus() >= 300) {
+                                throw new IllegalStateException(
+                                        "YouTube API answered the "
+                                                + endpoint.path
+                                                + " request with status "
+                                                + response.getStatus());
+                            }
+                            long start = System.nanoTime();
+                            try {
+                                return parser.apply(response);
+                            } finally {
+                                metrics.record(response, System.nanoTime() - start);
+                            }
+                        },
+                        httpExecutor);
+        // A joined request given up at the deadline of its sender is sent again for a joiner that
+        // still has time left, under its own deadline
+        return result.exceptionallyCompose(
+                error -> sender.get() || !isCancellation(error) || deadline.isOverdue()
+                        ? result
+                        : get(endpoint, params, priority, deadline, parser));
+    }
+
+    /**
+     * Sends a request through the circuit breaker, if any. A request that timed out because its
+     * deadline passed fails as cancelled, like one whose deadline passed before it was sent.
+     */
+    private CompletionStage<WSResponse> sendWithRetries(
+            Endpoint endpoint, String url, QuotaLimiter.Priority priority, Deadline deadline) {
+        CompletionStage<WSResponse> attempts =
+                circuitBreaker == null
+                        ? send(endpoint, url, priority, deadline)
+                        : circuitBreaker.call(() -> send(endpoint, url, priority, deadline));
+        return attempts.exceptionallyCompose(
+                error -> {
+                    if (!isTimeout(error) || !deadline.isOverdue()) {
+                        return CompletableFuture.failedFuture(error);
+                    }
+                    CancellationException cancelled =
+                            new CancellationException(
+                                    "Deadline passed while the "
+                                            + endpoint.path
+                                            + " request was in flight");
+                    cancelled.initCause(error);
+                    return CompletableFuture.failedFuture(cancelled);
+                });
+    }
+
+    /**
+     * Sends one attempt of a request, charging it to the quota, unless its caller's deadline passed
+     * during the retries or the quota does not allow it.
+     */
+    private CompletionStage<WSResponse> send(
+            Endpoint endpoint, String url, QuotaLimiter.Priority priority, Deadline deadline) {
+        Duration timeout = deadline.cap(requestTimeouts.get(endpoint));
+        if (timeout.isZero()) {
+            return cancelled(endpoint);
+        }
+        if (!quotaLimiter.tryAcquire(endpoint.units, priority)) {
+            return CompletableFuture.failedFuture(
+                    new QuotaLimiter.QuotaExceededException(
+                            "YouTube API quota too low for a "
+                                    + priority.name().toLowerCase()
+                                    + " "
+                                    + endpoint.path
+                                    + " request"));
+        }
+        WSRequest request = ws.url(url);
+        request.addHeader("Accept-Encoding", "gzip");
+        // The client aborts the request and releases its connection once the timeout is over
+        request.setRequestTimeout(timeout);
+        return request.get()
+                .whenCompleteAsync(
+                        (response, error) -> {
+                            if (error == null) {
+                                completedRequests.incrementAndGet();
+                            } else if (isTimeout(error)) {
+                                cancelledRequests.incrementAndGet();
+                            }
+                        },
+                        httpExecutor);
+    }
+
+    /**
+     * Keeps the requests of callers without a deadline apart from those of callers with one, and
+     * interactive requests apart from background ones, which the quota refuses first.
+     */
+    private static String coalescingKey(
+            String url, QuotaLimiter.Priority priority, Deadline deadline) {
+        String key = RequestCoalescer.normalizeUrl(url) + "#" + priority.name().toLowerCase();
+        return deadline.isBounded() ? key : key + "#no-deadline";
+    }
+
+    private <T> CompletionStage<T> cancelled(Endpoint endpoint) {
+        cancelledRequests.incrementAndGet();
+        return CompletableFuture.failedFuture(
+                new CancellationException(
+                        "Deadline passed before the " + endpoint.path + " request was sent"));
+    }
+
+    private static boolean isCancellation(Throwable error) {
+        Throwable cause =
+                error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+        return cause instanceof CancellationException;
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        Throwable cause =
+                error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+        return cause instanceof TimeoutException;
+    }
+
+    /**
+     * Builds the URL of a request: the endpoint, its parameters, the field projection of the
+     * endpoint and the API key. Like the other parameters, the projection is left for the WS
+     * client to percent-encode.
+     */
+    static String requestUrl(String baseUrl, Endpoint endpoint, String params, String apiKey) {
+        return baseUrl
+                + '/'
+                + endpoint.path
+                + '?'
+                + params
+                + "&fields="
+                + endpoint.fields
+                + "&key="
+                + apiKey;
+    }
+
+    /**
+     * Builds the cache key for a request. Queries that differ only in the number of results or
+     * the ordering are cached separately.
+     */
+    private static String cacheKey(String endpoint, String query, int limit, String order) {
+        return endpoint + '|' + query + '|' + limit + '|' + order;
+    }
+
+    /**
+     * Returns the videos of an API response, failing the request when its "items" array is missing
+     * (for instance on quota or key errors) so that error payloads never end up in the cache.
+     */
+    private static List<Video> requireItems(List<Video> items) {
+        if (items == null) {
+            throw new IllegalStateException("YouTube API response did not contain any items");
+        }
+        return items;
+    }
+
+    /** Rough heap footprint of a list of videos, used to keep the cache within its byte budget. */
+    private static long estimateSize(List<Video> videos) {
+        long size = 64;
+        for (Video video : videos) {
+            size += 160
+                    + 2L * (length(video.getTitle())
+                    + length(video.getDescription())
+                    + length(video.getChannelId())
+                    + length(video.getVideoId())
+                    + length(video.getThumbnailUrl())
+                    + length(video.getChannelTitle())
+                    + length(video.getPublishedDate()));
+        }
+        return size;
+    }
+
+    /** Rough heap footprint of a channel profile. */
+    private static long estimateSize(ChannelInfo channelInfo) {
+        return 96
+                + 2L * (length(channelInfo.getName())
+                + length(channelInfo.getDescription())
+                + length(channelInfo.getChannelId()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static long configDuration(Config config, String path, long defaultMillis) {
+        return config != null && config.hasPath(path)
+                ? config.getDuration(path, TimeUnit.MILLISECONDS)
+                : defaultMillis;
+    }
+
+    private static int configInt(Config config, String path, int defaultValue) {
+        return config != null && config.hasPath(path) ? config.getInt(path) : defaultValue;
+    }
+
+    private static long configBytes(Config config, String path, long defaultValue) {
+        return config != null && config.hasPath(path) ? config.getBytes(path) : defaultValue;
+    }
+
+    /**
+     * The API endpoints used, each with a partial-response projection of exactly the fields that
+     * YouTubeResponseParser reads, so the API leaves out every other part of the snippet, and the
+     * quota units a request to it costs.
+     */
+    enum Endpoint {
+        SEARCH("search", YouTubeResponseParser.SEARCH_FIELDS, 100),
+        VIDEOS("videos", YouTubeResponseParser.VIDEOS_FIELDS, 1),
+        CHANNELS("channels", YouTubeResponseParser.CHANNELS_FIELDS, 1);
+
+        private final String path;
+        private final String fields;
+        private final int units;
+
+        Endpoint(String path, String fields, int units) {
+            this.path = path;
+            this.fields = fields;
+            this.units = units;
+        }
+    }
 }
@@ -0,0 +1,93 @@
+package utils;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * Point in time by which a caller stops waiting for a result, passed down the call chain so that
+ * work nobody waits for any more is not started, and requests are timed out no later than their
+ * caller gives up on them.
+ *
+ * <p>Deadlines are measured with {@link System#nanoTime()}, so they only mean something within
+ * the JVM that created them.
+ */
+public final class Deadline implements Serializable {
+  private static final Deadline NONE = new Deadline(0, false);
+
+  private final long expiresAtNanos;
+  private final boolean bounded;
+
+  private Deadline(long expiresAtNanos, boolean bounded) {
+    this.expiresAtNanos = expiresAtNanos;
+    this.bounded = bounded;
+  }
+
+  /**
+   * Returns a deadline the given time from now.
+   *
+   * @param timeout how long the caller waits
+   * @return the deadline
+   */
+  public static Deadline in(Duration timeout) {
+    return new Deadline(System.nanoTime() + timeout.toNanos(), true);
+  }
+
+  /** Returns the deadline of a caller that waits as long as it takes. */
+  public static Deadline none() {
+    return NONE;
+  }
+
+  /** Whether the caller stops waiting at some point, rather than waiting as long as it takes. */
+  public boolean isBounded() {
+    return bounded;
+  }
+
+  /**
+   * Returns whichever of two deadlines comes last, for work done on behalf of several callers.
+   *
+   * @param other the other deadline
+   * @return the later deadline, or no deadline if either caller waits as long as it takes
+   */
+  public Deadline orLater(Deadline other) {
+    if (!bounded || !other.bounded) {
+      return NONE;
+    }
+    return other.expiresAtNanos - expiresAtNanos > 0 ? other : this;
+  }
+
+  /** Whether the caller has stopped waiting. */
+  public boolean isOverdue() {
+    return bounded && System.nanoTime() - expiresAtNanos >= 0;
+  }
+
+  /**
+   * Time left until the deadline, zero once it has passed.
+   *
+   * @return the time left, or the longest Duration a long of nanoseconds holds for no deadline
+   */
+  public Duration timeLeft() {
+    if (!bounded) {
+      return Duration.ofNanos(Long.MAX_VALUE);
+    }
+    return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+  }
+
+  /**
+   * Shortens a timeout so that it ends no later than the deadline.
+   *
+   * @param timeout the timeout of the work
+   * @return the timeout, or the time left if that is shorter
+   */
+  public Duration cap(Duration timeout) {
+    if (!bounded) {
+      return timeout;
+    }
+    Duration left = timeLeft();
+    return left.compareTo(timeout) < 0 ? left : timeout;
+  }
+
+  @Override
+  public String toString() {
+    return bounded ? "Deadline{" + timeLeft().toMillis() + " ms left}" : "Deadline{none}";
+  }
+}
@@ -1,10 +1,6 @@
 package utils;
 
 import java.text.DecimalFormat;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.regex.Pattern;
 
 /**
  * Helper class to calculate readability scores for text and to calculate sentiment submission
@@ -12,7 +8,7 @@ import java.util.regex.Pattern;
  * @author Deniz Dinchdonmez, Jessica Chen
  */
 public class Helpers {
-  private static String[] happyList = {
+  static final String[] HAPPY_WORDS = {
     "happy",
     "wonderful",
     "great",
@@ -45,7 +41,7 @@ public class Helpers {
     "\uD83D\uDE0A"
   };
 
-  private static String[] sadList = {
+  static final String[] SAD_WORDS = {
     "sad",
     "disappointed",
     "depressed",
@@ -86,6 +82,10 @@ public class Helpers {
 
   public static final DecimalFormat decimalFormat = new DecimalFormat("#.##");
 
+  // DecimalFormat is not thread-safe, and scores are computed from many actors at once
+  private static final ThreadLocal<DecimalFormat> threadDecimalFormat =
+      ThreadLocal.withInitial(() -> (DecimalFormat) decimalFormat.clone());
+
   /**
    * Formats a double to two decimal places
    *
@@ -94,29 +94,7 @@ public class Helpers {
    * @author Deniz Dinchdonmez
    */
   public static double formatDouble(double value) {
-    return Double.parseDouble(decimalFormat.format(value));
-  }
-
-  /**
-   * Calculates the Flesch-Kincaid Grade Level of a given text
-   *
-   * @param description the text to analyze
-   * @return the Flesch-Kincaid Grade Level
-   * @author Deniz Dinchdonmez
-   */
-  private static TextMetrics calculateTextMetrics(String description) {
-
-    if (description == null || description.isEmpty()) {
-      return new TextMetrics(0, 0, 0);
-    }
-
-    List<String> words = Arrays.asList(description.split("\\s+"));
-
-    long sentenceCount = countSentences(description);
-    long wordCount = words.size();
-    long syllableCount = words.stream().mapToInt(Helpers::countSyllables).sum();
-
-    return new TextMetrics(sentenceCount, wordCount, syllableCount);
+    return Double.parseDouble(threadDecimalFormat.get().format(value));
   }
 
   /**
@@ -127,17 +105,7 @@ public class Helpers {
    * @author Deniz Dinchdonmez
    */
   public static double calculateFleschKincaidGradeLevel(String description) {
-
-    if (description == null || description.isEmpty()) {
-      return 0.0;
-    }
-
-    TextMetrics metrics = calculateTextMetrics(description);
-
-    double wordsPerSentence = (double) metrics.wordCount / metrics.sentenceCount;
-    double syllablesPerWord = (double) metrics.syllableCount / metrics.wordCount;
-
-    return formatDouble(0.39 * wordsPerSentence + 11.8 * syllablesPerWord - 15.59);
+    return TextAnalyzer.analyze(description).getFleschKincaidGradeLevel();
   }
 
   /**
@@ -148,17 +116,7 @@ public class Helpers {
    * @author Deniz Dinchdonmez
    */
   public static double calculateFleschReadingEaseScore(String description) {
-
-    if (description == null || description.isEmpty()) {
-      return 0.0;
-    }
-
-    TextMetrics metrics = calculateTextMetrics(description);
-
-    double wordsPerSentence = (double) metrics.wordCount / metrics.sentenceCount;
-    double syllablesPerWord = (double) metrics.syllableCount / metrics.wordCount;
-
-    return formatDouble(206.835 - 1.015 * wordsPerSentence - 84.6 * syllablesPerWord);
+    return TextAnalyzer.analyze(description).getFleschReadingEaseScore();
   }
 
   /**
@@ -169,28 +127,7 @@ public class Helpers {
    * @author Deniz Dinchdonmez
    */
   public static int countSyllables(String word) {
-    word = word.toLowerCase();
-    int count = 0;
-    boolean lastWasVowel = false;
-    String vowels = "aeiouy";
-
-    for (char c : word.toCharArray()) {
-      if (vowels.indexOf(c) != -1) {
-        if (!lastWasVowel) {
-          count++;
-          lastWasVowel = true;
-        }
-      } else {
-        lastWasVowel = false;
-      }
-    }
-
-    // Adjust syllable count for words that end in "e"
-    if (word.endsWith("e") && count > 1) {
-      count--;
-    }
-
-    return count;
+    return TextAnalyzer.countSyllables(word);
   }
 
   /**
@@ -201,24 +138,7 @@ public class Helpers {
    * @author Deniz Dinchdonmez
    */
   public static long countSentences(String description) {
-    return Pattern.compile("[.!?]").splitAsStream(description).count();
-  }
-
-  /**
-   * Helper class to store the metrics of a text
-   *
-   * @author Deniz Dinchdonmez
-   */
-  private static class TextMetrics {
-    long sentenceCount;
-    long wordCount;
-    long syllableCount;
-
-    TextMetrics(long sentenceCount, long wordCount, long syllableCount) {
-      this.sentenceCount = sentenceCount;
-      this.wordCount = wordCount;
-      this.syllableCount = syllableCount;
-    }
+    return description.isEmpty() ? 1 : TextAnalyzer.analyze(description).getSentenceCount();
   }
 
   /**
@@ -229,16 +149,7 @@ public class Helpers {
    * @author Jessica Chen
    */
   public static long calculateHappyWordCount(String videoDescription) {
-    if (videoDescription == null || videoDescription.isEmpty()) {
-      return 0;
-    }
-    ArrayList<String> happyWordList = new ArrayList<>(Arrays.asList(happyList));
-    return Arrays.asList(
-            videoDescription.replaceAll("[^a-zA-Z0-9\\s:()\\-_<>=*|\\p{So}]+", "").split("\\s+"))
-        .stream()
-        .map(String::toLowerCase)
-        .filter(happyWordList::contains)
-        .count();
+    return TextAnalyzer.analyze(videoDescription).getHappyWordCount();
   }
 
   /**
@@ -249,16 +160,7 @@ public class Helpers {
    * @author Jessica Chen
    */
   public static long calculateSadWordCount(String videoDescription) {
-    if (videoDescription == null || videoDescription.isEmpty()) {
-      return 0;
-    }
-    ArrayList<String> sadWordList = new ArrayList<>(Arrays.asList(sadList));
-    return Arrays.asList(
-            videoDescription.replaceAll("[^a-zA-Z0-9\\s:()\\-_<>=*|\\p{So}]+", "").split("\\s+"))
-        .stream()
-        .map(String::toLowerCase)
-        .filter(sadWordList::contains)
-        .count();
+    return TextAnalyzer.analyze(videoDescription).getSadWordCount();
   }
 
   /**
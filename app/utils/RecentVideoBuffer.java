@@ -0,0 +1,93 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import models.Video;
+import models.VideoKey;
+
+/**
+ * Fixed-capacity window of the most recent videos, newest first, with each video id at most once.
+ *
+ * <p>The videos sit in a ring buffer, so adding a video and dropping the oldest one are O(1) array
+ * writes, and their {@link VideoKey}s in a hash set, so checking whether a video is already in the
+ * window costs one lookup of its precomputed key instead of comparing whole videos.
+ *
+ * <p>This class is not thread-safe; it is meant to be owned by a single actor.
+ */
+public final class RecentVideoBuffer {
+  private final Video[] videos;
+  private final Set<VideoKey> videoKeys;
+  // Slot of the newest video; the older ones follow it, wrapping around
+  private int head;
+  private int size;
+
+  /**
+   * Creates an empty window.
+   *
+   * @param capacity the number of videos to keep, at least 1
+   */
+  public RecentVideoBuffer(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be at least 1, was " + capacity);
+    }
+    this.videos = new Video[capacity];
+    this.videoKeys = new HashSet<>(capacity * 2);
+  }
+
+  /** Number of videos the window keeps. */
+  public int capacity() {
+    return videos.length;
+  }
+
+  /** Number of videos currently in the window. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Whether a video with this id is in the window.
+   *
+   * @param videoId the id of the video
+   * @return true if the window holds a video with that id
+   */
+  public boolean contains(String videoId) {
+    return videoKeys.contains(VideoKey.of(videoId));
+  }
+
+  /**
+   * Adds a video as the newest one, dropping the oldest video if the window is full. A video whose
+   * id is already in the window is not added again.
+   *
+   * @param video the video to add
+   * @return true if the video was added
+   */
+  public boolean addFirst(Video video) {
+    if (!videoKeys.add(video.key())) {
+      return false;
+    }
+    head = head == 0 ? videos.length - 1 : head - 1;
+    if (size == videos.length) {
+      // The slot before the newest video holds the oldest one
+      videoKeys.remove(videos[head].key());
+    } else {
+      size++;
+    }
+    videos[head] = video;
+    return true;
+  }
+
+  /**
+   * Returns the videos of the window, newest first.
+   *
+   * @return a new list of the videos
+   */
+  public List<Video> toList() {
+    List<Video> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(videos[(head + i) % videos.length]);
+    }
+    return list;
+  }
+}
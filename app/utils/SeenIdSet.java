@@ -0,0 +1,242 @@
+package utils;
+
+/**
+ * Fixed-size set of recently seen YouTube video ids, used to tell new search results apart from
+ * ones that were already sent to the client.
+ *
+ * <p>Ids are packed into a single {@code long}: an 11 character YouTube id is 10 base64url digits
+ * of 6 bits plus a last digit that only carries 4 bits, which is exactly 64 bits. Any other id is
+ * stored as a 64-bit hash. The ids live in an open-addressing table of primitive longs, and a ring
+ * buffer remembers the order in which they were last seen. Both start small and double as ids
+ * come in, up to the capacity. Once the ring holds {@code capacity} sightings, the id that has gone
+ * unseen the longest is forgotten, so memory stays bounded however long the set is used, and a set
+ * that has only seen a few ids stays small.
+ *
+ * <p>This class is not thread-safe; it is meant to be owned by a single actor.
+ */
+public final class SeenIdSet {
+  private static final int NOT_BASE64 = -1;
+  private static final int[] BASE64_DIGITS = new int[128];
+
+  static {
+    java.util.Arrays.fill(BASE64_DIGITS, NOT_BASE64);
+    String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    for (int i = 0; i < alphabet.length(); i++) {
+      BASE64_DIGITS[alphabet.charAt(i)] = i;
+    }
+  }
+
+  private static final int INITIAL_RING_SIZE = 16;
+
+  private final int capacity;
+
+  // Hash table: keys[i] is only meaningful while seqs[i] != 0, and at most half full
+  private long[] keys;
+  private long[] seqs;
+  private int mask;
+
+  // Ring buffer of (key, sequence) sightings, oldest at ringHead
+  private long[] ringKeys;
+  private long[] ringSeqs;
+  private int ringHead;
+  private int ringSize;
+
+  private long nextSeq = 1;
+  private int size;
+
+  /**
+   * Creates a set that remembers the ids seen within the last {@code capacity} sightings.
+   *
+   * @param capacity the number of sightings to remember, at least 1
+   */
+  public SeenIdSet(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be at least 1, was " + capacity);
+    }
+    this.capacity = capacity;
+    int ringSize = Math.min(capacity, INITIAL_RING_SIZE);
+    this.ringKeys = new long[ringSize];
+    this.ringSeqs = new long[ringSize];
+    int tableSize = Integer.highestOneBit(Math.max(2, ringSize) * 2 - 1) << 1;
+    this.keys = new long[tableSize];
+    this.seqs = new long[tableSize];
+    this.mask = tableSize - 1;
+  }
+
+  /**
+   * Records a sighting of an id.
+   *
+   * @param videoId the id that was seen
+   * @return true if the id was not in the set, false if it had been seen recently
+   */
+  public boolean add(String videoId) {
+    long key = encode(videoId);
+    long seq = nextSeq++;
+    if (ringSize == capacity) {
+      evictOldest();
+    } else if (ringSize == ringKeys.length) {
+      growRing();
+    }
+    ringKeys[(ringHead + ringSize) % ringKeys.length] = key;
+    ringSeqs[(ringHead + ringSize) % ringKeys.length] = seq;
+    ringSize++;
+
+    int slot = findSlot(key);
+    boolean added = seqs[slot] == 0;
+    if (added) {
+      if ((size + 1) * 2 > keys.length) {
+        growTable();
+        slot = findSlot(key);
+      }
+      keys[slot] = key;
+      size++;
+    }
+    seqs[slot] = seq;
+    return added;
+  }
+
+  /**
+   * Tells whether an id has been seen recently, without recording a sighting.
+   *
+   * @param videoId the id to look up
+   * @return true if the id is in the set
+   */
+  public boolean contains(String videoId) {
+    return seqs[findSlot(encode(videoId))] != 0;
+  }
+
+  /** Number of distinct ids currently remembered. */
+  public int size() {
+    return size;
+  }
+
+  /** Approximate heap used by this set, which grows with the ids seen, up to the capacity. */
+  public long estimatedHeapBytes() {
+    return 64 + 16L * keys.length + 16L * ringKeys.length + 4 * 16;
+  }
+
+  /**
+   * Packs an id into 64 bits. Well-formed YouTube ids are encoded losslessly; anything else is
+   * hashed.
+   *
+   * @param videoId the id to encode
+   * @return the 64-bit key
+   */
+  static long encode(String videoId) {
+    if (videoId == null) {
+      return 0x9E3779B97F4A7C15L;
+    }
+    if (videoId.length() == 11) {
+      long packed = 0;
+      boolean valid = true;
+      for (int i = 0; i < 10 && valid; i++) {
+        int digit = digit(videoId.charAt(i));
+        valid = digit != NOT_BASE64;
+        packed = (packed << 6) | digit;
+      }
+      int last = digit(videoId.charAt(10));
+      // The last character of a YouTube id only uses the top 4 of its 6 bits
+      if (valid && last != NOT_BASE64 && (last & 3) == 0) {
+        return (packed << 4) | (last >> 2);
+      }
+    }
+    return hash(videoId);
+  }
+
+  private static int digit(char c) {
+    return c < 128 ? BASE64_DIGITS[c] : NOT_BASE64;
+  }
+
+  /** 64-bit FNV-1a hash with a final avalanche step. */
+  private static long hash(String value) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      h ^= value.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private static int home(long key, int mask) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+
+  /** Returns the slot holding the key, or the empty slot where it would be inserted. */
+  private int findSlot(long key) {
+    int slot = home(key, mask);
+    while (seqs[slot] != 0 && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /** Doubles the ring, up to the capacity, moving the sightings to its start in order. */
+  private void growRing() {
+    int length = Math.min(capacity, ringKeys.length * 2);
+    long[] newKeys = new long[length];
+    long[] newSeqs = new long[length];
+    for (int i = 0; i < ringSize; i++) {
+      newKeys[i] = ringKeys[(ringHead + i) % ringKeys.length];
+      newSeqs[i] = ringSeqs[(ringHead + i) % ringKeys.length];
+    }
+    ringKeys = newKeys;
+    ringSeqs = newSeqs;
+    ringHead = 0;
+  }
+
+  /** Doubles the hash table and re-inserts every entry. */
+  private void growTable() {
+    long[] oldKeys = keys;
+    long[] oldSeqs = seqs;
+    keys = new long[oldKeys.length * 2];
+    seqs = new long[oldKeys.length * 2];
+    mask = keys.length - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldSeqs[i] != 0) {
+        int slot = findSlot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        seqs[slot] = oldSeqs[i];
+      }
+    }
+  }
+
+  /**
+   * Drops the oldest sighting from the ring. The id itself is only forgotten when that sighting
+   * is still its most recent one; otherwise it was seen again later and stays in the set.
+   */
+  private void evictOldest() {
+    long key = ringKeys[ringHead];
+    long seq = ringSeqs[ringHead];
+    ringHead = (ringHead + 1) % ringKeys.length;
+    ringSize--;
+
+    int slot = findSlot(key);
+    if (seqs[slot] == seq) {
+      removeSlot(slot);
+      size--;
+    }
+  }
+
+  /** Removes an entry with backward-shift deletion so no tombstones are needed. */
+  private void removeSlot(int slot) {
+    int hole = slot;
+    int next = (hole + 1) & mask;
+    while (seqs[next] != 0) {
+      int home = home(keys[next], mask);
+      // Move the entry into the hole unless its home lies cyclically in (hole, next]
+      boolean stays =
+          hole <= next ? hole < home && home <= next : hole < home || home <= next;
+      if (!stays) {
+        keys[hole] = keys[next];
+        seqs[hole] = seqs[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    seqs[hole] = 0;
+  }
+}
@@ -0,0 +1,356 @@
+package utils;
+
+/**
+ * Single-pass text analyzer behind the readability and sentiment scores of {@link Helpers}.
+ *
+ * <p>One scan over the characters of a description yields the sentence, word and syllable counts
+ * used by the Flesch formulas together with the number of happy and sad lexicon hits. Character
+ * classes come from precomputed tables and the lexicons are looked up in a hashed table, so the
+ * scan allocates nothing per word: the current word is kept in one small reusable buffer.
+ *
+ * <p>The counts are exactly those of the original multi-pass implementation:
+ *
+ * <ul>
+ *   <li>words are the pieces of {@code split("\\s+")}, including the empty leading piece of a text
+ *       that starts with whitespace;
+ *   <li>sentences are the pieces of splitting on {@code [.!?]}, without the trailing empty ones;
+ *   <li>syllables are vowel groups of the lower-cased word, minus one for a trailing "e";
+ *   <li>a lexicon hit is a word that matches an entry once the characters outside {@code
+ *       [a-zA-Z0-9\s:()\-_<>=*|\p{So}]} are dropped and it is lower-cased.
+ * </ul>
+ */
+public final class TextAnalyzer {
+  private static final byte WHITESPACE = 1;
+  private static final byte VOWEL = 2;
+  private static final byte SENTENCE_END = 4;
+  private static final byte KEPT = 8;
+
+  private static final byte[] ASCII_CLASSES = new byte[128];
+
+  /** Capital I with a dot above, the only char whose lower case is two chars long. */
+  private static final char DOTTED_CAPITAL_I = '\u0130';
+
+  private static final byte NO_MATCH = 0;
+  private static final byte HAPPY = 1;
+  private static final byte SAD = 2;
+
+  private static final char[][] LEXICON_WORDS;
+  private static final byte[] LEXICON_KINDS;
+  private static final int LEXICON_MASK;
+  private static final int MAX_LEXICON_WORD_LENGTH;
+
+  static {
+    for (char c : " \t\n\u000B\f\r".toCharArray()) {
+      ASCII_CLASSES[c] |= WHITESPACE | KEPT;
+    }
+    for (char c : "aeiouyAEIOUY".toCharArray()) {
+      ASCII_CLASSES[c] |= VOWEL;
+    }
+    for (char c : ".!?".toCharArray()) {
+      ASCII_CLASSES[c] |= SENTENCE_END;
+    }
+    for (char c = 'a'; c <= 'z'; c++) {
+      ASCII_CLASSES[c] |= KEPT;
+      ASCII_CLASSES[Character.toUpperCase(c)] |= KEPT;
+    }
+    for (char c : "0123456789:()-_<>=*|".toCharArray()) {
+      ASCII_CLASSES[c] |= KEPT;
+    }
+
+    int entries = Helpers.HAPPY_WORDS.length + Helpers.SAD_WORDS.length;
+    int tableSize = Integer.highestOneBit(entries * 4 - 1) << 1;
+    LEXICON_WORDS = new char[tableSize][];
+    LEXICON_KINDS = new byte[tableSize];
+    LEXICON_MASK = tableSize - 1;
+    int maxLength = 0;
+    for (String word : Helpers.HAPPY_WORDS) {
+      addToLexicon(word, HAPPY);
+      maxLength = Math.max(maxLength, word.length());
+    }
+    for (String word : Helpers.SAD_WORDS) {
+      addToLexicon(word, SAD);
+      maxLength = Math.max(maxLength, word.length());
+    }
+    MAX_LEXICON_WORD_LENGTH = maxLength;
+  }
+
+  private TextAnalyzer() {
+    throw new IllegalStateException("private constructor invoked for class: " + getClass());
+  }
+
+  /**
+   * Analyzes a text in one pass.
+   *
+   * @param text the text to analyze
+   * @return the counts for the text, all zero for a null or empty text
+   */
+  public static TextStats analyze(String text) {
+    if (text == null || text.isEmpty()) {
+      return TextStats.EMPTY;
+    }
+
+    char[] lexiconWord = new char[MAX_LEXICON_WORD_LENGTH];
+    int lexiconWordLength = 0;
+    int lexiconWordHash = 0;
+
+    long wordCount = 0;
+    long syllableCount = 0;
+    long happyCount = 0;
+    long sadCount = 0;
+    long sentenceEnds = 0;
+    long lastNonEmptySentence = -1;
+
+    boolean inWord = false;
+    int wordSyllables = 0;
+    boolean lastWasVowel = false;
+    boolean endsWithE = false;
+
+    int length = text.length();
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      byte classes = c < 128 ? ASCII_CLASSES[c] : 0;
+
+      if ((classes & SENTENCE_END) != 0) {
+        sentenceEnds++;
+      } else {
+        lastNonEmptySentence = sentenceEnds;
+      }
+
+      if ((classes & WHITESPACE) != 0) {
+        if (inWord) {
+          syllableCount += adjustForTrailingE(wordSyllables, endsWithE);
+          byte kind = lookup(lexiconWord, lexiconWordLength, lexiconWordHash);
+          happyCount += kind == HAPPY ? 1 : 0;
+          sadCount += kind == SAD ? 1 : 0;
+          inWord = false;
+        }
+        continue;
+      }
+
+      if (!inWord) {
+        inWord = true;
+        wordCount++;
+        wordSyllables = 0;
+        lastWasVowel = false;
+        lexiconWordLength = 0;
+        lexiconWordHash = 0;
+      }
+
+      // Syllables: vowel groups of the lower-cased word
+      if ((classes & VOWEL) != 0) {
+        if (!lastWasVowel) {
+          wordSyllables++;
+          lastWasVowel = true;
+        }
+        endsWithE = (c | 0x20) == 'e';
+      } else if (c == DOTTED_CAPITAL_I) {
+        // Lower-cases to "i" followed by a combining dot, which ends the vowel group
+        if (!lastWasVowel) {
+          wordSyllables++;
+        }
+        lastWasVowel = false;
+        endsWithE = false;
+      } else {
+        lastWasVowel = false;
+        endsWithE = false;
+      }
+
+      // Lexicon word: the kept characters of the word, lower-cased
+      int codePoint = c;
+      if (c < 128) {
+        if ((classes & KEPT) != 0 && lexiconWordLength >= 0) {
+          if (lexiconWordLength < lexiconWord.length) {
+            char lowerCase = (char) (c >= 'A' && c <= 'Z' ? c | 0x20 : c);
+            lexiconWord[lexiconWordLength++] = lowerCase;
+            lexiconWordHash = 31 * lexiconWordHash + lowerCase;
+          } else {
+            // Longer than every lexicon entry, so it cannot match
+            lexiconWordLength = -1;
+          }
+        }
+      } else {
+        if (Character.isHighSurrogate(c)
+            && i + 1 < length
+            && Character.isLowSurrogate(text.charAt(i + 1))) {
+          codePoint = Character.toCodePoint(c, text.charAt(i + 1));
+        }
+        if (Character.getType(codePoint) == Character.OTHER_SYMBOL && lexiconWordLength >= 0) {
+          int lowerCase = Character.toLowerCase(codePoint);
+          int charCount = Character.charCount(lowerCase);
+          if (lexiconWordLength + charCount <= lexiconWord.length) {
+            for (int j = 0; j < charCount; j++) {
+              char unit = charCount == 1 ? (char) lowerCase
+                  : j == 0 ? Character.highSurrogate(lowerCase) : Character.lowSurrogate(lowerCase);
+              lexiconWord[lexiconWordLength++] = unit;
+              lexiconWordHash = 31 * lexiconWordHash + unit;
+            }
+          } else {
+            lexiconWordLength = -1;
+          }
+        }
+      }
+      if (codePoint > Character.MAX_VALUE) {
+        // The low surrogate is neither whitespace, a vowel nor a sentence end
+        i++;
+      }
+    }
+
+    if (inWord) {
+      syllableCount += adjustForTrailingE(wordSyllables, endsWithE);
+      byte kind = lookup(lexiconWord, lexiconWordLength, lexiconWordHash);
+      happyCount += kind == HAPPY ? 1 : 0;
+      sadCount += kind == SAD ? 1 : 0;
+    }
+    if (wordCount > 0 && isWhitespace(text.charAt(0))) {
+      // split("\\s+") keeps an empty first word when the text starts with whitespace
+      wordCount++;
+    }
+
+    return new TextStats(
+        lastNonEmptySentence + 1, wordCount, syllableCount, happyCount, sadCount);
+  }
+
+  /**
+   * Counts the vowel groups of a single word, lower-cased, minus one for a trailing "e".
+   *
+   * @param word the word to count syllables in
+   * @return the number of syllables in the word
+   */
+  public static int countSyllables(String word) {
+    int count = 0;
+    boolean lastWasVowel = false;
+    boolean endsWithE = false;
+    for (int i = 0; i < word.length(); i++) {
+      char c = word.charAt(i);
+      if (c < 128 && (ASCII_CLASSES[c] & VOWEL) != 0) {
+        if (!lastWasVowel) {
+          count++;
+          lastWasVowel = true;
+        }
+        endsWithE = (c | 0x20) == 'e';
+      } else {
+        if (c == DOTTED_CAPITAL_I && !lastWasVowel) {
+          count++;
+        }
+        lastWasVowel = false;
+        endsWithE = false;
+      }
+    }
+    return adjustForTrailingE(count, endsWithE);
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c < 128 && (ASCII_CLASSES[c] & WHITESPACE) != 0;
+  }
+
+  private static int adjustForTrailingE(int syllables, boolean endsWithE) {
+    return endsWithE && syllables > 1 ? syllables - 1 : syllables;
+  }
+
+  private static void addToLexicon(String word, byte kind) {
+    int slot = word.hashCode() & LEXICON_MASK;
+    while (LEXICON_WORDS[slot] != null) {
+      slot = (slot + 1) & LEXICON_MASK;
+    }
+    LEXICON_WORDS[slot] = word.toCharArray();
+    LEXICON_KINDS[slot] = kind;
+  }
+
+  private static byte lookup(char[] word, int length, int hash) {
+    if (length <= 0) {
+      return NO_MATCH;
+    }
+    int slot = hash & LEXICON_MASK;
+    char[] entry;
+    while ((entry = LEXICON_WORDS[slot]) != null) {
+      if (entry.length == length && matches(entry, word)) {
+        return LEXICON_KINDS[slot];
+      }
+      slot = (slot + 1) & LEXICON_MASK;
+    }
+    return NO_MATCH;
+  }
+
+  private static boolean matches(char[] entry, char[] word) {
+    for (int i = 0; i < entry.length; i++) {
+      if (entry[i] != word[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Counts produced by {@link #analyze(String)}, with the readability scores derived from them.
+   */
+  public static final class TextStats {
+    static final TextStats EMPTY = new TextStats(0, 0, 0, 0, 0);
+
+    private final long sentenceCount;
+    private final long wordCount;
+    private final long syllableCount;
+    private final long happyWordCount;
+    private final long sadWordCount;
+
+    TextStats(
+        long sentenceCount,
+        long wordCount,
+        long syllableCount,
+        long happyWordCount,
+        long sadWordCount) {
+      this.sentenceCount = sentenceCount;
+      this.wordCount = wordCount;
+      this.syllableCount = syllableCount;
+      this.happyWordCount = happyWordCount;
+      this.sadWordCount = sadWordCount;
+    }
+
+    public long getSentenceCount() {
+      return sentenceCount;
+    }
+
+    public long getWordCount() {
+      return wordCount;
+    }
+
+    public long getSyllableCount() {
+      return syllableCount;
+    }
+
+    public long getHappyWordCount() {
+      return happyWordCount;
+    }
+
+    public long getSadWordCount() {
+      return sadWordCount;
+    }
+
+    /**
+     * Flesch-Kincaid Grade Level of the analyzed text, rounded to two decimals.
+     *
+     * @return the grade level, 0.0 for an empty text
+     */
+    public double getFleschKincaidGradeLevel() {
+      if (this == EMPTY) {
+        return 0.0;
+      }
+      double wordsPerSentence = (double) wordCount / sentenceCount;
+      double syllablesPerWord = (double) syllableCount / wordCount;
+      return Helpers.formatDouble(0.39 * wordsPerSentence + 11.8 * syllablesPerWord - 15.59);
+    }
+
+    /**
+     * Flesch Reading Ease Score of the analyzed text, rounded to two decimals.
+     *
+     * @return the reading ease score, 0.0 for an empty text
+     */
+    public double getFleschReadingEaseScore() {
+      if (this == EMPTY) {
+        return 0.0;
+      }
+      double wordsPerSentence = (double) wordCount / sentenceCount;
+      double syllablesPerWord = (double) syllableCount / wordCount;
+      return Helpers.formatDouble(206.835 - 1.015 * wordsPerSentence - 84.6 * syllablesPerWord);
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package utils;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incrementally maintained top-K of word counts that only ever grow.
+ *
+ * <p>The K best words are kept in an indexed min-heap: the weakest of them sits at the root and
+ * every word in the heap knows its slot, so a count update costs O(log K) instead of re-sorting
+ * the whole vocabulary. Words rank by count, highest first, with ties broken alphabetically.
+ * Because counts never decrease, a word outside the heap can only enter it by displacing the root,
+ * which keeps the heap exact without ever looking at the rest of the vocabulary.
+ *
+ * <p>This class is not thread-safe; it is meant to be owned by a single actor.
+ */
+public final class TopKHeap {
+  /** Ranking of the top words: highest count first, then alphabetical. */
+  public static final Comparator<Map.Entry<String, Long>> RANKING =
+      Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry::getKey);
+
+  private int capacity;
+  private String[] words;
+  private long[] counts;
+  private int size;
+  private final Map<String, Integer> slots = new HashMap<>();
+
+  /**
+   * Creates an empty heap keeping the best {@code capacity} words.
+   *
+   * @param capacity the number of words to keep, at least 1
+   */
+  public TopKHeap(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be at least 1, was " + capacity);
+    }
+    this.capacity = capacity;
+    this.words = new String[capacity];
+    this.counts = new long[capacity];
+  }
+
+  /** Number of words this heap keeps. */
+  public int capacity() {
+    return capacity;
+  }
+
+  /** Number of words currently in the heap. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Records the new count of a word. Counts must never decrease.
+   *
+   * @param word the word whose count changed
+   * @param count the new total count of the word
+   */
+  public void update(String word, long count) {
+    Integer slot = slots.get(word);
+    if (slot != null) {
+      // A higher count makes the word stronger, which moves it away from the root
+      counts[slot] = count;
+      siftDown(slot);
+    } else if (size < capacity) {
+      words[size] = word;
+      counts[size] = count;
+      slots.put(word, size);
+      siftUp(size++);
+    } else if (isStronger(word, count, words[0], counts[0])) {
+      slots.remove(words[0]);
+      words[0] = word;
+      counts[0] = count;
+      slots.put(word, 0);
+      siftDown(0);
+    }
+  }
+
+  /**
+   * Returns the best words, best first. Costs O(K log K) for the K words kept, however large the
+   * vocabulary is.
+   *
+   * @param limit the maximum number of words to return, at most {@link #capacity()}
+   * @return snapshot entries of the best words with their counts
+   */
+  public List<Map.Entry<String, Long>> top(int limit) {
+    List<Map.Entry<String, Long>> entries = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      entries.add(new AbstractMap.SimpleImmutableEntry<>(words[i], counts[i]));
+    }
+    entries.sort(RANKING);
+    return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+  }
+
+  /**
+   * Grows the heap to keep more words, refilling it from the complete counts. Only needed when a
+   * caller asks for more words than the heap currently keeps, so it runs at most once per new
+   * maximum.
+   *
+   * @param newCapacity the number of words to keep from now on
+   * @param allCounts the current count of every word
+   */
+  public void grow(int newCapacity, WordCountTable allCounts) {
+    if (newCapacity <= capacity) {
+      return;
+    }
+    capacity = newCapacity;
+    words = Arrays.copyOf(words, newCapacity);
+    counts = Arrays.copyOf(counts, newCapacity);
+    size = 0;
+    slots.clear();
+    allCounts.forEach(this::update);
+  }
+
+  /** Whether the first word ranks strictly above the second one. */
+  private static boolean isStronger(String word, long count, String otherWord, long otherCount) {
+    return count != otherCount ? count > otherCount : word.compareTo(otherWord) < 0;
+  }
+
+  private boolean isWeaker(int slot, int otherSlot) {
+    return isStronger(words[otherSlot], counts[otherSlot], words[slot], counts[slot]);
+  }
+
+  private void siftUp(int slot) {
+    while (slot > 0) {
+      int parent = (slot - 1) / 2;
+      if (!isWeaker(slot, parent)) {
+        return;
+      }
+      swap(slot, parent);
+      slot = parent;
+    }
+  }
+
+  private void siftDown(int slot) {
+    while (true) {
+      int weakest = slot;
+      int left = 2 * slot + 1;
+      int right = left + 1;
+      if (left < size && isWeaker(left, weakest)) {
+        weakest = left;
+      }
+      if (right < size && isWeaker(right, weakest)) {
+        weakest = right;
+      }
+      if (weakest == slot) {
+        return;
+      }
+      swap(slot, weakest);
+      slot = weakest;
+    }
+  }
+
+  private void swap(int a, int b) {
+    String word = words[a];
+    long count = counts[a];
+    words[a] = words[b];
+    counts[a] = counts[b];
+    words[b] = word;
+    counts[b] = count;
+    slots.put(words[a], a);
+    slots.put(words[b], b);
+  }
+}
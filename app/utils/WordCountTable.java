@@ -0,0 +1,231 @@
+package utils;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Hash table from words to primitive {@code long} counts, used for the word statistics.
+ *
+ * <p>Words, their hash codes and their counts live in three parallel arrays with linear probing,
+ * so there is no boxing and no node object per entry. Counts are updated in place, and a word can
+ * be looked up straight from a slice of a {@code char[]}: a tokenizer only allocates a String the
+ * first time the table sees a word. Hash codes are those of {@link String#hashCode()}, so both
+ * kinds of lookup agree.
+ *
+ * <p>This class is not thread-safe; it is meant to be owned by a single actor or thread.
+ */
+public final class WordCountTable {
+  private static final int MIN_CAPACITY = 16;
+
+  private String[] words;
+  private int[] hashes;
+  private long[] counts;
+  private int mask;
+  private int size;
+  private int resizeAt;
+
+  /** Creates an empty table. */
+  public WordCountTable() {
+    this(MIN_CAPACITY / 2);
+  }
+
+  /**
+   * Creates an empty table that holds {@code expectedWords} words without resizing.
+   *
+   * @param expectedWords the number of distinct words expected
+   */
+  public WordCountTable(int expectedWords) {
+    int capacity = MIN_CAPACITY;
+    while (capacity * 2 / 3 < expectedWords) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  /** Number of distinct words in the table. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Adds to the count of a word.
+   *
+   * @param word the word
+   * @param delta the amount to add
+   * @return the new count of the word
+   */
+  public long add(String word, long delta) {
+    int hash = word.hashCode();
+    int slot = slot(hash);
+    String existing;
+    while ((existing = words[slot]) != null) {
+      if (hashes[slot] == hash && existing.equals(word)) {
+        return counts[slot] += delta;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return insert(slot, word, hash, delta);
+  }
+
+  /**
+   * Adds to the count of the word held in a slice of a char array. A String is only created when
+   * the word is not in the table yet.
+   *
+   * @param chars the characters
+   * @param offset the start of the word
+   * @param length the length of the word
+   * @param delta the amount to add
+   * @return the new count of the word
+   */
+  public long add(char[] chars, int offset, int length, long delta) {
+    int hash = hash(chars, offset, length);
+    int slot = find(chars, offset, length, hash);
+    if (words[slot] != null) {
+      return counts[slot] += delta;
+    }
+    return insert(slot, new String(chars, offset, length), hash, delta);
+  }
+
+  /**
+   * Returns the count of a word.
+   *
+   * @param word the word
+   * @return its count, 0 if the word is not in the table
+   */
+  public long get(String word) {
+    int hash = word.hashCode();
+    int slot = slot(hash);
+    String existing;
+    while ((existing = words[slot]) != null) {
+      if (hashes[slot] == hash && existing.equals(word)) {
+        return counts[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return 0;
+  }
+
+  /**
+   * Tells whether the word held in a slice of a char array is in the table.
+   *
+   * @param chars the characters
+   * @param offset the start of the word
+   * @param length the length of the word
+   * @return true if the word is in the table
+   */
+  public boolean contains(char[] chars, int offset, int length) {
+    return words[find(chars, offset, length, hash(chars, offset, length))] != null;
+  }
+
+  /**
+   * Adds all counts of another table to this one.
+   *
+   * @param other the table to merge in; it is left unchanged
+   */
+  public void addAll(WordCountTable other) {
+    for (int i = 0; i < other.words.length; i++) {
+      if (other.words[i] != null) {
+        add(other.words[i], other.counts[i]);
+      }
+    }
+  }
+
+  /**
+   * Calls the action for every word and its count, in no particular order.
+   *
+   * @param action receives each word with its count
+   */
+  public void forEach(ObjLongConsumer<String> action) {
+    for (int i = 0; i < words.length; i++) {
+      if (words[i] != null) {
+        action.accept(words[i], counts[i]);
+      }
+    }
+  }
+
+  /**
+   * Copies the table into a sorted map, for callers that need a view by word.
+   *
+   * @return the words and their counts, sorted by word
+   */
+  public SortedMap<String, Long> toSortedMap() {
+    SortedMap<String, Long> map = new TreeMap<>();
+    forEach(map::put);
+    return map;
+  }
+
+  private long insert(int slot, String word, int hash, long delta) {
+    words[slot] = word;
+    hashes[slot] = hash;
+    counts[slot] = delta;
+    if (++size > resizeAt) {
+      resize();
+    }
+    return delta;
+  }
+
+  private int find(char[] chars, int offset, int length, int hash) {
+    int slot = slot(hash);
+    String existing;
+    while ((existing = words[slot]) != null) {
+      if (hashes[slot] == hash && equals(existing, chars, offset, length)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private static boolean equals(String word, char[] chars, int offset, int length) {
+    if (word.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (word.charAt(i) != chars[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int hash(char[] chars, int offset, int length) {
+    int hash = 0;
+    for (int i = offset; i < offset + length; i++) {
+      hash = 31 * hash + chars[i];
+    }
+    return hash;
+  }
+
+  /** Spreads the String hash code, whose low bits are poor for short words. */
+  private int slot(int hash) {
+    int spread = hash * 0x9E3779B9;
+    return (spread ^ (spread >>> 16)) & mask;
+  }
+
+  private void allocate(int capacity) {
+    words = new String[capacity];
+    hashes = new int[capacity];
+    counts = new long[capacity];
+    mask = capacity - 1;
+    resizeAt = capacity * 2 / 3;
+  }
+
+  private void resize() {
+    String[] oldWords = words;
+    int[] oldHashes = hashes;
+    long[] oldCounts = counts;
+    allocate(oldWords.length * 2);
+    for (int i = 0; i < oldWords.length; i++) {
+      if (oldWords[i] != null) {
+        int slot = slot(oldHashes[i]);
+        while (words[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        words[slot] = oldWords[i];
+        hashes[slot] = oldHashes[i];
+        counts[slot] = oldCounts[i];
+      }
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic corpora of YouTube-like video descriptions for the benchmarks. Every kind mimics
+ * what the search API actually returns: short teaser lines, long descriptions with links and
+ * chapter lists, emoji-heavy creator blurbs, and descriptions in other languages and scripts.
+ */
+public final class DescriptionCorpus {
+
+  /** The shapes of description found in search results. */
+  public enum Kind {
+    SHORT,
+    LONG,
+    EMOJI_HEAVY,
+    NON_ENGLISH
+  }
+
+  private static final String[] ENGLISH_WORDS = {
+    "the", "best", "way", "to", "learn", "java", "in", "this", "video", "we", "build", "a",
+    "complete", "project", "from", "scratch", "and", "explain", "every", "step", "happy",
+    "coding", "tutorial", "beginners", "advanced", "tips", "tricks", "you", "will", "love",
+    "amazing", "results", "don't", "forget", "subscribe", "comment", "below", "what", "think",
+    "about", "new", "series", "episode", "review", "honest", "opinion", "terrible", "sad",
+    "performance", "framework", "actors", "streaming", "reactive", "application", "thanks",
+    "watching", "great", "community", "questions", "answers", "live", "stream", "recorded"
+  };
+
+  private static final String[] NON_ENGLISH_WORDS = {
+    "aprende", "programación", "desde", "cero", "con", "este", "vídeo", "increíble",
+    "günlük", "çok", "güzel", "İstanbul", "şehir", "amaç",
+    "привет", "мир", "урок",
+    "программирование",
+    "日本語", "勉強", "動画", "プログラム",
+    "مرحبا", "درس", "schön", "Straße", "groß",
+    "très", "été", "français", "développeur", "happy", "java"
+  };
+
+  private static final String[] EMOJI = {
+    "😀", "😊", "😆", "😔", "😩",
+    "🔥", "👍🏽", "❤️", "🎉", "✨",
+    ":)", ":(", ">:("
+  };
+
+  private static final String[] PUNCTUATION = {".", "!", "?", ",", "...", " -", ":"};
+
+  private DescriptionCorpus() {}
+
+  /**
+   * Generates a corpus of descriptions. The same arguments always produce the same corpus.
+   *
+   * @param kind the shape of the descriptions
+   * @param count the number of descriptions
+   * @param seed the seed of the generator
+   * @return the descriptions
+   */
+  public static List<String> generate(Kind kind, int count, long seed) {
+    Random random = new Random(seed);
+    List<String> descriptions = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      descriptions.add(description(kind, random));
+    }
+    return descriptions;
+  }
+
+  private static String description(Kind kind, Random random) {
+    switch (kind) {
+      case SHORT:
+        return sentence(ENGLISH_WORDS, 6 + random.nextInt(10), 0, random);
+      case LONG:
+        return longDescription(random);
+      case EMOJI_HEAVY:
+        StringBuilder emojiText = new StringBuilder();
+        for (int i = 0; i < 4 + random.nextInt(4); i++) {
+          emojiText.append(sentence(ENGLISH_WORDS, 4 + random.nextInt(8), 3, random)).append(' ');
+        }
+        return emojiText.toString().trim();
+      case NON_ENGLISH:
+        StringBuilder foreignText = new StringBuilder();
+        for (int i = 0; i < 3 + random.nextInt(5); i++) {
+          foreignText.append(sentence(NON_ENGLISH_WORDS, 5 + random.nextInt(10), 0, random));
+          foreignText.append(' ');
+        }
+        return foreignText.toString().trim();
+      default:
+        throw new IllegalArgumentException("Unknown corpus kind: " + kind);
+    }
+  }
+
+  /** A multi-paragraph description with chapters, links and hashtags, about 2 KB long. */
+  private static String longDescription(Random random) {
+    StringBuilder text = new StringBuilder();
+    for (int paragraph = 0; paragraph < 4; paragraph++) {
+      for (int i = 0; i < 3 + random.nextInt(3); i++) {
+        text.append(sentence(ENGLISH_WORDS, 8 + random.nextInt(16), 1, random)).append(' ');
+      }
+      text.append("\n\n");
+    }
+    text.append("Chapters:\n");
+    for (int chapter = 0; chapter < 6; chapter++) {
+      text.append(String.format("%02d:%02d ", chapter * 3, random.nextInt(60)));
+      text.append(sentence(ENGLISH_WORDS, 2 + random.nextInt(4), 0, random)).append('\n');
+    }
+    text.append("\nSource code: https://github.com/example/project-")
+        .append(random.nextInt(1000))
+        .append("\nFollow us: https://www.example.com/channel?id=")
+        .append(Integer.toHexString(random.nextInt()))
+        .append("\n#java #programming #tutorial #happy");
+    return text.toString();
+  }
+
+  private static String sentence(String[] words, int length, int emojiPerSentence, Random random) {
+    StringBuilder sentence = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      if (i > 0) {
+        sentence.append(' ');
+      }
+      String word = words[random.nextInt(words.length)];
+      if (i == 0) {
+        word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+      }
+      sentence.append(word);
+      if (random.nextInt(8) == 0) {
+        sentence.append(PUNCTUATION[random.nextInt(PUNCTUATION.length)]);
+      }
+    }
+    for (int i = 0; i < emojiPerSentence; i++) {
+      sentence.append(' ').append(EMOJI[random.nextInt(EMOJI.length)]);
+    }
+    return sentence.append(PUNCTUATION[random.nextInt(3)]).toString();
+  }
+}
@@ -0,0 +1,123 @@
+package benchmarks;
+
+import actors.AnalyticsActors;
+import actors.Messages;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import models.Video;
+import org.apache.pekko.actor.AbstractActor;
+import org.apache.pekko.actor.ActorRef;
+import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.actor.Props;
+import org.apache.pekko.pattern.Patterns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load test of the dispatcher layout: the latency of a WebSocket-style push, a message to an actor
+ * on the default dispatcher and back, while readability batches of long descriptions are kept in
+ * flight. With {@code dispatchers = default} the analytics actors share the default dispatcher with
+ * the push; with {@code dedicated} they run on the CPU dispatcher of {@code application.conf}.
+ * Compare the p0.99 and p0.999 percentiles of the two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatcherIsolationBenchmark {
+
+  @Param({"default", "dedicated"})
+  public String dispatchers;
+
+  /** Readability batches kept in flight, per core. */
+  @Param({"4"})
+  public int loadPerCore;
+
+  private ActorSystem system;
+  private ActorRef push;
+
+  @Setup
+  public void setUp() {
+    Config config = ConfigFactory.load();
+    if (dispatchers.equals("default")) {
+      config = config.withoutPath("analytics.cpu-dispatcher");
+    }
+    system = ActorSystem.create("bench", config);
+    push = system.actorOf(Props.create(Echo.class));
+
+    List<String> descriptions = DescriptionCorpus.generate(DescriptionCorpus.Kind.LONG, 50, 13);
+    ActorRef readability = AnalyticsActors.get(system).getReadabilityActor();
+    ActorRef load = system.actorOf(Props.create(Load.class, descriptions, readability));
+    int batches = loadPerCore * Runtime.getRuntime().availableProcessors();
+    for (int i = 0; i < batches; i++) {
+      load.tell(Load.NEXT, ActorRef.noSender());
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    system.terminate();
+  }
+
+  @Benchmark
+  public Object push() {
+    return Patterns.ask(push, "frame", Duration.ofSeconds(10)).toCompletableFuture().join();
+  }
+
+  /** Stands in for the WebSocket output actor: answers every frame straight away. */
+  public static class Echo extends AbstractActor {
+    @Override
+    public Receive createReceive() {
+      return receiveBuilder().matchAny(message -> getSender().tell(message, getSelf())).build();
+    }
+  }
+
+  /**
+   * Keeps readability batches in flight: every finished batch is replaced by a new one. The videos
+   * are new every time, so their memoized scores are always computed afresh.
+   */
+  public static class Load extends AbstractActor {
+    static final Object NEXT = "next";
+
+    private final List<String> descriptions;
+    private final ActorRef readability;
+
+    public Load(List<String> descriptions, ActorRef readability) {
+      this.descriptions = descriptions;
+      this.readability = readability;
+    }
+
+    @Override
+    public Receive createReceive() {
+      return receiveBuilder()
+          .matchEquals(NEXT, next -> sendBatch())
+          .match(Messages.ReadabilityResultsMessage.class, done -> sendBatch())
+          .build();
+    }
+
+    private void sendBatch() {
+      List<Video> videos = new ArrayList<>(descriptions.size());
+      for (int i = 0; i < descriptions.size(); i++) {
+        videos.add(
+            new Video("title " + i, descriptions.get(i), "channel", "id" + i, "thumb", "owner", "now"));
+      }
+      readability.tell(new Messages.CalculateReadabilityMessage(videos), getSelf());
+    }
+  }
+}
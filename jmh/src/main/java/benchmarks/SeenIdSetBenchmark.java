@@ -0,0 +1,102 @@
+package benchmarks;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+import utils.SeenIdSet;
+
+/**
+ * Cost of remembering video ids in a poller's {@link SeenIdSet} with room for 100k ids, compared
+ * to the {@code HashSet<String>} it replaced, both for a query that has seen a few dozen ids and
+ * for one that has seen 100k.
+ *
+ * <p>{@code seenIdSet} and {@code hashSet} time filling a set. {@code seenIdSetRetained} and
+ * {@code hashSetRetained} report, as their {@code retainedBytes} counter, the heap a filled set
+ * keeps reachable as measured by JOL, the ids held by the {@code HashSet} included; unlike {@code
+ * gc.alloc.rate.norm}, this leaves out the garbage of resizing and counts ids built beforehand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.attach.allowAttachSelf=true")
+public class SeenIdSetBenchmark {
+  private static final int CAPACITY = 100_000;
+  private static final String ALPHABET =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+  private static final String LAST_CHARS = "AEIMQUYcgkosw048";
+
+  @Param({"30", "100000"})
+  public int ids;
+
+  private String[] videoIds;
+
+  /** Heap kept reachable by one filled set, reported once per iteration. */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Footprint {
+    public long retainedBytes;
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(3);
+    videoIds = new String[ids];
+    for (int i = 0; i < ids; i++) {
+      StringBuilder id = new StringBuilder(11);
+      for (int j = 0; j < 10; j++) {
+        id.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+      }
+      videoIds[i] = id.append(LAST_CHARS.charAt(random.nextInt(LAST_CHARS.length()))).toString();
+    }
+  }
+
+  @Benchmark
+  public SeenIdSet seenIdSet() {
+    SeenIdSet seen = new SeenIdSet(CAPACITY);
+    for (String videoId : videoIds) {
+      seen.add(videoId);
+    }
+    return seen;
+  }
+
+  @Benchmark
+  public Set<String> hashSet() {
+    Set<String> seen = new HashSet<>();
+    for (String videoId : videoIds) {
+      seen.add(videoId);
+    }
+    return seen;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  public void seenIdSetRetained(Footprint footprint) {
+    footprint.retainedBytes = GraphLayout.parseInstance(seenIdSet()).totalSize();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  public void hashSetRetained(Footprint footprint) {
+    footprint.retainedBytes = GraphLayout.parseInstance(hashSet()).totalSize();
+  }
+}
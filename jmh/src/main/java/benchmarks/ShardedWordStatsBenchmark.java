@@ -0,0 +1,70 @@
+package benchmarks;
+
+import actors.Messages;
+import actors.WordStatsActor;
+import com.typesafe.config.ConfigFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.pekko.actor.ActorRef;
+import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.pattern.Patterns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end latency of a 50-video word-stats request through WordStatsActor, by number of
+ * counting workers. With one worker the batch is counted serially; with more, its slices are
+ * counted in parallel and merged in a tree, so latency should drop with the number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShardedWordStatsBenchmark {
+
+  @Param({"1", "2", "4", "8"})
+  public int workers;
+
+  @Param({"SHORT", "LONG"})
+  public DescriptionCorpus.Kind corpus;
+
+  private ActorSystem system;
+  private ActorRef wordStatsActor;
+  private Messages.WordStatsRequest request;
+
+  @Setup
+  public void setUp() {
+    system =
+        ActorSystem.create(
+            "bench", ConfigFactory.parseString("word-stats.workers = " + workers));
+    wordStatsActor = system.actorOf(WordStatsActor.props());
+    List<String> videoTexts = new ArrayList<>(DescriptionCorpus.generate(corpus, 50, 9));
+    request = new Messages.WordStatsRequest(videoTexts);
+  }
+
+  @TearDown
+  public void tearDown() {
+    system.terminate();
+  }
+
+  @Benchmark
+  public Object wordStatsRequest() {
+    return Patterns.ask(wordStatsActor, request, Duration.ofSeconds(10))
+        .toCompletableFuture()
+        .join();
+  }
+}
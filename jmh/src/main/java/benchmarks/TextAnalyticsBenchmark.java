@@ -0,0 +1,98 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import models.Video;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.Helpers;
+
+/**
+ * Throughput of the per-video text analytics: syllable counting, the readability scores, the
+ * sentiment lexicon and building a {@link Video} with its scores. Each invocation processes one
+ * batch of search results, so ops/s is batches per second; run with {@code -prof gc} to see the
+ * allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextAnalyticsBenchmark {
+  /** Number of descriptions in a batch, the maximum page size of a search. */
+  private static final int BATCH_SIZE = 50;
+
+  @Param({"SHORT", "LONG", "EMOJI_HEAVY", "NON_ENGLISH"})
+  public DescriptionCorpus.Kind corpus;
+
+  private List<String> descriptions;
+  private String[] words;
+
+  @Setup
+  public void setUp() {
+    descriptions = DescriptionCorpus.generate(corpus, BATCH_SIZE, 42);
+    words = String.join(" ", descriptions).split("\\s+");
+  }
+
+  @Benchmark
+  public void countSyllables(Blackhole blackhole) {
+    for (String word : words) {
+      blackhole.consume(Helpers.countSyllables(word));
+    }
+  }
+
+  @Benchmark
+  public void fleschKincaidGradeLevel(Blackhole blackhole) {
+    for (String description : descriptions) {
+      blackhole.consume(Helpers.calculateFleschKincaidGradeLevel(description));
+    }
+  }
+
+  @Benchmark
+  public void happyWordCount(Blackhole blackhole) {
+    for (String description : descriptions) {
+      blackhole.consume(Helpers.calculateHappyWordCount(description));
+    }
+  }
+
+  /** Builds the videos of a search page without reading any score. */
+  @Benchmark
+  public void videoConstruction(Blackhole blackhole) {
+    for (int i = 0; i < descriptions.size(); i++) {
+      blackhole.consume(newVideo(i));
+    }
+  }
+
+  /** Builds the videos of a search page and reads every score, as the analytics actors do. */
+  @Benchmark
+  public void videoConstructionWithScores(Blackhole blackhole) {
+    for (int i = 0; i < descriptions.size(); i++) {
+      Video video = newVideo(i);
+      blackhole.consume(video.getFleschKincaidGradeLevel());
+      blackhole.consume(video.getFleschReadingEaseScore());
+      blackhole.consume(video.getSubmissionSentiment());
+    }
+  }
+
+  private Video newVideo(int index) {
+    return new Video(
+        "Video " + index,
+        descriptions.get(index),
+        "channel-" + index,
+        "dQw4w9WgXc" + (char) ('A' + index % 16 * 4),
+        "https://i.ytimg.com/vi/" + index + "/default.jpg",
+        "Channel " + index,
+        "2024-11-01T12:00:00Z");
+  }
+}
@@ -0,0 +1,106 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import models.Video;
+import models.VideoKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of de-duplicating 10k videos, half of which are repeats of the other half re-fetched by a
+ * later poll: equal content, but separate instances and strings, as Jackson would parse them.
+ * {@code deepContent} hashes and compares every field, which is what {@code Video.equals} did
+ * before; {@code videoKey} and {@code video} compare the precomputed {@link VideoKey}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VideoDedupBenchmark {
+  private static final int VIDEOS = 10_000;
+
+  @Param({"SHORT", "LONG"})
+  public DescriptionCorpus.Kind corpus;
+
+  private List<Video> videos;
+
+  @Setup
+  public void setUp() {
+    List<String> descriptions = DescriptionCorpus.generate(corpus, VIDEOS / 2, 11);
+    videos = new ArrayList<>(VIDEOS);
+    for (int copy = 0; copy < 2; copy++) {
+      for (int i = 0; i < descriptions.size(); i++) {
+        Video video =
+            new Video(
+                new String("Video " + i),
+                new String(descriptions.get(i)),
+                "channel",
+                new String("id" + i),
+                "https://i.ytimg.com/vi/id" + i + "/hqdefault.jpg",
+                "owner",
+                "2024-11-06T04:41:46Z");
+        video.setTags(List.of(new String("java"), new String("tutorial"), new String("tag" + i)));
+        videos.add(video);
+      }
+    }
+  }
+
+  @Benchmark
+  public Set<ContentIdentity> deepContent() {
+    Set<ContentIdentity> seen = new HashSet<>(VIDEOS * 2);
+    for (Video video : videos) {
+      seen.add(new ContentIdentity(video));
+    }
+    return seen;
+  }
+
+  @Benchmark
+  public Set<VideoKey> videoKey() {
+    Set<VideoKey> seen = new HashSet<>(VIDEOS * 2);
+    for (Video video : videos) {
+      seen.add(video.key());
+    }
+    return seen;
+  }
+
+  @Benchmark
+  public Set<Video> video() {
+    Set<Video> seen = new HashSet<>(VIDEOS * 2);
+    seen.addAll(videos);
+    return seen;
+  }
+
+  /** Wraps a video with the field-by-field equality it used to have. */
+  private static final class ContentIdentity {
+    private final Video video;
+
+    private ContentIdentity(Video video) {
+      this.video = video;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof ContentIdentity && video.contentEquals(((ContentIdentity) o).video);
+    }
+
+    @Override
+    public int hashCode() {
+      return video.contentHashCode();
+    }
+  }
+}
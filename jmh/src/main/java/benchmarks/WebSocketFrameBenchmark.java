@@ -0,0 +1,94 @@
+package benchmarks;
+
+import actors.VideoFrameEncoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import models.Video;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.RecentVideoBuffer;
+
+/**
+ * Serialization cost and size of the WebSocket frames of a UserActor, as one new video arrives per
+ * update into the latest ten. {@code snapshotInterval = 1} sends a full snapshot every time, as
+ * before delta frames; larger intervals send deltas in between. The time per operation is the
+ * serialization CPU of one update; the {@code bytes} counter divided by the {@code frames} counter
+ * is its average frame size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebSocketFrameBenchmark {
+
+  @Param({"1", "20"})
+  public int snapshotInterval;
+
+  @Param({"SHORT", "LONG"})
+  public DescriptionCorpus.Kind corpus;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private List<Video> incoming;
+  private RecentVideoBuffer latest;
+  private VideoFrameEncoder encoder;
+  private int next;
+
+  /** Bytes and frames sent during an iteration. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class FrameBytes {
+    public long bytes;
+    public long frames;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      bytes = 0;
+      frames = 0;
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    List<String> descriptions = DescriptionCorpus.generate(corpus, 1000, 17);
+    incoming = new ArrayList<>(descriptions.size());
+    for (int i = 0; i < descriptions.size(); i++) {
+      // Score every video up front, as the analytics actors do before the frame is built
+      Video video =
+          new Video("Video " + i, descriptions.get(i), "channel", "id" + i, "thumb", "owner", "now");
+      video.getFleschKincaidGradeLevel();
+      incoming.add(video);
+    }
+    latest = new RecentVideoBuffer(10);
+    incoming.subList(0, 10).forEach(latest::addFirst);
+    next = 10;
+    encoder = new VideoFrameEncoder(snapshotInterval);
+  }
+
+  @Benchmark
+  public String update(FrameBytes frameBytes) throws JsonProcessingException {
+    latest.addFirst(incoming.get(next));
+    next = next + 1 == incoming.size() ? 0 : next + 1;
+    String frame =
+        objectMapper.writeValueAsString(
+            encoder.encode(objectMapper, latest.toList(), "java", 8.5, 62.0, ":-)"));
+    frameBytes.bytes += frame.length();
+    frameBytes.frames++;
+    return frame;
+  }
+}
@@ -0,0 +1,96 @@
+package benchmarks;
+
+import actors.WordStatsActor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.TopKHeap;
+import utils.WordCountTable;
+
+/**
+ * Throughput of the WordStatsActor frequency collector over one batch of video texts, against the
+ * regex and TreeMap collector it replaced, and of extracting the top 50 words by a full sort and
+ * from the incremental heap. Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WordStatsBenchmark {
+  private static final Set<String> STOP_WORDS =
+      Set.of(
+          "a", "an", "http", "https", "are", "www", "the", "and", "or", "but", "on", "in", "with",
+          "is", "to", "of", "for", "at", "by", "from", "as", "it", "this", "that", "been");
+
+  @Param({"SHORT", "LONG", "EMOJI_HEAVY", "NON_ENGLISH"})
+  public DescriptionCorpus.Kind corpus;
+
+  /** Number of video texts in a batch; a session accumulates up to 10 searches of 50 videos. */
+  @Param({"50", "500"})
+  public int batchSize;
+
+  private List<String> videoTexts;
+  private SortedMap<String, Long> wordFrequencies;
+  private TopKHeap topWordsHeap;
+
+  @Setup
+  public void setUp() {
+    // Titles and descriptions, as the session actor sends them
+    videoTexts = new ArrayList<>(DescriptionCorpus.generate(corpus, batchSize, 7));
+    videoTexts.addAll(DescriptionCorpus.generate(DescriptionCorpus.Kind.SHORT, batchSize, 11));
+    wordFrequencies = regexTreeMapCollector();
+    topWordsHeap = new TopKHeap(50);
+    wordFrequencies.forEach(topWordsHeap::update);
+  }
+
+  @Benchmark
+  public WordCountTable countWordFrequencies() {
+    return WordStatsActor.countWordFrequencies(videoTexts);
+  }
+
+  /** The original collector: regex split, stream and TreeMap of boxed counts. */
+  @Benchmark
+  public SortedMap<String, Long> regexTreeMapCollector() {
+    return videoTexts.stream()
+        .flatMap(text -> Arrays.stream(text.split("\\W+")))
+        .map(String::toLowerCase)
+        .filter(word -> word.length() > 2)
+        .filter(word -> word.matches("[a-z]+"))
+        .filter(word -> !STOP_WORDS.contains(word))
+        .collect(Collectors.toMap(word -> word, word -> 1L, Long::sum, TreeMap::new));
+  }
+
+  /** Top 50 by sorting the whole vocabulary. */
+  @Benchmark
+  public List<Map.Entry<String, Long>> topWords() {
+    return wordFrequencies.entrySet().stream()
+        .sorted(TopKHeap.RANKING)
+        .limit(50)
+        .collect(Collectors.toList());
+  }
+
+  /** Top 50 read from the heap that WordStatsActor keeps up to date. */
+  @Benchmark
+  public List<Map.Entry<String, Long>> topWordsFromHeap() {
+    return topWordsHeap.top(50);
+  }
+}
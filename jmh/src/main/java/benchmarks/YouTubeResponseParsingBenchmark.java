@@ -0,0 +1,110 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import models.Video;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import play.libs.Json;
+import services.YouTubeResponseParser;
+
+/**
+ * Cost of turning a 50-item search response into videos. {@code treeModel} is what {@code
+ * response.asJson()} plus the per-field lookups did: parse the whole body into a JsonNode tree,
+ * then pick seven fields per item. {@code streaming} reads the same bytes with {@link
+ * YouTubeResponseParser}. The responses have the full shape of search.list with part=snippet:
+ * kind and etag on every item, three thumbnail sizes, broadcast fields and page info. With {@code
+ * -prof gc}, {@code gc.alloc.rate.norm} is the garbage of one parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YouTubeResponseParsingBenchmark {
+  private static final int ITEMS = 50;
+
+  @Param({"SHORT", "LONG", "NON_ENGLISH"})
+  public DescriptionCorpus.Kind corpus;
+
+  private byte[] body;
+
+  @Setup
+  public void setUp() throws JsonProcessingException {
+    ObjectMapper mapper = new ObjectMapper();
+    List<String> descriptions = DescriptionCorpus.generate(corpus, ITEMS, 23);
+    ObjectNode response = mapper.createObjectNode();
+    response.put("kind", "youtube#searchListResponse");
+    response.put("etag", "Zt6cBlYnUTxq0QmA3DSqhjwXQ3E");
+    response.put("nextPageToken", "CDIQAA");
+    response.put("regionCode", "CA");
+    response.putObject("pageInfo").put("totalResults", 1000000).put("resultsPerPage", ITEMS);
+    ArrayNode items = response.putArray("items");
+    for (int i = 0; i < ITEMS; i++) {
+      String videoId = String.format("vid%08d", i);
+      ObjectNode item = items.addObject();
+      item.put("kind", "youtube#searchResult");
+      item.put("etag", "etag" + i);
+      item.putObject("id").put("kind", "youtube#video").put("videoId", videoId);
+      ObjectNode snippet = item.putObject("snippet");
+      snippet.put("publishedAt", "2024-11-06T04:41:46Z");
+      snippet.put("channelId", "UC" + i + "xJ8kq1b0aQ7nD2vQ");
+      snippet.put("title", "Video " + i + " | learn java the best way");
+      snippet.put("description", descriptions.get(i));
+      ObjectNode thumbnails = snippet.putObject("thumbnails");
+      String[][] sizes = {{"default", "120", "90"}, {"medium", "320", "180"}, {"high", "480", "360"}};
+      for (String[] size : sizes) {
+        thumbnails
+            .putObject(size[0])
+            .put("url", "https://i.ytimg.com/vi/" + videoId + "/" + size[0] + ".jpg")
+            .put("width", Integer.parseInt(size[1]))
+            .put("height", Integer.parseInt(size[2]));
+      }
+      snippet.put("channelTitle", "Channel " + i);
+      snippet.put("liveBroadcastContent", "none");
+      snippet.put("publishTime", "2024-11-06T04:41:46Z");
+    }
+    body = mapper.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public List<Video> treeModel() {
+    JsonNode items = Json.parse(body).get("items");
+    List<Video> videos = new ArrayList<>();
+    items.forEach(
+        item -> {
+          JsonNode snippet = item.get("snippet");
+          videos.add(
+              new Video(
+                  snippet.get("title").asText(),
+                  snippet.get("description").asText(),
+                  snippet.get("channelId").asText(),
+                  item.get("id").get("videoId").asText(),
+                  snippet.get("thumbnails").get("default").get("url").asText(),
+                  snippet.get("channelTitle").asText(),
+                  snippet.get("publishedAt").asText()));
+        });
+    return videos;
+  }
+
+  @Benchmark
+  public List<Video> streaming() {
+    return YouTubeResponseParser.parseVideos(body);
+  }
+}
@@ -0,0 +1,4 @@
+package benchmarks.jmh_generated;
+public class DispatcherIsolationBenchmark_jmhType extends DispatcherIsolationBenchmark_jmhType_B3 {
+}
+
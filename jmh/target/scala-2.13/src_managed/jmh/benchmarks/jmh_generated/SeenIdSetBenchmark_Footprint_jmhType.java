@@ -0,0 +1,4 @@
+package benchmarks.jmh_generated;
+public class SeenIdSetBenchmark_Footprint_jmhType extends SeenIdSetBenchmark_Footprint_jmhType_B3 {
+}
+
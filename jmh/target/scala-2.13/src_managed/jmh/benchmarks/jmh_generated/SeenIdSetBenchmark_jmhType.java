@@ -0,0 +1,4 @@
+package benchmarks.jmh_generated;
+public class SeenIdSetBenchmark_jmhType extends SeenIdSetBenchmark_jmhType_B3 {
+}
+
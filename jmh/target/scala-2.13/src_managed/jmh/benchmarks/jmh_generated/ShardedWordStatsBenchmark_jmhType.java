@@ -0,0 +1,4 @@
+package benchmarks.jmh_generated;
+public class ShardedWordStatsBenchmark_jmhType extends ShardedWordStatsBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package benchmarks.jmh_generated;
+public class TextAnalyticsBenchmark_jmhType extends TextAnalyticsBenchmark_jmhType_B3 {
+}
+
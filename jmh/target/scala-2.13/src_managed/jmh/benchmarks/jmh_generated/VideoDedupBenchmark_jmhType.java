@@ -0,0 +1,4 @@
+package benchmarks.jmh_generated;
+public class VideoDedupBenchmark_jmhType extends VideoDedupBenchmark_jmhType_B3 {
+}
+
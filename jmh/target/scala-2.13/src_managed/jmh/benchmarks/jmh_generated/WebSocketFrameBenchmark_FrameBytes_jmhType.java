@@ -0,0 +1,4 @@
+package benchmarks.jmh_generated;
+public class WebSocketFrameBenchmark_FrameBytes_jmhType extends WebSocketFrameBenchmark_FrameBytes_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package benchmarks.jmh_generated;
+public class WebSocketFrameBenchmark_jmhType extends WebSocketFrameBenchmark_jmhType_B3 {
+}
+
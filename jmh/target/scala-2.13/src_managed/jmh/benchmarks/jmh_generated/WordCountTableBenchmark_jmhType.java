@@ -0,0 +1,4 @@
+package benchmarks.jmh_generated;
+public class WordCountTableBenchmark_jmhType extends WordCountTableBenchmark_jmhType_B3 {
+}
+
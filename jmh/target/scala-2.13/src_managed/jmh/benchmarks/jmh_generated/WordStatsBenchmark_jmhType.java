@@ -0,0 +1,4 @@
+package benchmarks.jmh_generated;
+public class WordStatsBenchmark_jmhType extends WordStatsBenchmark_jmhType_B3 {
+}
+
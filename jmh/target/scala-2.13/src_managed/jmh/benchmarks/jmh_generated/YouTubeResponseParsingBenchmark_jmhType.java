@@ -0,0 +1,4 @@
+package benchmarks.jmh_generated;
+public class YouTubeResponseParsingBenchmark_jmhType extends YouTubeResponseParsingBenchmark_jmhType_B3 {
+}
+
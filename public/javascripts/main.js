@@ -5,6 +5,10 @@ document.addEventListener('DOMContentLoaded', function () {
     const searchResults = document.getElementById('searchResults');
     const statusElement = document.getElementById("status");
 
+    // Latest videos as last sent by the server, patched by every delta frame
+    let currentVideos = [];
+    let lastSeq = -1;
+
     // WebSocket event handlers
     socket.onopen = () => {
         console.log('WebSocket connection established');
@@ -34,8 +38,15 @@ document.addEventListener('DOMContentLoaded', function () {
                 errorElement.textContent = `Error: ${data.error}`;
                 errorElement.style.color = 'red';
                 searchResults.prepend(errorElement);
+            } else if (data.type === 'delta') {
+                if (!applyDelta(data)) {
+                    return;
+                }
+                appendSearchResults(data.searchTerm, currentVideos, data.averageGradeLevel, data.averageReadingEase, data.sentiment);
             } else if (data.videos && Array.isArray(data.videos)) {
-                appendSearchResults(data.searchTerm, data.videos, data.averageGradeLevel, data.averageReadingEase, data.sentiment);
+                currentVideos = data.videos;
+                lastSeq = typeof data.seq === 'number' ? data.seq : -1;
+                appendSearchResults(data.searchTerm, currentVideos, data.averageGradeLevel, data.averageReadingEase, data.sentiment);
             } else {
                 console.error('Unexpected data format:', data);
             }
@@ -56,6 +67,20 @@ document.addEventListener('DOMContentLoaded', function () {
         }
     });
 
+    // Applies a delta frame to the current videos: drops the removed ids and puts the added videos
+    // in front. A delta that does not follow the last frame is ignored until the next snapshot.
+    function applyDelta(delta) {
+        if (lastSeq < 0 || delta.seq !== lastSeq + 1) {
+            console.warn('Out-of-order delta frame, waiting for the next snapshot:', delta.seq);
+            lastSeq = -1;
+            return false;
+        }
+        const removed = new Set(delta.removed || []);
+        currentVideos = (delta.added || []).concat(currentVideos.filter((video) => !removed.has(video.videoId)));
+        lastSeq = delta.seq;
+        return true;
+    }
+
     // Function to append search results to the page
     function appendSearchResults(searchTerm, videos, averageGradeLevel, averageReadingEase, sentiment) {
         if (!videos || !Array.isArray(videos)) {
@@ -0,0 +1,136 @@
+// @GENERATOR:play-routes-compiler
+// @SOURCE:conf/routes
+
+import play.api.mvc.Call
+
+
+import _root_.controllers.Assets.Asset
+import _root_.play.libs.F
+
+// @LINE:6
+package controllers {
+
+  // @LINE:6
+  class ReverseHomeController(_prefix: => String) {
+    def _defaultPrefix: String = {
+      if (_prefix.endsWith("/")) "" else "/"
+    }
+
+  
+    // @LINE:27
+    def getCumulativeWordStats: Call = {
+      
+      Call("GET", _prefix + { _defaultPrefix } + "getCumulativeWordStats")
+    }
+  
+    // @LINE:28
+    def channelProfile(channelId:String): Call = {
+      
+      Call("GET", _prefix + { _defaultPrefix } + "channel/" + play.core.routing.dynamicString(implicitly[play.api.mvc.PathBindable[String]].unbind("channelId", channelId)))
+    }
+  
+    // @LINE:22
+    def search(query:String): Call = {
+    
+      (query: @unchecked) match {
+      
+        // @LINE:22
+        case (query)  =>
+          
+          Call("GET", _prefix + { _defaultPrefix } + "search" + play.core.routing.queryString(List(Some(implicitly[play.api.mvc.QueryStringBindable[String]].unbind("query", query)))))
+      
+      }
+    
+    }
+  
+    // @LINE:35
+    def fetchLatestVideos(channelId:String): Call = {
+      
+      Call("GET", _prefix + { _defaultPrefix } + "api/channel/" + play.core.routing.dynamicString(implicitly[play.api.mvc.PathBindable[String]].unbind("channelId", channelId)) + "/latest-videos")
+    }
+  
+    // @LINE:10
+    def ws(): Call = {
+    
+      () match {
+      
+        // @LINE:10
+        case ()  =>
+          
+          Call("GET", _prefix + { _defaultPrefix } + "ws")
+      
+      }
+    
+    }
+  
+    // @LINE:6
+    def index(query:String = null): Call = {
+      
+      Call("GET", _prefix + play.core.routing.queryString(List(if(query == null) None else Some(implicitly[play.api.mvc.QueryStringBindable[String]].unbind("query", query)))))
+    }
+  
+    // @LINE:40
+    def searchVideosByTag(tag:String): Call = {
+      
+      Call("GET", _prefix + { _defaultPrefix } + "searchByTag/" + play.core.routing.dynamicString(implicitly[play.api.mvc.PathBindable[String]].unbind("tag", tag)))
+    }
+  
+    // @LINE:25
+    def wordStats(query:String): Call = {
+      
+      Call("GET", _prefix + { _defaultPrefix } + "word-stats" + play.core.routing.queryString(List(Some(implicitly[play.api.mvc.QueryStringBindable[String]].unbind("query", query)))))
+    }
+  
+    // @LINE:31
+    def showTags(videoId:String): Call = {
+      
+      Call("GET", _prefix + { _defaultPrefix } + "tags/" + play.core.routing.dynamicString(implicitly[play.api.mvc.PathBindable[String]].unbind("videoId", videoId)))
+    }
+  
+    // @LINE:34
+    def searchByTag(tag:String): Call = {
+      
+      Call("GET", _prefix + { _defaultPrefix } + "search/tag/" + play.core.routing.dynamicString(implicitly[play.api.mvc.PathBindable[String]].unbind("tag", tag)))
+    }
+  
+  }
+
+  // @LINE:8
+  class ReverseAssets(_prefix: => String) {
+    def _defaultPrefix: String = {
+      if (_prefix.endsWith("/")) "" else "/"
+    }
+
+  
+    // @LINE:8
+    def at(): Call = {
+    
+      () match {
+      
+        // @LINE:8
+        case ()  =>
+          implicit lazy val _rrc = new play.core.routing.ReverseRouteContext(Map(("path", "/public"), ("file", "index.html"))); _rrc
+          Call("GET", _prefix + { _defaultPrefix } + "ws-test")
+      
+      }
+    
+    }
+  
+    // @LINE:19
+    def versioned(file:Asset): Call = {
+    
+      (file: @unchecked) match {
+      
+        // @LINE:19
+        case (file)  =>
+          implicit lazy val _rrc = new play.core.routing.ReverseRouteContext(Map(("path", "/public"))); _rrc
+          Call("GET", _prefix + { _defaultPrefix } + "assets/" + implicitly[play.api.mvc.PathBindable[Asset]].unbind("file", file))
+      
+      }
+    
+    }
+  
+  }
+
+
+}
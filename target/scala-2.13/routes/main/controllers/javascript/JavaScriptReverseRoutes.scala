@@ -0,0 +1,170 @@
+// @GENERATOR:play-routes-compiler
+// @SOURCE:conf/routes
+
+import play.api.routing.JavaScriptReverseRoute
+
+
+import _root_.controllers.Assets.Asset
+import _root_.play.libs.F
+
+// @LINE:6
+package controllers.javascript {
+
+  // @LINE:6
+  class ReverseHomeController(_prefix: => String) {
+
+    def _defaultPrefix: String = {
+      if (_prefix.endsWith("/")) "" else "/"
+    }
+
+  
+    // @LINE:27
+    def getCumulativeWordStats: JavaScriptReverseRoute = JavaScriptReverseRoute(
+      "controllers.HomeController.getCumulativeWordStats",
+      """
+        function() {
+          return _wA({method:"GET", url:"""" + _prefix + { _defaultPrefix } + """" + "getCumulativeWordStats"})
+        }
+      """
+    )
+  
+    // @LINE:28
+    def channelProfile: JavaScriptReverseRoute = JavaScriptReverseRoute(
+      "controllers.HomeController.channelProfile",
+      """
+        function(channelId0) {
+          return _wA({method:"GET", url:"""" + _prefix + { _defaultPrefix } + """" + "channel/" + encodeURIComponent((""" + implicitly[play.api.mvc.PathBindable[String]].javascriptUnbind + """)("channelId", channelId0))})
+        }
+      """
+    )
+  
+    // @LINE:22
+    def search: JavaScriptReverseRoute = JavaScriptReverseRoute(
+      "controllers.HomeController.search",
+      """
+        function(query0) {
+        
+          if (true) {
+            return _wA({method:"GET", url:"""" + _prefix + { _defaultPrefix } + """" + "search" + _qS([(""" + implicitly[play.api.mvc.QueryStringBindable[String]].javascriptUnbind + """)("query", query0)])})
+          }
+        
+        }
+      """
+    )
+  
+    // @LINE:35
+    def fetchLatestVideos: JavaScriptReverseRoute = JavaScriptReverseRoute(
+      "controllers.HomeController.fetchLatestVideos",
+      """
+        function(channelId0) {
+          return _wA({method:"GET", url:"""" + _prefix + { _defaultPrefix } + """" + "api/channel/" + encodeURIComponent((""" + implicitly[play.api.mvc.PathBindable[String]].javascriptUnbind + """)("channelId", channelId0)) + "/latest-videos"})
+        }
+      """
+    )
+  
+    // @LINE:10
+    def ws: JavaScriptReverseRoute = JavaScriptReverseRoute(
+      "controllers.HomeController.ws",
+      """
+        function() {
+        
+          if (true) {
+            return _wA({method:"GET", url:"""" + _prefix + { _defaultPrefix } + """" + "ws"})
+          }
+        
+        }
+      """
+    )
+  
+    // @LINE:6
+    def index: JavaScriptReverseRoute = JavaScriptReverseRoute(
+      "controllers.HomeController.index",
+      """
+        function(query0) {
+          return _wA({method:"GET", url:"""" + _prefix + """" + _qS([(query0 == null ? null : (""" + implicitly[play.api.mvc.QueryStringBindable[String]].javascriptUnbind + """)("query", query0))])})
+        }
+      """
+    )
+  
+    // @LINE:40
+    def searchVideosByTag: JavaScriptReverseRoute = JavaScriptReverseRoute(
+      "controllers.HomeController.searchVideosByTag",
+      """
+        function(tag0) {
+          return _wA({method:"GET", url:"""" + _prefix + { _defaultPrefix } + """" + "searchByTag/" + encodeURIComponent((""" + implicitly[play.api.mvc.PathBindable[String]].javascriptUnbind + """)("tag", tag0))})
+        }
+      """
+    )
+  
+    // @LINE:25
+    def wordStats: JavaScriptReverseRoute = JavaScriptReverseRoute(
+      "controllers.HomeController.wordStats",
+      """
+        function(query0) {
+          return _wA({method:"GET", url:"""" + _prefix + { _defaultPrefix } + """" + "word-stats" + _qS([(""" + implicitly[play.api.mvc.QueryStringBindable[String]].javascriptUnbind + """)("query", query0)])})
+        }
+      """
+    )
+  
+    // @LINE:31
+    def showTags: JavaScriptReverseRoute = JavaScriptReverseRoute(
+      "controllers.HomeController.showTags",
+      """
+        function(videoId0) {
+          return _wA({method:"GET", url:"""" + _prefix + { _defaultPrefix } + """" + "tags/" + encodeURIComponent((""" + implicitly[play.api.mvc.PathBindable[String]].javascriptUnbind + """)("videoId", videoId0))})
+        }
+      """
+    )
+  
+    // @LINE:34
+    def searchByTag: JavaScriptReverseRoute = JavaScriptReverseRoute(
+      "controllers.HomeController.searchByTag",
+      """
+        function(tag0) {
+          return _wA({method:"GET", url:"""" + _prefix + { _defaultPrefix } + """" + "search/tag/" + encodeURIComponent((""" + implicitly[play.api.mvc.PathBindable[String]].javascriptUnbind + """)("tag", tag0))})
+        }
+      """
+    )
+  
+  }
+
+  // @LINE:8
+  class ReverseAssets(_prefix: => String) {
+
+    def _defaultPrefix: String = {
+      if (_prefix.endsWith("/")) "" else "/"
+    }
+
+  
+    // @LINE:8
+    def at: JavaScriptReverseRoute = JavaScriptReverseRoute(
+      "controllers.Assets.at",
+      """
+        function() {
+        
+          if (true) {
+            return _wA({method:"GET", url:"""" + _prefix + { _defaultPrefix } + """" + "ws-test"})
+          }
+        
+        }
+      """
+    )
+  
+    // @LINE:19
+    def versioned: JavaScriptReverseRoute = JavaScriptReverseRoute(
+      "controllers.Assets.versioned",
+      """
+        function(file1) {
+        
+          if (true) {
+            return _wA({method:"GET", url:"""" + _prefix + { _defaultPrefix } + """" + "assets/" + (""" + implicitly[play.api.mvc.PathBindable[Asset]].javascriptUnbind + """)("file", file1)})
+          }
+        
+        }
+      """
+    )
+  
+  }
+
+
+}
@@ -0,0 +1,455 @@
+// @GENERATOR:play-routes-compiler
+// @SOURCE:conf/routes
+
+package router
+
+import play.core.routing._
+import play.core.routing.HandlerInvokerFactory._
+
+import play.api.mvc._
+
+import _root_.controllers.Assets.Asset
+import _root_.play.libs.F
+
+class Routes(
+  override val errorHandler: play.api.http.HttpErrorHandler, 
+  // @LINE:6
+  HomeController_0: controllers.HomeController,
+  // @LINE:8
+  Assets_1: controllers.Assets,
+  val prefix: String
+) extends GeneratedRouter {
+
+  @javax.inject.Inject()
+  def this(errorHandler: play.api.http.HttpErrorHandler,
+    // @LINE:6
+    HomeController_0: controllers.HomeController,
+    // @LINE:8
+    Assets_1: controllers.Assets
+  ) = this(errorHandler, HomeController_0, Assets_1, "/")
+
+  def withPrefix(addPrefix: String): Routes = {
+    val prefix = play.api.routing.Router.concatPrefix(addPrefix, this.prefix)
+    router.RoutesPrefix.setPrefix(prefix)
+    new Routes(errorHandler, HomeController_0, Assets_1, prefix)
+  }
+
+  private val defaultPrefix: String = {
+    if (this.prefix.endsWith("/")) "" else "/"
+  }
+
+  def documentation = List(
+    ("""GET""", this.prefix, """controllers.HomeController.index(query:String ?= null, request:Request)"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """ws-test""", """controllers.Assets.at(path:String = "/public", file:String = "index.html")"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """ws""", """controllers.HomeController.ws()"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """ws-test""", """controllers.Assets.at(path:String = "/public", file:String = "index.html")"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """ws""", """controllers.HomeController.ws"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """assets/""" + "$" + """file<.+>""", """controllers.Assets.versioned(path:String = "/public", file:Asset)"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """assets/""" + "$" + """file<.+>""", """controllers.Assets.versioned(path:String = "/public", file:Asset)"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """search""", """controllers.HomeController.search(query:String)"""),
+    ("""POST""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """search""", """controllers.HomeController.search(query:String)"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """word-stats""", """controllers.HomeController.wordStats(query:String)"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """getCumulativeWordStats""", """controllers.HomeController.getCumulativeWordStats"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """channel/""" + "$" + """channelId<[^/]+>""", """controllers.HomeController.channelProfile(channelId:String)"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """tags/""" + "$" + """videoId<[^/]+>""", """controllers.HomeController.showTags(videoId:String)"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """search/tag/""" + "$" + """tag<[^/]+>""", """controllers.HomeController.searchByTag(tag:String)"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """api/channel/""" + "$" + """channelId<[^/]+>/latest-videos""", """controllers.HomeController.fetchLatestVideos(channelId:String)"""),
+    ("""GET""", this.prefix + (if(this.prefix.endsWith("/")) "" else "/") + """searchByTag/""" + "$" + """tag<[^/]+>""", """controllers.HomeController.searchVideosByTag(tag:String)"""),
+    Nil
+  ).foldLeft(Seq.empty[(String, String, String)]) { (s,e) => e.asInstanceOf[Any] match {
+    case r @ (_,_,_) => s :+ r.asInstanceOf[(String, String, String)]
+    case l => s ++ l.asInstanceOf[List[(String, String, String)]]
+  }}
+
+
+  // @LINE:6
+  private lazy val controllers_HomeController_index0_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix)))
+  )
+  private lazy val controllers_HomeController_index0_invoker = createInvoker(
+    
+    (req:play.mvc.Http.Request) =>
+      HomeController_0.index(fakeValue[String], fakeValue[play.mvc.Http.Request]),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.HomeController",
+      "index",
+      Seq(classOf[String], classOf[play.mvc.Http.Request]),
+      "GET",
+      this.prefix + """""",
+      """ An example controller showing a sample home page""",
+      Seq()
+    )
+  )
+
+  // @LINE:8
+  private lazy val controllers_Assets_at1_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("ws-test")))
+  )
+  private lazy val controllers_Assets_at1_invoker = createInvoker(
+    Assets_1.at(fakeValue[String], fakeValue[String]),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.Assets",
+      "at",
+      Seq(classOf[String], classOf[String]),
+      "GET",
+      this.prefix + """ws-test""",
+      """""",
+      Seq()
+    )
+  )
+
+  // @LINE:10
+  private lazy val controllers_HomeController_ws2_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("ws")))
+  )
+  private lazy val controllers_HomeController_ws2_invoker = createInvoker(
+    HomeController_0.ws(),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.HomeController",
+      "ws",
+      Nil,
+      "GET",
+      this.prefix + """ws""",
+      """""",
+      Seq()
+    )
+  )
+
+  // @LINE:14
+  private lazy val controllers_Assets_at3_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("ws-test")))
+  )
+  private lazy val controllers_Assets_at3_invoker = createInvoker(
+    Assets_1.at(fakeValue[String], fakeValue[String]),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.Assets",
+      "at",
+      Seq(classOf[String], classOf[String]),
+      "GET",
+      this.prefix + """ws-test""",
+      """""",
+      Seq()
+    )
+  )
+
+  // @LINE:16
+  private lazy val controllers_HomeController_ws4_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("ws")))
+  )
+  private lazy val controllers_HomeController_ws4_invoker = createInvoker(
+    HomeController_0.ws,
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.HomeController",
+      "ws",
+      Nil,
+      "GET",
+      this.prefix + """ws""",
+      """""",
+      Seq()
+    )
+  )
+
+  // @LINE:19
+  private lazy val controllers_Assets_versioned5_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("assets/"), DynamicPart("file", """.+""", encodeable=false)))
+  )
+  private lazy val controllers_Assets_versioned5_invoker = createInvoker(
+    Assets_1.versioned(fakeValue[String], fakeValue[Asset]),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.Assets",
+      "versioned",
+      Seq(classOf[String], classOf[Asset]),
+      "GET",
+      this.prefix + """assets/""" + "$" + """file<.+>""",
+      """ Map static resources from the /public folder to the /assets URL path""",
+      Seq()
+    )
+  )
+
+  // @LINE:20
+  private lazy val controllers_Assets_versioned6_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("assets/"), DynamicPart("file", """.+""", encodeable=false)))
+  )
+  private lazy val controllers_Assets_versioned6_invoker = createInvoker(
+    Assets_1.versioned(fakeValue[String], fakeValue[Asset]),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.Assets",
+      "versioned",
+      Seq(classOf[String], classOf[Asset]),
+      "GET",
+      this.prefix + """assets/""" + "$" + """file<.+>""",
+      """""",
+      Seq()
+    )
+  )
+
+  // @LINE:22
+  private lazy val controllers_HomeController_search7_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("search")))
+  )
+  private lazy val controllers_HomeController_search7_invoker = createInvoker(
+    HomeController_0.search(fakeValue[String]),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.HomeController",
+      "search",
+      Seq(classOf[String]),
+      "GET",
+      this.prefix + """search""",
+      """""",
+      Seq()
+    )
+  )
+
+  // @LINE:23
+  private lazy val controllers_HomeController_search8_route = Route("POST",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("search")))
+  )
+  private lazy val controllers_HomeController_search8_invoker = createInvoker(
+    HomeController_0.search(fakeValue[String]),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.HomeController",
+      "search",
+      Seq(classOf[String]),
+      "POST",
+      this.prefix + """search""",
+      """""",
+      Seq()
+    )
+  )
+
+  // @LINE:25
+  private lazy val controllers_HomeController_wordStats9_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("word-stats")))
+  )
+  private lazy val controllers_HomeController_wordStats9_invoker = createInvoker(
+    HomeController_0.wordStats(fakeValue[String]),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.HomeController",
+      "wordStats",
+      Seq(classOf[String]),
+      "GET",
+      this.prefix + """word-stats""",
+      """""",
+      Seq()
+    )
+  )
+
+  // @LINE:27
+  private lazy val controllers_HomeController_getCumulativeWordStats10_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("getCumulativeWordStats")))
+  )
+  private lazy val controllers_HomeController_getCumulativeWordStats10_invoker = createInvoker(
+    HomeController_0.getCumulativeWordStats,
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.HomeController",
+      "getCumulativeWordStats",
+      Nil,
+      "GET",
+      this.prefix + """getCumulativeWordStats""",
+      """""",
+      Seq()
+    )
+  )
+
+  // @LINE:28
+  private lazy val controllers_HomeController_channelProfile11_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("channel/"), DynamicPart("channelId", """[^/]+""", encodeable=true)))
+  )
+  private lazy val controllers_HomeController_channelProfile11_invoker = createInvoker(
+    HomeController_0.channelProfile(fakeValue[String]),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.HomeController",
+      "channelProfile",
+      Seq(classOf[String]),
+      "GET",
+      this.prefix + """channel/""" + "$" + """channelId<[^/]+>""",
+      """""",
+      Seq()
+    )
+  )
+
+  // @LINE:31
+  private lazy val controllers_HomeController_showTags12_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("tags/"), DynamicPart("videoId", """[^/]+""", encodeable=true)))
+  )
+  private lazy val controllers_HomeController_showTags12_invoker = createInvoker(
+    HomeController_0.showTags(fakeValue[String]),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.HomeController",
+      "showTags",
+      Seq(classOf[String]),
+      "GET",
+      this.prefix + """tags/""" + "$" + """videoId<[^/]+>""",
+      """     Showing tags for  video""",
+      Seq()
+    )
+  )
+
+  // @LINE:34
+  private lazy val controllers_HomeController_searchByTag13_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("search/tag/"), DynamicPart("tag", """[^/]+""", encodeable=true)))
+  )
+  private lazy val controllers_HomeController_searchByTag13_invoker = createInvoker(
+    HomeController_0.searchByTag(fakeValue[String]),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.HomeController",
+      "searchByTag",
+      Seq(classOf[String]),
+      "GET",
+      this.prefix + """search/tag/""" + "$" + """tag<[^/]+>""",
+      """     searching a special tag""",
+      Seq()
+    )
+  )
+
+  // @LINE:35
+  private lazy val controllers_HomeController_fetchLatestVideos14_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("api/channel/"), DynamicPart("channelId", """[^/]+""", encodeable=true), StaticPart("/latest-videos")))
+  )
+  private lazy val controllers_HomeController_fetchLatestVideos14_invoker = createInvoker(
+    HomeController_0.fetchLatestVideos(fakeValue[String]),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.HomeController",
+      "fetchLatestVideos",
+      Seq(classOf[String]),
+      "GET",
+      this.prefix + """api/channel/""" + "$" + """channelId<[^/]+>/latest-videos""",
+      """""",
+      Seq()
+    )
+  )
+
+  // @LINE:40
+  private lazy val controllers_HomeController_searchVideosByTag15_route = Route("GET",
+    PathPattern(List(StaticPart(this.prefix), StaticPart(this.defaultPrefix), StaticPart("searchByTag/"), DynamicPart("tag", """[^/]+""", encodeable=true)))
+  )
+  private lazy val controllers_HomeController_searchVideosByTag15_invoker = createInvoker(
+    HomeController_0.searchVideosByTag(fakeValue[String]),
+    play.api.routing.HandlerDef(this.getClass.getClassLoader,
+      "router",
+      "controllers.HomeController",
+      "searchVideosByTag",
+      Seq(classOf[String]),
+      "GET",
+      this.prefix + """searchByTag/""" + "$" + """tag<[^/]+>""",
+      """""",
+      Seq()
+    )
+  )
+
+
+  def routes: PartialFunction[RequestHeader, Handler] = {
+  
+    // @LINE:6
+    case controllers_HomeController_index0_route(params@_) =>
+      call(params.fromQuery[String]("query", Some(null))) { (query) =>
+        controllers_HomeController_index0_invoker.call(
+          req => HomeController_0.index(query, req))
+      }
+  
+    // @LINE:8
+    case controllers_Assets_at1_route(params@_) =>
+      call(Param[String]("path", Right("/public")), Param[String]("file", Right("index.html"))) { (path, file) =>
+        controllers_Assets_at1_invoker.call(Assets_1.at(path, file))
+      }
+  
+    // @LINE:10
+    case controllers_HomeController_ws2_route(params@_) =>
+      call { 
+        controllers_HomeController_ws2_invoker.call(HomeController_0.ws())
+      }
+  
+    // @LINE:14
+    case controllers_Assets_at3_route(params@_) =>
+      call(Param[String]("path", Right("/public")), Param[String]("file", Right("index.html"))) { (path, file) =>
+        controllers_Assets_at3_invoker.call(Assets_1.at(path, file))
+      }
+  
+    // @LINE:16
+    case controllers_HomeController_ws4_route(params@_) =>
+      call { 
+        controllers_HomeController_ws4_invoker.call(HomeController_0.ws)
+      }
+  
+    // @LINE:19
+    case controllers_Assets_versioned5_route(params@_) =>
+      call(Param[String]("path", Right("/public")), params.fromPath[Asset]("file", None)) { (path, file) =>
+        controllers_Assets_versioned5_invoker.call(Assets_1.versioned(path, file))
+      }
+  
+    // @LINE:20
+    case controllers_Assets_versioned6_route(params@_) =>
+      call(Param[String]("path", Right("/public")), params.fromPath[Asset]("file", None)) { (path, file) =>
+        controllers_Assets_versioned6_invoker.call(Assets_1.versioned(path, file))
+      }
+  
+    // @LINE:22
+    case controllers_HomeController_search7_route(params@_) =>
+      call(params.fromQuery[String]("query", None)) { (query) =>
+        controllers_HomeController_search7_invoker.call(HomeController_0.search(query))
+      }
+  
+    // @LINE:23
+    case controllers_HomeController_search8_route(params@_) =>
+      call(params.fromQuery[String]("query", None)) { (query) =>
+        controllers_HomeController_search8_invoker.call(HomeController_0.search(query))
+      }
+  
+    // @LINE:25
+    case controllers_HomeController_wordStats9_route(params@_) =>
+      call(params.fromQuery[String]("query", None)) { (query) =>
+        controllers_HomeController_wordStats9_invoker.call(HomeController_0.wordStats(query))
+      }
+  
+    // @LINE:27
+    case controllers_HomeController_getCumulativeWordStats10_route(params@_) =>
+      call { 
+        controllers_HomeController_getCumulativeWordStats10_invoker.call(HomeController_0.getCumulativeWordStats)
+      }
+  
+    // @LINE:28
+    case controllers_HomeController_channelProfile11_route(params@_) =>
+      call(params.fromPath[String]("channelId", None)) { (channelId) =>
+        controllers_HomeController_channelProfile11_invoker.call(HomeController_0.channelProfile(channelId))
+      }
+  
+    // @LINE:31
+    case controllers_HomeController_showTags12_route(params@_) =>
+      call(params.fromPath[String]("videoId", None)) { (videoId) =>
+        controllers_HomeController_showTags12_invoker.call(HomeController_0.showTags(videoId))
+      }
+  
+    // @LINE:34
+    case controllers_HomeController_searchByTag13_route(params@_) =>
+      call(params.fromPath[String]("tag", None)) { (tag) =>
+        controllers_HomeController_searchByTag13_invoker.call(HomeController_0.searchByTag(tag))
+      }
+  
+    // @LINE:35
+    case controllers_HomeController_fetchLatestVideos14_route(params@_) =>
+      call(params.fromPath[String]("channelId", None)) { (channelId) =>
+        controllers_HomeController_fetchLatestVideos14_invoker.call(HomeController_0.fetchLatestVideos(channelId))
+      }
+  
+    // @LINE:40
+    case controllers_HomeController_searchVideosByTag15_route(params@_) =>
+      call(params.fromPath[String]("tag", None)) { (tag) =>
+        controllers_HomeController_searchVideosByTag15_invoker.call(HomeController_0.searchVideosByTag(tag))
+      }
+  }
+}
@@ -0,0 +1,14 @@
+// @GENERATOR:play-routes-compiler
+// @SOURCE:conf/routes
+
+
+package router {
+  object RoutesPrefix {
+    private var _prefix: String = "/"
+    def setPrefix(p: String): Unit = {
+      _prefix = p
+    }
+    def prefix: String = _prefix
+    val byNamePrefix: Function0[String] = { () => prefix }
+  }
+}
@@ -0,0 +1,161 @@
+
+package views.html
+
+import _root_.play.twirl.api.TwirlFeatureImports._
+import _root_.play.twirl.api.TwirlHelperImports._
+import _root_.play.twirl.api.Html
+import _root_.play.twirl.api.JavaScript
+import _root_.play.twirl.api.Txt
+import _root_.play.twirl.api.Xml
+import models._
+import controllers._
+import play.api.i18n._
+import views.html._
+import play.api.templates.PlayMagic._
+import java.lang._
+import java.util._
+import play.core.j.PlayMagicForJava._
+import play.mvc._
+import play.api.data.Field
+import play.data._
+import play.core.j.PlayFormsMagicForJava._
+import scala.jdk.CollectionConverters._
+
+object channelProfile extends _root_.play.twirl.api.BaseScalaTemplate[play.twirl.api.HtmlFormat.Appendable,_root_.play.twirl.api.Format[play.twirl.api.HtmlFormat.Appendable]](play.twirl.api.HtmlFormat) with _root_.play.twirl.api.Template2[models.ChannelInfo,List[models.Video],play.twirl.api.HtmlFormat.Appendable] {
+
+  /**/
+  def apply/*1.2*/(channelInfo: models.ChannelInfo, videos: List[models.Video]):play.twirl.api.HtmlFormat.Appendable = {
+    _display_ {
+      {
+
+
+Seq[Any](format.raw/*2.1*/("""
+"""),format.raw/*3.1*/("""<!DOCTYPE html>
+<html lang="en">
+
+<head>
+    <meta charset="UTF-8">
+    <title>"""),_display_(if(channelInfo != null)/*8.36*/ {_display_(Seq[Any](format.raw/*8.38*/(""" """),_display_(/*8.40*/channelInfo/*8.51*/.getName()),format.raw/*8.61*/(""" """),format.raw/*8.62*/("""- Channel Profile """)))}else/*8.87*/{_display_(Seq[Any](format.raw/*8.88*/(""" """),format.raw/*8.89*/("""Channel Profile """)))}),format.raw/*8.106*/("""</title>
+    <link rel="stylesheet" href='"""),_display_(/*9.35*/routes/*9.41*/.Assets.versioned("css/styles.css")),format.raw/*9.76*/("""' />
+</head>
+
+<body>
+
+<!-- Wrapper for dynamically loaded channel profile -->
+    <div id="channel-profile-content" data-channel-id=""""),_display_(/*15.57*/channelInfo/*15.68*/.getChannelId()),format.raw/*15.83*/("""">
+    <!-- Channel Profile Section -->
+    <div class="channel-profile">
+        """),_display_(if(channelInfo != null)/*18.33*/ {_display_(Seq[Any](format.raw/*18.35*/("""
+        """),format.raw/*19.9*/("""<h1><strong>Channel Name : </strong>"""),_display_(/*19.46*/channelInfo/*19.57*/.getName()),format.raw/*19.67*/("""</h1>
+        <p><strong>Channel Description : </strong> """),_display_(/*20.53*/channelInfo/*20.64*/.getDescription()),format.raw/*20.81*/("""</p>
+        <p class="channel-stats"><strong>Subscribers : </strong> """),_display_(/*21.67*/channelInfo/*21.78*/.getSubscriberCount()),format.raw/*21.99*/("""</p>
+        <p class="channel-stats"><strong>Total Views : </strong> """),_display_(/*22.67*/channelInfo/*22.78*/.getViewCount()),format.raw/*22.93*/("""</p>
+        <p class="channel-stats"><strong>Video Count : </strong> """),_display_(/*23.67*/channelInfo/*23.78*/.getVideoCount()),format.raw/*23.94*/("""</p>
+        """)))}else/*24.16*/{_display_(Seq[Any](format.raw/*24.17*/("""
+        """),format.raw/*25.9*/("""<p>No channel information available</p>
+        """)))}),format.raw/*26.10*/("""
+    """),format.raw/*27.5*/("""</div>
+
+    <!-- Last 10 Videos Section -->
+    <div class="channel-videos">
+        <h2>Last 10 Videos</h2>
+        <ul id="video-list">
+            """),_display_(if(videos != null && videos.nonEmpty)/*33.51*/ {_display_(Seq[Any](format.raw/*33.53*/("""
+            """),_display_(/*34.14*/for(video <- videos) yield /*34.34*/ {_display_(Seq[Any](format.raw/*34.36*/("""
+            """),format.raw/*35.13*/("""<li>
+                <div class="channelpage">
+                    <p class="video-title">
+                        <strong>Title:</strong>
+                        <a class="video-title" href=""""),_display_(/*39.55*/video/*39.60*/.getUrl()),format.raw/*39.69*/("""" target="_blank">"""),_display_(/*39.88*/video/*39.93*/.getTitle()),format.raw/*39.104*/("""</a>
+                    </p>
+                    <p class="video-description"><strong>Description:</strong> """),_display_(/*41.81*/video/*41.86*/.getDescription()),format.raw/*41.103*/("""</p>
+                    <p class="video-stats"><strong>Published on:</strong> """),_display_(/*42.76*/video/*42.81*/.getPublishedDate()),format.raw/*42.100*/("""</p>
+                </div>
+                <img class="channelvideo" src=""""),_display_(/*44.49*/video/*44.54*/.getThumbnailUrl()),format.raw/*44.72*/("""" alt="Thumbnail for """),_display_(/*44.94*/video/*44.99*/.getTitle()),format.raw/*44.110*/("""" width="120" height="90">
+            </li>
+            """)))}),format.raw/*46.14*/("""
+            """)))}else/*47.20*/{_display_(Seq[Any](format.raw/*47.21*/("""
+            """),format.raw/*48.13*/("""<p>No videos available</p>
+            """)))}),format.raw/*49.14*/("""
+        """),format.raw/*50.9*/("""</ul>
+    </div>
+</div>
+
+<!-- JavaScript -->
+<script>
+    document.addEventListener('DOMContentLoaded', function () """),format.raw/*56.63*/("""{"""),format.raw/*56.64*/("""
+        """),format.raw/*57.9*/("""const channelId = '"""),_display_(/*57.29*/channelInfo/*57.40*/.getChannelId()),format.raw/*57.55*/("""'; // Assuming `channelInfo` contains the channel ID
+        const videosContainer = document.querySelector('#video-list');
+
+        // Function to fetch new videos and update the list
+        async function fetchLatestVideos() """),format.raw/*61.44*/("""{"""),format.raw/*61.45*/("""
+            """),format.raw/*62.13*/("""try """),format.raw/*62.17*/("""{"""),format.raw/*62.18*/("""
+                """),format.raw/*63.17*/("""const response = await fetch(`/api/channel/$"""),format.raw/*63.61*/("""{"""),format.raw/*63.62*/("""channelId"""),format.raw/*63.71*/("""}"""),format.raw/*63.72*/("""/latest-videos`);
+                if (!response.ok) """),format.raw/*64.35*/("""{"""),format.raw/*64.36*/("""
+                    """),format.raw/*65.21*/("""console.error('Failed to fetch latest videos:', response.statusText);
+                    return;
+                """),format.raw/*67.17*/("""}"""),format.raw/*67.18*/("""
+
+                """),format.raw/*69.17*/("""const newVideos = await response.json();
+
+                // Append new videos, but keep only the latest 10
+                newVideos.forEach(video => """),format.raw/*72.44*/("""{"""),format.raw/*72.45*/("""
+                    """),format.raw/*73.21*/("""// Check if the video is already in the list to avoid duplicates
+                    if (!Array.from(videosContainer.children).some(li => li.textContent.includes(video.title))) """),format.raw/*74.113*/("""{"""),format.raw/*74.114*/("""
+                        """),format.raw/*75.25*/("""// Create a new video list item
+                        const listItem = document.createElement('li');
+                        listItem.innerHTML = `
+                            <div class="channelpage">
+                                <p class="video-title">
+                                    <strong>Title:</strong>
+                                    <a class="video-title" href="https://www.youtube.com/watch?v=$"""),format.raw/*81.99*/("""{"""),format.raw/*81.100*/("""video.videoId"""),format.raw/*81.113*/("""}"""),format.raw/*81.114*/("""" target="_blank">$"""),format.raw/*81.133*/("""{"""),format.raw/*81.134*/("""video.title"""),format.raw/*81.145*/("""}"""),format.raw/*81.146*/("""</a>
+                                </p>
+                                <p class="video-description"><strong>Description:</strong> $"""),format.raw/*83.93*/("""{"""),format.raw/*83.94*/("""video.description || "No description available""""),format.raw/*83.141*/("""}"""),format.raw/*83.142*/("""</p>
+                                <p class="video-stats"><strong>Published on:</strong> $"""),format.raw/*84.88*/("""{"""),format.raw/*84.89*/("""video.publishedDate"""),format.raw/*84.108*/("""}"""),format.raw/*84.109*/("""</p>
+                            </div>
+                            <img class="channelvideo" src="$"""),format.raw/*86.61*/("""{"""),format.raw/*86.62*/("""video.thumbnailUrl"""),format.raw/*86.80*/("""}"""),format.raw/*86.81*/("""" alt="Thumbnail for $"""),format.raw/*86.103*/("""{"""),format.raw/*86.104*/("""video.title"""),format.raw/*86.115*/("""}"""),format.raw/*86.116*/("""" width="120" height="90">
+                        `;
+                        videosContainer.appendChild(listItem);
+                    """),format.raw/*89.21*/("""}"""),format.raw/*89.22*/("""
+                """),format.raw/*90.17*/("""}"""),format.raw/*90.18*/(""");
+
+                // Keep only the latest 10 videos
+                while (videosContainer.children.length > 10) """),format.raw/*93.62*/("""{"""),format.raw/*93.63*/("""
+                    """),format.raw/*94.21*/("""videosContainer.removeChild(videosContainer.firstChild); // Remove the oldest video
+                """),format.raw/*95.17*/("""}"""),format.raw/*95.18*/("""
+            """),format.raw/*96.13*/("""}"""),format.raw/*96.14*/(""" """),format.raw/*96.15*/("""catch (error) """),format.raw/*96.29*/("""{"""),format.raw/*96.30*/("""
+                """),format.raw/*97.17*/("""console.error('Error fetching latest videos:', error);
+            """),format.raw/*98.13*/("""}"""),format.raw/*98.14*/("""
+        """),format.raw/*99.9*/("""}"""),format.raw/*99.10*/("""
+
+        """),format.raw/*101.9*/("""// Periodically fetch the latest videos
+        setInterval(fetchLatestVideos, 10000); // Fetch every 10 seconds
+    """),format.raw/*103.5*/("""}"""),format.raw/*103.6*/(""");
+</script>
+
+</body>
+
+</html>
+"""))
+      }
+    }
+  }
+
+  def render(channelInfo:models.ChannelInfo,videos:List[models.Video]): play.twirl.api.HtmlFormat.Appendable = apply(channelInfo,videos)
+
+  def f:((models.ChannelInfo,List[models.Video]) => play.twirl.api.HtmlFormat.Appendable) = (channelInfo,videos) => apply(channelInfo,videos)
+
+  def ref: this.type = this
+
+}
+
+
+              /*
+                  -- GENERATED --
+                  SOURCE: app/views/channelProfile.scala.html
+                  HASH: 03fc3518f76c06a7238ec0d4cc83e8c8e2b58ca7
+                  MATRIX: 947->1|1102->63|1129->64|1258->167|1297->169|1325->171|1344->182|1374->192|1402->193|1443->218|1481->219|1509->220|1557->237|1626->280|1640->286|1695->321|1856->455|1876->466|1912->481|2045->587|2085->589|2121->598|2185->635|2205->646|2236->656|2321->714|2341->725|2379->742|2477->813|2497->824|2539->845|2637->916|2657->927|2693->942|2791->1013|2811->1024|2848->1040|2885->1060|2924->1061|2960->1070|3040->1119|3072->1124|3287->1312|3327->1314|3368->1328|3404->1348|3444->1350|3485->1363|3705->1556|3719->1561|3749->1570|3795->1589|3809->1594|3842->1605|3979->1715|3993->1720|4032->1737|4139->1817|4153->1822|4194->1841|4297->1917|4311->1922|4350->1940|4399->1962|4413->1967|4446->1978|4535->2036|4572->2056|4611->2057|4652->2070|4723->2110|4759->2119|4903->2235|4932->2236|4968->2245|5015->2265|5035->2276|5071->2291|5327->2519|5356->2520|5397->2533|5429->2537|5458->2538|5503->2555|5575->2599|5604->2600|5641->2609|5670->2610|5750->2662|5779->2663|5828->2684|5970->2798|5999->2799|6045->2817|6224->2968|6253->2969|6302->2990|6508->3167|6538->3168|6591->3193|7037->3611|7067->3612|7109->3625|7139->3626|7187->3645|7217->3646|7257->3657|7287->3658|7449->3792|7478->3793|7554->3840|7584->3841|7704->3933|7733->3934|7781->3953|7811->3954|7939->4054|7968->4055|8014->4073|8043->4074|8094->4096|8124->4097|8164->4108|8194->4109|8359->4246|8388->4247|8433->4264|8462->4265|8605->4380|8634->4381|8683->4402|8811->4502|8840->4503|8881->4516|8910->4517|8939->4518|8981->4532|9010->4533|9055->4550|9150->4617|9179->4618|9215->4627|9244->4628|9282->4638|9427->4755|9456->4756
+                  LINES: 27->1|32->2|33->3|38->8|38->8|38->8|38->8|38->8|38->8|38->8|38->8|38->8|38->8|39->9|39->9|39->9|45->15|45->15|45->15|48->18|48->18|49->19|49->19|49->19|49->19|50->20|50->20|50->20|51->21|51->21|51->21|52->22|52->22|52->22|53->23|53->23|53->23|54->24|54->24|55->25|56->26|57->27|63->33|63->33|64->34|64->34|64->34|65->35|69->39|69->39|69->39|69->39|69->39|69->39|71->41|71->41|71->41|72->42|72->42|72->42|74->44|74->44|74->44|74->44|74->44|74->44|76->46|77->47|77->47|78->48|79->49|80->50|86->56|86->56|87->57|87->57|87->57|87->57|91->61|91->61|92->62|92->62|92->62|93->63|93->63|93->63|93->63|93->63|94->64|94->64|95->65|97->67|97->67|99->69|102->72|102->72|103->73|104->74|104->74|105->75|111->81|111->81|111->81|111->81|111->81|111->81|111->81|111->81|113->83|113->83|113->83|113->83|114->84|114->84|114->84|114->84|116->86|116->86|116->86|116->86|116->86|116->86|116->86|116->86|119->89|119->89|120->90|120->90|123->93|123->93|124->94|125->95|125->95|126->96|126->96|126->96|126->96|126->96|127->97|128->98|128->98|129->99|129->99|131->101|133->103|133->103
+                  -- GENERATED --
+              */
+          
\ No newline at end of file
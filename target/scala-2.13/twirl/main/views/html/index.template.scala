@@ -0,0 +1,81 @@
+
+package views.html
+
+import _root_.play.twirl.api.TwirlFeatureImports._
+import _root_.play.twirl.api.TwirlHelperImports._
+import _root_.play.twirl.api.Html
+import _root_.play.twirl.api.JavaScript
+import _root_.play.twirl.api.Txt
+import _root_.play.twirl.api.Xml
+import models._
+import controllers._
+import play.api.i18n._
+import views.html._
+import play.api.templates.PlayMagic._
+import java.lang._
+import java.util._
+import play.core.j.PlayMagicForJava._
+import play.mvc._
+import play.api.data.Field
+import play.data._
+import play.core.j.PlayFormsMagicForJava._
+import scala.jdk.CollectionConverters._
+
+object index extends _root_.play.twirl.api.BaseScalaTemplate[play.twirl.api.HtmlFormat.Appendable,_root_.play.twirl.api.Format[play.twirl.api.HtmlFormat.Appendable]](play.twirl.api.HtmlFormat) with _root_.play.twirl.api.Template1[List[SearchResult],play.twirl.api.HtmlFormat.Appendable] {
+
+  /**/
+  def apply/*1.2*/(searchResults: List[SearchResult]):play.twirl.api.HtmlFormat.Appendable = {
+    _display_ {
+      {
+
+
+Seq[Any](format.raw/*2.1*/("""
+"""),format.raw/*3.1*/("""<!DOCTYPE html>
+<html lang="en">
+<head>
+    <meta charset="UTF-8">
+    <meta name="viewport" content="width=device-width, initial-scale=1.0">
+    """),format.raw/*8.38*/("""
+    """),format.raw/*9.5*/("""<link rel="stylesheet" href='"""),_display_(/*9.35*/routes/*9.41*/.Assets.versioned("css/styles.css")),format.raw/*9.76*/("""' />
+</head>
+<body>
+
+<p id="status"></p>
+
+<h1>Welcome to YT Lytics</h1>
+
+<form id="search-form">
+    <input type="text" name="query" id="search-input" placeholder="Enter search terms" required />
+    <button type="submit">Go!</button>
+</form>
+
+<div id="searchResults" class="results">
+</div>
+
+<script src='"""),_display_(/*25.15*/routes/*25.21*/.Assets.versioned("javascripts/main.js")),format.raw/*25.61*/("""'></script>
+
+</body>
+</html>
+"""))
+      }
+    }
+  }
+
+  def render(searchResults:List[SearchResult]): play.twirl.api.HtmlFormat.Appendable = apply(searchResults)
+
+  def f:((List[SearchResult]) => play.twirl.api.HtmlFormat.Appendable) = (searchResults) => apply(searchResults)
+
+  def ref: this.type = this
+
+}
+
+
+              /*
+                  -- GENERATED --
+                  SOURCE: app/views/index.scala.html
+                  HASH: f17311699226df66c4cb53af24b87f83a9a7e6e1
+                  MATRIX: 919->1|1048->37|1075->38|1248->217|1279->222|1335->252|1349->258|1404->293|1738->600|1753->606|1814->646
+                  LINES: 27->1|32->2|33->3|38->8|39->9|39->9|39->9|39->9|55->25|55->25|55->25
+                  -- GENERATED --
+              */
+          
\ No newline at end of file
@@ -0,0 +1,70 @@
+
+package views.html
+
+import _root_.play.twirl.api.TwirlFeatureImports._
+import _root_.play.twirl.api.TwirlHelperImports._
+import _root_.play.twirl.api.Html
+import _root_.play.twirl.api.JavaScript
+import _root_.play.twirl.api.Txt
+import _root_.play.twirl.api.Xml
+import models._
+import controllers._
+import play.api.i18n._
+import views.html._
+import play.api.templates.PlayMagic._
+import java.lang._
+import java.util._
+import play.core.j.PlayMagicForJava._
+import play.mvc._
+import play.api.data.Field
+import play.data._
+import play.core.j.PlayFormsMagicForJava._
+import scala.jdk.CollectionConverters._
+
+object main extends _root_.play.twirl.api.BaseScalaTemplate[play.twirl.api.HtmlFormat.Appendable,_root_.play.twirl.api.Format[play.twirl.api.HtmlFormat.Appendable]](play.twirl.api.HtmlFormat) with _root_.play.twirl.api.Template2[String,Html,play.twirl.api.HtmlFormat.Appendable] {
+
+  /**/
+  def apply/*1.2*/(title: String)(content: Html):play.twirl.api.HtmlFormat.Appendable = {
+    _display_ {
+      {
+
+
+Seq[Any](format.raw/*2.1*/("""
+"""),format.raw/*3.1*/("""<!DOCTYPE html>
+<html lang="en">
+<head>
+    """),format.raw/*6.58*/("""
+    """),format.raw/*7.5*/("""<title>"""),_display_(/*7.13*/title),format.raw/*7.18*/("""</title>
+    <link rel="stylesheet" media="screen" href=""""),_display_(/*8.50*/routes/*8.56*/.Assets.versioned("stylesheets/main.css")),format.raw/*8.97*/("""">
+    <link rel="shortcut icon" type="image/png" href=""""),_display_(/*9.55*/routes/*9.61*/.Assets.versioned("images/favicon.png")),format.raw/*9.100*/("""">
+</head>
+<body>
+
+"""),format.raw/*14.23*/("""
+"""),_display_(/*15.2*/content),format.raw/*15.9*/("""
+
+"""),format.raw/*17.1*/("""<script src=""""),_display_(/*17.15*/routes/*17.21*/.Assets.versioned("javascripts/main.js")),format.raw/*17.61*/("""" type="text/javascript"></script>
+</body>
+</html>"""))
+      }
+    }
+  }
+
+  def render(title:String,content:Html): play.twirl.api.HtmlFormat.Appendable = apply(title)(content)
+
+  def f:((String) => (Html) => play.twirl.api.HtmlFormat.Appendable) = (title) => (content) => apply(title)(content)
+
+  def ref: this.type = this
+
+}
+
+
+              /*
+                  -- GENERATED --
+                  SOURCE: app/views/main.scala.html
+                  HASH: 72a41a2803e9dc94630840c1571c0918ecb29a52
+                  MATRIX: 911->1|1035->32|1062->33|1133->130|1164->135|1198->143|1223->148|1307->206|1321->212|1382->253|1465->310|1479->316|1539->355|1586->453|1614->455|1641->462|1670->464|1711->478|1726->484|1787->524
+                  LINES: 27->1|32->2|33->3|36->6|37->7|37->7|37->7|38->8|38->8|38->8|39->9|39->9|39->9|43->14|44->15|44->15|46->17|46->17|46->17|46->17
+                  -- GENERATED --
+              */
+          
\ No newline at end of file
@@ -0,0 +1,88 @@
+
+package views.html
+
+import _root_.play.twirl.api.TwirlFeatureImports._
+import _root_.play.twirl.api.TwirlHelperImports._
+import _root_.play.twirl.api.Html
+import _root_.play.twirl.api.JavaScript
+import _root_.play.twirl.api.Txt
+import _root_.play.twirl.api.Xml
+import models._
+import controllers._
+import play.api.i18n._
+import views.html._
+import play.api.templates.PlayMagic._
+import java.lang._
+import java.util._
+import play.core.j.PlayMagicForJava._
+import play.mvc._
+import play.api.data.Field
+import play.data._
+import play.core.j.PlayFormsMagicForJava._
+import scala.jdk.CollectionConverters._
+
+object reactiveIndex extends _root_.play.twirl.api.BaseScalaTemplate[play.twirl.api.HtmlFormat.Appendable,_root_.play.twirl.api.Format[play.twirl.api.HtmlFormat.Appendable]](play.twirl.api.HtmlFormat) with _root_.play.twirl.api.Template1[List[SearchResult],play.twirl.api.HtmlFormat.Appendable] {
+
+  /**/
+  def apply/*1.2*/(searchResults: List[SearchResult]):play.twirl.api.HtmlFormat.Appendable = {
+    _display_ {
+      {
+
+
+Seq[Any](format.raw/*2.1*/("""
+"""),format.raw/*3.1*/("""<!DOCTYPE html>
+<html lang="en">
+<head>
+    <meta charset="UTF-8">
+    <meta name="viewport" content="width=device-width, initial-scale=1.0">
+    """),format.raw/*8.38*/("""
+    """),format.raw/*9.5*/("""<link rel="stylesheet" href='"""),_display_(/*9.35*/routes/*9.41*/.Assets.versioned("css/styles.css")),format.raw/*9.76*/("""' />
+</head>
+<body>
+
+<!-- Status Message -->
+<p id="status"></p>
+
+<!-- Header -->
+<h1>Welcome to YT Lytics</h1>
+
+<!-- Search Form -->
+<form id="search-form">
+    <input type="text" name="query" id="search-input" placeholder="Enter search terms" required />
+    <button type="submit">Go!</button>
+</form>
+
+
+<!-- Results Section -->
+<div id="searchResults" class="results">
+    <!-- Dynamic results will be injected here via JavaScript -->
+</div>
+
+<!-- JavaScript -->
+<script src='"""),_display_(/*32.15*/routes/*32.21*/.Assets.versioned("javascripts/main.js")),format.raw/*32.61*/("""'></script>
+
+</body>
+</html>
+"""))
+      }
+    }
+  }
+
+  def render(searchResults:List[SearchResult]): play.twirl.api.HtmlFormat.Appendable = apply(searchResults)
+
+  def f:((List[SearchResult]) => play.twirl.api.HtmlFormat.Appendable) = (searchResults) => apply(searchResults)
+
+  def ref: this.type = this
+
+}
+
+
+              /*
+                  -- GENERATED --
+                  SOURCE: app/views/reactiveIndex.scala.html
+                  HASH: 30c3d8d1f9f985374646d0716aeea8ab3b75c608
+                  MATRIX: 927->1|1056->37|1083->38|1256->217|1287->222|1343->252|1357->258|1412->293|1919->773|1934->779|1995->819
+                  LINES: 27->1|32->2|33->3|38->8|39->9|39->9|39->9|39->9|62->32|62->32|62->32
+                  -- GENERATED --
+              */
+          
\ No newline at end of file
@@ -0,0 +1,95 @@
+
+package views.html
+
+import _root_.play.twirl.api.TwirlFeatureImports._
+import _root_.play.twirl.api.TwirlHelperImports._
+import _root_.play.twirl.api.Html
+import _root_.play.twirl.api.JavaScript
+import _root_.play.twirl.api.Txt
+import _root_.play.twirl.api.Xml
+import models._
+import controllers._
+import play.api.i18n._
+import views.html._
+import play.api.templates.PlayMagic._
+import java.lang._
+import java.util._
+import play.core.j.PlayMagicForJava._
+import play.mvc._
+import play.api.data.Field
+import play.data._
+import play.core.j.PlayFormsMagicForJava._
+import scala.jdk.CollectionConverters._
+
+object results extends _root_.play.twirl.api.BaseScalaTemplate[play.twirl.api.HtmlFormat.Appendable,_root_.play.twirl.api.Format[play.twirl.api.HtmlFormat.Appendable]](play.twirl.api.HtmlFormat) with _root_.play.twirl.api.Template2[List[models.Video],String,play.twirl.api.HtmlFormat.Appendable] {
+
+  /**/
+  def apply/*1.2*/(videos: List[models.Video], query: String):play.twirl.api.HtmlFormat.Appendable = {
+    _display_ {
+      {
+
+
+Seq[Any](format.raw/*2.1*/("""
+"""),_display_(/*3.2*/main("YouTube Search Results")/*3.32*/ {_display_(Seq[Any](format.raw/*3.34*/("""
+"""),format.raw/*4.1*/("""<h1>YouTube Search Results for """"),_display_(/*4.34*/query),format.raw/*4.39*/(""""</h1>
+
+<!-- Link to Word Stats Page -->
+<div class="search-stats">
+    <p>Search term:
+        <strong>
+            <a href=""""),_display_(/*10.23*/routes/*10.29*/.HomeController.wordStats(query)),format.raw/*10.61*/("""" target="_blank">
+                """),_display_(/*11.18*/query),format.raw/*11.23*/("""
+            """),format.raw/*12.13*/("""</a>
+        </strong>
+    </p>
+</div>
+
+<!-- List of Videos -->
+<ul>
+    """),_display_(/*19.6*/for(video <- videos) yield /*19.26*/ {_display_(Seq[Any](format.raw/*19.28*/("""
+    """),format.raw/*20.5*/("""<li>
+        <div class="video-thumbnail">
+            <img src=""""),_display_(/*22.24*/video/*22.29*/.getThumbnailUrl()),format.raw/*22.47*/("""" alt="Thumbnail">
+        </div>
+        <div class="video-details">
+            <h2><a href="https://www.youtube.com/watch?v="""),_display_(/*25.59*/video/*25.64*/.getVideoId()),format.raw/*25.77*/("""" target="_blank">"""),_display_(/*25.96*/video/*25.101*/.getTitle()),format.raw/*25.112*/("""</a></h2>
+            <p>"""),_display_(/*26.17*/video/*26.22*/.getDescription()),format.raw/*26.39*/("""</p>
+            <p>
+                <a href=""""),_display_(/*28.27*/routes/*28.33*/.HomeController.channelProfile(video.getChannelId())),format.raw/*28.85*/("""" target="_blank">
+                    View Channel Profile: """),_display_(/*29.44*/video/*29.49*/.getChannelTitle()),format.raw/*29.67*/("""
+                """),format.raw/*30.17*/("""</a>
+
+                <!--                <a href=""""),_display_(/*32.47*/routes/*32.53*/.HomeController.channelProfile(video.getChannelId())),format.raw/*32.105*/("""" target="_blank">-->
+<!--                    """),_display_(/*33.26*/video/*33.31*/.getChannelTitle()),format.raw/*33.49*/("""-->
+<!--                </a>-->
+                <a href=""""),_display_(/*35.27*/routes/*35.33*/.HomeController.showTags(video.getVideoId())),format.raw/*35.77*/("""" class="tags-link">Tags</a>
+
+            </p>
+        </div>
+    </li>
+    """)))}),format.raw/*40.6*/("""
+"""),format.raw/*41.1*/("""</ul>
+""")))}),format.raw/*42.2*/("""
+"""))
+      }
+    }
+  }
+
+  def render(videos:List[models.Video],query:String): play.twirl.api.HtmlFormat.Appendable = apply(videos,query)
+
+  def f:((List[models.Video],String) => play.twirl.api.HtmlFormat.Appendable) = (videos,query) => apply(videos,query)
+
+  def ref: this.type = this
+
+}
+
+
+              /*
+                  -- GENERATED --
+                  SOURCE: app/views/results.scala.html
+                  HASH: acb4be9870518f64636010e57f6ad4a3d58418e9
+                  MATRIX: 928->1|1065->45|1092->47|1130->77|1169->79|1196->80|1255->113|1280->118|1434->245|1449->251|1502->283|1565->319|1591->324|1632->337|1732->411|1768->431|1808->433|1840->438|1933->504|1947->509|1986->527|2141->655|2155->660|2189->673|2235->692|2250->697|2283->708|2336->734|2350->739|2388->756|2462->803|2477->809|2550->861|2639->923|2653->928|2692->946|2737->963|2816->1015|2831->1021|2905->1073|2979->1120|2993->1125|3032->1143|3117->1201|3132->1207|3197->1251|3304->1328|3332->1329|3369->1336
+                  LINES: 27->1|32->2|33->3|33->3|33->3|34->4|34->4|34->4|40->10|40->10|40->10|41->11|41->11|42->12|49->19|49->19|49->19|50->20|52->22|52->22|52->22|55->25|55->25|55->25|55->25|55->25|55->25|56->26|56->26|56->26|58->28|58->28|58->28|59->29|59->29|59->29|60->30|62->32|62->32|62->32|63->33|63->33|63->33|65->35|65->35|65->35|70->40|71->41|72->42
+                  -- GENERATED --
+              */
+          
\ No newline at end of file
@@ -0,0 +1,73 @@
+
+package views.html
+
+import _root_.play.twirl.api.TwirlFeatureImports._
+import _root_.play.twirl.api.TwirlHelperImports._
+import _root_.play.twirl.api.Html
+import _root_.play.twirl.api.JavaScript
+import _root_.play.twirl.api.Txt
+import _root_.play.twirl.api.Xml
+import models._
+import controllers._
+import play.api.i18n._
+import views.html._
+import play.api.templates.PlayMagic._
+import java.lang._
+import java.util._
+import play.core.j.PlayMagicForJava._
+import play.mvc._
+import play.api.data.Field
+import play.data._
+import play.core.j.PlayFormsMagicForJava._
+import scala.jdk.CollectionConverters._
+
+object tags extends _root_.play.twirl.api.BaseScalaTemplate[play.twirl.api.HtmlFormat.Appendable,_root_.play.twirl.api.Format[play.twirl.api.HtmlFormat.Appendable]](play.twirl.api.HtmlFormat) with _root_.play.twirl.api.Template1[models.Video,play.twirl.api.HtmlFormat.Appendable] {
+
+  /**/
+  def apply/*1.2*/(video: models.Video):play.twirl.api.HtmlFormat.Appendable = {
+    _display_ {
+      {
+
+
+Seq[Any](format.raw/*2.1*/("""
+"""),_display_(/*3.2*/main("Video Tags")/*3.20*/ {_display_(Seq[Any](format.raw/*3.22*/("""
+"""),format.raw/*4.1*/("""<h1>Tags for """"),_display_(/*4.16*/video/*4.21*/.getTitle()),format.raw/*4.32*/(""""</h1>
+
+<div class="video-details">
+    <p><strong>Title:</strong> """),_display_(/*7.33*/video/*7.38*/.getTitle()),format.raw/*7.49*/("""</p>
+    <p><strong>Description:</strong> """),_display_(/*8.39*/video/*8.44*/.getDescription()),format.raw/*8.61*/("""</p>
+    <p><strong>Channel:</strong> <a href=""""),_display_(/*9.44*/routes/*9.50*/.HomeController.channelProfile(video.getChannelId())),format.raw/*9.102*/("""" target="_blank">"""),_display_(/*9.121*/video/*9.126*/.getChannelTitle()),format.raw/*9.144*/("""</a></p>
+</div>
+
+<h2>Tags</h2>
+<ul>
+    """),_display_(/*14.6*/for(tag <- video.getTags()) yield /*14.33*/ {_display_(Seq[Any](format.raw/*14.35*/("""
+    """),format.raw/*15.5*/("""<li>
+        <a href=""""),_display_(/*16.19*/routes/*16.25*/.HomeController.searchByTag(tag)),format.raw/*16.57*/("""" target="_blank">"""),_display_(/*16.76*/tag),format.raw/*16.79*/("""</a>
+    </li>
+    """)))}),format.raw/*18.6*/("""
+"""),format.raw/*19.1*/("""</ul>
+""")))}),format.raw/*20.2*/("""
+"""))
+      }
+    }
+  }
+
+  def render(video:models.Video): play.twirl.api.HtmlFormat.Appendable = apply(video)
+
+  def f:((models.Video) => play.twirl.api.HtmlFormat.Appendable) = (video) => apply(video)
+
+  def ref: this.type = this
+
+}
+
+
+              /*
+                  -- GENERATED --
+                  SOURCE: app/views/tags.scala.html
+                  HASH: b8a19524761d6f12e7fe485d2432ca149a089a40
+                  MATRIX: 912->1|1027->23|1054->25|1080->43|1119->45|1146->46|1187->61|1200->66|1231->77|1325->145|1338->150|1369->161|1438->204|1451->209|1488->226|1562->274|1576->280|1649->332|1695->351|1709->356|1748->374|1815->415|1858->442|1898->444|1930->449|1980->472|1995->478|2048->510|2094->529|2118->532|2168->552|2196->553|2233->560
+                  LINES: 27->1|32->2|33->3|33->3|33->3|34->4|34->4|34->4|34->4|37->7|37->7|37->7|38->8|38->8|38->8|39->9|39->9|39->9|39->9|39->9|39->9|44->14|44->14|44->14|45->15|46->16|46->16|46->16|46->16|46->16|48->18|49->19|50->20
+                  -- GENERATED --
+              */
+          
\ No newline at end of file
@@ -0,0 +1,125 @@
+
+package views.html
+
+import _root_.play.twirl.api.TwirlFeatureImports._
+import _root_.play.twirl.api.TwirlHelperImports._
+import _root_.play.twirl.api.Html
+import _root_.play.twirl.api.JavaScript
+import _root_.play.twirl.api.Txt
+import _root_.play.twirl.api.Xml
+import models._
+import controllers._
+import play.api.i18n._
+import views.html._
+import play.api.templates.PlayMagic._
+import java.lang._
+import java.util._
+import play.core.j.PlayMagicForJava._
+import play.mvc._
+import play.api.data.Field
+import play.data._
+import play.core.j.PlayFormsMagicForJava._
+import scala.jdk.CollectionConverters._
+
+object wordStats extends _root_.play.twirl.api.BaseScalaTemplate[play.twirl.api.HtmlFormat.Appendable,_root_.play.twirl.api.Format[play.twirl.api.HtmlFormat.Appendable]](play.twirl.api.HtmlFormat) with _root_.play.twirl.api.Template2[Map[String, Long],String,play.twirl.api.HtmlFormat.Appendable] {
+
+  /**/
+  def apply/*1.2*/(wordStats: Map[String, Long], query: String):play.twirl.api.HtmlFormat.Appendable = {
+    _display_ {
+      {
+
+
+Seq[Any](format.raw/*2.1*/("""
+"""),format.raw/*3.1*/("""<!DOCTYPE html>
+<html lang="en">
+<head>
+    <meta charset="UTF-8">
+    <meta name="viewport" content="width=device-width, initial-scale=1.0">
+    <title>Word Statistics</title>
+    <link rel="stylesheet" href='"""),_display_(/*9.35*/routes/*9.41*/.Assets.versioned("css/wordstats.css")),format.raw/*9.79*/("""' />
+</head>
+
+<body>
+<h1>Word Statistics for """"),_display_(/*13.27*/query),format.raw/*13.32*/(""""</h1>
+
+<div id="word-stats-container">
+    <table>
+        <thead>
+        <tr>
+            <th>Word</th>
+            <th>Count</th>
+        </tr>
+        </thead>
+        <tbody>
+        """),_display_(/*24.10*/for((word, count) <- wordStats) yield /*24.41*/ {_display_(Seq[Any](format.raw/*24.43*/("""
+        """),format.raw/*25.9*/("""<tr>
+            <td>"""),_display_(/*26.18*/word),format.raw/*26.22*/("""</td>
+            <td>"""),_display_(/*27.18*/count),format.raw/*27.23*/("""</td>
+        </tr>
+        """)))}),format.raw/*29.10*/("""
+        """),format.raw/*30.9*/("""</tbody>
+    </table>
+</div>
+
+<a href=""""),_display_(/*34.11*/routes/*34.17*/.HomeController.index()),format.raw/*34.40*/("""">Back to Search</a>
+
+<script>
+    document.addEventListener("DOMContentLoaded", function() """),format.raw/*37.62*/("""{"""),format.raw/*37.63*/("""
+        """),format.raw/*38.9*/("""// Function to fetch and update Word Stats
+        function updateWordStats() """),format.raw/*39.36*/("""{"""),format.raw/*39.37*/("""
+            """),format.raw/*40.13*/("""fetch("/getCumulativeWordStats")
+                .then(response => """),format.raw/*41.35*/("""{"""),format.raw/*41.36*/("""
+                    """),format.raw/*42.21*/("""if (!response.ok) """),format.raw/*42.39*/("""{"""),format.raw/*42.40*/("""
+                        """),format.raw/*43.25*/("""throw new Error(`HTTP error! Status: $"""),format.raw/*43.63*/("""{"""),format.raw/*43.64*/("""response.status"""),format.raw/*43.79*/("""}"""),format.raw/*43.80*/("""`);
+                    """),format.raw/*44.21*/("""}"""),format.raw/*44.22*/("""
+                    """),format.raw/*45.21*/("""return response.json();
+                """),format.raw/*46.17*/("""}"""),format.raw/*46.18*/(""")
+                .then(data => """),format.raw/*47.31*/("""{"""),format.raw/*47.32*/("""
+                    """),format.raw/*48.21*/("""console.log("Fetched Word Stats:", data); // Debugging log
+
+                    // Generate new rows for the table body
+                    const tbodyContent = Object.entries(data).map(([word, count]) => `
+                        <tr>
+                            <td>$"""),format.raw/*53.34*/("""{"""),format.raw/*53.35*/("""word"""),format.raw/*53.39*/("""}"""),format.raw/*53.40*/("""</td>
+                            <td>$"""),format.raw/*54.34*/("""{"""),format.raw/*54.35*/("""count"""),format.raw/*54.40*/("""}"""),format.raw/*54.41*/("""</td>
+                        </tr>
+                    `).join('');
+
+                    // Update only the <tbody> content
+                    document.querySelector("#word-stats-container table tbody").innerHTML = tbodyContent;
+                """),format.raw/*60.17*/("""}"""),format.raw/*60.18*/(""")
+                .catch(error => """),format.raw/*61.33*/("""{"""),format.raw/*61.34*/("""
+                    """),format.raw/*62.21*/("""console.error("Error fetching word stats:", error);
+                """),format.raw/*63.17*/("""}"""),format.raw/*63.18*/(""");
+        """),format.raw/*64.9*/("""}"""),format.raw/*64.10*/("""
+
+        """),format.raw/*66.9*/("""// Update stats every 5 seconds
+        updateWordStats(); // Initial fetch
+        setInterval(updateWordStats, 5000); // Fetch every 5 seconds
+    """),format.raw/*69.5*/("""}"""),format.raw/*69.6*/(""");
+</script>
+
+</body>
+</html>"""))
+      }
+    }
+  }
+
+  def render(wordStats:Map[String, Long],query:String): play.twirl.api.HtmlFormat.Appendable = apply(wordStats,query)
+
+  def f:((Map[String, Long],String) => play.twirl.api.HtmlFormat.Appendable) = (wordStats,query) => apply(wordStats,query)
+
+  def ref: this.type = this
+
+}
+
+
+              /*
+                  -- GENERATED --
+                  SOURCE: app/views/wordStats.scala.html
+                  HASH: 0b1cc2fb57485600b2f56b4bf18ef85249cf24f7
+                  MATRIX: 929->1|1068->47|1095->48|1332->259|1346->265|1404->303|1478->350|1504->355|1721->545|1768->576|1808->578|1844->587|1893->609|1918->613|1968->636|1994->641|2054->670|2090->679|2157->719|2172->725|2216->748|2336->840|2365->841|2401->850|2507->928|2536->929|2577->942|2672->1009|2701->1010|2750->1031|2796->1049|2825->1050|2878->1075|2944->1113|2973->1114|3016->1129|3045->1130|3097->1154|3126->1155|3175->1176|3243->1216|3272->1217|3332->1249|3361->1250|3410->1271|3707->1540|3736->1541|3768->1545|3797->1546|3864->1585|3893->1586|3926->1591|3955->1592|4230->1839|4259->1840|4321->1874|4350->1875|4399->1896|4495->1964|4524->1965|4562->1976|4591->1977|4628->1987|4804->2136|4832->2137
+                  LINES: 27->1|32->2|33->3|39->9|39->9|39->9|43->13|43->13|54->24|54->24|54->24|55->25|56->26|56->26|57->27|57->27|59->29|60->30|64->34|64->34|64->34|67->37|67->37|68->38|69->39|69->39|70->40|71->41|71->41|72->42|72->42|72->42|73->43|73->43|73->43|73->43|73->43|74->44|74->44|75->45|76->46|76->46|77->47|77->47|78->48|83->53|83->53|83->53|83->53|84->54|84->54|84->54|84->54|90->60|90->60|91->61|91->61|92->62|93->63|93->63|94->64|94->64|96->66|99->69|99->69
+                  -- GENERATED --
+              */
+          
\ No newline at end of file
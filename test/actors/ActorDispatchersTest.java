@@ -0,0 +1,43 @@
+package actors;
+
+import static org.junit.Assert.assertEquals;
+
+import com.typesafe.config.ConfigFactory;
+import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.actor.Props;
+import org.apache.pekko.testkit.javadsl.TestKit;
+import org.junit.Test;
+
+/**
+ * Tests for ActorDispatchers.
+ */
+public class ActorDispatchersTest {
+
+  /** Props are moved to a dispatcher the actor system has configured. */
+  @Test
+  public void testUsesConfiguredDispatcher() {
+    ActorSystem system =
+        ActorSystem.create(
+            "dispatchers",
+            ConfigFactory.parseString(
+                "analytics.cpu-dispatcher { type = Dispatcher, executor = thread-pool-executor }"));
+    try {
+      Props props = ActorDispatchers.on(system, ReadabilityActor.props(), ActorDispatchers.CPU);
+      assertEquals(ActorDispatchers.CPU, props.dispatcher());
+    } finally {
+      TestKit.shutdownActorSystem(system);
+    }
+  }
+
+  /** Without the dispatcher in the configuration, the props are left on the default one. */
+  @Test
+  public void testFallsBackToDefaultDispatcher() {
+    ActorSystem system = ActorSystem.create("dispatchers", ConfigFactory.empty());
+    try {
+      Props props = ReadabilityActor.props();
+      assertEquals(props, ActorDispatchers.on(system, props, ActorDispatchers.HTTP));
+    } finally {
+      TestKit.shutdownActorSystem(system);
+    }
+  }
+}
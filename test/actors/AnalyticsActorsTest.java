@@ -0,0 +1,68 @@
+package actors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.typesafe.config.ConfigFactory;
+import java.time.Duration;
+import java.util.List;
+import org.apache.pekko.actor.ActorRef;
+import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.testkit.TestProbe;
+import org.apache.pekko.testkit.javadsl.TestKit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for AnalyticsActors, the analytics actors shared by every connection of an actor system.
+ */
+public class AnalyticsActorsTest {
+  private ActorSystem system;
+
+  @Before
+  public void setUp() {
+    system = ActorSystem.create("analytics", ConfigFactory.parseString("analytics.pool-size = 3"));
+  }
+
+  @After
+  public void tearDown() {
+    TestKit.shutdownActorSystem(system);
+    system = null;
+  }
+
+  /** The actors are created once per actor system and sized from the configuration. */
+  @Test
+  public void testActorsAreCreatedOncePerSystem() {
+    AnalyticsActors first = AnalyticsActors.get(system);
+    AnalyticsActors second = AnalyticsActors.get(system);
+
+    assertSame(first, second);
+    assertSame(first.getWordStatsActor(), second.getWordStatsActor());
+    assertSame(first.getReadabilityActor(), second.getReadabilityActor());
+    assertEquals(3, first.getPoolSize());
+  }
+
+  /** Word stats sent through two connections accumulate in the one shared WordStatsActor. */
+  @Test
+  public void testConnectionsShareCumulativeWordStats() {
+    new TestKit(system) {
+      {
+        TestProbe hub = new TestProbe(system);
+        ActorRef first = system.actorOf(SupervisorActor.props(new TestProbe(system).ref(), hub.ref()));
+        ActorRef second = system.actorOf(SupervisorActor.props(new TestProbe(system).ref(), hub.ref()));
+
+        first.tell(new Messages.WordStatsRequest(List.of("kittens")), getRef());
+        expectMsgClass(Duration.ofSeconds(5), Messages.WordStatsResponse.class);
+        second.tell(new Messages.WordStatsRequest(List.of("kittens")), getRef());
+        expectMsgClass(Duration.ofSeconds(5), Messages.WordStatsResponse.class);
+
+        AnalyticsActors.get(system).getWordStatsActor().tell(new Messages.GetCumulativeStats(), getRef());
+        Messages.WordStatsResponse response =
+            expectMsgClass(Duration.ofSeconds(5), Messages.WordStatsResponse.class);
+        assertEquals(1, response.getWordStats().size());
+        assertEquals(Long.valueOf(2), response.getWordStats().get(0).getValue());
+      }
+    };
+  }
+}
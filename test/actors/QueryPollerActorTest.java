@@ -0,0 +1,33 @@
+package actors;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import org.junit.Test;
+
+/** Unit tests for the adaptive interval of the QueryPollerActor class */
+public class QueryPollerActorTest {
+  private static final Duration MIN = Duration.ofSeconds(10);
+  private static final Duration MAX = Duration.ofSeconds(60);
+
+  /** Tests that polls without new videos back off exponentially up to the maximum interval. */
+  @Test
+  public void testBacksOffWithoutNewVideos() {
+    Duration interval = MIN;
+    interval = QueryPollerActor.nextInterval(interval, false, MIN, MAX);
+    assertEquals(Duration.ofSeconds(20), interval);
+    interval = QueryPollerActor.nextInterval(interval, false, MIN, MAX);
+    assertEquals(Duration.ofSeconds(40), interval);
+    interval = QueryPollerActor.nextInterval(interval, false, MIN, MAX);
+    assertEquals(MAX, interval);
+    assertEquals(MAX, QueryPollerActor.nextInterval(interval, false, MIN, MAX));
+  }
+
+  /** Tests that a poll with new videos speeds polling up again, never below the minimum. */
+  @Test
+  public void testSpeedsUpWithNewVideos() {
+    assertEquals(Duration.ofSeconds(30), QueryPollerActor.nextInterval(MAX, true, MIN, MAX));
+    assertEquals(MIN, QueryPollerActor.nextInterval(Duration.ofSeconds(15), true, MIN, MAX));
+    assertEquals(MIN, QueryPollerActor.nextInterval(MIN, true, MIN, MAX));
+  }
+}
@@ -30,6 +30,7 @@ public class SupervisorActorTest {
   private WSRequest mockRequest;
   private WSResponse mockResponse;
   private YouTubeService mockYouTubeService;
+  private ActorRef youTubeServiceActor;
 
   @Before
   public void setUp() {
@@ -40,6 +41,10 @@ public class SupervisorActorTest {
     mockWsClient = mock(WSClient.class);
     mockResponse = mock(WSResponse.class);
     mockYouTubeService = mock(YouTubeService.class);
+
+    // The query-subscription hub every connection shares, over the mocked WSClient
+    youTubeServiceActor =
+            system.actorOf(YouTubeServiceActor.props(mockWsClient, new YouTubeService(mockWsClient, null, system)));
   }
 
   @After
@@ -66,7 +71,7 @@ public class SupervisorActorTest {
 
         TestProbe wsProbe = new TestProbe(system);
         ActorRef supervisorActor =
-                system.actorOf(SupervisorActor.props(wsProbe.ref(), mockWsClient));
+                system.actorOf(SupervisorActor.props(wsProbe.ref(), youTubeServiceActor));
 
         supervisorActor.tell("cats", getRef());
         expectNoMessage(scala.concurrent.duration.Duration.create(1, "second"));
@@ -85,9 +90,36 @@ public class SupervisorActorTest {
       {
         TestProbe wsProbe = new TestProbe(system);
         ActorRef supervisorActor =
-                system.actorOf(SupervisorActor.props(wsProbe.ref(), mockWsClient));
+                system.actorOf(SupervisorActor.props(wsProbe.ref(), youTubeServiceActor));
         assertNotNull(system.actorSelection(supervisorActor.path().child("userActor")));
-        assertNotNull(system.actorSelection(supervisorActor.path().child("youTubeServiceActor")));
+      }
+    };
+  }
+
+  /** Tests that the session subscribes to queries through the hub it is given. */
+  @Test
+  public void testSessionUsesSharedHub() {
+    new TestKit(system) {
+      {
+        TestProbe hub = new TestProbe(system);
+        ActorRef supervisorActor =
+                system.actorOf(SupervisorActor.props(new TestProbe(system).ref(), hub.ref()));
+
+        supervisorActor.tell("cats", getRef());
+        hub.expectMsg("cats");
+      }
+    };
+  }
+
+  /** Tests that a SupervisorActor cannot be created without the shared hub. */
+  @Test
+  public void testSupervisorActorRequiresHub() {
+    new TestKit(system) {
+      {
+        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), null));
+        watch(supervisorActor);
+
+        expectTerminated(supervisorActor);
       }
     };
   }
@@ -99,10 +131,9 @@ public class SupervisorActorTest {
       {
         TestProbe wsProbe = new TestProbe(system);
         ActorRef supervisorActor =
-                system.actorOf(SupervisorActor.props(wsProbe.ref(), mockWsClient));
+                system.actorOf(SupervisorActor.props(wsProbe.ref(), youTubeServiceActor));
 
         assertNotNull(system.actorSelection(supervisorActor.path().child("userActor")));
-        assertNotNull(system.actorSelection(supervisorActor.path().child("youTubeServiceActor")));
       }
     };
   }
@@ -118,7 +149,7 @@ public class SupervisorActorTest {
     new TestKit(system) {
       {
         TestProbe wsProbe = new TestProbe(system);
-        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(wsProbe.ref(), mockWsClient));
+        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(wsProbe.ref(), youTubeServiceActor));
 
         // Send an unhandled message
         supervisorActor.tell(42, getRef());
@@ -134,7 +165,7 @@ public class SupervisorActorTest {
 //    new TestKit(system) {
 //      {
 //        TestProbe wsProbe = new TestProbe(system);
-//        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(wsProbe.ref(), mockWsClient));
+//        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(wsProbe.ref(), youTubeServiceActor));
 //
 //        // Watch the actor to verify lifecycle changes
 //        watch(supervisorActor);
@@ -157,7 +188,7 @@ public class SupervisorActorTest {
 //        });
 //
 //        // Simulate RuntimeException (actor restarts)
-//        ActorRef newSupervisorActor = system.actorOf(SupervisorActor.props(wsProbe.ref(), mockWsClient));
+//        ActorRef newSupervisorActor = system.actorOf(SupervisorActor.props(wsProbe.ref(), youTubeServiceActor));
 //        watch(newSupervisorActor);
 //        newSupervisorActor.tell(new RuntimeException("Simulated RuntimeException"), ActorRef.noSender());
 //        expectNoMessage(duration("3 seconds")); // Verify no termination
@@ -169,7 +200,7 @@ public class SupervisorActorTest {
   public void testSupervisorStrategy_NullPointerException() {
     new TestKit(system) {
       {
-        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), mockWsClient));
+        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), youTubeServiceActor));
 
         // Watch the actor to monitor its state
         watch(supervisorActor);
@@ -187,7 +218,7 @@ public class SupervisorActorTest {
   public void testSupervisorStrategy_IllegalArgumentException() {
     new TestKit(system) {
       {
-        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), mockWsClient));
+        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), youTubeServiceActor));
 
         // Watch the actor to monitor its state
         watch(supervisorActor);
@@ -204,7 +235,7 @@ public class SupervisorActorTest {
 //  public void testSupervisorStrategy_IllegalStateException() {
 //    new TestKit(system) {{
 //      // Create the supervisor actor
-//      ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), null));
+//      ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), youTubeServiceActor));
 //
 //      // Watch the actor to monitor termination
 //      watch(supervisorActor);
@@ -226,7 +257,7 @@ public class SupervisorActorTest {
   public void testSupervisorStrategy_UnknownException() {
     new TestKit(system) {
       {
-        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), null));
+        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), youTubeServiceActor));
         // Simulate an unknown exception
         supervisorActor.tell(new Exception("Simulated Unknown Exception"), getRef());
         // Validate the actor restarts (no crash, no response expected)
@@ -240,7 +271,7 @@ public class SupervisorActorTest {
     new TestKit(system) {
       {
         // Ensure the SupervisorActor is created successfully
-        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), null));
+        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), youTubeServiceActor));
         assertNotNull(supervisorActor);
       }
     };
@@ -250,7 +281,7 @@ public class SupervisorActorTest {
   public void testSupervisorStrategy_HandleSpecificExceptions() {
     new TestKit(system) {
       {
-        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), null));
+        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), youTubeServiceActor));
 
         // Simulate a NullPointerException and validate resumption
         supervisorActor.tell(new NullPointerException("Simulated NPE"), getRef());
@@ -287,7 +318,7 @@ public class SupervisorActorTest {
   public void testSupervisorStrategy_isDefinedAt() {
     new TestKit(system) {
       {
-        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), null));
+        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), youTubeServiceActor));
 
         // Validate that isDefinedAt is true for all exceptions
         supervisorActor.tell(new NullPointerException("Test NullPointerException"), getRef());
@@ -317,7 +348,7 @@ public class SupervisorActorTest {
         // Mock WebSocket and SupervisorActor
         TestProbe wsProbe = new TestProbe(system);
         ActorRef supervisorActor =
-                system.actorOf(SupervisorActor.props(wsProbe.ref(), mockWsClient));
+                system.actorOf(SupervisorActor.props(wsProbe.ref(), youTubeServiceActor));
 
         // Send GetVideosByTag message to SupervisorActor
         String testTag = "exampleTag";
@@ -341,7 +372,7 @@ public class SupervisorActorTest {
         // Mock WebSocket and SupervisorActor
         TestProbe wsProbe = new TestProbe(system);
         ActorRef supervisorActor =
-                system.actorOf(SupervisorActor.props(wsProbe.ref(), mockWsClient));
+                system.actorOf(SupervisorActor.props(wsProbe.ref(), youTubeServiceActor));
 
         // Send an invalid message to SupervisorActor
         supervisorActor.tell(42, getRef()); // Sending an Integer instead of a valid message
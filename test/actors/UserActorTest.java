@@ -475,4 +475,60 @@ public class UserActorTest {
       wsProbe.expectNoMessage();
     }};
   }
+
+  /**
+   * Tests that after the first full snapshot the client is only sent the videos that changed.
+   *
+   * @author Marjan Khassafi
+   */
+  @Test
+  public void testSendsDeltaAfterSnapshot() throws JsonProcessingException {
+    new TestKit(system) {{
+      TestProbe wsProbe = new TestProbe(system);
+      ActorRef userActor =
+              system.actorOf(
+                      UserActor.props(wsProbe.ref(), getRef(), getRef(), getRef()));
+      Video first = new Video("Title1", "Description1", "ChannelId", "VideoId1", "Thumb", "Channel", "2024-11-06T04:41:46Z");
+      Video second = new Video("Title2", "Description2", "ChannelId", "VideoId2", "Thumb", "Channel", "2024-11-06T04:41:46Z");
+
+      userActor.tell(new Messages.SentimentAndReadabilityResult(":-)", List.of(first), 5.0, 80.0), getRef());
+      JsonNode snapshot = new ObjectMapper().readTree(wsProbe.expectMsgClass(String.class));
+      userActor.tell(new Messages.SentimentAndReadabilityResult(":-(", List.of(second), 6.0, 70.0), getRef());
+      JsonNode delta = new ObjectMapper().readTree(wsProbe.expectMsgClass(String.class));
+
+      assertEquals("snapshot", snapshot.get("type").asText());
+      assertEquals(1, snapshot.get("videos").size());
+      assertEquals("delta", delta.get("type").asText());
+      assertEquals(1, delta.get("added").size());
+      assertEquals("VideoId2", delta.get("added").get(0).get("videoId").asText());
+      assertEquals(0, delta.get("removed").size());
+      assertEquals(":-(", delta.get("sentiment").asText());
+    }};
+  }
+
+  /**
+   * Tests that a session keeps the number of latest videos it was created with.
+   *
+   * @author Marjan Khassafi
+   */
+  @Test
+  public void testWindowSizePerSession() throws JsonProcessingException {
+    new TestKit(system) {{
+      TestProbe wsProbe = new TestProbe(system);
+      ActorRef userActor =
+              system.actorOf(
+                      UserActor.props(wsProbe.ref(), getRef(), getRef(), getRef(), 2));
+      List<Video> videos = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        videos.add(new Video("Title" + i, "Description", "ChannelId", "VideoId" + i, "Thumb", "Channel", "2024-11-06T04:41:46Z"));
+      }
+
+      userActor.tell(new Messages.SentimentAndReadabilityResult(":-)", videos, 5.0, 80.0), getRef());
+      JsonNode snapshot = new ObjectMapper().readTree(wsProbe.expectMsgClass(String.class));
+
+      assertEquals(2, snapshot.get("videos").size());
+      assertEquals("VideoId2", snapshot.get("videos").get(0).get("videoId").asText());
+      assertEquals("VideoId1", snapshot.get("videos").get(1).get("videoId").asText());
+    }};
+  }
 }
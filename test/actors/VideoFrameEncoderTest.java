@@ -0,0 +1,100 @@
+package actors;
+
+import static org.junit.Assert.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import models.Video;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for VideoFrameEncoder.
+ */
+public class VideoFrameEncoderTest {
+  private final ObjectMapper mapper = new ObjectMapper();
+  private VideoFrameEncoder encoder;
+
+  @Before
+  public void setUp() {
+    encoder = new VideoFrameEncoder(3);
+  }
+
+  private static Video video(String id) {
+    return new Video("Title " + id, "Description", "channel", id, "thumb", "owner", "now");
+  }
+
+  private JsonNode encode(List<Video> videos) {
+    return encoder.encode(mapper, videos, "cats", 5.0, 80.0, ":-)");
+  }
+
+  private static List<String> ids(JsonNode videos) {
+    List<String> ids = new ArrayList<>();
+    videos.forEach(video -> ids.add(video.get("videoId").asText()));
+    return ids;
+  }
+
+  private static List<String> strings(JsonNode array) {
+    List<String> values = new ArrayList<>();
+    array.forEach(value -> values.add(value.asText()));
+    return values;
+  }
+
+  /** The first frame is a full snapshot. */
+  @Test
+  public void testFirstFrameIsSnapshot() {
+    JsonNode frame = encode(List.of(video("a"), video("b")));
+
+    assertEquals("snapshot", frame.get("type").asText());
+    assertEquals(0, frame.get("seq").asLong());
+    assertEquals(List.of("a", "b"), ids(frame.get("videos")));
+    assertEquals("cats", frame.get("searchTerm").asText());
+  }
+
+  /** Later frames only carry the added videos and the ids of the removed ones. */
+  @Test
+  public void testDeltaCarriesOnlyChanges() {
+    encode(List.of(video("a"), video("b")));
+    JsonNode frame = encode(List.of(video("c"), video("a")));
+
+    assertEquals("delta", frame.get("type").asText());
+    assertEquals(1, frame.get("seq").asLong());
+    assertEquals(List.of("c"), ids(frame.get("added")));
+    assertEquals(List.of("b"), strings(frame.get("removed")));
+    assertEquals(null, frame.get("videos"));
+    assertEquals(":-)", frame.get("sentiment").asText());
+  }
+
+  /** A full snapshot is sent again every snapshot interval. */
+  @Test
+  public void testPeriodicSnapshot() {
+    encode(List.of(video("a")));
+    encode(List.of(video("b"), video("a")));
+    encode(List.of(video("c"), video("b"), video("a")));
+    JsonNode frame = encode(List.of(video("d"), video("c"), video("b"), video("a")));
+
+    assertEquals("snapshot", frame.get("type").asText());
+    assertEquals(4, frame.get("videos").size());
+  }
+
+  /** An update a delta cannot describe, such as a reordering, is sent as a snapshot. */
+  @Test
+  public void testReorderingIsSentAsSnapshot() {
+    encode(List.of(video("a"), video("b")));
+    JsonNode frame = encode(List.of(video("b"), video("a")));
+
+    assertEquals("snapshot", frame.get("type").asText());
+  }
+
+  /** After a resync the next frame is a snapshot. */
+  @Test
+  public void testResyncForcesSnapshot() {
+    encode(List.of(video("a")));
+    encoder.resync();
+    JsonNode frame = encode(List.of(video("b"), video("a")));
+
+    assertEquals("snapshot", frame.get("type").asText());
+  }
+}
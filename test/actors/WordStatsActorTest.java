@@ -2,11 +2,17 @@ package actors;
 
 import org.apache.pekko.actor.ActorRef;
 import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.actor.Status;
 import org.apache.pekko.testkit.javadsl.TestKit;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.jupiter.api.*;
 
+import com.typesafe.config.ConfigFactory;
+import utils.Deadline;
+import utils.TopKHeap;
+import utils.WordCountTable;
+
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -132,6 +138,98 @@ public class WordStatsActorTest {
         }};
     }
 
+    @Test
+    public void testTopWordsHonourRequestedLimit() {
+        new TestKit(system) {{
+            ActorRef wordStatsActor = system.actorOf(WordStatsActor.props(), "wordStatsActor6");
+
+            wordStatsActor.tell(new Messages.WordStatsRequest(List.of(
+                    "java java java scala scala kotlin",
+                    "java scala groovy kotlin clojure"), 2), getRef());
+            Messages.WordStatsResponse response = expectMsgClass(Messages.WordStatsResponse.class);
+
+            assertEquals(List.of(Map.entry("java", 4L), Map.entry("scala", 3L)),
+                    List.copyOf(response.getWordStats()));
+
+            // Asking for more words than the heap keeps still returns them in order
+            wordStatsActor.tell(new Messages.GetCumulativeStats(4), getRef());
+            response = expectMsgClass(Messages.WordStatsResponse.class);
+            assertEquals(List.of(Map.entry("java", 4L), Map.entry("scala", 3L),
+                            Map.entry("kotlin", 2L), Map.entry("clojure", 1L)),
+                    List.copyOf(response.getWordStats()));
+
+            wordStatsActor.tell(new Messages.GetCumulativeStats(0), getRef());
+            assertTrue(expectMsgClass(Messages.WordStatsResponse.class).getWordStats().isEmpty());
+        }};
+    }
+
+    @Test
+    public void testCountWordFrequenciesMatchesRegexTokenizer() {
+        Random random = new Random(4);
+        String alphabet = "abcXYZ  ,.!_9'-\u00e9\u00c9\t";
+        List<String> videoTexts = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int j = random.nextInt(40); j > 0; j--) {
+                text.append(random.nextInt(4) == 0 ? "the " : "");
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            videoTexts.add(text.toString());
+        }
+
+        // The original regex and stream based collector
+        Set<String> stopWords = Set.of("a", "an", "http", "https", "are", "www", "the", "and", "or", "but", "on",
+                "in", "with", "is", "to", "of", "for", "at", "by", "from", "as", "it", "this", "that", "been");
+        Map<String, Long> expected = new TreeMap<>();
+        videoTexts.stream()
+                .flatMap(text -> Arrays.stream(text.split("\\W+")))
+                .map(String::toLowerCase)
+                .filter(word -> word.length() > 2)
+                .filter(word -> word.matches("[a-z]+"))
+                .filter(word -> !stopWords.contains(word))
+                .forEach(word -> expected.merge(word, 1L, Long::sum));
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, WordStatsActor.countWordFrequencies(videoTexts).toSortedMap());
+    }
+
+    @Test
+    public void testShardedCountingMatchesSerialCounting() {
+        ActorSystem shardedSystem = ActorSystem.create("ShardedWordStatsTestSystem",
+                ConfigFactory.parseString("word-stats.workers = 4"));
+        try {
+            new TestKit(shardedSystem) {{
+                ActorRef wordStatsActor = shardedSystem.actorOf(WordStatsActor.props());
+
+                Random random = new Random(6);
+                String[] vocabulary = {"canada", "montreal", "java", "actors", "pekko", "streams",
+                        "video", "search", "music", "review", "tutorial", "concordia"};
+                List<String> videoTexts = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                    StringBuilder text = new StringBuilder();
+                    for (int j = 0; j < 30; j++) {
+                        text.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+                    }
+                    videoTexts.add(text.toString());
+                }
+
+                wordStatsActor.tell(new Messages.WordStatsRequest(videoTexts, 100), getRef());
+                Messages.WordStatsResponse response = expectMsgClass(Messages.WordStatsResponse.class);
+
+                WordCountTable serial = WordStatsActor.countWordFrequencies(videoTexts);
+                List<Map.Entry<String, Long>> expected = new ArrayList<>(serial.toSortedMap().entrySet());
+                expected.sort(TopKHeap.RANKING);
+                assertEquals(expected.size(), response.getWordStats().size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).getKey(), response.getWordStats().get(i).getKey());
+                    assertEquals(expected.get(i).getValue(), response.getWordStats().get(i).getValue());
+                }
+            }};
+        } finally {
+            TestKit.shutdownActorSystem(shardedSystem);
+        }
+    }
+
     @Test
     public void testUnexpectedMessage() {
         new TestKit(system) {{
@@ -148,4 +246,24 @@ public class WordStatsActorTest {
             assertEquals("Invalid message type", response.getMessage());
         }};
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a request whose deadline already passed fails at once with a timeout and is not
+     * added to the cumulative stats.
+     */
+    @Test
+    public void testOverdueRequestIsSkipped() {
+        new TestKit(system) {{
+            ActorRef wordStatsActor = system.actorOf(WordStatsActor.props(), "wordStatsActor7");
+
+            wordStatsActor.tell(new Messages.WordStatsRequest(List.of("abandoned analytics"),
+                    Messages.WordStatsRequest.DEFAULT_LIMIT, Deadline.in(java.time.Duration.ZERO)), getRef());
+            Status.Failure failure = expectMsgClass(Status.Failure.class);
+            assertInstanceOf(java.util.concurrent.TimeoutException.class, failure.cause());
+
+            wordStatsActor.tell(new Messages.GetCumulativeStats(), getRef());
+            Messages.WordStatsResponse response = expectMsgClass(Messages.WordStatsResponse.class);
+            assertTrue(response.getWordStats().isEmpty());
+        }};
+    }
+}
@@ -2,13 +2,17 @@ package actors;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
+import static services.QuotaLimiter.Priority.BACKGROUND;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import models.Video;
+import org.apache.pekko.actor.ActorIdentity;
 import org.apache.pekko.actor.ActorRef;
 import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.actor.Identify;
 import org.apache.pekko.testkit.TestProbe;
 import org.apache.pekko.testkit.javadsl.TestKit;
 import org.junit.After;
@@ -17,6 +21,7 @@ import org.junit.Test;
 import org.mockito.MockitoAnnotations;
 import play.libs.ws.WSClient;
 import services.YouTubeService;
+import utils.Deadline;
 
 /** Unit tests for YouTubeServiceActor class */
 public class YouTubeServiceActorTest {
@@ -73,7 +78,7 @@ public class YouTubeServiceActorTest {
                     "Channel 2",
                     "2024-01-02"));
 
-        when(mockYouTubeService.searchVideos("test"))
+        when(mockYouTubeService.searchVideos(eq("test"), eq(BACKGROUND), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(mockVideos));
 
         // Send a search query
@@ -104,7 +109,7 @@ public class YouTubeServiceActorTest {
             system.actorOf(YouTubeServiceActor.props(mockWsClient, mockYouTubeService));
 
         // Mock YouTubeService to throw an exception
-        when(mockYouTubeService.searchVideos("error"))
+        when(mockYouTubeService.searchVideos(eq("error"), eq(BACKGROUND), any(Deadline.class)))
             .thenReturn(
                 CompletableFuture.failedFuture(new RuntimeException("Simulated API failure")));
 
@@ -148,7 +153,7 @@ public class YouTubeServiceActorTest {
                   "2024-01-01"));
         }
 
-        when(mockYouTubeService.searchVideos("large"))
+        when(mockYouTubeService.searchVideos(eq("large"), eq(BACKGROUND), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(mockVideos));
 
         // Send a search query
@@ -161,4 +166,172 @@ public class YouTubeServiceActorTest {
       }
     };
   }
+
+  /**
+   * Tests that several subscribers to the same query (in different spellings) share one poller,
+   * so the YouTube API is called once and every subscriber receives the results.
+   */
+  @Test
+  public void testSubscribersShareOnePoller() {
+    new TestKit(system) {
+      {
+        TestProbe firstSubscriber = new TestProbe(system);
+        TestProbe secondSubscriber = new TestProbe(system);
+        ActorRef youTubeServiceActor =
+            system.actorOf(YouTubeServiceActor.props(mockWsClient, mockYouTubeService));
+
+        CompletableFuture<List<Video>> pending = new CompletableFuture<>();
+        when(mockYouTubeService.searchVideos(eq("news"), eq(BACKGROUND), any(Deadline.class))).thenReturn(pending);
+
+        youTubeServiceActor.tell("news", firstSubscriber.ref());
+        youTubeServiceActor.tell("  News ", secondSubscriber.ref());
+        pending.complete(
+            List.of(
+                new Video(
+                    "Title", "Description", "ChannelId", "videoId", "Thumbnail", "Channel",
+                    "2024-01-01")));
+
+        assertEquals(1, firstSubscriber.expectMsgClass(Messages.SearchResultsMessage.class)
+            .getVideos().size());
+        assertEquals(1, secondSubscriber.expectMsgClass(Messages.SearchResultsMessage.class)
+            .getVideos().size());
+        verify(mockYouTubeService, times(1)).searchVideos(eq("news"), eq(BACKGROUND), any(Deadline.class));
+      }
+    };
+  }
+
+  /**
+   * Tests that a subscriber joining a query that is already being polled immediately receives the
+   * latest results instead of waiting for the next new video.
+   */
+  @Test
+  public void testLateSubscriberReceivesLatestResults() {
+    new TestKit(system) {
+      {
+        TestProbe firstSubscriber = new TestProbe(system);
+        TestProbe lateSubscriber = new TestProbe(system);
+        ActorRef youTubeServiceActor =
+            system.actorOf(YouTubeServiceActor.props(mockWsClient, mockYouTubeService));
+
+        when(mockYouTubeService.searchVideos(eq("music"), eq(BACKGROUND), any(Deadline.class)))
+            .thenReturn(
+                CompletableFuture.completedFuture(
+                    List.of(
+                        new Video(
+                            "Title", "Description", "ChannelId", "videoId", "Thumbnail",
+                            "Channel", "2024-01-01"))));
+
+        youTubeServiceActor.tell("music", firstSubscriber.ref());
+        firstSubscriber.expectMsgClass(Messages.SearchResultsMessage.class);
+
+        youTubeServiceActor.tell("music", lateSubscriber.ref());
+        Messages.SearchResultsMessage message =
+            lateSubscriber.expectMsgClass(Messages.SearchResultsMessage.class);
+        assertEquals("videoId", message.getVideos().get(0).getVideoId());
+        verify(mockYouTubeService, times(1)).searchVideos(eq("music"), eq(BACKGROUND), any(Deadline.class));
+      }
+    };
+  }
+
+  /**
+   * Tests that the poller is stopped once the last subscriber leaves, so that a later
+   * subscription starts a fresh poller.
+   */
+  @Test
+  public void testPollerStopsWhenLastSubscriberLeaves() {
+    new TestKit(system) {
+      {
+        TestProbe subscriber = new TestProbe(system);
+        TestProbe leavingSubscriber = new TestProbe(system);
+        ActorRef youTubeServiceActor =
+            system.actorOf(YouTubeServiceActor.props(mockWsClient, mockYouTubeService));
+
+        when(mockYouTubeService.searchVideos(eq("sports"), eq(BACKGROUND), any(Deadline.class)))
+            .thenReturn(
+                CompletableFuture.completedFuture(
+                    List.of(
+                        new Video(
+                            "Title", "Description", "ChannelId", "videoId", "Thumbnail",
+                            "Channel", "2024-01-01"))));
+
+        youTubeServiceActor.tell("sports", subscriber.ref());
+        youTubeServiceActor.tell("sports", leavingSubscriber.ref());
+        subscriber.expectMsgClass(Messages.SearchResultsMessage.class);
+        leavingSubscriber.expectMsgClass(Messages.SearchResultsMessage.class);
+
+        youTubeServiceActor.tell(new Messages.UnsubscribeQuery("sports"), subscriber.ref());
+        system.stop(leavingSubscriber.ref());
+        expectNoMessage(Duration.ofMillis(500));
+
+        TestProbe newSubscriber = new TestProbe(system);
+        youTubeServiceActor.tell("sports", newSubscriber.ref());
+        newSubscriber.expectMsgClass(Messages.SearchResultsMessage.class);
+        verify(mockYouTubeService, times(2)).searchVideos(eq("sports"), eq(BACKGROUND), any(Deadline.class));
+      }
+    };
+  }
+
+  /**
+   * Tests that a poller which stops while its query still has subscribers is replaced, so that the
+   * subscribers keep receiving results.
+   */
+  @Test
+  public void testStoppedPollerIsRestartedForRemainingSubscribers() {
+    new TestKit(system) {
+      {
+        TestProbe subscriber = new TestProbe(system);
+        ActorRef youTubeServiceActor =
+            system.actorOf(YouTubeServiceActor.props(mockWsClient, mockYouTubeService));
+
+        when(mockYouTubeService.searchVideos(eq("films"), eq(BACKGROUND), any(Deadline.class)))
+            .thenReturn(
+                CompletableFuture.completedFuture(
+                    List.of(
+                        new Video(
+                            "Title", "Description", "ChannelId", "videoId", "Thumbnail",
+                            "Channel", "2024-01-01"))));
+
+        youTubeServiceActor.tell("films", subscriber.ref());
+        subscriber.expectMsgClass(Messages.SearchResultsMessage.class);
+
+        system
+            .actorSelection(youTubeServiceActor.path().child("*"))
+            .tell(new Identify("poller"), getRef());
+        ActorRef poller = expectMsgClass(ActorIdentity.class).getActorRef().orElseThrow();
+        system.stop(poller);
+
+        subscriber.expectMsgClass(Messages.SearchResultsMessage.class);
+        verify(mockYouTubeService, times(2)).searchVideos(eq("films"), eq(BACKGROUND), any(Deadline.class));
+      }
+    };
+  }
+
+  /**
+   * Tests that a query whose poll brings no new videos backs off, and that the current interval
+   * is reported per query.
+   */
+  @Test
+  public void testPollingIntervalBacksOffAndIsReported() {
+    new TestKit(system) {
+      {
+        TestProbe subscriber = new TestProbe(system);
+        ActorRef youTubeServiceActor =
+            system.actorOf(YouTubeServiceActor.props(mockWsClient, mockYouTubeService));
+
+        when(mockYouTubeService.searchVideos(eq("quiet"), eq(BACKGROUND), any(Deadline.class)))
+            .thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        youTubeServiceActor.tell("quiet", subscriber.ref());
+
+        awaitAssert(
+            () -> {
+              youTubeServiceActor.tell(new Messages.GetPollingIntervals(), getRef());
+              Messages.PollingIntervals intervals =
+                  expectMsgClass(Messages.PollingIntervals.class);
+              assertEquals(Duration.ofSeconds(20), intervals.getIntervals().get("quiet"));
+              return null;
+            });
+      }
+    };
+  }
 }
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.when;
 import static play.mvc.Http.Status.BAD_REQUEST;
 import static play.mvc.Http.Status.OK;
+import static play.mvc.Http.Status.GATEWAY_TIMEOUT;
 import static play.test.Helpers.contentAsString;
 import actors.Messages;
 import actors.SupervisorActor;
@@ -16,6 +17,7 @@ import com.typesafe.config.Config;
 import actors.TagsActor;
 import org.apache.pekko.actor.ActorRef;
 import org.apache.pekko.actor.Props;
+import org.apache.pekko.actor.Status;
 import org.apache.pekko.testkit.TestActorRef;
 import org.apache.pekko.testkit.javadsl.TestKit;
 
@@ -24,9 +26,11 @@ import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import models.ChannelInfo;
+import models.SearchResult;
 import models.Video;
 import org.apache.pekko.actor.ActorSystem;
 import org.apache.pekko.stream.Materializer;
@@ -43,7 +47,11 @@ import play.mvc.Http;
 import play.mvc.Result;
 import play.mvc.WebSocket;
 import play.test.Helpers;
+import services.QuotaLimiter;
+import services.RenderedPageCache;
+import services.SessionStore;
 import services.YouTubeService;
+import utils.Deadline;
 import actors.WordStatsActor;
 import static play.mvc.Http.Status.NOT_FOUND;
 import static org.junit.Assert.assertNotNull;
@@ -52,6 +60,7 @@ import static org.junit.Assert.assertNotNull;
 import actors.SupervisorActor;
 import java.time.Duration;
 import org.apache.pekko.actor.Props;
+import org.apache.pekko.actor.Status;
 /**
  * Unit test for HomeController
  *
@@ -59,7 +68,7 @@ import org.apache.pekko.actor.Props;
  */
 public class HomeControllerTest {
   private LinkedHashMap<String, List<Video>> queryResults;
-  private HashMap<String, LinkedHashMap<String, List<Video>>> sessionQueryMap;
+  private SessionStore sessionStore;
   private List<Video> videos;
   private String query;
   private ActorSystem system;
@@ -89,7 +98,7 @@ public class HomeControllerTest {
 
     // Initialize session-specific maps
     queryResults = new LinkedHashMap<>();
-    sessionQueryMap = new HashMap<>();
+    sessionStore = new SessionStore();
 
     // Manually instantiate HomeController
     homeController =
@@ -99,7 +108,7 @@ public class HomeControllerTest {
                     wsClient,
                     mockYouTubeService,
                     queryResults,
-                    sessionQueryMap);
+                    sessionStore);
 
     query = "cat";
 
@@ -152,7 +161,7 @@ public class HomeControllerTest {
 
         assertNotNull(ws);
 
-        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(wsProbe.ref(), wsClient));
+        ActorRef supervisorActor = system.actorOf(SupervisorActor.props(wsProbe.ref(), new TestProbe(system).ref()));
         assertNotNull(supervisorActor);
       }
     };
@@ -285,25 +294,13 @@ public class HomeControllerTest {
 
   @Test
   public void testIndexEldestQueryRemoval() {
-    // Arrange: Mock sessionQueryMap and its behavior
-    HashMap<String, LinkedHashMap<String, List<Video>>> mockSessionQueryMap = mock(HashMap.class);
+    // Arrange: A session that already has the maximum of 10 queries
     String sessionId = "test-session-id";
-    LinkedHashMap<String, List<Video>> multiQueryResults = new LinkedHashMap<>();
     for (int i = 0; i < 10; i++) {
       String queryNew = query + i;
-      multiQueryResults.put(queryNew, videos);
+      sessionStore.addQuery(sessionId, queryNew);
+      sessionStore.addVideos(sessionId, queryNew, videos);
     }
-    when(mockSessionQueryMap.get(sessionId)).thenReturn(multiQueryResults);
-
-    // Inject the mock sessionQueryMap into HomeController
-    homeController =
-            new HomeController(
-                    system,
-                    materializer,
-                    wsClient,
-                    mockYouTubeService,
-                    new LinkedHashMap<>(),
-                    mockSessionQueryMap);
 
     // Mock the YouTubeService for a new query
     when(mockYouTubeService.searchVideos("query11", 10))
@@ -317,15 +314,15 @@ public class HomeControllerTest {
     homeController.index("query11", requestBuilder.build()).toCompletableFuture().join();
 
     // Retrieve the session-specific query results
-    verify(mockSessionQueryMap).get(sessionId);
-    LinkedHashMap<String, List<Video>> sessionQueryResults = mockSessionQueryMap.get(sessionId);
+    List<String> sessionQueries =
+            sessionStore.getResults(sessionId).stream()
+                    .map(SearchResult::getQuery)
+                    .collect(Collectors.toList());
 
     // Assert: Verify the size remains at 10 and the eldest entry is removed
-    assertNotNull("Session-specific query results should not be null", sessionQueryResults);
-    assertEquals("The map should contain exactly 10 entries", 10, sessionQueryResults.size());
-    assertFalse(
-            "The oldest entry - cat0 - should be removed", sessionQueryResults.containsKey(query + 0));
-    assertTrue("The new query exists", sessionQueryResults.containsKey("query11"));
+    assertEquals("The session should contain exactly 10 queries", 10, sessionQueries.size());
+    assertFalse("The oldest entry - cat0 - should be removed", sessionQueries.contains(query + 0));
+    assertEquals("The new query is the most recent one", "query11", sessionQueries.get(0));
   }
 
   @Test
@@ -334,13 +331,8 @@ public class HomeControllerTest {
     when(mockYouTubeService.searchVideos("hello", 10))
             .thenReturn(CompletableFuture.completedFuture(videos));
 
-    // Initialize session-specific map in the controller
     String sessionId = "test-session-id";
 
-    LinkedHashMap<String, List<Video>> multiQueryResults = new LinkedHashMap<>();
-    multiQueryResults.put("hello", videos);
-    sessionQueryMap.put(sessionId, multiQueryResults);
-
     // Mock request with session ID
     Http.RequestBuilder requestBuilder =
             Helpers.fakeRequest().cookie(Http.Cookie.builder("sessionId", sessionId).build());
@@ -349,14 +341,35 @@ public class HomeControllerTest {
     homeController.index("hello", requestBuilder.build()).toCompletableFuture().join();
 
     // Retrieve the session-specific query results
-    LinkedHashMap<String, List<Video>> sessionQueryResults = sessionQueryMap.get(sessionId);
+    List<SearchResult> sessionQueryResults = sessionStore.getResults(sessionId);
 
     // Assert: Verify the query results for the session
-    assertNotNull("Session-specific query results should not be null", sessionQueryResults);
-    assertTrue(
-            "The query should exist in the session's map", sessionQueryResults.containsKey("hello"));
-    assertEquals("The videos for the query should match", videos, sessionQueryResults.get("hello"));
-    assertEquals("The map should contain only one query", 1, sessionQueryResults.size());
+    assertEquals("The session should contain only one query", 1, sessionQueryResults.size());
+    assertEquals("The query should exist in the session", "hello", sessionQueryResults.get(0).getQuery());
+    assertEquals("The videos for the query should match", videos, sessionQueryResults.get(0).getVideos());
+  }
+
+  @Test
+  public void testIndexPageIsSharedBySessions() {
+    when(mockYouTubeService.searchVideos("hello", 10))
+            .thenReturn(CompletableFuture.completedFuture(videos));
+    RenderedPageCache pageCache = new RenderedPageCache();
+    HomeController controller =
+            new HomeController(
+                    system, materializer, wsClient, mockYouTubeService, queryResults, sessionStore, pageCache);
+
+    for (String sessionId : List.of("session-1", "session-2")) {
+      Http.RequestBuilder requestBuilder =
+              Helpers.fakeRequest().cookie(Http.Cookie.builder("sessionId", sessionId).build());
+      Result result = controller.index("hello", requestBuilder.build()).toCompletableFuture().join();
+      assertEquals(OK, result.status());
+    }
+
+    // Both sessions keep their own history, but are served the same rendered page
+    assertEquals(1, sessionStore.getResults("session-1").size());
+    assertEquals(1, sessionStore.getResults("session-2").size());
+    assertEquals(1, pageCache.getRenderCount());
+    assertEquals(1, pageCache.size());
   }
 
   @Test
@@ -378,10 +391,7 @@ public class HomeControllerTest {
                                             "DogVideoChannelTitle1",
                                             "2024-11-06T04:41:46Z"))));
 
-    // Initialize session-specific map in the controller
     String sessionId = "test-session-id";
-    LinkedHashMap<String, List<Video>> multiQueryResults = new LinkedHashMap<>();
-    sessionQueryMap.put(sessionId, multiQueryResults);
 
     // Mock request with session ID
     Http.RequestBuilder requestBuilder =
@@ -398,16 +408,17 @@ public class HomeControllerTest {
             .toCompletableFuture()
             .join(); // Re-fetch existing query
 
-    // Retrieve session-specific query results
-    LinkedHashMap<String, List<Video>> sessionQueryResults = sessionQueryMap.get(sessionId);
+    // Retrieve session-specific query results, most recent query first
+    List<SearchResult> sessionQueryResults = sessionStore.getResults(sessionId);
 
     // Assert: Ensure query results are as expected
     verify(mockYouTubeService, times(2)).searchVideos(query, 10); // "cat" queried twice
     verify(mockYouTubeService, times(1)).searchVideos("dog", 10); // "dog" queried once
 
-    assertNotNull("Session-specific query results should not be null", sessionQueryResults);
-    assertTrue(
-            "The query should exist in the session's map", sessionQueryResults.containsKey(query));
+    // A re-fetched query keeps its place, so "dog" is still the most recent one
+    assertEquals("The session should contain two queries", 2, sessionQueryResults.size());
+    assertEquals("dog", sessionQueryResults.get(0).getQuery());
+    assertEquals("The query should exist in the session", query, sessionQueryResults.get(1).getQuery());
 
     // Expected behavior: videos are appended, so the size is doubled for the query
     List<Video> expectedVideos = new ArrayList<>(videos);
@@ -416,8 +427,7 @@ public class HomeControllerTest {
     assertEquals(
             "The videos for the query should match the appended list",
             expectedVideos,
-            sessionQueryResults.get(query));
-    assertEquals("The map should contain two queries", 2, sessionQueryResults.size());
+            sessionQueryResults.get(1).getVideos());
   }
 
   @Test
@@ -543,7 +553,7 @@ public class HomeControllerTest {
     List<Video> mockVideos = Collections.singletonList(video);
 
     // Mock YouTubeService to return the list of videos asynchronously
-    when(mockYouTubeService.searchVideos("special", 50))
+    when(mockYouTubeService.searchVideos(eq("special"), eq(50), eq(QuotaLimiter.Priority.INTERACTIVE), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(mockVideos));
 
     // Act: Call the wordStats method
@@ -599,7 +609,7 @@ public class HomeControllerTest {
     List<Video> mockVideos = Arrays.asList(video1, video2);
 
     // Mock YouTubeService to return the list of videos asynchronously
-    when(mockYouTubeService.searchVideos("java", 50))
+    when(mockYouTubeService.searchVideos(eq("java"), eq(50), eq(QuotaLimiter.Priority.INTERACTIVE), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(mockVideos));
 
     // Act: Call the wordStats method
@@ -667,7 +677,7 @@ public class HomeControllerTest {
   @Test
   public void testWordStats_NoVideos() {
     // Arrange: Mock the YouTube service to return an empty list
-    when(mockYouTubeService.searchVideos("test-query", 50))
+    when(mockYouTubeService.searchVideos(eq("test-query"), eq(50), eq(QuotaLimiter.Priority.INTERACTIVE), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
     // Act: Call the wordStats method with a valid query
@@ -701,9 +711,9 @@ public class HomeControllerTest {
     List<Video> mockVideoList = List.of(mockVideo);
 
     // Mock the service methods to return the mock data asynchronously
-    when(mockYouTubeService.getChannelInfoAsync("channelId123"))
+    when(mockYouTubeService.getChannelInfoAsync(eq("channelId123"), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(mockChannelInfo));
-    when(mockYouTubeService.getLast10VideosAsync("channelId123"))
+    when(mockYouTubeService.getLast10VideosAsync(eq("channelId123"), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(mockVideoList));
 
     // Act: Call the channelProfile method
@@ -724,9 +734,9 @@ public class HomeControllerTest {
   @Test
   public void testChannelProfileWithNonExistentChannel() {
     // Arrange: Simulate non-existent channel by returning null values
-    when(mockYouTubeService.getChannelInfoAsync("invalidChannelId"))
+    when(mockYouTubeService.getChannelInfoAsync(eq("invalidChannelId"), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(null));
-    when(mockYouTubeService.getLast10VideosAsync("invalidChannelId"))
+    when(mockYouTubeService.getLast10VideosAsync(eq("invalidChannelId"), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
     // Act: Call the channelProfile method
@@ -745,9 +755,9 @@ public class HomeControllerTest {
   @Test
   public void testChannelProfileWithErrorInFetchingData() {
     // Arrange: Simulate an exception in service methods
-    when(mockYouTubeService.getChannelInfoAsync(anyString()))
+    when(mockYouTubeService.getChannelInfoAsync(anyString(), any(Deadline.class)))
             .thenReturn(CompletableFuture.failedFuture(new RuntimeException("API failure")));
-    when(mockYouTubeService.getLast10VideosAsync(anyString()))
+    when(mockYouTubeService.getLast10VideosAsync(anyString(), any(Deadline.class)))
             .thenReturn(CompletableFuture.failedFuture(new RuntimeException("API failure")));
 
     // Act: Call the channelProfile method to trigger the exception
@@ -787,7 +797,7 @@ public class HomeControllerTest {
                             "2024-11-06T04:41:46Z"));
 
     // Mock the YouTubeService to return the mock list
-    when(mockYouTubeService.getLast10VideosAsync("channelId123"))
+    when(mockYouTubeService.getLast10VideosAsync(eq("channelId123"), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(mockVideos));
 
     // Act: Call the method
@@ -808,7 +818,7 @@ public class HomeControllerTest {
   @Test
   public void testFetchLatestVideosWithNoVideos() throws Exception {
     // Arrange: Mock an empty list
-    when(mockYouTubeService.getLast10VideosAsync("channelId123"))
+    when(mockYouTubeService.getLast10VideosAsync(eq("channelId123"), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
 
     // Act: Call the method
@@ -827,7 +837,7 @@ public class HomeControllerTest {
   @Test
   public void testFetchLatestVideosWithError() {
     // Arrange: Simulate an exception in the service
-    when(mockYouTubeService.getLast10VideosAsync(anyString()))
+    when(mockYouTubeService.getLast10VideosAsync(anyString(), any(Deadline.class)))
             .thenReturn(CompletableFuture.failedFuture(new RuntimeException("API failure")));
 
     // Act: Call the fetchLatestVideos method
@@ -854,7 +864,7 @@ public class HomeControllerTest {
     mockVideo.setTags(mockTags);
 
     // Mock the YouTubeService to return a completed future with the mock video
-    when(mockYouTubeService.getVideoDetails("videoId123"))
+    when(mockYouTubeService.getVideoDetails(eq("videoId123"), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(mockVideo));
 
     // Act: Call the showTags method
@@ -894,7 +904,7 @@ public class HomeControllerTest {
                             "2024-11-06T04:41:46Z"));
 
     // Mock the YouTubeService to return the list of videos
-    when(mockYouTubeService.searchVideosByTag(testTag))
+    when(mockYouTubeService.searchVideosByTag(eq(testTag), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(mockVideos));
 
     // Act: Call the searchByTag method
@@ -917,7 +927,7 @@ public class HomeControllerTest {
     List<Video> emptyVideos = Collections.emptyList();
 
     // Mock the YouTubeService to return an empty list
-    when(mockYouTubeService.searchVideosByTag(testTag))
+    when(mockYouTubeService.searchVideosByTag(eq(testTag), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(emptyVideos));
 
     // Act: Call the searchByTag method
@@ -1022,7 +1032,7 @@ public class HomeControllerTest {
   @Test
   public void testSupervisorActorUnexpectedMessage() {
     new TestKit(system) {{
-      ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), null));
+      ActorRef supervisorActor = system.actorOf(SupervisorActor.props(getRef(), new TestProbe(system).ref()));
 
       // Send an unexpected message
       supervisorActor.tell("UnexpectedMessage", getRef());
@@ -1077,7 +1087,7 @@ public class HomeControllerTest {
             ))
             .collect(Collectors.toList());
 
-    when(mockYouTubeService.searchVideosByTag(testTag))
+    when(mockYouTubeService.searchVideosByTag(eq(testTag), any(Deadline.class)))
             .thenReturn(CompletableFuture.completedFuture(mockVideos));
 
     // Act
@@ -1165,6 +1175,32 @@ public class HomeControllerTest {
     }};
   }
 
+  /** Tests that word stats counted too late answer with a gateway timeout, not a server error. */
+  @Test
+  public void testWordStatsTimeoutIsGatewayTimeout() {
+    new TestKit(system) {{
+      when(mockYouTubeService.searchVideos(eq("slow"), eq(50), eq(QuotaLimiter.Priority.INTERACTIVE), any(Deadline.class)))
+              .thenReturn(CompletableFuture.completedFuture(videos));
+      TestProbe probe = new TestProbe(system);
+      homeController.setSupervisorActor(probe.ref());
 
-}
+      CompletionStage<Result> resultStage = homeController.wordStats("slow");
 
+      // The WordStatsActor fails a request whose deadline passed
+      probe.expectMsgClass(Messages.WordStatsRequest.class);
+      probe.reply(new Status.Failure(new TimeoutException("Deadline passed before the words were counted")));
+
+      Result result = resultStage.toCompletableFuture().join();
+      assertEquals(GATEWAY_TIMEOUT, result.status());
+    }};
+  }
+
+  /** Tests that a WebSocket connection can ask for its own window of latest videos, within limits. */
+  @Test
+  public void testWebSocketWindowSize() {
+    assertEquals(0, homeController.windowSize(Helpers.fakeRequest("GET", "/ws").build()));
+    assertEquals(5, homeController.windowSize(Helpers.fakeRequest("GET", "/ws?window=5").build()));
+    assertEquals(50, homeController.windowSize(Helpers.fakeRequest("GET", "/ws?window=999").build()));
+    assertEquals(0, homeController.windowSize(Helpers.fakeRequest("GET", "/ws?window=many").build()));
+  }
+}
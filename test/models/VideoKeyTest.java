@@ -0,0 +1,57 @@
+package models;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * Tests for VideoKey.
+ */
+public class VideoKeyTest {
+
+  /** Keys of the same id are equal and hash alike. */
+  @Test
+  public void testSameIdIsEqual() {
+    VideoKey key = VideoKey.of("abc");
+
+    assertEquals(key, VideoKey.of("abc"));
+    assertEquals(key.hashCode(), VideoKey.of("abc").hashCode());
+    assertNotEquals(key, VideoKey.of("abd"));
+    assertNotEquals(key, "abc");
+    assertEquals("abc", key.getVideoId());
+  }
+
+  /** A video's key does not depend on its title, description or tags. */
+  @Test
+  public void testKeyIgnoresContent() {
+    Video video = new Video("Title", "Description", "channel", "abc", "thumb", "owner", "now");
+    Video edited = new Video("New title", "New description", "channel", "abc", "t", "owner", "now");
+    edited.setTags(List.of("tag"));
+
+    assertEquals(video.key(), edited.key());
+    assertSame(video.key(), video.key());
+  }
+
+  /** Keys without an id only equal themselves. */
+  @Test
+  public void testNullIdOnlyEqualsItself() {
+    VideoKey key = VideoKey.of(null);
+
+    assertEquals(key, key);
+    assertNotEquals(key, VideoKey.of(null));
+    assertEquals(0, key.hashCode());
+  }
+
+  /** A hash set of keys de-duplicates videos by id. */
+  @Test
+  public void testDeduplicatesById() {
+    Set<VideoKey> keys = new HashSet<>();
+
+    assertTrue(keys.add(new Video("a", "d", "c", "id1", "t", "o", "p").key()));
+    assertFalse(keys.add(new Video("b", "e", "c", "id1", "t", "o", "p").key()));
+    assertTrue(keys.add(new Video("a", "d", "c", "id2", "t", "o", "p").key()));
+  }
+}
@@ -191,8 +191,10 @@ public class VideoTest extends WithApplication {
             "2024-11-06T04:41:46Z");
     video2.setTags(Arrays.asList("DifferentTag1", "DifferentTag2"));
 
-    assertNotEquals(video1, video2);
-    assertNotEquals(video1.hashCode(), video2.hashCode());
+    // Same video id, so the same video; only the deep comparison sees the different tags
+    assertEquals(video1, video2);
+    assertFalse(video1.contentEquals(video2));
+    assertNotEquals(video1.contentHashCode(), video2.contentHashCode());
   }
 
   @Test
@@ -227,6 +229,8 @@ public class VideoTest extends WithApplication {
 
     assertEquals(video, identicalVideo);
     assertEquals(video.hashCode(), identicalVideo.hashCode());
+    assertTrue(video.contentEquals(identicalVideo));
+    assertEquals(video.contentHashCode(), identicalVideo.contentHashCode());
 
     Video differentVideo =
         new Video(
@@ -239,7 +243,9 @@ public class VideoTest extends WithApplication {
             "2024-11-06T04:41:46Z");
     differentVideo.setTags(Arrays.asList("Tag1", "Tag2"));
 
-    assertNotEquals(video, differentVideo);
+    assertEquals(video, differentVideo);
+    assertFalse(video.contentEquals(differentVideo));
+    assertFalse(video.contentEquals(null));
   }
 
   @Test
@@ -372,7 +378,7 @@ public class VideoTest extends WithApplication {
             "channelTitle",
             "2024-11-06T04:41:46Z");
     differentTitleVideo.setTags(Arrays.asList("Tag1", "Tag2"));
-    assertNotEquals(video1, differentTitleVideo);
+    assertFalse(video1.contentEquals(differentTitleVideo));
 
     // Case 6: Comparing with a Video object with different tags
     Video differentTagsVideo =
@@ -385,7 +391,7 @@ public class VideoTest extends WithApplication {
             "channelTitle",
             "2024-11-06T04:41:46Z");
     differentTagsVideo.setTags(Arrays.asList("DifferentTag1", "DifferentTag2"));
-    assertNotEquals(video1, differentTagsVideo);
+    assertFalse(video1.contentEquals(differentTagsVideo));
 
     // Case 7: Comparing with a Video object with a different published date
     Video differentDateVideo =
@@ -398,7 +404,7 @@ public class VideoTest extends WithApplication {
             "channelTitle",
             "2025-01-01T00:00:00Z");
     differentDateVideo.setTags(Arrays.asList("Tag1", "Tag2"));
-    assertNotEquals(video1, differentDateVideo);
+    assertFalse(video1.contentEquals(differentDateVideo));
   }
 
   @Test
@@ -479,7 +485,7 @@ public class VideoTest extends WithApplication {
             "channelTitle",
             "2024-11-06T04:41:46Z");
     video3.setTags(Arrays.asList("Tag1", "Tag2"));
-    assertFalse(video1.equals(video3));
+    assertFalse(video1.contentEquals(video3));
 
     // Case 6: Different tags (should not be equal)
     Video video4 =
@@ -492,7 +498,7 @@ public class VideoTest extends WithApplication {
             "channelTitle",
             "2024-11-06T04:41:46Z");
     video4.setTags(Arrays.asList("DifferentTag1", "DifferentTag2"));
-    assertFalse(video1.equals(video4));
+    assertFalse(video1.contentEquals(video4));
 
     // Case 7: Null tags in one video (should not be equal)
     Video video5 =
@@ -505,7 +511,7 @@ public class VideoTest extends WithApplication {
             "channelTitle",
             "2024-11-06T04:41:46Z");
     video5.setTags(null); // Null tags
-    assertFalse(video1.equals(video5));
+    assertFalse(video1.contentEquals(video5));
 
     // Case 8: Null publishedDate in one video (should not be equal)
     Video video6 =
@@ -519,7 +525,7 @@ public class VideoTest extends WithApplication {
             null // Null publishedDate
             );
     video6.setTags(Arrays.asList("Tag1", "Tag2"));
-    assertFalse(video1.equals(video6));
+    assertFalse(video1.contentEquals(video6));
 
     // Case 9: Completely different object
     Video video7 =
@@ -649,7 +655,7 @@ public class VideoTest extends WithApplication {
             "channelTitle",
             "2024-11-06T04:41:46Z");
     video3.setTags(Arrays.asList("Tag1", "Tag2"));
-    assertFalse(video1.equals(video3), "Videos with different titles should not be equal");
+    assertFalse(video1.contentEquals(video3), "Videos with different titles should not be equal");
 
     // Case 6: Comparison with different tags
     Video video4 =
@@ -662,7 +668,7 @@ public class VideoTest extends WithApplication {
             "channelTitle",
             "2024-11-06T04:41:46Z");
     video4.setTags(Arrays.asList("DifferentTag1", "DifferentTag2"));
-    assertFalse(video1.equals(video4), "Videos with different tags should not be equal");
+    assertFalse(video1.contentEquals(video4), "Videos with different tags should not be equal");
   }
 
   @Test
@@ -718,7 +724,7 @@ public class VideoTest extends WithApplication {
             "thumbnailUrl.jpg",
             "channelTitle",
             "2024-11-06T04:41:46Z");
-    assertNotEquals(baseVideo, videoWithDifferentDescription);
+    assertFalse(baseVideo.contentEquals(videoWithDifferentDescription));
 
     // Case 2: Different channelId
     Video videoWithDifferentChannelId =
@@ -730,7 +736,7 @@ public class VideoTest extends WithApplication {
             "thumbnailUrl.jpg",
             "channelTitle",
             "2024-11-06T04:41:46Z");
-    assertNotEquals(baseVideo, videoWithDifferentChannelId);
+    assertFalse(baseVideo.contentEquals(videoWithDifferentChannelId));
 
     // Case 3: Different videoId
     Video videoWithDifferentVideoId =
@@ -754,7 +760,7 @@ public class VideoTest extends WithApplication {
             "differentThumbnailUrl.jpg",
             "channelTitle",
             "2024-11-06T04:41:46Z");
-    assertNotEquals(baseVideo, videoWithDifferentThumbnailUrl);
+    assertFalse(baseVideo.contentEquals(videoWithDifferentThumbnailUrl));
 
     // Case 5: Different channelTitle
     Video videoWithDifferentChannelTitle =
@@ -766,7 +772,7 @@ public class VideoTest extends WithApplication {
             "thumbnailUrl.jpg",
             "differentChannelTitle",
             "2024-11-06T04:41:46Z");
-    assertNotEquals(baseVideo, videoWithDifferentChannelTitle);
+    assertFalse(baseVideo.contentEquals(videoWithDifferentChannelTitle));
   }
 
   @Test
@@ -803,4 +809,47 @@ public class VideoTest extends WithApplication {
     assertTrue(tags.contains("Tag2"));
     assertTrue(tags.contains("Tag3"));
   }
+
+  /** Tests that videos without an id are only equal when their content is. */
+  @Test
+  public void testVideosWithoutIdCompareContent() {
+    Video video = new Video("Title", "Description", "channel", null, "thumb", "owner", "now");
+    Video same = new Video("Title", "Description", "channel", null, "thumb", "owner", "now");
+    Video other = new Video("Other", "Description", "channel", null, "thumb", "owner", "now");
+
+    assertEquals(video, same);
+    assertEquals(video.hashCode(), same.hashCode());
+    assertNotEquals(video, other);
+  }
+
+  /**
+   * Tests that the text analytics are computed lazily on first access and then reused, and that
+   * the readability setters override the memoized values.
+   */
+  @Test
+  public void testTextScoresAreComputedLazily() throws Exception {
+    Video video =
+        new Video(
+            "Title",
+            "This is a great and happy video. It is sad too.",
+            "channelId",
+            "videoId",
+            "thumbnailUrl.jpg",
+            "channelTitle",
+            "2024-11-06T04:41:46Z");
+
+    Field scoresField = Video.class.getDeclaredField("textScores");
+    scoresField.setAccessible(true);
+    assertNull(scoresField.get(video));
+
+    assertEquals(2.0, video.getHappyWordCount());
+    Object scores = scoresField.get(video);
+    assertNotNull(scores);
+    assertEquals(1.0, video.getSadWordCount());
+    assertSame(scores, scoresField.get(video));
+
+    video.setFleschKincaidGradeLevel(7.5);
+    assertEquals(7.5, video.getFleschKincaidGradeLevel());
+    assertEquals(2.0, video.getHappyWordCount());
+  }
 }
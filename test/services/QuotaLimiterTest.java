@@ -0,0 +1,103 @@
+package services;
+
+import static org.junit.Assert.*;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+import services.QuotaLimiter.Priority;
+
+/** Unit tests for the QuotaLimiter class */
+public class QuotaLimiterTest {
+  private AtomicLong now;
+  private QuotaLimiter limiter;
+
+  @Before
+  public void setUp() {
+    now = new AtomicLong(0);
+    limiter = new QuotaLimiter(1000, 200, now::get);
+  }
+
+  /** Tests that every call spends its units from the daily quota. */
+  @Test
+  public void testSpendsUnits() {
+    assertTrue(limiter.tryAcquire(100, Priority.INTERACTIVE));
+    assertTrue(limiter.tryAcquire(1, Priority.BACKGROUND));
+
+    assertEquals(899, limiter.getRemainingUnits());
+    assertEquals(101, limiter.getUnitsSpent());
+  }
+
+  /** Tests that background calls stop at the reserve while interactive ones may spend it. */
+  @Test
+  public void testBackgroundCallsLeaveTheReserve() {
+    for (int i = 0; i < 8; i++) {
+      assertTrue(limiter.tryAcquire(100, Priority.BACKGROUND));
+    }
+    assertFalse(limiter.tryAcquire(100, Priority.BACKGROUND));
+    assertFalse(limiter.tryAcquire(1, Priority.BACKGROUND));
+    assertEquals(200, limiter.getRemainingUnits());
+
+    assertTrue(limiter.tryAcquire(100, Priority.INTERACTIVE));
+    assertTrue(limiter.tryAcquire(100, Priority.INTERACTIVE));
+    assertFalse(limiter.tryAcquire(1, Priority.INTERACTIVE));
+
+    assertEquals(0, limiter.getRemainingUnits());
+    assertEquals(2, limiter.getBackgroundShedCount());
+    assertEquals(1, limiter.getInteractiveRejectedCount());
+  }
+
+  /**
+   * Tests that the units spent only come back at midnight Pacific time, when the API resets its
+   * quota, and not gradually during the day.
+   */
+  @Test
+  public void testQuotaResetsAtPacificMidnight() {
+    // The epoch is 4 pm on December 31 in Los Angeles, so the first quota day ends 8 hours later
+    long midnight = TimeUnit.HOURS.toMillis(8);
+    for (int i = 0; i < 10; i++) {
+      assertTrue(limiter.tryAcquire(100, Priority.INTERACTIVE));
+    }
+
+    now.set(midnight - 1);
+    assertEquals(0, limiter.getRemainingUnits());
+    assertFalse(limiter.tryAcquire(1, Priority.INTERACTIVE));
+
+    now.set(midnight);
+    assertEquals(1000, limiter.getRemainingUnits());
+    for (int i = 0; i < 10; i++) {
+      assertTrue(limiter.tryAcquire(100, Priority.INTERACTIVE));
+    }
+
+    // Nothing comes back during the next day, however long ago the first units were spent
+    now.set(midnight + TimeUnit.HOURS.toMillis(23));
+    assertEquals(0, limiter.getRemainingUnits());
+
+    now.set(midnight + TimeUnit.DAYS.toMillis(1));
+    assertEquals(1000, limiter.getRemainingUnits());
+    assertEquals(2000, limiter.getUnitsSpent());
+  }
+
+  /** Tests that a quota day follows the Pacific clock across a daylight saving time change. */
+  @Test
+  public void testQuotaDayFollowsDaylightSavingTime() {
+    // Clocks in Los Angeles went forward on March 10, 2024, which made that day 23 hours long
+    long march10 = ZonedDateTime.of(2024, 3, 10, 0, 0, 0, 0, QuotaLimiter.QUOTA_ZONE)
+        .toInstant()
+        .toEpochMilli();
+
+    assertEquals(march10 + TimeUnit.HOURS.toMillis(23), QuotaLimiter.nextQuotaDay(march10));
+  }
+
+  /** Tests that a reserve larger than the quota is capped, leaving nothing to background calls. */
+  @Test
+  public void testReserveIsCappedAtTheQuota() {
+    QuotaLimiter capped = new QuotaLimiter(100, 500, now::get);
+
+    assertEquals(100, capped.getBackgroundReserve());
+    assertFalse(capped.tryAcquire(1, Priority.BACKGROUND));
+    assertTrue(capped.tryAcquire(100, Priority.INTERACTIVE));
+  }
+}
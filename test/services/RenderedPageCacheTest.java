@@ -0,0 +1,81 @@
+package services;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import play.twirl.api.Html;
+import play.twirl.api.HtmlFormat;
+
+/** Unit tests for the RenderedPageCache class */
+public class RenderedPageCacheTest {
+  private RenderedPageCache cache;
+  private AtomicInteger renders;
+
+  @Before
+  public void setUp() {
+    cache = new RenderedPageCache(60_000, 2, 1024);
+    renders = new AtomicInteger();
+  }
+
+  private Html page(String text) {
+    renders.incrementAndGet();
+    return HtmlFormat.raw(text);
+  }
+
+  /** Tests that a page is rendered once and then served from the cache while its data is equal. */
+  @Test
+  public void testServesCachedBytesForEqualVersion() {
+    byte[] first = cache.render("index", List.of("cats"), () -> page("<p>cats</p>"));
+    byte[] second = cache.render("index", new ArrayList<>(List.of("cats")), () -> page("<p>other</p>"));
+
+    assertEquals("<p>cats</p>", new String(second, StandardCharsets.UTF_8));
+    assertSame(first, second);
+    assertEquals(1, renders.get());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getRenderCount());
+  }
+
+  /** Tests that a page is rendered again once its data changed. */
+  @Test
+  public void testRerendersChangedVersion() {
+    cache.render("index", List.of("cats"), () -> page("<p>cats</p>"));
+    byte[] changed = cache.render("index", List.of("cats", "dogs"), () -> page("<p>dogs</p>"));
+
+    assertEquals("<p>dogs</p>", new String(changed, StandardCharsets.UTF_8));
+    assertEquals(2, renders.get());
+    assertEquals(0, cache.getHitCount());
+  }
+
+  /** Tests that pages of different keys are cached separately. */
+  @Test
+  public void testKeysAreIndependent() {
+    cache.render("a", "v", () -> page("a"));
+    byte[] b = cache.render("b", "v", () -> page("b"));
+
+    assertEquals("b", new String(b, StandardCharsets.UTF_8));
+    assertEquals(2, cache.size());
+  }
+
+  /** Tests that the render time of the pages served from the cache is reported as saved. */
+  @Test
+  public void testReportsRenderTimeSaved() {
+    cache.render(
+        "slow",
+        "v",
+        () -> {
+          long end = System.nanoTime() + 2_000_000;
+          while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+          }
+          return page("slow");
+        });
+    cache.render("slow", "v", () -> page("slow"));
+
+    assertTrue(cache.getRenderNanosSaved() >= 2_000_000);
+  }
+}
@@ -0,0 +1,112 @@
+package services;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+import utils.Deadline;
+
+/** Unit tests for the RequestBatcher class */
+public class RequestBatcherTest {
+
+  private final List<List<String>> calls = new ArrayList<>();
+
+  private synchronized CompletionStage<Map<String, String>> upperCase(List<String> keys) {
+    calls.add(keys);
+    Map<String, String> values = new HashMap<>();
+    keys.stream()
+        .filter(key -> !key.startsWith("missing"))
+        .forEach(key -> values.put(key, key.toUpperCase()));
+    return CompletableFuture.completedFuture(values);
+  }
+
+  /** Tests that keys requested within the window are loaded with one call. */
+  @Test
+  public void testKeysWithinWindowShareOneCall() {
+    RequestBatcher<String, String> batcher = new RequestBatcher<>(200, 50, this::upperCase);
+
+    CompletionStage<String> a = batcher.load("a");
+    CompletionStage<String> b = batcher.load("b");
+    CompletionStage<String> repeat = batcher.load("a");
+
+    assertEquals("A", a.toCompletableFuture().join());
+    assertEquals("B", b.toCompletableFuture().join());
+    assertEquals("A", repeat.toCompletableFuture().join());
+    assertEquals(List.of(List.of("a", "b")), calls);
+    assertEquals(1, batcher.getBatchCount());
+    assertEquals(3, batcher.getBatchedRequestCount());
+    assertEquals(2.0, batcher.getAverageBatchSize(), 0.0);
+    assertEquals(2, batcher.getRequestsSaved());
+  }
+
+  /** Tests that a full batch is sent right away, without waiting for the window. */
+  @Test
+  public void testFullBatchIsSentImmediately() {
+    RequestBatcher<String, String> batcher = new RequestBatcher<>(60_000, 3, this::upperCase);
+
+    List<CompletableFuture<String>> futures =
+        IntStream.range(0, 4)
+            .mapToObj(i -> batcher.load("k" + i).toCompletableFuture())
+            .collect(Collectors.toList());
+
+    assertEquals("K0", futures.get(0).getNow(null));
+    assertEquals("K2", futures.get(2).getNow(null));
+    assertFalse(futures.get(3).isDone());
+    assertEquals(List.of(List.of("k0", "k1", "k2")), calls);
+  }
+
+  /** Tests that keys missing from the result complete with null. */
+  @Test
+  public void testMissingKeyCompletesWithNull() {
+    RequestBatcher<String, String> batcher = new RequestBatcher<>(0, 50, this::upperCase);
+
+    assertNull(batcher.load("missing").toCompletableFuture().join());
+  }
+
+  /** Tests that a batch is loaded with the latest deadline of its callers. */
+  @Test
+  public void testBatchUsesLatestDeadline() {
+    List<Deadline> deadlines = new ArrayList<>();
+    RequestBatcher<String, String> batcher =
+        new RequestBatcher<>(
+            60_000,
+            3,
+            (keys, deadline) -> {
+              deadlines.add(deadline);
+              return upperCase(keys);
+            });
+    Deadline latest = Deadline.in(Duration.ofHours(1));
+
+    batcher.load("a", Deadline.in(Duration.ofSeconds(1)));
+    batcher.load("b", latest);
+    batcher.load("c", Deadline.in(Duration.ofMinutes(1)));
+    batcher.load("d", Deadline.in(Duration.ofSeconds(1)));
+    batcher.load("e");
+    batcher.load("f", Deadline.in(Duration.ofSeconds(1)));
+
+    assertEquals(List.of(latest, Deadline.none()), deadlines);
+  }
+
+  /** Tests that a failed call fails every caller of the batch. */
+  @Test
+  public void testFailureFailsWholeBatch() {
+    RequestBatcher<String, String> batcher =
+        new RequestBatcher<>(
+            50, 50, keys -> CompletableFuture.failedFuture(new IllegalStateException("quota")));
+
+    CompletableFuture<String> a = batcher.load("a").toCompletableFuture();
+    CompletableFuture<String> b = batcher.load("b").toCompletableFuture();
+
+    assertThrows(CompletionException.class, a::join);
+    assertThrows(CompletionException.class, b::join);
+  }
+}
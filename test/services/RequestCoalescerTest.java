@@ -0,0 +1,87 @@
+package services;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/** Unit tests for the RequestCoalescer class */
+public class RequestCoalescerTest {
+
+  /** Tests that concurrent callers for the same key share a single underlying call. */
+  @Test
+  public void testConcurrentCallersShareOneCall() {
+    RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+    CompletableFuture<String> upstream = new CompletableFuture<>();
+    AtomicInteger starts = new AtomicInteger();
+
+    CompletionStage<String> first =
+        coalescer.execute(
+            "key",
+            () -> {
+              starts.incrementAndGet();
+              return upstream;
+            });
+    CompletionStage<String> second =
+        coalescer.execute(
+            "key",
+            () -> {
+              starts.incrementAndGet();
+              return CompletableFuture.completedFuture("duplicate");
+            });
+
+    assertEquals(1, coalescer.getInFlightCount());
+    upstream.complete("shared");
+
+    assertEquals("shared", first.toCompletableFuture().join());
+    assertEquals("shared", second.toCompletableFuture().join());
+    assertEquals(1, starts.get());
+    assertEquals(1, coalescer.getCallCount());
+    assertEquals(1, coalescer.getJoinCount());
+    assertEquals(Long.valueOf(1), coalescer.getJoinCountsByKey().get("key"));
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  /** Tests that a key is released after completion so later callers start a fresh call. */
+  @Test
+  public void testCompletedCallIsNotReused() {
+    RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+
+    coalescer.execute("key", () -> CompletableFuture.completedFuture("first"));
+    String second =
+        coalescer
+            .execute("key", () -> CompletableFuture.completedFuture("second"))
+            .toCompletableFuture()
+            .join();
+
+    assertEquals("second", second);
+    assertEquals(2, coalescer.getCallCount());
+    assertEquals(0, coalescer.getJoinCount());
+  }
+
+  /** Tests that failures reach every joined caller and release the key. */
+  @Test
+  public void testFailurePropagatesToAllCallers() {
+    RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+    CompletableFuture<String> upstream = new CompletableFuture<>();
+
+    CompletionStage<String> first = coalescer.execute("key", () -> upstream);
+    CompletionStage<String> second = coalescer.execute("key", () -> upstream);
+    upstream.completeExceptionally(new RuntimeException("upstream down"));
+
+    assertTrue(first.toCompletableFuture().isCompletedExceptionally());
+    assertTrue(second.toCompletableFuture().isCompletedExceptionally());
+    assertEquals(0, coalescer.getInFlightCount());
+  }
+
+  /** Tests that the order of query parameters does not affect the normalized URL. */
+  @Test
+  public void testNormalizeUrl() {
+    assertEquals(
+        RequestCoalescer.normalizeUrl("https://host/search?q=cats&part=snippet&maxResults=10"),
+        RequestCoalescer.normalizeUrl("https://host/search?part=snippet&maxResults=10&q=cats"));
+    assertEquals("https://host/videos", RequestCoalescer.normalizeUrl("https://host/videos"));
+  }
+}
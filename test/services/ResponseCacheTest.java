@@ -0,0 +1,100 @@
+package services;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Unit tests for the ResponseCache class */
+public class ResponseCacheTest {
+  private AtomicLong now;
+  private ResponseCache<String> cache;
+
+  @Before
+  public void setUp() {
+    now = new AtomicLong(0);
+    cache = new ResponseCache<>(1000, 3, 100, String::length, now::get);
+  }
+
+  /** Tests that a stored value is returned and counted as a hit, and unknown keys as misses. */
+  @Test
+  public void testHitAndMiss() {
+    cache.put("a", "alpha");
+
+    assertEquals("alpha", cache.get("a").orElse(null));
+    assertFalse(cache.get("b").isPresent());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  /** Tests that entries older than the time-to-live are dropped. */
+  @Test
+  public void testEntryExpiresAfterTtl() {
+    cache.put("a", "alpha");
+    now.set(999);
+    assertTrue(cache.get("a").isPresent());
+
+    now.set(1000);
+    assertFalse(cache.get("a").isPresent());
+    assertEquals(0, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  /** Tests that the least recently used entry is evicted once the entry limit is exceeded. */
+  @Test
+  public void testEvictsLeastRecentlyUsedEntry() {
+    cache.put("a", "1");
+    cache.put("b", "2");
+    cache.put("c", "3");
+    cache.get("a"); // "b" becomes the least recently used entry
+    cache.put("d", "4");
+
+    assertEquals(3, cache.size());
+    assertTrue(cache.get("a").isPresent());
+    assertFalse(cache.get("b").isPresent());
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  /** Tests that the byte budget bounds the cache and oversized values are never stored. */
+  @Test
+  public void testByteBudget() {
+    cache.put("a", "x".repeat(60));
+    cache.put("b", "y".repeat(60));
+
+    assertFalse(cache.get("a").isPresent());
+    assertTrue(cache.get("b").isPresent());
+    assertEquals(60, cache.getEstimatedBytes());
+
+    cache.put("c", "z".repeat(101));
+    assertFalse(cache.get("c").isPresent());
+  }
+
+  /** Tests that getOrLoad only calls the loader on a miss and never caches failures. */
+  @Test
+  public void testGetOrLoad() {
+    AtomicInteger loads = new AtomicInteger();
+
+    CompletableFuture<String> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new RuntimeException("boom"));
+    assertTrue(
+        cache.getOrLoad("a", () -> failed).toCompletableFuture().isCompletedExceptionally());
+
+    for (int i = 0; i < 3; i++) {
+      String value =
+          cache
+              .getOrLoad(
+                  "a",
+                  () -> {
+                    loads.incrementAndGet();
+                    return CompletableFuture.completedFuture("alpha");
+                  })
+              .toCompletableFuture()
+              .join();
+      assertEquals("alpha", value);
+    }
+    assertEquals(1, loads.get());
+  }
+}
@@ -0,0 +1,173 @@
+package services;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import models.SearchResult;
+import models.Video;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Unit tests for the SessionStore class */
+public class SessionStoreTest {
+  private AtomicLong now;
+  private SessionStore store;
+
+  @Before
+  public void setUp() {
+    now = new AtomicLong(0);
+    store = new SessionStore(1000, 3, 2, 4, now::get);
+  }
+
+  private static List<Video> videos(String prefix, int count) {
+    List<Video> videos = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      videos.add(
+          new Video(prefix + i, "description", "channel", prefix + "id" + i, "thumb", "owner", "now"));
+    }
+    return videos;
+  }
+
+  private static List<String> queries(List<SearchResult> results) {
+    return results.stream().map(SearchResult::getQuery).collect(Collectors.toList());
+  }
+
+  /** Tests that the results of a session list its most recent query first. */
+  @Test
+  public void testResultsAreMostRecentFirst() {
+    store.addQuery("s", "cats");
+    store.addVideos("s", "cats", videos("c", 1));
+    store.addQuery("s", "dogs");
+    List<SearchResult> results = store.addVideos("s", "dogs", videos("d", 1));
+
+    assertEquals(List.of("dogs", "cats"), queries(results));
+    assertEquals(1, results.get(0).getVideos().size());
+  }
+
+  /** Tests that a new query replaces the oldest one once the session is full. */
+  @Test
+  public void testOldestQueryIsReplaced() {
+    store.addQuery("s", "a");
+    store.addQuery("s", "b");
+    store.addQuery("s", "a");
+    store.addQuery("s", "c");
+
+    assertEquals(List.of("c", "b"), queries(store.getResults("s")));
+  }
+
+  /** Tests that empty queries are not remembered. */
+  @Test
+  public void testEmptyQueriesAreIgnored() {
+    store.addQuery("s", null);
+    store.addQuery("s", "");
+
+    assertTrue(store.getResults("s").isEmpty());
+  }
+
+  /** Tests that only the most recent videos of a query are kept. */
+  @Test
+  public void testKeepsMostRecentVideosPerQuery() {
+    store.addQuery("s", "cats");
+    store.addVideos("s", "cats", videos("old", 3));
+    List<SearchResult> results = store.addVideos("s", "cats", videos("new", 3));
+
+    List<Video> kept = results.get(0).getVideos();
+    assertEquals(4, kept.size());
+    assertEquals("old2", kept.get(0).getTitle());
+    assertEquals("new2", kept.get(3).getTitle());
+  }
+
+  /** Tests that videos of a query replaced while it was searched do not bring it back. */
+  @Test
+  public void testVideosOfReplacedQueryAreDropped() {
+    store.addQuery("s", "a");
+    store.addQuery("s", "b");
+    store.addQuery("s", "c");
+    List<SearchResult> results = store.addVideos("s", "a", videos("a", 1));
+
+    assertEquals(List.of("c", "b"), queries(results));
+    assertTrue(results.stream().allMatch(result -> result.getVideos().isEmpty()));
+  }
+
+  /** Tests that returned results do not change when the session is updated afterwards. */
+  @Test
+  public void testResultsAreSnapshots() {
+    store.addQuery("s", "cats");
+    List<SearchResult> results = store.addVideos("s", "cats", videos("c", 1));
+    store.addVideos("s", "cats", videos("d", 1));
+
+    assertEquals(1, results.get(0).getVideos().size());
+  }
+
+  /** Tests that the result of a query is only rebuilt after its videos changed. */
+  @Test
+  public void testReusesUnchangedSearchResults() {
+    store.addQuery("s", "cats");
+    store.addVideos("s", "cats", videos("c", 1));
+    store.addQuery("s", "dogs");
+    List<SearchResult> before = store.addVideos("s", "dogs", videos("d", 1));
+    List<SearchResult> after = store.addVideos("s", "dogs", videos("e", 1));
+
+    assertNotSame(before.get(0), after.get(0));
+    assertSame(before.get(1), after.get(1));
+    assertSame(after.get(0), store.getResults("s").get(0));
+  }
+
+  /** Tests that sessions idle for longer than the timeout are dropped. */
+  @Test
+  public void testIdleSessionsExpire() {
+    store.addQuery("idle", "cats");
+    now.set(500);
+    store.addQuery("active", "dogs");
+    now.set(1000);
+
+    assertEquals(1, store.getLiveSessions());
+    assertEquals(1, store.getIdleEvictionCount());
+    assertTrue(store.getResults("idle").isEmpty());
+  }
+
+  /** Tests that the least recently used session is dropped beyond the maximum number of sessions. */
+  @Test
+  public void testEvictsLeastRecentlyUsedSession() {
+    store.addQuery("a", "q");
+    store.addQuery("b", "q");
+    store.addQuery("c", "q");
+    store.getResults("a");
+    store.addQuery("d", "q");
+
+    assertEquals(3, store.getLiveSessions());
+    assertEquals(1, store.getCapacityEvictionCount());
+    assertEquals(1, store.getEvictionCount());
+    assertEquals(List.of("q"), queries(store.getResults("a")));
+    assertTrue(store.getResults("b").isEmpty());
+  }
+
+  /** Tests that concurrent searches of one session neither lose videos nor fail. */
+  @Test
+  public void testConcurrentUpdatesOfOneSession() throws Exception {
+    SessionStore unbounded = new SessionStore(60_000, 10, 10, 10_000);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    CountDownLatch done = new CountDownLatch(4);
+    for (int t = 0; t < 4; t++) {
+      executor.execute(
+          () -> {
+            for (int i = 0; i < 250; i++) {
+              unbounded.addQuery("s", "cats");
+              unbounded.addVideos("s", "cats", videos("v", 1));
+            }
+            done.countDown();
+          });
+    }
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    executor.shutdown();
+
+    assertEquals(1000, unbounded.getResults("s").get(0).getVideos().size());
+  }
+}
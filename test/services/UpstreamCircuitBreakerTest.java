@@ -0,0 +1,159 @@
+package services;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.pattern.CircuitBreakerOpenException;
+import org.apache.pekko.testkit.javadsl.TestKit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import play.libs.ws.WSResponse;
+
+/** Unit tests for the UpstreamCircuitBreaker class */
+public class UpstreamCircuitBreakerTest {
+  private ActorSystem system;
+  private final AtomicInteger attempts = new AtomicInteger();
+
+  @Before
+  public void setUp() {
+    system = ActorSystem.create("UpstreamCircuitBreakerTest");
+  }
+
+  @After
+  public void tearDown() {
+    TestKit.shutdownActorSystem(system);
+  }
+
+  private UpstreamCircuitBreaker breaker(int maxFailures, int maxRetries) {
+    Config config =
+        ConfigFactory.parseMap(
+            Map.of(
+                "youtube.circuit-breaker.max-failures", maxFailures,
+                "youtube.circuit-breaker.reset-timeout", "200 milliseconds",
+                "youtube.retry.max-retries", maxRetries,
+                "youtube.retry.min-backoff", "5 milliseconds",
+                "youtube.retry.max-backoff", "20 milliseconds"));
+    return new UpstreamCircuitBreaker(system, config);
+  }
+
+  private static WSResponse response(int status) {
+    WSResponse response = mock(WSResponse.class);
+    when(response.getStatus()).thenReturn(status);
+    return response;
+  }
+
+  private CompletionStage<WSResponse> failing() {
+    attempts.incrementAndGet();
+    return CompletableFuture.failedFuture(new IllegalStateException("connection reset"));
+  }
+
+  /** Tests that a failed request is retried until it succeeds. */
+  @Test
+  public void testRetriesUntilSuccess() {
+    UpstreamCircuitBreaker breaker = breaker(5, 2);
+    WSResponse ok = response(200);
+
+    WSResponse result =
+        breaker
+            .call(
+                () ->
+                    attempts.get() < 2 ? failing() : CompletableFuture.completedFuture(ok))
+            .toCompletableFuture()
+            .join();
+
+    assertSame(ok, result);
+    assertEquals(2, attempts.get());
+    assertEquals(2, breaker.getRetryCount());
+    assertEquals("closed", breaker.getState());
+  }
+
+  /** Tests that 5xx responses are retried and the last one is returned once the retries run out. */
+  @Test
+  public void testServerErrorsAreRetried() {
+    UpstreamCircuitBreaker breaker = breaker(5, 2);
+    WSResponse unavailable = response(503);
+
+    WSResponse result =
+        breaker
+            .call(
+                () -> {
+                  attempts.incrementAndGet();
+                  return CompletableFuture.completedFuture(unavailable);
+                })
+            .toCompletableFuture()
+            .join();
+
+    assertEquals(503, result.getStatus());
+    assertEquals(3, attempts.get());
+    assertEquals(2, breaker.getRetryCount());
+  }
+
+  /** Tests that client errors such as an invalid key are not retried. */
+  @Test
+  public void testClientErrorsAreNotRetried() {
+    UpstreamCircuitBreaker breaker = breaker(5, 2);
+
+    breaker
+        .call(
+            () -> {
+              attempts.incrementAndGet();
+              return CompletableFuture.completedFuture(response(403));
+            })
+        .toCompletableFuture()
+        .join();
+
+    assertEquals(1, attempts.get());
+    assertEquals(0, breaker.getRetryCount());
+  }
+
+  /** Tests that the breaker opens after enough failures and then fails requests without sending them. */
+  @Test
+  public void testOpensAndFailsFast() {
+    UpstreamCircuitBreaker breaker = breaker(3, 0);
+    for (int i = 0; i < 3; i++) {
+      CompletableFuture<WSResponse> call = breaker.call(this::failing).toCompletableFuture();
+      assertThrows(CompletionException.class, call::join);
+    }
+    assertTrue(breaker.isOpen());
+    assertEquals(1, breaker.getOpenedCount());
+
+    CompletableFuture<WSResponse> rejected = breaker.call(this::failing).toCompletableFuture();
+    CompletionException error = assertThrows(CompletionException.class, rejected::join);
+
+    assertTrue(error.getCause() instanceof CircuitBreakerOpenException);
+    assertEquals(3, attempts.get());
+    assertEquals(1, breaker.getRejectedCount());
+    assertEquals(0, breaker.getRetryCount());
+  }
+
+  /** Tests that the breaker lets a trial request through after the reset timeout and closes on success. */
+  @Test
+  public void testClosesAfterSuccessfulTrial() throws InterruptedException {
+    UpstreamCircuitBreaker breaker = breaker(1, 0);
+    assertThrows(
+        CompletionException.class, () -> breaker.call(this::failing).toCompletableFuture().join());
+    assertEquals("open", breaker.getState());
+
+    for (int i = 0; i < 100 && !"half-open".equals(breaker.getState()); i++) {
+      Thread.sleep(20);
+    }
+    assertEquals("half-open", breaker.getState());
+
+    WSResponse ok = response(200);
+    assertSame(ok, breaker.call(() -> CompletableFuture.completedFuture(ok)).toCompletableFuture().join());
+
+    assertEquals("closed", breaker.getState());
+    assertEquals(1, breaker.getOpenedCount());
+    assertEquals(1, breaker.getHalfOpenedCount());
+    assertEquals(1, breaker.getClosedCount());
+  }
+}
@@ -0,0 +1,146 @@
+package services;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import models.ChannelInfo;
+import models.Video;
+import org.apache.pekko.util.ByteString;
+import org.junit.Test;
+import play.libs.Json;
+import play.libs.ws.WSResponse;
+
+/**
+ * Tests for YouTubeResponseParser.
+ */
+public class YouTubeResponseParserTest {
+
+  private static final String SEARCH_RESPONSE =
+      "{\"kind\":\"youtube#searchListResponse\",\"etag\":\"e\","
+          + "\"pageInfo\":{\"totalResults\":2,\"resultsPerPage\":2},"
+          + "\"items\":["
+          + "{\"kind\":\"youtube#searchResult\",\"id\":{\"kind\":\"youtube#video\",\"videoId\":\"v1\"},"
+          + "\"snippet\":{\"publishedAt\":\"2024-11-06T04:41:46Z\",\"channelId\":\"c1\","
+          + "\"title\":\"First\",\"description\":\"Line \\\"one\\\" \\u00e9\","
+          + "\"thumbnails\":{\"medium\":{\"url\":\"m1\",\"width\":320},"
+          + "\"default\":{\"url\":\"d1\",\"width\":120,\"height\":90},\"high\":{\"url\":\"h1\"}},"
+          + "\"channelTitle\":\"Owner\",\"liveBroadcastContent\":\"none\","
+          + "\"localized\":{\"title\":\"x\",\"description\":\"y\"}}},"
+          + "{\"snippet\":{\"title\":\"Second\",\"description\":\"\",\"channelId\":\"c2\","
+          + "\"channelTitle\":\"Other\",\"publishedAt\":\"2024-11-07T00:00:00Z\","
+          + "\"thumbnails\":{\"default\":{\"url\":\"d2\"}}},\"id\":{\"videoId\":\"v2\"}}],"
+          + "\"nextPageToken\":\"t\"}";
+
+  private static byte[] bytes(String json) {
+    return json.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** Search items yield their fields, and every other subtree is skipped. */
+  @Test
+  public void testParsesSearchResponse() {
+    List<Video> videos = YouTubeResponseParser.parseVideos(bytes(SEARCH_RESPONSE));
+
+    assertEquals(2, videos.size());
+    Video first = videos.get(0);
+    assertEquals("v1", first.getVideoId());
+    assertEquals("First", first.getTitle());
+    assertEquals("Line \"one\" \u00e9", first.getDescription());
+    assertEquals("c1", first.getChannelId());
+    assertEquals("Owner", first.getChannelTitle());
+    assertEquals("d1", first.getThumbnailUrl());
+    assertEquals("2024-11-06T04:41:46Z", first.getPublishedDate());
+    assertTrue(first.getTags().isEmpty());
+    assertEquals("v2", videos.get(1).getVideoId());
+    assertEquals("d2", videos.get(1).getThumbnailUrl());
+  }
+
+  /** The streaming result matches the tree model field for field. */
+  @Test
+  public void testBytesAndTreeAgree() {
+    WSResponse response = mock(WSResponse.class);
+    when(response.asJson()).thenReturn(Json.parse(SEARCH_RESPONSE));
+
+    List<Video> fromTree = YouTubeResponseParser.parseVideos(response, null);
+    List<Video> fromBytes = YouTubeResponseParser.parseVideos(bytes(SEARCH_RESPONSE));
+
+    assertEquals(fromBytes.size(), fromTree.size());
+    for (int i = 0; i < fromBytes.size(); i++) {
+      assertTrue(fromBytes.get(i).contentEquals(fromTree.get(i)));
+    }
+  }
+
+  /** A response with body bytes is read from them, without building the JSON tree. */
+  @Test
+  public void testReadsBodyBytes() {
+    WSResponse response = mock(WSResponse.class);
+    when(response.getBodyAsBytes()).thenReturn(ByteString.fromString(SEARCH_RESPONSE));
+
+    List<Video> videos = YouTubeResponseParser.parseVideos(response, "known");
+
+    assertEquals(2, videos.size());
+    assertEquals("known", videos.get(1).getChannelId());
+    verify(response, never()).asJson();
+  }
+
+  /** A body that still arrives gzip-compressed is inflated while it is parsed. */
+  @Test
+  public void testInflatesGzipBody() throws IOException {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+      gzip.write(bytes(SEARCH_RESPONSE));
+    }
+    WSResponse response = mock(WSResponse.class);
+    when(response.getBodyAsBytes()).thenReturn(ByteString.fromArray(compressed.toByteArray()));
+
+    List<Video> videos = YouTubeResponseParser.parseVideos(response, null);
+
+    assertEquals(2, videos.size());
+    assertEquals("Line \"one\" \u00e9", videos.get(0).getDescription());
+  }
+
+  /** videos.list items carry the id as a string and may have tags. */
+  @Test
+  public void testParsesVideosListResponse() {
+    String json =
+        "{\"items\":[{\"id\":\"abc\",\"snippet\":{\"title\":\"T\",\"tags\":[\"a\",\"b\"],"
+            + "\"thumbnails\":{\"default\":{\"url\":\"u\"}}},\"contentDetails\":{\"duration\":\"PT1M\"}}]}";
+
+    Video video = YouTubeResponseParser.parseVideos(bytes(json)).get(0);
+
+    assertEquals("abc", video.getVideoId());
+    assertEquals(List.of("a", "b"), video.getTags());
+    assertEquals("u", video.getThumbnailUrl());
+  }
+
+  /** Error payloads have no items. */
+  @Test
+  public void testErrorPayloadHasNoItems() {
+    assertNull(YouTubeResponseParser.parseVideos(bytes("{\"error\":{\"code\":403,\"errors\":[]}}")));
+    assertTrue(YouTubeResponseParser.parseVideos(bytes("{\"items\":[]}")).isEmpty());
+  }
+
+  /** Channel profiles read the counts the API sends as strings. */
+  @Test
+  public void testParsesChannel() {
+    String json =
+        "{\"items\":[{\"id\":\"c1\",\"snippet\":{\"title\":\"Chan\",\"description\":\"About\","
+            + "\"thumbnails\":{\"default\":{\"url\":\"u\"}}},"
+            + "\"statistics\":{\"viewCount\":\"5000\",\"subscriberCount\":\"1000\","
+            + "\"hiddenSubscriberCount\":false,\"videoCount\":\"10\"}}]}";
+
+    ChannelInfo channel = YouTubeResponseParser.parseChannel(bytes(json), "c1");
+
+    assertEquals("Chan", channel.getName());
+    assertEquals("About", channel.getDescription());
+    assertEquals(1000, channel.getSubscriberCount());
+    assertEquals(5000, channel.getViewCount());
+    assertEquals(10, channel.getVideoCount());
+    assertEquals("c1", channel.getChannelId());
+    assertNull(YouTubeResponseParser.parseChannel(bytes("{\"items\":[]}"), "c1"));
+  }
+}
@@ -5,13 +5,31 @@ import static org.mockito.Mockito.*;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
 import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
 import models.ChannelInfo;
 import models.Video;
+import org.apache.pekko.actor.ActorSystem;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockitoAnnotations;
 import play.Application;
 import play.inject.guice.GuiceApplicationBuilder;
@@ -19,7 +37,9 @@ import play.libs.Json;
 import play.libs.ws.WSClient;
 import play.libs.ws.WSRequest;
 import play.libs.ws.WSResponse;
+import play.test.WSTestClient;
 import play.test.WithApplication;
+import utils.Deadline;
 
 public class YouTubeServiceTest extends WithApplication {
 
@@ -38,6 +58,7 @@ public class YouTubeServiceTest extends WithApplication {
     mockRequest = mock(WSRequest.class);
     mockWsClient = mock(WSClient.class);
     mockResponse = mock(WSResponse.class);
+    when(mockResponse.getStatus()).thenReturn(200);
 
     ys = new YouTubeService(mockWsClient, mockConfig());
 
@@ -78,6 +99,7 @@ public class YouTubeServiceTest extends WithApplication {
     WSClient mockWsClient = mock(WSClient.class);
     WSRequest mockRequest = mock(WSRequest.class);
     WSResponse mockResponse = mock(WSResponse.class);
+    when(mockResponse.getStatus()).thenReturn(200);
 
     // Mocking JSON response
     String responseBody =
@@ -200,6 +222,7 @@ public class YouTubeServiceTest extends WithApplication {
     WSClient mockWsClient = mock(WSClient.class);
     WSRequest mockRequest = mock(WSRequest.class);
     WSResponse mockResponse = mock(WSResponse.class);
+    when(mockResponse.getStatus()).thenReturn(200);
 
     // Creating a mock JSON response
     JsonNode mockJson = mock(JsonNode.class);
@@ -417,4 +440,687 @@ public class YouTubeServiceTest extends WithApplication {
     assertNotNull(videos);
     assertTrue(videos.isEmpty());
   }
+
+  /**
+   * Tests that repeated identical searches are served from the shared cache instead of calling
+   * the YouTube API again, while a different limit is fetched separately.
+   */
+  @Test
+  public void testSearchVideosUsesCache() {
+    String responseBody =
+        "{\"items\": [{\"snippet\": {\"title\": \"Test Video\", \"description\": \"Test Description\", \"channelId\": \"testChannel\", \"channelTitle\": \"Test Channel\", \"thumbnails\": {\"default\": {\"url\": \"thumbnailUrl\"}}, \"publishedAt\": \"2024-11-06T04:41:46Z\"}, \"id\": {\"videoId\": \"videoId123\"}}]}";
+    when(mockResponse.asJson()).thenReturn(Json.parse(responseBody));
+
+    List<Video> first = ys.searchVideos("cached", 10).toCompletableFuture().join();
+    List<Video> second = ys.searchVideos("cached", 10).toCompletableFuture().join();
+    ys.searchVideos("cached", 5).toCompletableFuture().join();
+
+    assertEquals(1, first.size());
+    assertSame(first, second);
+    verify(mockWsClient, times(2)).url(anyString());
+    assertEquals(1, ys.getVideoListCache().getHitCount());
+    assertEquals(2, ys.getVideoListCache().getMissCount());
+  }
+
+  /**
+   * Tests that background searches, which poll for new videos, always reach the API instead of
+   * being answered from the cache, while refreshing it for interactive searches.
+   */
+  @Test
+  public void testBackgroundSearchesBypassTheCache() {
+    String responseBody =
+        "{\"items\": [{\"snippet\": {\"title\": \"Test Video\"}, \"id\": {\"videoId\": \"v1\"}}]}";
+    when(mockResponse.asJson()).thenReturn(Json.parse(responseBody));
+
+    ys.searchVideos("polled", QuotaLimiter.Priority.BACKGROUND).toCompletableFuture().join();
+    ys.searchVideos("polled", QuotaLimiter.Priority.BACKGROUND).toCompletableFuture().join();
+    List<Video> interactive = ys.searchVideos("polled").toCompletableFuture().join();
+
+    assertEquals(1, interactive.size());
+    verify(mockWsClient, times(2)).url(anyString());
+    assertEquals(1, ys.getVideoListCache().getHitCount());
+  }
+
+  /**
+   * Tests that searches spend 100 quota units and that background searches are shed before they
+   * reach the API once they would dig into the reserve, while interactive ones still go through.
+   */
+  @Test
+  public void testBackgroundSearchesAreShedWhenQuotaRunsLow() {
+    String responseBody =
+        "{\"items\": [{\"snippet\": {\"title\": \"Test Video\"}, \"id\": {\"videoId\": \"v1\"}}]}";
+    when(mockResponse.asJson()).thenReturn(Json.parse(responseBody));
+    Config config =
+        ConfigFactory.parseMap(
+            Map.of("youtube.quota.daily-units", 250, "youtube.quota.background-reserve", 100));
+    YouTubeService service = new YouTubeService(mockWsClient, config);
+
+    List<Video> polled =
+        service.searchVideos("first", QuotaLimiter.Priority.BACKGROUND).toCompletableFuture().join();
+    List<Video> shed =
+        service.searchVideos("second", QuotaLimiter.Priority.BACKGROUND).toCompletableFuture().join();
+    List<Video> interactive = service.searchVideos("third", 10).toCompletableFuture().join();
+
+    assertEquals(1, polled.size());
+    assertTrue(shed.isEmpty());
+    assertEquals(1, interactive.size());
+    verify(mockWsClient, times(2)).url(anyString());
+    QuotaLimiter quota = service.getQuotaLimiter();
+    assertEquals(50, quota.getRemainingUnits());
+    assertEquals(200, quota.getUnitsSpent());
+    assertEquals(1, quota.getBackgroundShedCount());
+    assertEquals(0, quota.getInteractiveRejectedCount());
+
+    // Cached results cost nothing
+    service.searchVideos("third", 10).toCompletableFuture().join();
+    assertEquals(50, quota.getRemainingUnits());
+  }
+
+  /**
+   * Tests that a search failing after its cache entry expired is answered with the last results.
+   */
+  @Test
+  public void testFailedSearchFallsBackToStaleResults() throws InterruptedException {
+    String responseBody =
+        "{\"items\": [{\"snippet\": {\"title\": \"Test Video\"}, \"id\": {\"videoId\": \"v1\"}}]}";
+    when(mockResponse.asJson()).thenReturn(Json.parse(responseBody));
+    YouTubeService service =
+        new YouTubeService(
+            mockWsClient, ConfigFactory.parseMap(Map.of("youtube.cache.ttl", "1 millisecond")));
+    List<Video> fresh = service.searchVideos("cats", 10).toCompletableFuture().join();
+
+    Thread.sleep(5);
+    when(mockRequest.get()).thenReturn(CompletableFuture.failedFuture(new IOException("reset")));
+    List<Video> fallback = service.searchVideos("cats", 10).toCompletableFuture().join();
+    List<Video> unknown = service.searchVideos("dogs", 10).toCompletableFuture().join();
+
+    assertSame(fresh, fallback);
+    assertTrue(unknown.isEmpty());
+    assertEquals(1, service.getStaleFallbackCount());
+  }
+
+  /**
+   * Tests that a server error still returned once the retries are used up fails the lookup instead
+   * of being parsed, so the last good results answer it and stay in the stale cache.
+   */
+  @Test
+  public void testServerErrorAfterRetriesFallsBackToStaleResults() throws InterruptedException {
+    String responseBody =
+        "{\"items\": [{\"snippet\": {\"title\": \"Test Video\"}, \"id\": {\"videoId\": \"v1\"}}]}";
+    when(mockResponse.asJson()).thenReturn(Json.parse(responseBody));
+    Config config =
+        ConfigFactory.parseMap(
+            Map.of(
+                "youtube.cache.ttl", "1 millisecond",
+                "youtube.retry.max-retries", 1,
+                "youtube.retry.min-backoff", "1 millisecond"));
+    YouTubeService service =
+        new YouTubeService(mockWsClient, config, app.injector().instanceOf(ActorSystem.class));
+    List<Video> fresh = service.searchVideosByTag("cats").toCompletableFuture().join();
+
+    WSResponse serverError = mock(WSResponse.class);
+    when(serverError.getStatus()).thenReturn(503);
+    when(mockRequest.get()).thenReturn(CompletableFuture.completedFuture(serverError));
+    Thread.sleep(5);
+    List<Video> fallback = service.searchVideosByTag("cats").toCompletableFuture().join();
+    Thread.sleep(5);
+    List<Video> again = service.searchVideosByTag("cats").toCompletableFuture().join();
+
+    assertEquals(1, fresh.size());
+    assertSame(fresh, fallback);
+    assertSame(fresh, again);
+    assertEquals(2, service.getStaleFallbackCount());
+    assertNull(service.getVideoDetails("v1").toCompletableFuture().join());
+    verify(serverError, never()).asJson();
+  }
+
+  /**
+   * Tests that once the circuit breaker opened, lookups fail without reaching the API, including
+   * those that had no error handling before.
+   */
+  @Test
+  public void testOpenCircuitBreakerFailsFast() throws InterruptedException {
+    when(mockRequest.get()).thenReturn(CompletableFuture.failedFuture(new IOException("reset")));
+    Config config =
+        ConfigFactory.parseMap(
+            Map.of(
+                "youtube.circuit-breaker.max-failures", 2,
+                "youtube.retry.max-retries", 1,
+                "youtube.retry.min-backoff", "1 millisecond"));
+    YouTubeService service =
+        new YouTubeService(mockWsClient, config, app.injector().instanceOf(ActorSystem.class));
+
+    assertTrue(service.searchVideos("first", 10).toCompletableFuture().join().isEmpty());
+    // The breaker counts the last failure once the caller may already have seen it
+    UpstreamCircuitBreaker breaker = service.getCircuitBreaker();
+    for (int i = 0; i < 100 && !"open".equals(breaker.getState()); i++) {
+      Thread.sleep(20);
+    }
+    assertTrue(service.searchVideosByTag("second").toCompletableFuture().join().isEmpty());
+    assertNull(service.getVideoDetails("v1").toCompletableFuture().join());
+
+    verify(mockWsClient, times(2)).url(anyString());
+    assertEquals("open", breaker.getState());
+    assertEquals(1, breaker.getOpenedCount());
+    assertEquals(1, breaker.getRetryCount());
+    assertEquals(2, breaker.getRejectedCount());
+  }
+
+  /**
+   * Tests that every attempt of a retried request is charged to the quota, since each one is a
+   * request the API counts.
+   */
+  @Test
+  public void testRetriesSpendQuota() {
+    WSResponse serverError = mock(WSResponse.class);
+    when(serverError.getStatus()).thenReturn(503);
+    when(mockResponse.asJson())
+        .thenReturn(
+            Json.parse(
+                "{\"items\": [{\"snippet\": {\"title\": \"Test Video\"}, \"id\": {\"videoId\": \"v1\"}}]}"));
+    when(mockRequest.get())
+        .thenReturn(CompletableFuture.completedFuture(serverError))
+        .thenReturn(CompletableFuture.completedFuture(mockResponse));
+    Config config = ConfigFactory.parseMap(Map.of("youtube.retry.min-backoff", "1 millisecond"));
+    YouTubeService service =
+        new YouTubeService(mockWsClient, config, app.injector().instanceOf(ActorSystem.class));
+
+    List<Video> videos = service.searchVideos("flaky", 10).toCompletableFuture().join();
+
+    assertEquals(1, videos.size());
+    verify(mockRequest, times(2)).get();
+    assertEquals(1, service.getCircuitBreaker().getRetryCount());
+    assertEquals(200, service.getQuotaLimiter().getUnitsSpent());
+  }
+
+  /**
+   * Tests that a retry the quota does not allow fails the request without being sent, retried or
+   * counted as a failure of the API.
+   */
+  @Test
+  public void testRetryRefusedByQuotaIsNotSent() {
+    WSResponse serverError = mock(WSResponse.class);
+    when(serverError.getStatus()).thenReturn(503);
+    when(mockRequest.get()).thenReturn(CompletableFuture.completedFuture(serverError));
+    Config config =
+        ConfigFactory.parseMap(
+            Map.of(
+                "youtube.quota.daily-units", 150,
+                "youtube.quota.background-reserve", 0,
+                "youtube.retry.min-backoff", "1 millisecond"));
+    YouTubeService service =
+        new YouTubeService(mockWsClient, config, app.injector().instanceOf(ActorSystem.class));
+
+    assertTrue(service.searchVideos("flaky", 10).toCompletableFuture().join().isEmpty());
+
+    verify(mockRequest, times(1)).get();
+    assertEquals(100, service.getQuotaLimiter().getUnitsSpent());
+    assertEquals(1, service.getQuotaLimiter().getInteractiveRejectedCount());
+    assertEquals(1, service.getCircuitBreaker().getRetryCount());
+    assertEquals("closed", service.getCircuitBreaker().getState());
+  }
+
+  /**
+   * Tests that responses are parsed on the HTTP dispatcher of the actor system rather than on the
+   * thread that completed the request.
+   */
+  @Test
+  public void testResponsesAreParsedOnHttpDispatcher() {
+    AtomicReference<String> parsingThread = new AtomicReference<>();
+    when(mockResponse.asJson())
+        .thenAnswer(
+            invocation -> {
+              parsingThread.set(Thread.currentThread().getName());
+              return Json.parse("{\"items\": []}");
+            });
+    YouTubeService service =
+        new YouTubeService(
+            mockWsClient, mockConfig(), app.injector().instanceOf(ActorSystem.class));
+
+    service.searchVideos("dispatched", 10).toCompletableFuture().join();
+
+    assertTrue(
+        parsingThread.get().contains("youtube.http-dispatcher"),
+        "parsed on " + parsingThread.get());
+  }
+
+  /** Tests that every request carries the timeout of its endpoint and is counted as completed. */
+  @Test
+  public void testRequestsCarryEndpointTimeout() {
+    when(mockResponse.asJson()).thenReturn(Json.parse("{\"items\": []}"));
+    YouTubeService service =
+        new YouTubeService(
+            mockWsClient,
+            ConfigFactory.parseMap(Map.of("youtube.request-timeout.search", "2 seconds")));
+
+    service.searchVideos("timed", 10).toCompletableFuture().join();
+
+    verify(mockRequest).setRequestTimeout(Duration.ofSeconds(2));
+    assertEquals(1, service.getCompletedRequestCount());
+    assertEquals(0, service.getCancelledRequestCount());
+  }
+
+  /** Tests that a caller's deadline shortens the timeout of its request. */
+  @Test
+  public void testDeadlineShortensRequestTimeout() {
+    when(mockResponse.asJson()).thenReturn(Json.parse("{\"items\": []}"));
+
+    ys.searchVideos("soon", 10, QuotaLimiter.Priority.INTERACTIVE, Deadline.in(Duration.ofSeconds(1)))
+        .toCompletableFuture()
+        .join();
+
+    ArgumentCaptor<Duration> timeout = ArgumentCaptor.forClass(Duration.class);
+    verify(mockRequest).setRequestTimeout(timeout.capture());
+    assertTrue(timeout.getValue().compareTo(Duration.ofSeconds(1)) <= 0);
+    assertTrue(timeout.getValue().compareTo(Duration.ZERO) > 0);
+  }
+
+  /** Tests that the deadline of a batched lookup reaches the request of its batch. */
+  @Test
+  public void testBatchedLookupCarriesDeadline() {
+    when(mockResponse.asJson()).thenReturn(Json.parse("{\"items\": []}"));
+
+    ys.getVideoDetails("v1", Deadline.in(Duration.ofSeconds(1))).toCompletableFuture().join();
+
+    ArgumentCaptor<Duration> timeout = ArgumentCaptor.forClass(Duration.class);
+    verify(mockRequest).setRequestTimeout(timeout.capture());
+    assertTrue(timeout.getValue().compareTo(Duration.ofSeconds(1)) <= 0);
+  }
+
+  /**
+   * Tests that a caller without a deadline does not join an identical request sent for a caller
+   * with one, which would give up on it when that caller's deadline passed.
+   */
+  @Test
+  public void testCallerWithoutDeadlineDoesNotJoinBoundedRequest() {
+    when(mockResponse.asJson()).thenReturn(Json.parse("{\"items\": []}"));
+    CompletableFuture<WSResponse> pending = new CompletableFuture<>();
+    when(mockRequest.get()).thenReturn(pending);
+
+    CompletableFuture<List<Video>> bounded =
+        ys.searchVideos(
+                "shared", 10, QuotaLimiter.Priority.INTERACTIVE, Deadline.in(Duration.ofHours(1)))
+            .toCompletableFuture();
+    CompletableFuture<List<Video>> unbounded = ys.searchVideos("shared", 10).toCompletableFuture();
+    CompletableFuture<List<Video>> joined = ys.searchVideos("shared", 10).toCompletableFuture();
+    pending.complete(mockResponse);
+
+    assertTrue(bounded.join().isEmpty());
+    assertTrue(unbounded.join().isEmpty());
+    assertTrue(joined.join().isEmpty());
+    verify(mockWsClient, times(2)).url(anyString());
+    assertEquals(1, ys.getRequestCoalescer().getJoinCount());
+  }
+
+  /**
+   * Tests that a caller joining a request that times out at the deadline of its sender sends the
+   * request again under its own, later deadline, while the sender gives up.
+   */
+  @Test
+  public void testJoinerWithTimeLeftResendsRequestGivenUpAtSendersDeadline() throws Exception {
+    String responseBody =
+        "{\"items\": [{\"snippet\": {\"title\": \"Test Video\"}, \"id\": {\"videoId\": \"v1\"}}]}";
+    when(mockResponse.asJson()).thenReturn(Json.parse(responseBody));
+    CompletableFuture<WSResponse> timedOut = new CompletableFuture<>();
+    when(mockRequest.get())
+        .thenReturn(timedOut)
+        .thenReturn(CompletableFuture.completedFuture(mockResponse));
+
+    CompletableFuture<List<Video>> sender =
+        ys.searchVideos(
+                "shared", 10, QuotaLimiter.Priority.INTERACTIVE, Deadline.in(Duration.ofMillis(50)))
+            .toCompletableFuture();
+    CompletableFuture<List<Video>> joiner =
+        ys.searchVideos(
+                "shared", 10, QuotaLimiter.Priority.INTERACTIVE, Deadline.in(Duration.ofHours(1)))
+            .toCompletableFuture();
+    Thread.sleep(100);
+    timedOut.completeExceptionally(new TimeoutException("Request timeout"));
+
+    assertEquals(1, joiner.join().size());
+    // The sender is answered by the stale results the joiner's request left, if it completed first
+    sender.join();
+    verify(mockWsClient, times(2)).url(anyString());
+    assertEquals(1, ys.getRequestCoalescer().getJoinCount());
+    assertEquals(1, ys.getCancelledRequestCount());
+  }
+
+  /**
+   * Tests that an interactive caller does not join an identical background request, whose retries
+   * the quota refuses before those of interactive requests.
+   */
+  @Test
+  public void testInteractiveCallerDoesNotJoinBackgroundRequest() {
+    when(mockResponse.asJson()).thenReturn(Json.parse("{\"items\": []}"));
+    CompletableFuture<WSResponse> pending = new CompletableFuture<>();
+    when(mockRequest.get()).thenReturn(pending);
+    Deadline deadline = Deadline.in(Duration.ofHours(1));
+
+    CompletableFuture<List<Video>> background =
+        ys.searchVideos("shared", 10, QuotaLimiter.Priority.BACKGROUND, deadline).toCompletableFuture();
+    CompletableFuture<List<Video>> interactive =
+        ys.searchVideos("shared", 10, QuotaLimiter.Priority.INTERACTIVE, deadline)
+            .toCompletableFuture();
+    pending.complete(mockResponse);
+
+    assertTrue(background.join().isEmpty());
+    assertTrue(interactive.join().isEmpty());
+    verify(mockWsClient, times(2)).url(anyString());
+    assertEquals(0, ys.getRequestCoalescer().getJoinCount());
+  }
+
+  /**
+   * Tests that a request whose caller's deadline already passed is neither sent nor charged to the
+   * quota, and is counted as cancelled.
+   */
+  @Test
+  public void testOverdueRequestIsNotSent() {
+    List<Video> videos =
+        ys.searchVideos("late", 10, QuotaLimiter.Priority.INTERACTIVE, Deadline.in(Duration.ZERO))
+            .toCompletableFuture()
+            .join();
+
+    assertTrue(videos.isEmpty());
+    verify(mockWsClient, never()).url(anyString());
+    assertEquals(1, ys.getCancelledRequestCount());
+    assertEquals(0, ys.getQuotaLimiter().getUnitsSpent());
+  }
+
+  /**
+   * Tests against a stub server that answers too slowly that the request is aborted at its timeout
+   * instead of waiting for the response, and counted as cancelled.
+   */
+  @Test
+  public void testSlowResponseTimesOut() throws Exception {
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/youtube/v3/search",
+        exchange -> {
+          try {
+            Thread.sleep(3000);
+            exchange.sendResponseHeaders(200, -1);
+          } catch (InterruptedException | IOException e) {
+            // The client is gone
+          } finally {
+            exchange.close();
+          }
+        });
+    server.start();
+    try (WSClient client = WSTestClient.newClient(server.getAddress().getPort())) {
+      Config config =
+          ConfigFactory.parseMap(
+              Map.of(
+                  "youtube.base-url",
+                  "http://127.0.0.1:" + server.getAddress().getPort() + "/youtube/v3",
+                  "youtube.request-timeout.search",
+                  "200 milliseconds"));
+      YouTubeService service = new YouTubeService(client, config);
+
+      long start = System.nanoTime();
+      List<Video> videos = service.searchVideos("slow", 10).toCompletableFuture().join();
+      long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+      assertTrue(videos.isEmpty());
+      assertTrue(elapsedMillis < 2000, "took " + elapsedMillis + " ms");
+      assertEquals(1, service.getCancelledRequestCount());
+      assertEquals(0, service.getCompletedRequestCount());
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  /**
+   * Tests that error payloads without items are not cached, so the next call retries the API.
+   */
+  @Test
+  public void testSearchVideosDoesNotCacheErrors() {
+    when(mockResponse.asJson()).thenReturn(Json.parse("{\"error\": {\"code\": 403}}"));
+
+    assertTrue(ys.searchVideos("quota", 10).toCompletableFuture().join().isEmpty());
+    assertTrue(ys.searchVideos("quota", 10).toCompletableFuture().join().isEmpty());
+
+    verify(mockWsClient, times(2)).url(anyString());
+    assertEquals(0, ys.getVideoListCache().size());
+  }
+
+  /**
+   * Tests that identical searches issued while the first request is still in flight share one
+   * upstream call.
+   */
+  @Test
+  public void testConcurrentSearchesAreCoalesced() {
+    CompletableFuture<WSResponse> pending = new CompletableFuture<>();
+    when(mockRequest.get()).thenReturn(pending);
+    when(mockResponse.asJson()).thenReturn(Json.parse("{\"items\": []}"));
+
+    CompletableFuture<List<Video>> first = ys.searchVideos("popular", 10).toCompletableFuture();
+    CompletableFuture<List<Video>> second = ys.searchVideos("popular", 10).toCompletableFuture();
+    pending.complete(mockResponse);
+
+    assertTrue(first.join().isEmpty());
+    assertTrue(second.join().isEmpty());
+    verify(mockRequest, times(1)).get();
+    assertEquals(1, ys.getRequestCoalescer().getJoinCount());
+  }
+
+  /** Tests that every request asks for the projected fields only and for a gzip body. */
+  @Test
+  public void testRequestsCarryFieldProjectionAndGzip() {
+    when(mockResponse.asJson()).thenReturn(Json.parse("{\"items\": []}"));
+
+    ys.searchVideos("cats", 10).toCompletableFuture().join();
+    ys.getChannelInfoAsync("channel").toCompletableFuture().join();
+    ys.getVideoDetails("video").toCompletableFuture().join();
+
+    ArgumentCaptor<String> urls = ArgumentCaptor.forClass(String.class);
+    verify(mockWsClient, times(3)).url(urls.capture());
+    List<String> requested = urls.getAllValues();
+    assertEquals(YouTubeResponseParser.SEARCH_FIELDS, fields(requested.get(0)));
+    assertEquals(YouTubeResponseParser.CHANNELS_FIELDS, fields(requested.get(1)));
+    assertEquals(YouTubeResponseParser.VIDEOS_FIELDS, fields(requested.get(2)));
+    assertTrue(requested.get(0).startsWith("https://www.googleapis.com/youtube/v3/search?"));
+    verify(mockRequest, times(3)).addHeader("Accept-Encoding", "gzip");
+    assertEquals(1, ys.getEndpointMetrics("search").getResponseCount());
+    assertEquals(1, ys.getEndpointMetrics("channels").getResponseCount());
+    assertEquals(1, ys.getEndpointMetrics("videos").getResponseCount());
+  }
+
+  private static String fields(String url) {
+    for (String param : url.substring(url.indexOf('?') + 1).split("&")) {
+      if (param.startsWith("fields=")) {
+        return param.substring("fields=".length());
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Tests against a local stub of the API that requests carry the field projection, that gzip is
+   * negotiated, and that the responses are parsed and counted in the metrics of their endpoint.
+   */
+  @Test
+  public void testGzipResponsesFromStubServer() throws Exception {
+    String searchBody =
+        "{\"items\":[{\"id\":{\"videoId\":\"v1\"},\"snippet\":{\"publishedAt\":\"2024-11-06T04:41:46Z\","
+            + "\"channelId\":\"c1\",\"title\":\"Stubbed\",\"description\":\""
+            + "a long description ".repeat(50)
+            + "\",\"thumbnails\":{\"default\":{\"url\":\"u\"}},\"channelTitle\":\"Owner\"}}]}";
+    String channelBody =
+        "{\"items\":[{\"snippet\":{\"title\":\"Chan\",\"description\":\"About\"},"
+            + "\"statistics\":{\"viewCount\":\"5\",\"subscriberCount\":\"3\",\"videoCount\":\"2\"}}]}";
+    Map<String, String> receivedFields = new ConcurrentHashMap<>();
+    Map<String, String> receivedEncodings = new ConcurrentHashMap<>();
+    Map<String, Integer> sentBytes = new ConcurrentHashMap<>();
+
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    for (String endpoint : List.of("search", "channels")) {
+      String response = endpoint.equals("search") ? searchBody : channelBody;
+      byte[] json = response.getBytes(StandardCharsets.UTF_8);
+      server.createContext(
+          "/youtube/v3/" + endpoint,
+          exchange -> {
+            String query = exchange.getRequestURI().getRawQuery();
+            String fields = URLDecoder.decode(fields("?" + query), StandardCharsets.UTF_8);
+            receivedFields.put(endpoint, fields);
+            String encoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            receivedEncodings.put(endpoint, encoding == null ? "" : encoding);
+            byte[] body = json;
+            if (encoding != null && encoding.contains("gzip")) {
+              body = gzip(json);
+              exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            sentBytes.put(endpoint, body.length);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+              out.write(body);
+            }
+          });
+    }
+    server.start();
+    try (WSClient client = WSTestClient.newClient(server.getAddress().getPort())) {
+      Config config =
+          ConfigFactory.parseMap(
+              Map.of(
+                  "youtube.base-url",
+                  "http://127.0.0.1:" + server.getAddress().getPort() + "/youtube/v3"));
+      YouTubeService service = new YouTubeService(client, config);
+
+      List<Video> videos = service.searchVideos("stub", 10).toCompletableFuture().join();
+      ChannelInfo channel = service.getChannelInfoAsync("c1").toCompletableFuture().join();
+
+      assertEquals(1, videos.size());
+      assertEquals("Stubbed", videos.get(0).getTitle());
+      assertEquals("v1", videos.get(0).getVideoId());
+      assertEquals("Chan", channel.getName());
+      assertEquals(3, channel.getSubscriberCount());
+      assertEquals(YouTubeResponseParser.SEARCH_FIELDS, receivedFields.get("search"));
+      assertEquals(YouTubeResponseParser.CHANNELS_FIELDS, receivedFields.get("channels"));
+      assertTrue(receivedEncodings.get("search").contains("gzip"));
+
+      // The stub sent less than the JSON, which the client inflated before the parser saw it
+      assertTrue(sentBytes.get("search") < searchBody.length());
+      EndpointMetrics search = service.getEndpointMetrics("search");
+      assertEquals(1, search.getResponseCount());
+      assertEquals(searchBody.length(), search.getBodyBytes());
+      assertEquals(searchBody.length(), search.getAverageBodyBytes(), 0.0);
+      assertTrue(search.getParseNanos() > 0);
+      assertEquals(channelBody.length(), service.getEndpointMetrics("channels").getBodyBytes());
+      assertEquals(0, service.getEndpointMetrics("videos").getResponseCount());
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  /** Tests that video details looked up together are fetched with one videos.list request. */
+  @Test
+  public void testVideoDetailsAreBatched() {
+    String responseBody =
+        "{\"items\": ["
+            + "{\"id\": \"b\", \"snippet\": {\"title\": \"B\", \"tags\": [\"t\"]}},"
+            + "{\"id\": \"a\", \"snippet\": {\"title\": \"A\"}}]}";
+    when(mockResponse.asJson()).thenReturn(Json.parse(responseBody));
+
+    CompletableFuture<Video> a = ys.getVideoDetails("a").toCompletableFuture();
+    CompletableFuture<Video> b = ys.getVideoDetails("b").toCompletableFuture();
+    CompletableFuture<Video> missing = ys.getVideoDetails("c").toCompletableFuture();
+
+    assertEquals("A", a.join().getTitle());
+    assertEquals(List.of("t"), b.join().getTags());
+    assertNull(missing.join());
+    ArgumentCaptor<String> url = ArgumentCaptor.forClass(String.class);
+    verify(mockWsClient, times(1)).url(url.capture());
+    assertTrue(url.getValue().contains("/videos?part=snippet&id=a,b,c&"));
+    assertEquals(1, ys.getVideoDetailsBatcher().getBatchCount());
+    assertEquals(2, ys.getVideoDetailsBatcher().getRequestsSaved());
+  }
+
+  /**
+   * Tests against a local stub of the API that concurrent lookups of different channels are
+   * resolved with one channels.list request, and that resolved channels are then cached.
+   */
+  @Test
+  public void testChannelLookupsAreBatchedAgainstStubServer() throws Exception {
+    List<String> requestedIds = new CopyOnWriteArrayList<>();
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/youtube/v3/channels",
+        exchange -> {
+          String ids = null;
+          for (String param : exchange.getRequestURI().getRawQuery().split("&")) {
+            if (param.startsWith("id=")) {
+              ids = URLDecoder.decode(param.substring(3), StandardCharsets.UTF_8);
+            }
+          }
+          requestedIds.add(ids);
+          StringBuilder json = new StringBuilder("{\"items\":[");
+          String[] channelIds = ids.split(",");
+          // The API lists the channels in no particular order and leaves out unknown ones
+          for (int i = channelIds.length - 1; i >= 0; i--) {
+            if (channelIds[i].startsWith("unknown")) {
+              continue;
+            }
+            json.append(json.charAt(json.length() - 1) == '[' ? "" : ",")
+                .append("{\"id\":\"")
+                .append(channelIds[i])
+                .append("\",\"snippet\":{\"title\":\"Title of ")
+                .append(channelIds[i])
+                .append("\",\"description\":\"d\"},\"statistics\":{\"viewCount\":\"")
+                .append(i)
+                .append("\",\"subscriberCount\":\"1\",\"videoCount\":\"2\"}}");
+          }
+          byte[] body = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        });
+    server.start();
+    try (WSClient client = WSTestClient.newClient(server.getAddress().getPort())) {
+      Config config =
+          ConfigFactory.parseMap(
+              Map.of(
+                  "youtube.base-url",
+                  "http://127.0.0.1:" + server.getAddress().getPort() + "/youtube/v3",
+                  "youtube.batch.window",
+                  "200 milliseconds"));
+      YouTubeService service = new YouTubeService(client, config);
+
+      List<CompletableFuture<ChannelInfo>> lookups = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        lookups.add(service.getChannelInfoAsync("channel" + i).toCompletableFuture());
+      }
+      CompletableFuture<ChannelInfo> unknown =
+          service.getChannelInfoAsync("unknownChannel").toCompletableFuture();
+
+      for (int i = 0; i < 10; i++) {
+        ChannelInfo channel = lookups.get(i).join();
+        assertEquals("channel" + i, channel.getChannelId());
+        assertEquals("Title of channel" + i, channel.getName());
+        assertEquals(i, channel.getViewCount());
+      }
+      assertNull(unknown.join());
+      assertEquals(1, requestedIds.size());
+      assertEquals(11, requestedIds.get(0).split(",").length);
+      assertEquals(10, service.getChannelInfoBatcher().getRequestsSaved());
+      assertEquals(11.0, service.getChannelInfoBatcher().getAverageBatchSize(), 0.0);
+
+      // Resolved channels are served from the cache
+      ChannelInfo cached = service.getChannelInfoAsync("channel3").toCompletableFuture().join();
+      assertEquals("Title of channel3", cached.getName());
+      assertEquals(1, requestedIds.size());
+      assertEquals(1, service.getChannelInfoCache().getHitCount());
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  private static byte[] gzip(byte[] bytes) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(bytes);
+    }
+    return out.toByteArray();
+  }
 }
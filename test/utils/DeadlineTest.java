@@ -0,0 +1,55 @@
+package utils;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import org.junit.Test;
+
+/** Unit tests for the Deadline class */
+public class DeadlineTest {
+
+  /** Tests that a caller without a deadline never stops waiting and keeps every timeout. */
+  @Test
+  public void testNoDeadline() {
+    Deadline none = Deadline.none();
+
+    assertFalse(none.isOverdue());
+    assertEquals(Duration.ofSeconds(5), none.cap(Duration.ofSeconds(5)));
+    assertTrue(none.timeLeft().compareTo(Duration.ofDays(365)) > 0);
+  }
+
+  /** Tests that a deadline that has passed leaves no time. */
+  @Test
+  public void testPassedDeadline() {
+    Deadline passed = Deadline.in(Duration.ZERO);
+
+    assertTrue(passed.isOverdue());
+    assertEquals(Duration.ZERO, passed.timeLeft());
+    assertEquals(Duration.ZERO, passed.cap(Duration.ofSeconds(5)));
+  }
+
+  /** Tests that work shared by several callers lasts until the last of them stops waiting. */
+  @Test
+  public void testOrLater() {
+    Deadline soon = Deadline.in(Duration.ofSeconds(1));
+    Deadline later = Deadline.in(Duration.ofHours(1));
+
+    assertSame(later, soon.orLater(later));
+    assertSame(later, later.orLater(soon));
+    assertSame(Deadline.none(), soon.orLater(Deadline.none()));
+    assertTrue(later.isBounded());
+    assertFalse(Deadline.none().isBounded());
+  }
+
+  /** Tests that timeouts are shortened to end no later than the deadline. */
+  @Test
+  public void testCapsTimeouts() {
+    Deadline deadline = Deadline.in(Duration.ofHours(1));
+
+    assertFalse(deadline.isOverdue());
+    assertEquals(Duration.ofSeconds(5), deadline.cap(Duration.ofSeconds(5)));
+    Duration capped = deadline.cap(Duration.ofHours(2));
+    assertTrue(capped.compareTo(Duration.ofHours(1)) <= 0);
+    assertTrue(capped.compareTo(Duration.ofMinutes(59)) > 0);
+  }
+}
@@ -0,0 +1,74 @@
+package utils;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import models.Video;
+import org.junit.Test;
+
+/**
+ * Tests for RecentVideoBuffer.
+ */
+public class RecentVideoBufferTest {
+
+  private static Video video(String id) {
+    return new Video("Title " + id, "Description", "channel", id, "thumb", "owner", "now");
+  }
+
+  private static List<String> ids(RecentVideoBuffer buffer) {
+    return buffer.toList().stream().map(Video::getVideoId).collect(Collectors.toList());
+  }
+
+  /** Videos are listed newest first. */
+  @Test
+  public void testNewestFirst() {
+    RecentVideoBuffer buffer = new RecentVideoBuffer(3);
+    buffer.addFirst(video("a"));
+    buffer.addFirst(video("b"));
+
+    assertEquals(List.of("b", "a"), ids(buffer));
+    assertEquals(2, buffer.size());
+  }
+
+  /** A full buffer drops its oldest video, also after wrapping around several times. */
+  @Test
+  public void testDropsOldestWhenFull() {
+    RecentVideoBuffer buffer = new RecentVideoBuffer(3);
+    for (String id : List.of("a", "b", "c", "d", "e", "f", "g")) {
+      buffer.addFirst(video(id));
+    }
+
+    assertEquals(List.of("g", "f", "e"), ids(buffer));
+    assertFalse(buffer.contains("d"));
+    assertTrue(buffer.contains("e"));
+  }
+
+  /** A video whose id is already in the buffer is not added again, even if it differs otherwise. */
+  @Test
+  public void testSkipsKnownVideoIds() {
+    RecentVideoBuffer buffer = new RecentVideoBuffer(3);
+    buffer.addFirst(video("a"));
+
+    assertFalse(buffer.addFirst(new Video("Edited", "Other", "channel", "a", "thumb", "owner", "now")));
+    assertEquals(List.of("a"), ids(buffer));
+    assertEquals("Title a", buffer.toList().get(0).getTitle());
+  }
+
+  /** A dropped video can be added again. */
+  @Test
+  public void testReaddsDroppedVideo() {
+    RecentVideoBuffer buffer = new RecentVideoBuffer(2);
+    buffer.addFirst(video("a"));
+    buffer.addFirst(video("b"));
+    buffer.addFirst(video("c"));
+
+    assertTrue(buffer.addFirst(video("a")));
+    assertEquals(List.of("a", "c"), ids(buffer));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsEmptyCapacity() {
+    new RecentVideoBuffer(0);
+  }
+}
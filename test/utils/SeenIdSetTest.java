@@ -0,0 +1,95 @@
+package utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/** Unit tests for the SeenIdSet class */
+public class SeenIdSetTest {
+
+  /** Tests that add reports whether an id is new, like a regular set. */
+  @Test
+  public void testAddAndContains() {
+    SeenIdSet seen = new SeenIdSet(100);
+
+    assertTrue(seen.add("dQw4w9WgXcQ"));
+    assertFalse(seen.add("dQw4w9WgXcQ"));
+    assertTrue(seen.add("videoId1"));
+    assertTrue(seen.contains("videoId1"));
+    assertFalse(seen.contains("videoId2"));
+    assertEquals(2, seen.size());
+  }
+
+  /** Tests that well-formed YouTube ids are packed losslessly into 64 bits. */
+  @Test
+  public void testEncodePacksYouTubeIdsLosslessly() {
+    assertNotEquals(SeenIdSet.encode("dQw4w9WgXcQ"), SeenIdSet.encode("dQw4w9WgXcg"));
+    assertEquals(0L, SeenIdSet.encode("AAAAAAAAAAA"));
+    assertEquals(-1L, SeenIdSet.encode("__________8"));
+  }
+
+  /** Tests that the least recently seen id is forgotten once the capacity is exceeded. */
+  @Test
+  public void testForgetsLeastRecentlySeenId() {
+    SeenIdSet seen = new SeenIdSet(3);
+    seen.add("a");
+    seen.add("b");
+    seen.add("a"); // refreshes "a", the ring now holds a, b, a
+    seen.add("c"); // drops the stale sighting of "a"
+
+    assertTrue(seen.contains("a"));
+    seen.add("d"); // drops "b", whose only sighting was the oldest
+    assertFalse(seen.contains("b"));
+    assertTrue(seen.contains("a"));
+    assertTrue(seen.contains("c"));
+    assertTrue(seen.contains("d"));
+  }
+
+  /** Tests that the set stays bounded and consistent over many more ids than its capacity. */
+  @Test
+  public void testStaysBoundedUnderChurn() {
+    SeenIdSet seen = new SeenIdSet(1000);
+    for (int i = 0; i < 1000; i++) {
+      seen.add("video" + i);
+    }
+    long footprint = seen.estimatedHeapBytes();
+    for (int i = 1000; i < 100_000; i++) {
+      seen.add("video" + i);
+    }
+
+    assertEquals(1000, seen.size());
+    assertEquals(footprint, seen.estimatedHeapBytes());
+    for (int i = 99_000; i < 100_000; i++) {
+      assertTrue(seen.contains("video" + i));
+    }
+    assertFalse(seen.contains("video98999"));
+  }
+
+  /**
+   * Tests that a set with a large capacity stays small while it has only seen a few ids, and
+   * keeps every id across the growth of its table and ring.
+   */
+  @Test
+  public void testGrowsWithTheIdsSeen() {
+    SeenIdSet seen = new SeenIdSet(10_000);
+    for (int i = 0; i < 30; i++) {
+      seen.add("video" + i);
+    }
+    assertTrue(seen.estimatedHeapBytes() < 4096);
+
+    for (int i = 30; i < 5000; i++) {
+      assertTrue(seen.add("video" + i));
+    }
+    assertEquals(5000, seen.size());
+    for (int i = 0; i < 5000; i++) {
+      assertTrue(seen.contains("video" + i));
+    }
+    assertFalse(seen.add("video42"));
+  }
+
+  /** Tests that a non-positive capacity is rejected. */
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsInvalidCapacity() {
+    new SeenIdSet(0);
+  }
+}
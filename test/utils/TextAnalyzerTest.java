@@ -0,0 +1,76 @@
+package utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for the single-pass TextAnalyzer. The expected counts are those of the original
+ * split/regex based implementation in Helpers.
+ */
+public class TextAnalyzerTest {
+
+  /** Null and empty texts produce the shared empty result with zero scores. */
+  @Test
+  public void testEmptyText() {
+    assertSame(TextAnalyzer.analyze(null), TextAnalyzer.analyze(""));
+    TextAnalyzer.TextStats stats = TextAnalyzer.analyze("");
+    assertEquals(0, stats.getWordCount());
+    assertEquals(0.0, stats.getFleschKincaidGradeLevel(), 0.0);
+    assertEquals(0.0, stats.getFleschReadingEaseScore(), 0.0);
+  }
+
+  /** Sentence, word and syllable counts of a plain text come from a single pass. */
+  @Test
+  public void testReadabilityCounts() {
+    TextAnalyzer.TextStats stats =
+        TextAnalyzer.analyze("Hello! How are you? I hope you're doing well.");
+    assertEquals(3, stats.getSentenceCount());
+    assertEquals(9, stats.getWordCount());
+    assertEquals(10, stats.getSyllableCount());
+  }
+
+  /** Like split("\\s+"), a leading whitespace run yields an empty first word. */
+  @Test
+  public void testLeadingWhitespaceCountsAsEmptyWord() {
+    assertEquals(2, TextAnalyzer.analyze(" fox").getWordCount());
+    assertEquals(1, TextAnalyzer.analyze("fox ").getWordCount());
+    assertEquals(0, TextAnalyzer.analyze("   ").getWordCount());
+  }
+
+  /** Consecutive sentence marks count empty sentences, trailing ones do not. */
+  @Test
+  public void testSentenceSplitting() {
+    assertEquals(1, TextAnalyzer.analyze("Wait...").getSentenceCount());
+    assertEquals(3, TextAnalyzer.analyze("..Wait").getSentenceCount());
+    assertEquals(0, TextAnalyzer.analyze("...").getSentenceCount());
+  }
+
+  /** Syllables use vowel groups with the trailing "e" adjustment. */
+  @Test
+  public void testCountSyllables() {
+    assertEquals(1, TextAnalyzer.countSyllables("simple"));
+    assertEquals(1, TextAnalyzer.countSyllables("FIRE"));
+    assertEquals(1, TextAnalyzer.countSyllables("queue"));
+    assertEquals(1, TextAnalyzer.countSyllables("e"));
+    assertEquals(0, TextAnalyzer.countSyllables(""));
+  }
+
+  /** Punctuation is dropped and case ignored before a word is matched against the lexicons. */
+  @Test
+  public void testLexiconMatching() {
+    TextAnalyzer.TextStats stats =
+        TextAnalyzer.analyze("GREAT! so h,appy :) but sad... >:( laugh-out-loud disappointedly");
+    assertEquals(4, stats.getHappyWordCount());
+    assertEquals(2, stats.getSadWordCount());
+  }
+
+  /** Emoji are matched as whole code points, ignoring the variation selector after them. */
+  @Test
+  public void testEmojiMatching() {
+    TextAnalyzer.TextStats stats =
+        TextAnalyzer.analyze("\uD83D\uDE0A\uFE0F \uD83D\uDE14 \uD83D\uDE0A\uD83D\uDE0A");
+    assertEquals(1, stats.getHappyWordCount());
+    assertEquals(1, stats.getSadWordCount());
+  }
+}
@@ -0,0 +1,74 @@
+package utils;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+/**
+ * Tests for the incremental top-K heap used by WordStatsActor.
+ */
+public class TopKHeapTest {
+
+  private static List<Map.Entry<String, Long>> sortAll(Map<String, Long> counts, int limit) {
+    return counts.entrySet().stream()
+        .sorted(TopKHeap.RANKING)
+        .limit(limit)
+        .map(e -> Map.entry(e.getKey(), e.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  /** The heap always agrees with a full sort of the counts, ties included. */
+  @Test
+  public void testMatchesFullSort() {
+    Random random = new Random(1);
+    Map<String, Long> counts = new HashMap<>();
+    TopKHeap heap = new TopKHeap(10);
+    for (int i = 0; i < 20_000; i++) {
+      String word = "w" + random.nextInt(500);
+      heap.update(word, counts.merge(word, 1L + random.nextInt(3), Long::sum));
+      if (i % 1000 == 0) {
+        assertEquals(sortAll(counts, 10), List.copyOf(heap.top(10)));
+      }
+    }
+    assertEquals(sortAll(counts, 10), List.copyOf(heap.top(10)));
+    assertEquals(sortAll(counts, 3), List.copyOf(heap.top(3)));
+  }
+
+  /** Equal counts are ranked alphabetically, and a tie does not displace a kept word. */
+  @Test
+  public void testTiesBrokenAlphabetically() {
+    TopKHeap heap = new TopKHeap(2);
+    heap.update("beta", 1);
+    heap.update("delta", 1);
+    heap.update("gamma", 1);
+    heap.update("alpha", 1);
+    assertEquals(List.of(Map.entry("alpha", 1L), Map.entry("beta", 1L)), List.copyOf(heap.top(5)));
+  }
+
+  /** Growing the heap refills it from the complete counts. */
+  @Test
+  public void testGrow() {
+    Map<String, Long> counts = Map.of("a", 5L, "b", 4L, "c", 3L, "d", 2L);
+    WordCountTable table = new WordCountTable();
+    TopKHeap heap = new TopKHeap(1);
+    counts.forEach((word, count) -> heap.update(word, table.add(word, count)));
+    assertEquals(1, heap.size());
+
+    heap.grow(3, table);
+    assertEquals(3, heap.capacity());
+    assertEquals(sortAll(counts, 3), List.copyOf(heap.top(3)));
+
+    heap.grow(2, table);
+    assertEquals(3, heap.capacity());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsEmptyCapacity() {
+    new TopKHeap(0);
+  }
+}
@@ -0,0 +1,58 @@
+package utils;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Tests for the primitive word count table used by WordStatsActor.
+ */
+public class WordCountTableTest {
+
+  /** Counts accumulate in place and are returned by every add. */
+  @Test
+  public void testAddAndGet() {
+    WordCountTable table = new WordCountTable();
+    assertEquals(1, table.add("java", 1));
+    assertEquals(4, table.add("java", 3));
+    assertEquals(2, table.add("scala", 2));
+    assertEquals(4, table.get("java"));
+    assertEquals(0, table.get("kotlin"));
+    assertEquals(2, table.size());
+  }
+
+  /** A word counted from a char slice is the same entry as the String word. */
+  @Test
+  public void testCharSliceLookup() {
+    WordCountTable table = new WordCountTable();
+    char[] chars = "xxjavayy".toCharArray();
+    assertEquals(1, table.add(chars, 2, 4, 1));
+    assertEquals(2, table.add("java", 1));
+    assertTrue(table.contains(chars, 2, 4));
+    assertFalse(table.contains(chars, 2, 3));
+    assertEquals(1, table.size());
+  }
+
+  /** The table agrees with a HashMap through many resizes and merges. */
+  @Test
+  public void testMatchesHashMap() {
+    Random random = new Random(2);
+    WordCountTable table = new WordCountTable();
+    WordCountTable other = new WordCountTable(10);
+    Map<String, Long> expected = new HashMap<>();
+    for (int i = 0; i < 50_000; i++) {
+      String word = Integer.toString(random.nextInt(20_000), 36);
+      long delta = 1 + random.nextInt(5);
+      (i % 2 == 0 ? table : other).add(word, delta);
+      expected.merge(word, delta, Long::sum);
+    }
+    table.addAll(other);
+
+    assertEquals(expected.size(), table.size());
+    expected.forEach((word, count) -> assertEquals((long) count, table.get(word)));
+    assertEquals(expected, table.toSortedMap());
+  }
+}